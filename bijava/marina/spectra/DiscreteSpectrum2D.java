@@ -23,6 +23,8 @@
  */
 package bijava.marina.spectra;
 
+import java.util.Arrays;
+
 /**
  * coordinate system: - polar coordinates
  * - regular grid
@@ -34,7 +36,7 @@ public class DiscreteSpectrum2D implements Spectrum2D {
 	private int nd; // number of direction increments
 	private double direction_min, direction_max;
 	private double frequency_min, frequency_max;
-	private double value[][];
+	private double value[]; // value[f * (nd + 1) + d]
 
 	private double incd, incf; // ..incrementwidth of direction and frequency
 	private double delta_d; // ..distance between direction_max and direction_min
@@ -54,7 +56,7 @@ public class DiscreteSpectrum2D implements Spectrum2D {
 		incd = delta_d / nd;
 		incf = (frequency_max - frequency_min) / nf;
 
-		value = new double[nf + 1][nd + 1];
+		value = new double[(nf + 1) * (nd + 1)];
 	}
 
 	// ..constructor: transferred values for the frequency minimum and maximum..
@@ -74,7 +76,7 @@ public class DiscreteSpectrum2D implements Spectrum2D {
 		incd = delta_d / nd;
 		incf = (frequency_max - frequency_min) / nf;
 
-		value = new double[nf + 1][nd + 1];
+		value = new double[(nf + 1) * (nd + 1)];
 	}
 
 	// * constructor: calculates a discrete spectrum from the transferred */
@@ -107,7 +109,7 @@ public class DiscreteSpectrum2D implements Spectrum2D {
 		incd = delta_d / nd;
 		incf = (frequency_max - frequency_min) / nf;
 
-		value = new double[nf + 1][nd + 1];
+		value = new double[(nf + 1) * (nd + 1)];
 	}
 
 	// * constructor: calculates a discrete spectrum from the transferred */
@@ -130,11 +132,11 @@ public class DiscreteSpectrum2D implements Spectrum2D {
 		incd = delta_d / nd;
 		incf = (frequency_max - frequency_min) / nf;
 
-		value = new double[nf + 1][nd + 1];
+		value = new double[(nf + 1) * (nd + 1)];
 
 		for (int d = 0; d <= nd; d++)
 			for (int f = 0; f <= nf; f++)
-				value[f][d] = spectrum.getValue(frequency_min + f * incf, transDirection(direction_min + d * incd));
+				value[index(f, d)] = spectrum.getValue(frequency_min + f * incf, transDirection(direction_min + d * incd));
 	}
 
 	// * constructor: calculates a discrete spectrum from the transferred */
@@ -168,11 +170,11 @@ public class DiscreteSpectrum2D implements Spectrum2D {
 		incd = delta_d / nd;
 		incf = (frequency_max - frequency_min) / nf;
 
-		value = new double[nf + 1][nd + 1];
+		value = new double[(nf + 1) * (nd + 1)];
 
 		for (int d = 0; d <= nd; d++)
 			for (int f = 0; f <= nf; f++)
-				value[f][d] = spectrum.getValue(frequency_min + f * incf, transDirection(direction_min + d * incd));
+				value[index(f, d)] = spectrum.getValue(frequency_min + f * incf, transDirection(direction_min + d * incd));
 	}
 
 	/**
@@ -215,10 +217,10 @@ public class DiscreteSpectrum2D implements Spectrum2D {
 		int f = (int) ((frequency - frequency_min) / (frequency_max - frequency_min) * 0.99 * nf);
 		double s = 2. * (frequency - frequency_min - incf * f) / incf - 1.;
 
-		double ferg = ((1. + r) * (1. + s) * value[f + 1][d + 1]
-				+ (1. - r) * (1. + s) * value[f + 1][d]
-				+ (1. - r) * (1. - s) * value[f][d]
-				+ (1. + r) * (1. - s) * value[f][d + 1]) * 0.25;
+		double ferg = ((1. + r) * (1. + s) * value[index(f + 1, d + 1)]
+				+ (1. - r) * (1. + s) * value[index(f + 1, d)]
+				+ (1. - r) * (1. - s) * value[index(f, d)]
+				+ (1. + r) * (1. - s) * value[index(f, d + 1)]) * 0.25;
 		return ferg;
 	}
 
@@ -233,13 +235,31 @@ public class DiscreteSpectrum2D implements Spectrum2D {
 	public double[] getValueAt(int frequency_index, int direction_index) {
 		double[] res = new double[3];
 
-		res[2] = value[frequency_index][direction_index];
-		res[1] = transDirection(direction_min + direction_index * incd);
-		res[0] = frequency_min + frequency_index * incf;
+		res[2] = value[index(frequency_index, direction_index)];
+		res[1] = getDirectionAt(direction_index);
+		res[0] = getFrequencyAt(frequency_index);
 
 		return res;
 	}
 
+	/**
+	 * Returns the value at the transferred discrete position, in contrast to
+	 * getValueAt no array is created.
+	 */
+	public double getDiscreteValue(int frequency_index, int direction_index) {
+		return value[index(frequency_index, direction_index)];
+	}
+
+	/** Returns the frequency at the transferred discrete position. */
+	public double getFrequencyAt(int frequency_index) {
+		return frequency_min + frequency_index * incf;
+	}
+
+	/** Returns the direction [deg] at the transferred discrete position. */
+	public double getDirectionAt(int direction_index) {
+		return transDirection(direction_min + direction_index * incd);
+	}
+
 	/**
 	 * Calculates the max power density from the values at the discrete points,
 	 * returns the max and additionally position of the max in polar coordinates.
@@ -255,8 +275,8 @@ public class DiscreteSpectrum2D implements Spectrum2D {
 
 		for (int f = 0; f <= nf; f++)
 			for (int d = 0; d <= nd; d++)
-				if (value[f][d] - res[2] > EPSILON) {
-					res[2] = value[f][d];
+				if (value[index(f, d)] - res[2] > EPSILON) {
+					res[2] = value[index(f, d)];
 					res[1] = transDirection(direction_min + d * incd);
 					res[0] = frequency_min + f * incf;
 				}
@@ -410,19 +430,26 @@ public class DiscreteSpectrum2D implements Spectrum2D {
 	 * frequency and direction.
 	 */
 	public void setValueAt(int frequency_index, int direction_index, double value) {
-		this.value[frequency_index][direction_index] = value;
+		this.value[index(frequency_index, direction_index)] = value;
 
 		if ((direction_index == 0 || direction_index == nd) && Math.abs(delta_d) - 360. > -1 * EPSILON) {
-			this.value[frequency_index][nd] = value;
-			this.value[frequency_index][0] = value;
+			this.value[index(frequency_index, nd)] = value;
+			this.value[index(frequency_index, 0)] = value;
 		}
 	}
 
+	/**
+	 * Adds the transferred value to the value at the position described through
+	 * the index from frequency and direction, same as
+	 * setValueAt(f, d, getDiscreteValue(f, d) + value).
+	 */
+	public void addValueAt(int frequency_index, int direction_index, double value) {
+		setValueAt(frequency_index, direction_index, this.value[index(frequency_index, direction_index)] + value);
+	}
+
 	/** Sets all values of the discrete spectrum to zero. */
 	public void setZero() {
-		for (int d = 0; d <= nd; d++)
-			for (int f = 0; f <= nf; f++)
-				value[f][d] = 0.;
+		Arrays.fill(value, 0.);
 	}
 
 	/**
@@ -440,7 +467,7 @@ public class DiscreteSpectrum2D implements Spectrum2D {
 	 */
 	public double partialDerivationDirection(int f, int d) {
 		if ((d == 0 || d == nd) && delta_d == 360.)
-			return 180. * (value[f][1] - value[f][nd - 1]) / (2. * incd * Math.PI);
+			return 180. * (value[index(f, 1)] - value[index(f, nd - 1)]) / (2. * incd * Math.PI);
 
 		if (d == nd)
 			return rearDifferenceDirection(f, d);
@@ -492,7 +519,7 @@ public class DiscreteSpectrum2D implements Spectrum2D {
 			return frontDifferenceDirection(f, d);
 
 		double nue = -1. * sgn(c_direction) * Math.min(Math.abs(180. * c_direction * delta_t / (incd * Math.PI)), 1.);
-		return 180. * ((1. + nue) * value[f][d + 1] - 2. * nue * value[f][d] - (1. - nue) * value[f][d - 1])
+		return 180. * ((1. + nue) * value[index(f, d + 1)] - 2. * nue * value[index(f, d)] - (1. - nue) * value[index(f, d - 1)])
 				/ (2. * incd * Math.PI);
 	}
 
@@ -503,11 +530,11 @@ public class DiscreteSpectrum2D implements Spectrum2D {
 	public double secondPartialDerivationDirection(int f, int d) {
 
 		if (d == 0)
-			return 180. * 180. * (2. * value[f][d + 1] - 2. * value[f][d]) / (incd * incd * Math.PI * Math.PI);
+			return 180. * 180. * (2. * value[index(f, d + 1)] - 2. * value[index(f, d)]) / (incd * incd * Math.PI * Math.PI);
 		if (d == nd)
-			return 180. * 180. * (2. * value[f][d - 1] - 2. * value[f][d]) / (incd * incd * Math.PI * Math.PI);
+			return 180. * 180. * (2. * value[index(f, d - 1)] - 2. * value[index(f, d)]) / (incd * incd * Math.PI * Math.PI);
 
-		return 180. * 180. * (value[f][d - 1] - 2. * value[f][d] + value[f][d + 1]) / (incd * incd * Math.PI * Math.PI);
+		return 180. * 180. * (value[index(f, d - 1)] - 2. * value[index(f, d)] + value[index(f, d + 1)]) / (incd * incd * Math.PI * Math.PI);
 	}
 
 	/**
@@ -558,7 +585,7 @@ public class DiscreteSpectrum2D implements Spectrum2D {
 	 * position in frequency direction
 	 */
 	private double centralDifferenceFrequency(int f, int d) {
-		return (value[f + 1][d] - value[f - 1][d]) / (2. * incf);
+		return (value[index(f + 1, d)] - value[index(f - 1, d)]) / (2. * incf);
 	}
 
 	/**
@@ -566,7 +593,7 @@ public class DiscreteSpectrum2D implements Spectrum2D {
 	 * position in frequency direction
 	 */
 	private double frontDifferenceFrequency(int f, int d) {
-		return (value[f + 1][d] - value[f][d]) / incf;
+		return (value[index(f + 1, d)] - value[index(f, d)]) / incf;
 	}
 
 	/**
@@ -574,7 +601,7 @@ public class DiscreteSpectrum2D implements Spectrum2D {
 	 * position in frequency direction
 	 */
 	private double rearDifferenceFrequency(int f, int d) {
-		return (value[f][d] - value[f - 1][d]) / incf;
+		return (value[index(f, d)] - value[index(f - 1, d)]) / incf;
 	}
 
 	/**
@@ -582,7 +609,7 @@ public class DiscreteSpectrum2D implements Spectrum2D {
 	 * position in direction direction
 	 */
 	private double centralDifferenceDirection(int f, int d) {
-		return 180. * (value[f][d + 1] - value[f][d - 1]) / (2. * incd * Math.PI);
+		return 180. * (value[index(f, d + 1)] - value[index(f, d - 1)]) / (2. * incd * Math.PI);
 	}
 
 	/**
@@ -590,7 +617,7 @@ public class DiscreteSpectrum2D implements Spectrum2D {
 	 * position in direction direction
 	 */
 	private double frontDifferenceDirection(int f, int d) {
-		return 180. * (value[f][d + 1] - value[f][d]) / (incd * Math.PI);
+		return 180. * (value[index(f, d + 1)] - value[index(f, d)]) / (incd * Math.PI);
 	}
 
 	/**
@@ -598,7 +625,12 @@ public class DiscreteSpectrum2D implements Spectrum2D {
 	 * position in direction direction
 	 */
 	private double rearDifferenceDirection(int f, int d) {
-		return 180. * (value[f][d] - value[f][d - 1]) / (incd * Math.PI);
+		return 180. * (value[index(f, d)] - value[index(f, d - 1)]) / (incd * Math.PI);
+	}
+
+	/** position of the discrete value in the value array */
+	private int index(int f, int d) {
+		return f * (nd + 1) + d;
 	}
 
 	/** Returns the direction in [-180,180]. */
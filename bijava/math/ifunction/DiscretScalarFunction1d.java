@@ -212,20 +212,9 @@ public class DiscretScalarFunction1d implements ScalarFunction1d {
     public double getValue(double x) {
         double x1, x2, y1, y2;
 
-//      System.out.println(periodic);
         if (periodic) {
-            while (x >= xmax) {
-                x -= xmax - xmin;
-            }
-            while (x < xmin) {
-                x += xmax - xmin;
-            }
-        } // dass muss schneller gehen
-        //      else if ((x < xmin) || (x > xmax)){
-        //          System.out.println("out of the definition area");
-        //          return y;
-        //      }
-        else {
+            x = periodicArgument(x);
+        } else {
             if (x < xmin) {
                 return werte[1][0];
             }
@@ -233,25 +222,26 @@ public class DiscretScalarFunction1d implements ScalarFunction1d {
                 return werte[1][anz - 1];
             }
         }
-        try {
-// peters Optimierung
-            x1 = werte[0][actPosition];
-            x2 = werte[0][actPosition + 1];
+        // peters Optimierung: lokale Kopie der Position, da getValue parallel aus mehreren Threads gerufen wird
+        int pos = actPosition;
+        if (pos >= 0 && pos < anz - 1) {
+            x1 = werte[0][pos];
+            x2 = werte[0][pos + 1];
             if (!((x >= x1) && (x <= x2))) {
-                actPosition = min(actPosition + 1, anz - 2);
-                x1 = werte[0][actPosition];
-                x2 = werte[0][actPosition + 1];
+                pos = min(pos + 1, anz - 2);
+                x1 = werte[0][pos];
+                x2 = werte[0][pos + 1];
                 if ((x >= x1) && (x <= x2)) {
-                    y1 = werte[1][actPosition];
-                    y2 = werte[1][actPosition + 1];
+                    actPosition = pos;
+                    y1 = werte[1][pos];
+                    y2 = werte[1][pos + 1];
                     return (y1 + ((x - x1) / (x2 - x1)) * (y2 - y1));
                 }
             } else {
-                y1 = werte[1][actPosition];
-                y2 = werte[1][actPosition + 1];
+                y1 = werte[1][pos];
+                y2 = werte[1][pos + 1];
                 return (y1 + ((x - x1) / (x2 - x1)) * (y2 - y1));
             }
-        } catch (Exception ex) {
         }
 
         // geaendert Christoph: java.util.Arrays-Methoden ausnutzen
@@ -261,15 +251,32 @@ public class DiscretScalarFunction1d implements ScalarFunction1d {
             actPosition = insertion_point;
             return werte[1][insertion_point];
         } else {
-            actPosition = (-1) * insertion_point - 2;
-            x1 = werte[0][actPosition];
-            y1 = werte[1][actPosition];
-            x2 = werte[0][actPosition + 1];
-            y2 = werte[1][actPosition + 1];
+            pos = (-1) * insertion_point - 2;
+            actPosition = pos;
+            x1 = werte[0][pos];
+            y1 = werte[1][pos];
+            x2 = werte[0][pos + 1];
+            y2 = werte[1][pos + 1];
             return (y1 + ((x - x1) / (x2 - x1)) * (y2 - y1));
         }
     }
 
+    /** Argument einer periodischen Funktion in den Definitionsbereich [xmin, xmax) verschieben */
+    private double periodicArgument(double x) {
+        if (x >= xmin && x < xmax) {
+            return x;
+        }
+        final double period = xmax - xmin;
+        double r = xmin + (x - xmin) % period;
+        if (r < xmin) {
+            r += period;
+        }
+        if (r >= xmax) {
+            r = xmin;
+        }
+        return r;
+    }
+
 //--------------------------------------------------------------------------//
 //  SETZEN EINES FUNKTIONSWERTES                                            //
 //--------------------------------------------------------------------------//
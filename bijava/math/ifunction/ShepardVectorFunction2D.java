@@ -90,121 +90,60 @@ public class ShepardVectorFunction2D implements VectorFunction2d {
      ***********************************************************************/
     
     {
-        double r[];         // [0..n]-Vektor mit den Euklidischen Abstaenden
-        // der Stuetzstellen von der Interpolationsstelle
-        double w[];         // [0..n]-Vektor mit den Gewichten fuer die
-        // Stuetzwerte; haengt ab von r und mue.
-        double psi[] = null;// [0..n]-Hilfsvektor zur Berechnung der Gewichte
-        // im Falle der lokalen Shepard-Methode
-        double xi[] = null; // [0..n]-Hilfsvektor zur Berechnung der Gewichte
-        // im Falle der lokalen Shepard-Methode mit
-        // Franke-Little-Gewichten
-        double norm = 0;    // 1-Norm des Gewichtsvektors vor der Normierung
-        int  j;             // Laufvariable
+        final int n = s.length-1;
+        final int m = f[0].length;
+        final double PHI[] = new double[m];
         
-        int n = s.length-1;
-        
-        double PHI[] = new double[f[0].length];  	// Ausgabeparameter fuer den
-        // Fehlerfall vorsichtshalber
-        // mit einem ziemlich abartigen
-        // Wert vorbesetzen
-        for (int z_vec = 0;z_vec<f[0].length;z_vec++) {
-            
-            if (n < 0 ||                      	// unerlaubter Wert fuer n?
-            methode < 0 || methode > 2) {  	// undefinierte Shepard-Methode?
-                PHI[z_vec] = Double.NaN;
-                break; 		                // Fehler melden
+        if (n < 0 ||                      	// unerlaubter Wert fuer n?
+        methode < 0 || methode > 2) {  	        // undefinierte Shepard-Methode?
+            java.util.Arrays.fill(PHI, Double.NaN);
+            return PHI;                         // Fehler melden
+        }
+        if (methode != 0 && R <= 0) {           // unerlaubter Wert fuer R?
+            if (methode == 2)                   // lokal mit Franke-Little-Gew.?
+                R = 0.1;                        // R korrigieren
+            else {
+                java.util.Arrays.fill(PHI, Double.NaN);
+                return PHI;
             }
-            if (methode != 0)                 	// nicht globale Methode?
-                if (R <= 0)                     // unerlaubter Wert fuer R?
-                    if (methode == 2)       // lokal mit Franke-Little-Gew.?
-                        R = (double)0.1;// R korrigieren
-                    else {                  // andere Methode?
-                        PHI[z_vec] = Double.NaN;
-                    }
-            
-            r = new double[n+1];            	// Speicher fuer drei Vektoren
-            // anfordern
-            w   = new double[n+1];
-            if (methode != 0)
-                psi = new double[n+1];
-            
-            xi  = psi;                      	// nur ein anderer Name fuer
-            // schon vorhandenen Speicher
-            
-            if (mue <= 0)                     	// unerlaubter Wert fuer mue?
-                mue = 2;                        // den Standardwert 2 verwenden
-            
-            for (j = 0; j <= n; j++) {	         // Abstaende r[j] berechnen
-                r[j] = p.distance(s[j]);
-                
-                if (r[j] == 0) {                // Abstand Null, d. h. (x0,y0)
-                    // ist eine Stuetzstelle?
-                    PHI[z_vec] = f[j][z_vec];// passenden Stuetzwert
-                    // zurueckgeben
-                    break;
-                }
+        }
+        if (mue <= 0)                     	// unerlaubter Wert fuer mue?
+            mue = 2;                            // den Standardwert 2 verwenden
+        
+        // Die Gewichte haengen nur von der Interpolationsstelle ab und werden
+        // einmal fuer alle Komponenten bestimmt
+        final double w[] = new double[n+1];     // Gewichte fuer die Stuetzwerte
+        double norm = 0;                        // 1-Norm des Gewichtsvektors vor der Normierung
+        for (int j = 0; j <= n; j++) {
+            final double r = p.distance(s[j]);  // Abstand der Stuetzstelle von der Interpolationsstelle
+            if (r == 0) {                       // (x0,y0) ist eine Stuetzstelle
+                System.arraycopy(f[j], 0, PHI, 0, m);
+                return PHI;
             }
-            
-            
-            switch (methode) {           		// Gewichtsvektor
-                // vorbesetzen, seine
-                // 1-Norm berechnen
-                case 0:                  	// globale Methode?
-                    for (j = 0, norm = 0; j <= n; j++) {
-                        w[j] = 1 / Math.pow(r[j], mue);
-                        norm += w[j];
-                    }
+            switch (methode) {
+                case 0:                         // globale Methode
+                    w[j] = 1 / Math.pow(r, mue);
                     break;
-                case 1:                   	// lokale Methode?
-                    for (j = 0; j <= n; j++)// psi[j] berechnen
-                        if (r[j] >= R)
-                            psi[j] = 0;
-                        else
-                            psi[j] = (R / r[j]) - 1;
-                    
-                    for (j = 0, norm = 0; j <= n; j++)  			// aus psi die
-                        if (psi[j] != 0) {          			// Gewichte (noch
-                            w[j] = 1 / Math.pow(psi[j], mue);   	// nicht normiert) und
-                            norm += w[j];                       	// ihre Summe
-                        } else {                              	    	// berechnen
-                            w[j] = 0;
-                        }
+                case 1:                         // lokale Methode
+                    w[j] = (r >= R) ? 0 : 1 / Math.pow((R / r) - 1, mue);
                     break;
-                    
-                case 2:                                    	 // lokale Methode mit
-                    // Franke-Little-Gew.?
-                    for (j = 0; j <= n; j++)                 // xi[j] berechnen
-                        if (r[j] >= R)
-                            xi[j] = 0;
-                        else
-                            xi[j] = 1 - r[j] / R;
-                    
-                    for (j = 0, norm = 0; j <= n; j++) {       // aus xi die Gewichte
-                        w[j] =  Math.pow(xi[j], mue);      // (noch nicht
-                        norm  += w[j];                     // normiert) und ihre
-                    }			                   // Summe berechnen
+                default:                        // lokale Methode mit Franke-Little-Gewichten
+                    w[j] = (r >= R) ? 0 : Math.pow(1 - r / R, mue);
                     break;
-                    
-                default:                                   	   // eigentlich
-                    PHI[z_vec] = Double.NaN;
-                    break;
-            }
-            
-            if (norm == 0) {                                   // Alle Gewichte w[j]
-                // sind Null?
-                PHI[z_vec] = Double.NaN;                   // Fehler melden
-                break;
             }
-            for (j = 0; j <= n; j++)                     	   // die Gewichte
-                if (w[j] != 0)                             // normieren
-                    w[j] /= norm;
-            
-            PHI[z_vec] = 0;                         	   // Wert der Interpolationsfunktion
-            for (j = 0; j <= n; j++)         		   // an der Stelle (x0,y0) berechnen
-                PHI[z_vec] += w[j] * f[j][z_vec];
-            
+            norm += w[j];
+        }
+        
+        if (norm == 0) {                        // Alle Gewichte w[j] sind Null?
+            java.util.Arrays.fill(PHI, Double.NaN);
+            return PHI;
+        }
+        for (int j = 0; j <= n; j++) {
+            if (w[j] == 0) continue;
+            final double wj = w[j] / norm;      // normiertes Gewicht
+            for (int z_vec = 0; z_vec < m; z_vec++)
+                PHI[z_vec] += wj * f[j][z_vec];
         }
         return PHI;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,43 @@
+/* ----- AGPL ------------------------------------------------------------------
+ * Copyright (C) Peter Milbradt, 1996-2026
+
+ * This file is part of Marina.
+
+ * Marina is free software: you can redistribute it and/or modify              
+ * it under the terms of the GNU Affero General Public License as               
+ * published by the Free Software Foundation version 3.
+ * 
+ * Marina is distributed in the hope that it will be useful,                  
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of               
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                
+ * GNU Affero General Public License for more details.                          
+ *                                                                              
+ * You should have received a copy of the GNU Affero General Public License     
+ * along with Marina.  If not, see <http://www.gnu.org/licenses/>.             
+ *                                                                               
+ * contact: milbradt@smileconsult.de                                        
+ * smile consult GmbH                                                           
+ * Schiffgraben 11                                                                 
+ * 30159 Hannover, Germany 
+ * 
+ */
+package de.smile.marina;
+
+/**
+ * Kopplungsbeschreibung eines zeitabhaengigen Modells fuer den
+ * ModelScheduler: die Klassen der Knoten- und Elementdaten, die das Modell
+ * in timeStep liest und schreibt. Modelle ohne diese Beschreibung werden
+ * als abhaengig von allen anderen Modellen behandelt.
+ *
+ * @author Peter Milbradt
+ * @version 1.0.0
+ */
+public interface CoupledModel {
+
+    /** Datenklassen anderer Modelle, die waehrend timeStep gelesen werden */
+    public Class<?>[] getReadData();
+
+    /** Datenklassen, die waehrend timeStep geschrieben werden */
+    public Class<?>[] getWrittenData();
+
+}
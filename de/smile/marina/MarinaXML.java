@@ -30,8 +30,10 @@ import de.smile.marina.fem.model.hydrodynamic.dim2.*;
 import de.smile.marina.fem.model.hydrodynamic.dim3.*;
 import de.smile.marina.fem.model.meteorology.*;
 import de.smile.marina.io.*;
+import de.smile.math.WorkerPool;
 import de.smile.math.ode.ivp.*;
 import de.smile.xml.marina.*;
+import java.io.Closeable;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.net.InetAddress;
@@ -145,15 +147,28 @@ public class MarinaXML {
                     }
                 }
 
+                // optional binaerer Zwischenspeicher des eingelesenen Netzes (<FileName>.cache)
+                final boolean meshCache = Boolean.TRUE
+                        .equals(controlParameter.getSystem().getTriangleMesh().isMeshCache());
                 if (controlParameter.getSystem().getTriangleMesh().getFileType() == TMeshFileType.SYS_DAT_FILE) {
-                    feapp = TicadIO
-                            .readFESysDat(base_dir + controlParameter.getSystem().getTriangleMesh().getFileName());
-                    feapp.initialMeanEdgeLength();
+                    if (meshCache) {
+                        feapp = MeshCache.read(base_dir + controlParameter.getSystem().getTriangleMesh().getFileName(),
+                                TicadIO::readFESysDat);
+                    } else {
+                        feapp = TicadIO
+                                .readFESysDat(base_dir + controlParameter.getSystem().getTriangleMesh().getFileName());
+                        feapp.initialMeanEdgeLength();
+                    }
                 } else if (controlParameter.getSystem().getTriangleMesh()
                         .getFileType() == TMeshFileType.JANET_BINARY_FILE) {
-                    feapp = SmileIO.readFEDfromJanetBin(
-                            base_dir + controlParameter.getSystem().getTriangleMesh().getFileName());
-                    feapp.initialMeanEdgeLength();
+                    if (meshCache) {
+                        feapp = MeshCache.read(base_dir + controlParameter.getSystem().getTriangleMesh().getFileName(),
+                                SmileIO::readFEDfromJanetBin);
+                    } else {
+                        feapp = SmileIO.readFEDfromJanetBin(
+                                base_dir + controlParameter.getSystem().getTriangleMesh().getFileName());
+                        feapp.initialMeanEdgeLength();
+                    }
                 }
                 try {
                     epsgCode = controlParameter.getSystem().getEPSGCode();
@@ -176,6 +191,11 @@ public class MarinaXML {
                 System.out.println("Number of threads:     " + numberOfThreads);
                 System.setProperty("java.util.concurrent.ForkJoinPool.common.parallelism",
                         Integer.toString(Math.max(2, numberOfThreads)));
+                // gemeinsamer Pool der Worker-Threads fuer die parallelen Schleifen aller Modelle
+                WorkerPool.initialize(numberOfThreads);
+
+                // Ergebnisse im Hintergrund schreiben (Doppelpufferung je Ergebnisdatei)
+                TicadResultWriter.setAsynchronousOutput(2);
 
                 SimpleTStep methode = new EulerTStep();
                 ((EulerTStep) methode).setNumberOfThreads(numberOfThreads);
@@ -183,6 +203,26 @@ public class MarinaXML {
                 // Configuration
                 de.smile.xml.marina.Marina.Configuration configuration = mcp.getConfiguration();
 
+                // cache-freundliche Nummerierung der Knoten und Elemente, Ein- und Ausgaben in der Nummerierung der Netzdatei
+                if (Boolean.TRUE.equals(controlParameter.getSystem().getTriangleMesh().isRenumbering())) {
+                    final String notRenumbered = (configuration.getCurrentModel3D() != null) ? "CurrentModel3D"
+                            : (configuration.getGroundWaterModel2D() != null) ? "GroundWaterModel2D"
+                            : (configuration.getFluidMudFlowModel2D() != null) ? "FluidMudFlowModel2D"
+                            : (configuration.getWaveHypModel() != null) ? "WaveHypModel"
+                            : (configuration.getDetritusTransportModel2D() != null) ? "DetritusTransportModel2D"
+                            : (configuration.getNitratTransportModel2D() != null) ? "NitratTransportModel2D"
+                            : (configuration.getPhytoplanktonTransportModel2D() != null) ? "PhytoplanktonTransportModel2D"
+                            : (configuration.getZooplanktonTransportModel2D() != null) ? "ZooplanktonTransportModel2D"
+                            : (configuration.getSpartinaAlternifloraModel2D() != null) ? "SpartinaAlternifloraModel2D"
+                            : null;
+                    if (notRenumbered == null) {
+                        MeshRenumbering.renumber(feapp);
+                    } else {
+                        System.out.println("Renumbering of the mesh is not supported by " + notRenumbered
+                                + ", the numbering of the mesh file is used");
+                    }
+                }
+
                 // generate modellvector
                 ArrayList<TimeDependentFEModel> TimeDependentFEModels = new ArrayList<>();
 
@@ -221,6 +261,26 @@ public class MarinaXML {
                             metModel.initialSolution(startTime);
                             TimeDependentFEModels.add(new TimeDependentFEModel(metModel, null));
                         }
+                        if (configuration.getMeteorologicalModel2D().getDataBased().getWindStations() != null) {
+                            Marina.Configuration.MeteorologicalModel2D.DataBased.WindStations stations = configuration
+                                    .getMeteorologicalModel2D().getDataBased().getWindStations();
+                            if (stations.getShepardNeighbours() != null)
+                                meteorologydat.shepardNeighbours = stations.getShepardNeighbours();
+                            if (stations.getShepardRadius() != null)
+                                meteorologydat.shepardRadius = stations.getShepardRadius();
+                            OKWind[] windtimeseries = new OKWind[stations.getStation().size()];
+                            for (int i = 0; i < windtimeseries.length; i++) {
+                                Marina.Configuration.MeteorologicalModel2D.DataBased.WindStations.Station station = stations
+                                        .getStation().get(i);
+                                windtimeseries[i] = new OKWind(base_dir + station.getFileName());
+                                windtimeseries[i].setLocation(station.getX(), station.getY());
+                            }
+                            ShepardInterpolatedMeteorologicalModel2D shepardModel = new ShepardInterpolatedMeteorologicalModel2D(
+                                    feapp, windtimeseries, meteorologydat);
+                            shepardModel.setStartTime(startTime);
+                            shepardModel.initialSolution(startTime);
+                            TimeDependentFEModels.add(new TimeDependentFEModel(shepardModel, null));
+                        }
                     }
                 }
 
@@ -2109,6 +2169,25 @@ public class MarinaXML {
                 double dt = controlParameter.getSimulationTime().getResultTimeStep();
                 boolean everyTimeStep = (dt <= 0.);
 
+                // Subcycling langsamer Modelle
+                if (controlParameter.getSubCycling() != null) {
+                    for (de.smile.xml.marina.Marina.ControlParameter.SubCycling.Model sc : controlParameter.getSubCycling().getModel()) {
+                        boolean found = false;
+                        for (TimeDependentFEModel m : TimeDependentFEModels) {
+                            if (m.model.getClass().getSimpleName().equals(sc.getName())) {
+                                m.setCycles(sc.getCycles());
+                                found = true;
+                            }
+                        }
+                        if (!found)
+                            System.out.println("SubCycling: model " + sc.getName() + " not found");
+                    }
+                }
+
+                // Abhaengigkeiten der gekoppelten Modelle fuer den Zeitschritt
+                ModelScheduler scheduler = new ModelScheduler(TimeDependentFEModels);
+                System.out.println("Model schedule: " + scheduler);
+
                 System.out.println("Start Simulation");
                 boolean resultIsNaN = false;
 
@@ -2120,12 +2199,8 @@ public class MarinaXML {
 
                     // ...Schleife ueber einen Zeitschritt............................
                     do {
-                        double ts = Double.MAX_VALUE;
-
-                        // ...Zeitschritt auf Courant-Schitt setzen (minim. Zeitschritt)
-                        for (TimeDependentFEModel m : TimeDependentFEModels) {
-                            ts = Math.min(ts, m.getODESystem().getMaxTimeStep()); // Zeitschritt auf Courant-Schritt
-                        }
+                        // ...Zeitschritt auf Courant-Schitt setzen (minim. Zeitschritt, Subcycling beruecksichtigt)
+                        double ts = scheduler.getMaxTimeStep();
                         if (everyTimeStep) {
                             te = ta + ts;
                             dt = ts;
@@ -2134,14 +2209,9 @@ public class MarinaXML {
                         if ((ta + ts) > te)
                             ts = te - ta;
 
-                        // ...Berechnung durchfuehren.................................
-                        for (TimeDependentFEModel m : TimeDependentFEModels) {
-                            if (m.model instanceof TimeDependentModel timeDependentModel) {
-                                timeDependentModel.timeStep(ts);
-                            } else
-                                m.setResult(methode.TimeStep(m.getODESystem(), ta, ts, m.getResult()));
-                            resultIsNaN |= ((FEApproximation) m.model).resultIsNaN;
-                        }
+                        // ...Berechnung durchfuehren, unabhaengige Modelle gleichzeitig
+                        // Modelle mit Subcycling vor der Ergebnisausgabe synchronisieren
+                        resultIsNaN |= scheduler.timeStep(methode, ta, ts, ta + ts >= te);
                         if (resultIsNaN)
                             for (TimeDependentFEModel m : TimeDependentFEModels) {
                                 if (m.model instanceof TimeDependentModel timeDependentModel) {
@@ -2164,6 +2234,8 @@ public class MarinaXML {
 
                     // ...Ergebnisse rauschreiben.....................................
                     for (TimeDependentFEModel m : TimeDependentFEModels) {
+                        final ModelStatistics statistics = (m.model instanceof TimeDependentFEApproximation approximation) ? approximation.getStatistics() : null;
+                        final long begin = System.nanoTime();
                         if (m.model instanceof TimeDependentModel timeDependentModel) {
                             timeDependentModel.write_erg_xf();
                             if (m.model instanceof CurrentModel3D currentModel3D)
@@ -2173,13 +2245,21 @@ public class MarinaXML {
                             if (obj instanceof TicadModel ticadModel)
                                 ticadModel.write_erg_xf(m.getResult(), t + dt);
                         }
+                        if (statistics != null)
+                            statistics.end(ModelStatistics.Phase.OUTPUT, begin);
                     }
 
                     System.out.println("Runtime: " + ((System.currentTimeMillis() - time) / 1000 / 60) + " min ("
                             + ((System.currentTimeMillis() - time) / 1000) + " sec )");
+                    System.out.println(scheduler.getStatistics());
 
                 } // end for
 
+                for (TimeDependentFEModel m : TimeDependentFEModels) {
+                    if (m.model instanceof Closeable closeable)
+                        closeable.close();
+                }
+                TicadResultWriter.closeAll();
                 System.out.println("simulation end");
 
             } catch (Exception ex) {
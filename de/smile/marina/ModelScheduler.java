@@ -0,0 +1,260 @@
+/* ----- AGPL ------------------------------------------------------------------
+ * Copyright (C) Peter Milbradt, 1996-2026
+
+ * This file is part of Marina.
+
+ * Marina is free software: you can redistribute it and/or modify              
+ * it under the terms of the GNU Affero General Public License as               
+ * published by the Free Software Foundation version 3.
+ * 
+ * Marina is distributed in the hope that it will be useful,                  
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of               
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                
+ * GNU Affero General Public License for more details.                          
+ *                                                                              
+ * You should have received a copy of the GNU Affero General Public License     
+ * along with Marina.  If not, see <http://www.gnu.org/licenses/>.             
+ *                                                                               
+ * contact: milbradt@smileconsult.de                                        
+ * smile consult GmbH                                                           
+ * Schiffgraben 11                                                                 
+ * 30159 Hannover, Germany 
+ * 
+ */
+package de.smile.marina;
+
+import de.smile.marina.fem.FEApproximation;
+import de.smile.marina.fem.ModelStatistics;
+import de.smile.marina.fem.TimeDependentFEApproximation;
+import de.smile.marina.fem.TimeDependentFEModel;
+import de.smile.math.WorkerPool;
+import de.smile.math.ode.ivp.SimpleTStep;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Ablaufsteuerung eines Zeitschritts der gekoppelten Modelle.
+ *
+ * Aus den Lese- und Schreibmengen der Modelle (CoupledModel) wird ein
+ * Abhaengigkeitsgraph in der Reihenfolge der Modellliste aufgebaut: ein
+ * Modell haengt von einem frueheren Modell ab, wenn eines der beiden Daten
+ * schreibt, die das andere liest oder schreibt. Modelle ohne
+ * Kopplungsbeschreibung und Modelle, die ueber das ODE-Verfahren integriert
+ * werden, haengen von allen anderen ab. Die Modelle werden in Stufen
+ * eingeteilt, die Modelle einer Stufe sind voneinander unabhaengig und
+ * werden gleichzeitig auf dem gemeinsamen WorkerPool gerechnet. Damit sieht
+ * jedes Modell dieselben Daten wie bei der sequentiellen Abarbeitung der
+ * Liste.
+ *
+ * Modelle mit cycles > 1 (Subcycling) werden nur jeden cycles-ten
+ * gemeinsamen Zeitschritt mit der Summe der ausgelassenen Schritte gerechnet
+ * und vor jeder Ergebnisausgabe synchronisiert. Ueberschreitet die Summe
+ * der Schritte den stabilen Zeitschritt, den das Modell nach seinem Schritt
+ * meldet (z.B. das Courant-Kriterium der Advektion in der Elementschleife),
+ * wird die Anzahl der cycles des Modells verringert.
+ *
+ * Die Zeitschritte der Modelle werden in deren ModelStatistics erfasst, die
+ * Statistiken werden beim Aufbau als MBeans angemeldet.
+ *
+ * @author Peter Milbradt
+ * @version 1.2.1
+ */
+public final class ModelScheduler {
+
+    private final TimeDependentFEModel[] models;
+    private final int[][] stages;
+    private final int[] counter; // ausgelassene Zeitschritte je Modell
+    private final double[] pendingTime; // noch nicht gerechnete Zeit je Modell
+    private boolean first = true;
+
+    public ModelScheduler(List<TimeDependentFEModel> modelList) {
+        models = modelList.toArray(new TimeDependentFEModel[0]);
+        final int n = models.length;
+        counter = new int[n];
+        pendingTime = new double[n];
+
+        // Stufe eines Modells: eins hinter der hoechsten Stufe seiner Vorgaenger
+        final int[] level = new int[n];
+        int numberOfStages = 0;
+        for (int j = 0; j < n; j++) {
+            for (int i = 0; i < j; i++) {
+                if (level[i] >= level[j] && dependent(models[i].model, models[j].model)) {
+                    level[j] = level[i] + 1;
+                }
+            }
+            numberOfStages = Math.max(numberOfStages, level[j] + 1);
+        }
+
+        final int[] count = new int[numberOfStages];
+        for (int j = 0; j < n; j++) {
+            count[level[j]]++;
+        }
+        stages = new int[numberOfStages][];
+        for (int s = 0; s < numberOfStages; s++) {
+            stages[s] = new int[count[s]];
+            count[s] = 0;
+        }
+        for (int j = 0; j < n; j++) {
+            stages[level[j]][count[level[j]]++] = j;
+        }
+
+        for (int j = 0; j < n; j++) {
+            if (models[j].model instanceof TimeDependentFEApproximation approximation) {
+                approximation.getStatistics().register(j);
+            }
+        }
+    }
+
+    /** true, wenn model2 nicht gleichzeitig mit dem frueheren model1 gerechnet werden darf */
+    private static boolean dependent(Object model1, Object model2) {
+        if (!(model1 instanceof TimeDependentModel && model1 instanceof CoupledModel)
+                || !(model2 instanceof TimeDependentModel && model2 instanceof CoupledModel)) {
+            return true;
+        }
+        final CoupledModel c1 = (CoupledModel) model1;
+        final CoupledModel c2 = (CoupledModel) model2;
+        return overlap(c1.getWrittenData(), c2.getReadData())
+                || overlap(c1.getWrittenData(), c2.getWrittenData())
+                || overlap(c1.getReadData(), c2.getWrittenData());
+    }
+
+    private static boolean overlap(Class<?>[] a, Class<?>[] b) {
+        for (Class<?> ca : a) {
+            for (Class<?> cb : b) {
+                if (ca.isAssignableFrom(cb) || cb.isAssignableFrom(ca)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public int getNumberOfStages() {
+        return stages.length;
+    }
+
+    /**
+     * maximal zulaessiger gemeinsamer Zeitschritt, ein Modell mit Subcycling
+     * muss die Summe seiner cycles Zeitschritte stabil rechnen koennen
+     *
+     * @return
+     */
+    public double getMaxTimeStep() {
+        double ts = Double.MAX_VALUE;
+        for (TimeDependentFEModel m : models) {
+            ts = Math.min(ts, m.getODESystem().getMaxTimeStep() / m.getCycles());
+        }
+        return ts;
+    }
+
+    /**
+     * rechnet einen gemeinsamen Zeitschritt, Modelle mit Subcycling nur wenn
+     * sie faellig sind
+     *
+     * @param methode     Zeitschrittverfahren fuer die Modelle ohne eigenes timeStep
+     * @param ta          Anfangszeit des Schritts
+     * @param ts          Zeitschrittweite
+     * @param synchronize alle Modelle bis ta+ts rechnen (z.B. vor einer Ergebnisausgabe)
+     * @return true, wenn ein Modell NaN-Ergebnisse liefert
+     */
+    public boolean timeStep(SimpleTStep methode, double ta, double ts, boolean synchronize) {
+        final double te = ta + ts;
+        final boolean[] due = new boolean[models.length];
+        for (int j = 0; j < models.length; j++) {
+            counter[j]++;
+            pendingTime[j] += ts;
+            due[j] = synchronize || counter[j] >= models[j].getCycles();
+        }
+
+        // der erste Schritt wird in Listenreihenfolge gerechnet, damit die
+        // gemeinsam genutzten Netzdaten (z.B. Elementfaerbung) vor der
+        // gleichzeitigen Nutzung aufgebaut sind
+        if (first || WorkerPool.getNumberOfThreads() == 1) {
+            first = false;
+            for (int j = 0; j < models.length; j++) {
+                if (due[j]) {
+                    timeStep(j, methode, te);
+                }
+            }
+        } else {
+            final List<ForkJoinTask<?>> tasks = new ArrayList<>();
+            for (int[] stage : stages) {
+                tasks.clear();
+                for (int j : stage) {
+                    if (due[j]) {
+                        tasks.add(ForkJoinTask.adapt(() -> timeStep(j, methode, te)));
+                    }
+                }
+                if (tasks.size() == 1) {
+                    tasks.get(0).invoke();
+                } else if (tasks.size() > 1) {
+                    WorkerPool.invoke(() -> ForkJoinTask.invokeAll(tasks));
+                }
+            }
+        }
+        boolean resultIsNaN = false;
+        for (TimeDependentFEModel m : models) {
+            resultIsNaN |= ((FEApproximation) m.model).resultIsNaN;
+        }
+        return resultIsNaN;
+    }
+
+    /** rechnet das Modell j ueber die aufgelaufene Zeit bis te */
+    private void timeStep(int j, SimpleTStep methode, double te) {
+        final TimeDependentFEModel m = models[j];
+        final double ts = pendingTime[j];
+        final ModelStatistics statistics = (m.model instanceof TimeDependentFEApproximation approximation) ? approximation.getStatistics() : null;
+        if (statistics != null) {
+            statistics.beginStep();
+        }
+        if (m.model instanceof TimeDependentModel timeDependentModel) {
+            timeDependentModel.timeStep(ts);
+        } else {
+            m.setResult(methode.TimeStep(m.getODESystem(), te - ts, ts, m.getResult()));
+        }
+        if (m.model instanceof TimeDependentFEApproximation approximation) {
+            final double stable = approximation.getMaxTimeStep();
+            statistics.endStep(ts, stable);
+            if (m.getCycles() > 1 && ts > stable) {
+                // die Summe der cycles Zeitschritte ist nicht stabil
+                final int cycles = Math.max(1, (int) (m.getCycles() * stable / ts));
+                System.out.println("SubCycling: " + m.model.getClass().getSimpleName() + " time step " + ts
+                        + " exceeds the stable time step " + stable + ", cycles reduced from " + m.getCycles() + " to " + cycles);
+                m.setCycles(cycles);
+            }
+        }
+        counter[j] = 0;
+        pendingTime[j] = 0.;
+    }
+
+    /** Tabelle der Modellstatistiken seit dem letzten Aufruf */
+    public String getStatistics() {
+        final StringBuilder sb = new StringBuilder(ModelStatistics.summaryHeader());
+        for (TimeDependentFEModel m : models) {
+            if (m.model instanceof TimeDependentFEApproximation approximation) {
+                sb.append(System.lineSeparator()).append(approximation.getStatistics().summary());
+            }
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        for (int[] stage : stages) {
+            sb.append('[');
+            for (int i = 0; i < stage.length; i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                sb.append(models[stage[i]].model.getClass().getSimpleName());
+                if (models[stage[i]].getCycles() > 1) {
+                    sb.append('/').append(models[stage[i]].getCycles());
+                }
+            }
+            sb.append(']');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,118 @@
+/* ----- AGPL ------------------------------------------------------------------
+ * Copyright (C) Peter Milbradt, 1996-2026
+
+ * This file is part of Marina.
+
+ * Marina is free software: you can redistribute it and/or modify              
+ * it under the terms of the GNU Affero General Public License as               
+ * published by the Free Software Foundation version 3.
+ * 
+ * Marina is distributed in the hope that it will be useful,                  
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of               
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                
+ * GNU Affero General Public License for more details.                          
+ *                                                                              
+ * You should have received a copy of the GNU Affero General Public License     
+ * along with Marina.  If not, see <http://www.gnu.org/licenses/>.             
+ *                                                                               
+ * contact: milbradt@smileconsult.de                                        
+ * smile consult GmbH                                                           
+ * Schiffgraben 11                                                                 
+ * 30159 Hannover, Germany 
+ * 
+ */
+package de.smile.marina.benchmark;
+
+import de.smile.marina.fem.ModelStatistics;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+/**
+ * Kleiner Messrahmen fuer die Benchmarks der numerischen Kerne: Aufwaermen,
+ * gemessene Wiederholungen, Durchsatz sowie die Allokationen aller Threads
+ * (ueber com.sun.management.ThreadMXBean) und die Garbage-Collection
+ * waehrend der Messung.
+ *
+ * @author Peter Milbradt
+ * @version 1.0.1
+ */
+public final class Benchmark {
+
+    private final int warmup;
+    private final int iterations;
+    private final PrintWriter csv;
+
+    /**
+     * @param warmup     Anzahl der nicht gemessenen Aufrufe
+     * @param iterations Anzahl der gemessenen Aufrufe
+     * @param csvFile    Datei fuer die Ergebnisse im CSV-Format oder null
+     * @throws IOException
+     */
+    public Benchmark(int warmup, int iterations, String csvFile) throws IOException {
+        this.warmup = warmup;
+        this.iterations = iterations;
+        if (csvFile != null) {
+            csv = new PrintWriter(new FileWriter(csvFile));
+            csv.println("benchmark;ns/op;op/s;B/op;MB/s;gc;gc ms");
+        } else {
+            csv = null;
+        }
+        if (!ModelStatistics.isAllocationMeasured()) {
+            System.out.println("allocation measurement not supported by this JVM");
+        }
+    }
+
+    private static long[] gc() {
+        long count = 0, millis = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, bean.getCollectionCount());
+            millis += Math.max(0, bean.getCollectionTime());
+        }
+        return new long[]{count, millis};
+    }
+
+    /**
+     * misst den Kern
+     *
+     * @param name       Name des Benchmarks
+     * @param operations Anzahl der Operationen (z.B. Elemente) je Aufruf
+     * @param body       ein Aufruf des Kerns
+     */
+    public void run(String name, long operations, Runnable body) {
+        for (int i = 0; i < warmup; i++) {
+            body.run();
+        }
+        final long[] gc0 = gc();
+        final long bytes0 = ModelStatistics.allocatedBytes();
+        final long t0 = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            body.run();
+        }
+        final long nanos = System.nanoTime() - t0;
+        final long bytes = ModelStatistics.allocatedBytes() - bytes0;
+        final long[] gc1 = gc();
+
+        final double ops = (double) operations * iterations;
+        final double nsPerOp = nanos / ops;
+        final double opsPerSecond = ops / (nanos * 1.e-9);
+        final double bytesPerOp = bytes / ops;
+        final double mbPerSecond = bytes / (nanos * 1.e-9) / (1024. * 1024.);
+        System.out.println(String.format(Locale.ROOT, "%-48s %12.2f ns/op %14.0f op/s %10.2f B/op %9.1f MB/s %4d gc %6d ms",
+                name, nsPerOp, opsPerSecond, bytesPerOp, mbPerSecond, gc1[0] - gc0[0], gc1[1] - gc0[1]));
+        if (csv != null) {
+            csv.println(String.format(Locale.ROOT, "%s;%.3f;%.1f;%.3f;%.3f;%d;%d",
+                    name, nsPerOp, opsPerSecond, bytesPerOp, mbPerSecond, gc1[0] - gc0[0], gc1[1] - gc0[1]));
+            csv.flush();
+        }
+    }
+
+    public void close() {
+        if (csv != null) {
+            csv.close();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/* ----- AGPL ------------------------------------------------------------------
+ * Copyright (C) Peter Milbradt, 1996-2026
+
+ * This file is part of Marina.
+
+ * Marina is free software: you can redistribute it and/or modify              
+ * it under the terms of the GNU Affero General Public License as               
+ * published by the Free Software Foundation version 3.
+ * 
+ * Marina is distributed in the hope that it will be useful,                  
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of               
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                
+ * GNU Affero General Public License for more details.                          
+ *                                                                              
+ * You should have received a copy of the GNU Affero General Public License     
+ * along with Marina.  If not, see <http://www.gnu.org/licenses/>.             
+ *                                                                               
+ * contact: milbradt@smileconsult.de                                        
+ * smile consult GmbH                                                           
+ * Schiffgraben 11                                                                 
+ * 30159 Hannover, Germany 
+ * 
+ */
+package de.smile.marina.benchmark;
+
+import de.smile.marina.PhysicalParameters;
+import de.smile.marina.fem.model.hydrodynamic.wave.DispersionRelation;
+import de.smile.marina.fem.model.hydrodynamic.wave.WaveFunction;
+
+/**
+ * Accuracy and speed of the {@link DispersionRelation} compared with the
+ * iterative {@link WaveFunction#WaveNumber(double, double)}.
+ *
+ * usage: java de.smile.marina.benchmark.DispersionRelationBenchmark [number of evaluations]
+ *
+ * @author Peter Milbradt
+ * @version 1.0.1
+ */
+public final class DispersionRelationBenchmark {
+
+    private DispersionRelationBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        final int m = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+
+        // Genauigkeit ueber kh0 von 1e-8 bis 100 gegen die Loesung mit Maschinengenauigkeit
+        double maxTable = 0., maxExplicit = 0., maxIterative = 0.;
+        for (int i = 0; i <= 200_000; i++) {
+            final double kh0 = Math.pow(10., -8. + 10. * i / 200_000.);
+            final double exact = DispersionRelation.solve(kh0);
+            maxTable = Math.max(maxTable, Math.abs(DispersionRelation.kh(kh0) - exact) / exact);
+            maxExplicit = Math.max(maxExplicit, Math.abs(DispersionRelation.khExplicit(kh0) - exact) / exact);
+            final double depth = 10.;
+            final double sigma = Math.sqrt(kh0 * PhysicalParameters.G / depth);
+            final double iterative = WaveFunction.WaveNumber(depth, sigma) * depth;
+            if (sigma > 1.E-6) { // unterhalb liefert WaveFunction 0
+                maxIterative = Math.max(maxIterative, Math.abs(iterative - exact) / exact);
+            }
+        }
+        System.out.println("max. relative error table     " + maxTable);
+        System.out.println("max. relative error explicit  " + maxExplicit);
+        System.out.println("max. relative error iterative " + maxIterative);
+
+        // Tiefen und Frequenzen wie in einem Spektralwellenmodell
+        final java.util.Random random = new java.util.Random(4711L);
+        final double[] depth = new double[m];
+        final double[] sigma = new double[m];
+        for (int i = 0; i < m; i++) {
+            depth[i] = 0.1 + 30. * random.nextDouble();
+            sigma[i] = 2. * Math.PI * (0.04 + 0.46 * random.nextDouble());
+        }
+        final double[] k = new double[m];
+        for (int run = 0; run < 3; run++) {
+            long t = System.nanoTime();
+            for (int i = 0; i < m; i++) {
+                k[i] = WaveFunction.WaveNumber(depth[i], sigma[i]);
+            }
+            final long iterative = System.nanoTime() - t;
+            t = System.nanoTime();
+            for (int i = 0; i < m; i++) {
+                k[i] = DispersionRelation.waveNumber(depth[i], sigma[i]);
+            }
+            final long table = System.nanoTime() - t;
+            t = System.nanoTime();
+            for (int i = 0; i < m; i++) {
+                k[i] = DispersionRelation.waveNumberExplicit(depth[i], sigma[i]);
+            }
+            final long explicit = System.nanoTime() - t;
+            System.out.println("run " + run + ": ns per wave number iterative " + (double) iterative / m
+                    + ", table " + (double) table / m + ", explicit " + (double) explicit / m);
+        }
+    }
+}
@@ -0,0 +1,275 @@
+/* ----- AGPL ------------------------------------------------------------------
+ * Copyright (C) Peter Milbradt, 1996-2026
+
+ * This file is part of Marina.
+
+ * Marina is free software: you can redistribute it and/or modify              
+ * it under the terms of the GNU Affero General Public License as               
+ * published by the Free Software Foundation version 3.
+ * 
+ * Marina is distributed in the hope that it will be useful,                  
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of               
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                
+ * GNU Affero General Public License for more details.                          
+ *                                                                              
+ * You should have received a copy of the GNU Affero General Public License     
+ * along with Marina.  If not, see <http://www.gnu.org/licenses/>.             
+ *                                                                               
+ * contact: milbradt@smileconsult.de                                        
+ * smile consult GmbH                                                           
+ * Schiffgraben 11                                                                 
+ * 30159 Hannover, Germany 
+ * 
+ */
+package de.smile.marina.benchmark;
+
+import bijava.math.ifunction.DiscretScalarFunction1d;
+import de.smile.marina.fem.DOF;
+import de.smile.marina.fem.FElement;
+import de.smile.marina.fem.FTriangle;
+import de.smile.marina.fem.FTriangleMesh;
+import de.smile.marina.fem.MeshTopology;
+import de.smile.marina.fem.SyntheticMesh;
+import de.smile.marina.fem.model.hydrodynamic.dim2.*;
+import de.smile.marina.fem.model.hydrodynamic.wave.WaveFunction;
+import de.smile.math.WorkerPool;
+import de.smile.xml.marina.Marina;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import javax.vecmath.Point3d;
+
+/**
+ * Benchmarks der numerischen Kerne von Marina auf einem synthetischen Netz,
+ * gemessen werden Durchsatz und Allokationen je Operation (siehe
+ * {@link Benchmark}).
+ *
+ * usage: java de.smile.marina.benchmark.KernelBenchmarks [key=value ...]
+ * <pre>
+ *   elements=100000      Anzahl der Elemente (10k bis 5M)
+ *   mesh=unstructured    structured oder unstructured
+ *   dry=0.2              trocken fallender Anteil des Gebiets
+ *   threads=4            Anzahl der Worker-Threads
+ *   warmup=5             nicht gemessene Aufrufe je Benchmark
+ *   iterations=10        gemessene Aufrufe je Benchmark
+ *   filter=              nur Benchmarks, deren Name den Text enthaelt
+ *   csv=                 Ergebnisdatei im CSV-Format
+ * </pre>
+ *
+ * @author Peter Milbradt
+ * @version 1.1.0
+ */
+final class KernelBenchmarks {
+
+    private static String filter = "";
+    private static Benchmark benchmark;
+
+    private KernelBenchmarks() {
+    }
+
+    private static void run(String name, long operations, Runnable body) {
+        if (name.contains(filter)) {
+            benchmark.run(name, operations, body);
+        }
+    }
+
+    private static double[] sink = new double[1]; // verhindert das Entfernen der Rechnung durch den JIT
+
+    public static void main(String[] args) throws IOException {
+        final Map<String, String> arg = new HashMap<>();
+        for (String a : args) {
+            final int i = a.indexOf('=');
+            if (i > 0) {
+                arg.put(a.substring(0, i), a.substring(i + 1));
+            }
+        }
+        final int numberOfElements = Integer.parseInt(arg.getOrDefault("elements", "100000"));
+        final boolean structured = "structured".equals(arg.getOrDefault("mesh", "unstructured"));
+        final double dry = Double.parseDouble(arg.getOrDefault("dry", "0.2"));
+        final int threads = Integer.parseInt(arg.getOrDefault("threads", Integer.toString(Runtime.getRuntime().availableProcessors())));
+        filter = arg.getOrDefault("filter", "");
+        benchmark = new Benchmark(Integer.parseInt(arg.getOrDefault("warmup", "5")),
+                Integer.parseInt(arg.getOrDefault("iterations", "10")), arg.get("csv"));
+
+        WorkerPool.initialize(threads);
+        final int n = SyntheticMesh.cellsPerSide(numberOfElements);
+        final FTriangleMesh mesh = structured ? SyntheticMesh.structured(n, n) : SyntheticMesh.unstructured(n, n, 4711L);
+        SyntheticMesh.setBathymetry(mesh, dry);
+        final DOF[] dofs = mesh.getDOFs();
+        final int nodes = dofs.length;
+        final int elements = mesh.getNumberofFElements();
+        System.out.println((structured ? "structured" : "unstructured") + " mesh with " + elements + " elements, "
+                + nodes + " nodes, dry fraction " + dry + ", " + threads + " threads");
+
+        // ... Modelle ..........................................................
+        final File currentErg = File.createTempFile("currenterg", ".bin");
+        final File sedimentErg = File.createTempFile("sedimenterg", ".bin");
+        currentErg.deleteOnExit();
+        sedimentErg.deleteOnExit();
+
+        final CurrentDat currentdat = new CurrentDat();
+        currentdat.NumberOfThreads = threads;
+        currentdat.xferg_name = currentErg.getPath();
+        final CurrentModel2D current = new CurrentModel2D(mesh, currentdat);
+        current.initialSolution(0.);
+        final Random random = new Random(815L);
+        for (DOF dof : dofs) {
+            final CurrentModel2DData cmd = CurrentModel2DData.extract(dof);
+            if (cmd.totaldepth > currentdat.watt) {
+                cmd.u = 0.5 + 0.5 * random.nextDouble();
+                cmd.v = 0.2 * (random.nextDouble() - 0.5);
+                cmd.cv = Math.hypot(cmd.u, cmd.v);
+            }
+        }
+
+        final SedimentDat sedimentdat = new SedimentDat(new Marina.Configuration.SedimentTransportModel2D());
+        sedimentdat.NumberOfThreads = threads;
+        sedimentdat.xferg_name = sedimentErg.getPath();
+        final SedimentModel2D sediment = new SedimentModel2D(current, sedimentdat);
+        sediment.initialSolution(0.);
+        current.setBoundaryConditions();
+        sediment.setBoundaryConditions();
+
+        final CurrentModel2DData[] cmd = new CurrentModel2DData[nodes];
+        final SedimentModel2DData[] smd = new SedimentModel2DData[nodes];
+        for (DOF dof : dofs) {
+            cmd[dof.number] = CurrentModel2DData.extract(dof);
+            smd[dof.number] = SedimentModel2DData.extract(dof);
+        }
+
+        // ... Suche im KD-Baum ................................................
+        mesh.generateTree();
+        final int m = 100_000;
+        final double size = SyntheticMesh.CELLSIZE * n;
+        final double[] px = new double[m], py = new double[m];
+        for (int i = 0; i < m; i++) {
+            px[i] = size * random.nextDouble();
+            py[i] = size * random.nextDouble();
+        }
+        run("KDTree.searchElement", m, () -> {
+            final Point3d p = new Point3d();
+            int found = 0;
+            for (int i = 0; i < m; i++) {
+                p.set(px[i], py[i], 0.);
+                final FElement e = mesh.getElement(p);
+                found += e == null ? 0 : 1;
+            }
+            sink[0] += found;
+        });
+
+        // ... Knotengradienten der Tiefe: Netzobjekte gegen flache Topologie .....
+        final double[] z = new double[nodes];
+        for (DOF dof : dofs) {
+            z[dof.number] = dof.z;
+        }
+        final double[] dzdx = new double[nodes], dzdy = new double[nodes];
+        final FElement[] felements = mesh.getFElements();
+        run("Gradient FTriangle", elements, () -> {
+            java.util.Arrays.fill(dzdx, 0.);
+            java.util.Arrays.fill(dzdy, 0.);
+            for (FElement felement : felements) {
+                final FTriangle element = (FTriangle) felement;
+                final double[][] koeffmat = element.getkoeffmat();
+                double gx = 0., gy = 0.;
+                for (int j = 0; j < 3; j++) {
+                    final double zj = element.getDOF(j).z;
+                    gx += zj * koeffmat[j][1];
+                    gy += zj * koeffmat[j][2];
+                }
+                for (int j = 0; j < 3; j++) {
+                    final int i = element.getDOF(j).number;
+                    dzdx[i] += gx * element.area;
+                    dzdy[i] += gy * element.area;
+                }
+            }
+            sink[0] += dzdx[0] + dzdy[0];
+        });
+        final MeshTopology topology = mesh.getTopology();
+        run("Gradient MeshTopology", elements, () -> {
+            java.util.Arrays.fill(dzdx, 0.);
+            java.util.Arrays.fill(dzdy, 0.);
+            for (int e = 0; e < elements; e++) {
+                double gx = 0., gy = 0.;
+                for (int j = 0; j < 3; j++) {
+                    final double zj = z[topology.node(e, j)];
+                    gx += zj * topology.dNdx(e, j);
+                    gy += zj * topology.dNdy(e, j);
+                }
+                final double area = topology.area(e);
+                for (int j = 0; j < 3; j++) {
+                    final int i = topology.node(e, j);
+                    dzdx[i] += gx * area;
+                    dzdy[i] += gy * area;
+                }
+            }
+            sink[0] += dzdx[0] + dzdy[0];
+        });
+
+        // ... Zeitreihe (Randwerte) ............................................
+        final double[][] tide = new double[2][2_000];
+        for (int i = 0; i < tide[0].length; i++) {
+            tide[0][i] = 600. * i;
+            tide[1][i] = 2. * Math.sin(2. * Math.PI * tide[0][i] / 44_712.);
+        }
+        final DiscretScalarFunction1d timeSeries = new DiscretScalarFunction1d(tide);
+        final int evaluations = 1_000_000;
+        final double dtSeries = tide[0][tide[0].length - 1] / evaluations;
+        run("DiscretScalarFunction1d.getValue", evaluations, () -> {
+            double s = 0.;
+            for (int i = 0; i < evaluations; i++) {
+                s += timeSeries.getValue(i * dtSeries);
+            }
+            sink[0] += s;
+        });
+
+        // ... Dispersionsrelation ............................................
+        final double[] depth = new double[evaluations], sigma = new double[evaluations];
+        for (int i = 0; i < evaluations; i++) {
+            depth[i] = 0.1 + 30. * random.nextDouble();
+            sigma[i] = 2. * Math.PI * (0.04 + 0.46 * random.nextDouble());
+        }
+        run("WaveFunction.WaveNumber", evaluations, () -> {
+            double s = 0.;
+            for (int i = 0; i < evaluations; i++) {
+                s += WaveFunction.WaveNumber(depth[i], sigma[i]);
+            }
+            sink[0] += s;
+        });
+
+        // ... Transportformeln je Knoten ........................................
+        final BedLoad2DFormulation[] bedLoads = {
+            new BedLoad2DvanRijn84(), new BedLoad2DvanRijn89(), new BedLoad2DvanRijn2007(), new BedLoad2DMPM48(),
+            new BedLoad2DFernandezLuque_vanBeck_1976(), new BedLoad2DWilson_1966(), new BedLoad2DWiberg_Smith_1989(),
+            new BedLoad2DEngelundHansen(), new BedLoad2DEngelundHansen67(), new BedLoad2DEngelundHansen72(),
+            new BedLoad2DCL2005(), new BedLoad2DZanke(), new BedLoad2DEHWS(), new BedLoadYang_1973(),
+            new BedLoad2DKomarovaAndHulscher_2000(), new BedLoadEinsteinBrown1950()};
+        for (BedLoad2DFormulation bl : bedLoads) {
+            run("BedLoad " + bl.getClass().getSimpleName(), nodes, () -> bl.getLoadVectors(dofs, cmd, smd, 0, nodes));
+        }
+        final SuspendedLoad2DFormulation[] suspendedLoads = {
+            new SuspendedLoad2DRD(), new SuspendedLoad2DBagnold1966(), new SuspendedLoad2DvanRijn1984(), new SuspendedLoad2DYang_1973()};
+        final double[] concentration = new double[nodes];
+        for (SuspendedLoad2DFormulation sl : suspendedLoads) {
+            run("SuspendedLoad " + sl.getClass().getSimpleName(), nodes, () -> sl.getConcentrations(dofs, cmd, smd, concentration, 0, nodes));
+        }
+
+        // ... Modelle: Operationen je Element bzw. Knoten .......................
+        // ein kurzer Schritt liefert den stabilen Zeitschritt
+        current.timeStep(1.e-3);
+        final double dt = 0.8 * current.getMaxTimeStep();
+        run("CurrentModel2D.timeStep", elements, () -> current.timeStep(dt));
+        run("SedimentModel2D.timeStep", elements, () -> sediment.timeStep(dt));
+        // die Elementschleife allein summiert die Knotenresiduen auf, daher nach den Zeitschritten
+        run("CurrentModel2D.ElementApproximation", elements, current::performElementLoop);
+        run("CurrentModel2D.write_erg_xf", nodes, current::write_erg_xf);
+        run("SedimentModel2D.write_erg_xf", nodes, sediment::write_erg_xf);
+
+        benchmark.close();
+        if (Double.isNaN(sink[0])) {
+            System.out.println("NaN in the results");
+        }
+        System.exit(0);
+    }
+}
@@ -0,0 +1,126 @@
+/* ----- AGPL ------------------------------------------------------------------
+ * Copyright (C) Peter Milbradt, 1996-2026
+
+ * This file is part of Marina.
+
+ * Marina is free software: you can redistribute it and/or modify              
+ * it under the terms of the GNU Affero General Public License as               
+ * published by the Free Software Foundation version 3.
+ * 
+ * Marina is distributed in the hope that it will be useful,                  
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of               
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                
+ * GNU Affero General Public License for more details.                          
+ *                                                                              
+ * You should have received a copy of the GNU Affero General Public License     
+ * along with Marina.  If not, see <http://www.gnu.org/licenses/>.             
+ *                                                                               
+ * contact: milbradt@smileconsult.de                                        
+ * smile consult GmbH                                                           
+ * Schiffgraben 11                                                                 
+ * 30159 Hannover, Germany 
+ * 
+ */
+package de.smile.marina.benchmark;
+
+import de.smile.marina.fem.FElement;
+import de.smile.marina.fem.FTriangleMesh;
+import de.smile.marina.fem.PointLocator;
+import de.smile.marina.fem.SyntheticMesh;
+import de.smile.math.WorkerPool;
+import java.util.Random;
+import javax.vecmath.Point3d;
+
+/**
+ * Comparison of the point location by the KD tree and by the
+ * {@link PointLocator} on a synthetic triangle mesh.
+ *
+ * usage: java de.smile.marina.benchmark.PointLocatorBenchmark [cells per side] [number of points] [threads]
+ *
+ * @author Peter Milbradt
+ * @version 1.0.1
+ */
+public final class PointLocatorBenchmark {
+
+    private PointLocatorBenchmark() {
+    }
+
+    /** regular grid of n x n cells with two triangles each, interior nodes are perturbed */
+    static FTriangleMesh generateMesh(int n, long seed) {
+        return SyntheticMesh.generate(n, n, 0.3, false, seed);
+    }
+
+    public static void main(String[] args) {
+        final int n = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        final int m = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        if (args.length > 2) {
+            WorkerPool.initialize(Integer.parseInt(args[2]));
+        }
+        final FTriangleMesh mesh = generateMesh(n, 4711L);
+        System.out.println("mesh with " + mesh.getNumberofFElements() + " elements, " + m + " points, "
+                + WorkerPool.getNumberOfThreads() + " threads");
+
+        // zufaellige und geordnete (wie die Knoten eines zweiten Netzes) Punkte
+        final Random random = new Random(815L);
+        final double[] rx = new double[m], ry = new double[m], ox = new double[m], oy = new double[m];
+        final int side = (int) Math.ceil(Math.sqrt(m));
+        for (int p = 0; p < m; p++) {
+            rx[p] = 10. * n * random.nextDouble();
+            ry[p] = 10. * n * random.nextDouble();
+            ox[p] = 10. * n * ((p % side) + 0.5) / side;
+            oy[p] = 10. * n * ((p / side) + 0.5) / side;
+        }
+
+        long t = System.nanoTime();
+        mesh.generateTree();
+        System.out.println("build KD tree        " + millis(t) + " ms");
+        t = System.nanoTime();
+        final PointLocator locator = mesh.getPointLocator();
+        System.out.println("build point locator  " + millis(t) + " ms");
+
+        for (int run = 0; run < 3; run++) {
+            System.out.println("run " + run);
+            for (int ordered = 0; ordered < 2; ordered++) {
+                final double[] x = ordered == 0 ? rx : ox, y = ordered == 0 ? ry : oy;
+                final String points = ordered == 0 ? "random " : "ordered";
+                final int[] kd = new int[m];
+                t = System.nanoTime();
+                final Point3d q = new Point3d();
+                for (int p = 0; p < m; p++) {
+                    q.set(x[p], y[p], 0.);
+                    final FElement e = mesh.getElement(q);
+                    kd[p] = e == null ? -1 : e.number;
+                }
+                System.out.println("  " + points + " KD tree              " + millis(t) + " ms");
+
+                final int[] single = new int[m];
+                final double[] lambda = new double[3];
+                t = System.nanoTime();
+                for (int p = 0; p < m; p++) {
+                    single[p] = locator.locate(x[p], y[p], lambda);
+                }
+                System.out.println("  " + points + " point locator        " + millis(t) + " ms");
+
+                final int[] batch = new int[m];
+                final double[] lambdas = new double[3 * m];
+                t = System.nanoTime();
+                locator.locate(x, y, batch, lambdas);
+                System.out.println("  " + points + " point locator, batch " + millis(t) + " ms");
+
+                int differ = 0;
+                for (int p = 0; p < m; p++) {
+                    if ((kd[p] < 0) != (batch[p] < 0) || (single[p] < 0) != (batch[p] < 0)) {
+                        differ++;
+                    }
+                }
+                if (differ > 0) {
+                    System.out.println("  " + differ + " points located differently");
+                }
+            }
+        }
+    }
+
+    private static long millis(long start) {
+        return (System.nanoTime() - start) / 1_000_000L;
+    }
+}
@@ -0,0 +1,164 @@
+/* ----- AGPL ------------------------------------------------------------------
+ * Copyright (C) Peter Milbradt, 1996-2026
+
+ * This file is part of Marina.
+
+ * Marina is free software: you can redistribute it and/or modify              
+ * it under the terms of the GNU Affero General Public License as               
+ * published by the Free Software Foundation version 3.
+ * 
+ * Marina is distributed in the hope that it will be useful,                  
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of               
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                
+ * GNU Affero General Public License for more details.                          
+ *                                                                              
+ * You should have received a copy of the GNU Affero General Public License     
+ * along with Marina.  If not, see <http://www.gnu.org/licenses/>.             
+ *                                                                               
+ * contact: milbradt@smileconsult.de                                        
+ * smile consult GmbH                                                           
+ * Schiffgraben 11                                                                 
+ * 30159 Hannover, Germany 
+ * 
+ */
+package de.smile.marina.fem;
+
+import java.util.Arrays;
+
+/**
+ * Aktive Menge eines Modells fuer teilweise trockene Gebiete. Ein Knoten ist
+ * ruhend, wenn sein Zustand ein Fixpunkt der Zeitschrittfunktion ist (z.B. ein
+ * trockener Knoten ohne Randbedingung, dessen Werte sich im letzten
+ * Zeitschritt nicht geaendert haben). Aktiv sind alle nicht ruhenden Knoten
+ * und ihre Nachbarn ueber ein Element, aktive Elemente sind alle Elemente an
+ * aktiven Knoten. Damit erhalten aktive Knoten die Beitraege aller
+ * angrenzenden Elemente, uebersprungene Elemente haben nur ruhende Knoten.
+ *
+ * Knoten an uebersprungenen Elementen, die selbst nicht aktiv sind (Ring),
+ * koennen Beitraege aktiver Elemente erhalten; das Modell setzt diese nach der
+ * Knotenschleife zurueck.
+ *
+ * Die Listen werden vor der Elementschleife neu aufgebaut, wenn sich seit dem
+ * letzten Aufbau ein Knoten geaendert hat. Knoten und Elemente werden ueber
+ * DOF.number bzw. FElement.number indiziert.
+ *
+ * @author Peter Milbradt
+ * @version 1.0.0
+ */
+public final class ActiveSet {
+
+    private final FEDecomposition fenet;
+    private final boolean[] quiet;
+    private final boolean[] activeNode;
+    private final boolean[] activeElement;
+    private int[] nodes = new int[0];
+    private int[] elements = new int[0];
+    private int[] ringNodes = new int[0];
+    private volatile boolean changed = true;
+
+    public ActiveSet(FEDecomposition fenet) {
+        this.fenet = fenet;
+        quiet = new boolean[fenet.getNumberofDOFs()];
+        activeNode = new boolean[fenet.getNumberofDOFs()];
+        activeElement = new boolean[fenet.getNumberofFElements()];
+    }
+
+    /**
+     * setzt den Zustand eines Knotens, darf fuer verschiedene Knoten parallel
+     * aufgerufen werden
+     *
+     * @param node  DOF.number
+     * @param quiet true, wenn der Zustand des Knotens ein Fixpunkt ist
+     */
+    public void setQuiet(int node, boolean quiet) {
+        if (this.quiet[node] != quiet) {
+            this.quiet[node] = quiet;
+            changed = true;
+        }
+    }
+
+    public boolean isQuiet(int node) {
+        return quiet[node];
+    }
+
+    public boolean isActiveNode(int node) {
+        return activeNode[node];
+    }
+
+    public boolean isActiveElement(int element) {
+        return activeElement[element];
+    }
+
+    /** Nummern der aktiven Knoten */
+    public int[] getNodes() {
+        return nodes;
+    }
+
+    /** Nummern der aktiven Elemente */
+    public int[] getElements() {
+        return elements;
+    }
+
+    /** nicht aktive Knoten aktiver Elemente */
+    public int[] getRingNodes() {
+        return ringNodes;
+    }
+
+    /** baut die Listen neu auf, wenn sich ein Knoten geaendert hat */
+    public void update() {
+        if (!changed) {
+            return;
+        }
+        changed = false;
+        final MeshTopology topology = fenet.getTopology();
+        final int numberOfNodes = topology.getNumberOfNodes();
+        final int numberOfElements = topology.getNumberOfElements();
+
+        // nicht ruhende Knoten und ihre Nachbarn ueber ein Element
+        for (int n = 0; n < numberOfNodes; n++) {
+            activeNode[n] = !quiet[n];
+        }
+        for (int e = 0; e < numberOfElements; e++) {
+            if (!quiet[topology.node(e, 0)] || !quiet[topology.node(e, 1)] || !quiet[topology.node(e, 2)]) {
+                activeNode[topology.node(e, 0)] = true;
+                activeNode[topology.node(e, 1)] = true;
+                activeNode[topology.node(e, 2)] = true;
+            }
+        }
+        // alle Elemente an aktiven Knoten
+        int[] elementList = new int[numberOfElements];
+        int anzElements = 0;
+        final boolean[] ring = new boolean[numberOfNodes];
+        for (int e = 0; e < numberOfElements; e++) {
+            final int n0 = topology.node(e, 0), n1 = topology.node(e, 1), n2 = topology.node(e, 2);
+            activeElement[e] = activeNode[n0] || activeNode[n1] || activeNode[n2];
+            if (activeElement[e]) {
+                elementList[anzElements++] = e;
+                ring[n0] |= !activeNode[n0];
+                ring[n1] |= !activeNode[n1];
+                ring[n2] |= !activeNode[n2];
+            }
+        }
+        int anzNodes = 0, anzRing = 0;
+        for (int n = 0; n < numberOfNodes; n++) {
+            if (activeNode[n]) {
+                anzNodes++;
+            } else if (ring[n]) {
+                anzRing++;
+            }
+        }
+        final int[] nodeList = new int[anzNodes];
+        final int[] ringList = new int[anzRing];
+        anzNodes = anzRing = 0;
+        for (int n = 0; n < numberOfNodes; n++) {
+            if (activeNode[n]) {
+                nodeList[anzNodes++] = n;
+            } else if (ring[n]) {
+                ringList[anzRing++] = n;
+            }
+        }
+        nodes = nodeList;
+        elements = Arrays.copyOf(elementList, anzElements);
+        ringNodes = ringList;
+    }
+}
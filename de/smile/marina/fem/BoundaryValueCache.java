@@ -0,0 +1,143 @@
+/* ----- AGPL ------------------------------------------------------------------
+ * Copyright (C) Peter Milbradt, 1996-2026
+
+ * This file is part of Marina.
+
+ * Marina is free software: you can redistribute it and/or modify              
+ * it under the terms of the GNU Affero General Public License as               
+ * published by the Free Software Foundation version 3.
+ * 
+ * Marina is distributed in the hope that it will be useful,                  
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of               
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                
+ * GNU Affero General Public License for more details.                          
+ *                                                                              
+ * You should have received a copy of the GNU Affero General Public License     
+ * along with Marina.  If not, see <http://www.gnu.org/licenses/>.             
+ *                                                                               
+ * contact: milbradt@smileconsult.de                                        
+ * smile consult GmbH                                                           
+ * Schiffgraben 11                                                                 
+ * 30159 Hannover, Germany 
+ * 
+ */
+package de.smile.marina.fem;
+
+import bijava.math.ifunction.ScalarFunction1d;
+import bijava.math.ifunction.ZeroFunction1d;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+
+/**
+ * Cache of the boundary time series of a model. All registered time series are
+ * evaluated once per time step by {@link #update(double)} before the parallel
+ * loop over the DOFs, during the loop the boundary values are read from the
+ * arrays of the cache.
+ *
+ * @author Peter Milbradt
+ * @version 1.0.0
+ */
+public final class BoundaryValueCache {
+
+    private final ArrayList<ScalarFunction1d> functions = new ArrayList<>();
+    private final IdentityHashMap<ScalarFunction1d, CachedFunction> registered = new IdentityHashMap<>();
+    private double[] values = new double[0];
+    private double[] differentials = new double[0];
+    private double time = Double.NaN;
+
+    /**
+     * register a boundary time series
+     *
+     * @param function time series
+     * @return the time series reading its values at the actual time from the cache
+     */
+    public synchronized ScalarFunction1d register(ScalarFunction1d function) {
+        if (function == null || function instanceof CachedFunction || function instanceof ZeroFunction1d) {
+            return function; // ZeroFunction1d bleibt erhalten, die Transportmodelle erkennen daran geschlossene Raender
+        }
+        CachedFunction cached = registered.get(function);
+        if (cached == null) {
+            cached = new CachedFunction(this, functions.size(), function);
+            functions.add(function);
+            registered.put(function, cached);
+            time = Double.NaN;
+        }
+        return cached;
+    }
+
+    public int size() {
+        return functions.size();
+    }
+
+    /**
+     * evaluate all registered time series at the time t
+     *
+     * @param t
+     */
+    public synchronized void update(double t) {
+        final int n = functions.size();
+        if (values.length != n) {
+            values = new double[n];
+            differentials = new double[n];
+        }
+        for (int i = 0; i < n; i++) {
+            final ScalarFunction1d f = functions.get(i);
+            values[i] = f.getValue(t);
+            differentials[i] = f.getDifferential(t);
+        }
+        time = t;
+    }
+
+    public double getTime() {
+        return time;
+    }
+
+    public double getValue(int i) {
+        return values[i];
+    }
+
+    public double getDifferential(int i) {
+        return differentials[i];
+    }
+
+    /** boundary time series with the values of the actual time step in the cache */
+    private static final class CachedFunction implements ScalarFunction1d {
+
+        private static final long serialVersionUID = 1L;
+        private final transient BoundaryValueCache cache;
+        private final int index;
+        private final ScalarFunction1d function;
+
+        CachedFunction(BoundaryValueCache cache, int index, ScalarFunction1d function) {
+            this.cache = cache;
+            this.index = index;
+            this.function = function;
+        }
+
+        @Override
+        public double getValue(double x) {
+            if (x == cache.time) {
+                return cache.values[index];
+            }
+            return function.getValue(x);
+        }
+
+        @Override
+        public double getDifferential(double x) {
+            if (x == cache.time) {
+                return cache.differentials[index];
+            }
+            return function.getDifferential(x);
+        }
+
+        @Override
+        public void setPeriodic(boolean b) {
+            function.setPeriodic(b);
+        }
+
+        @Override
+        public boolean isPeriodic() {
+            return function.isPeriodic();
+        }
+    }
+}
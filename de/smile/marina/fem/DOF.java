@@ -29,7 +29,7 @@ import javax.vecmath.*;
 /**
  * Degree of Freedom
  * 
- * @version 4.7.0
+ * @version 4.9.0
  */
 public class DOF extends Point3d {
 
@@ -122,6 +122,16 @@ public class DOF extends Point3d {
         felements = tmp;
     }
 
+    /**
+     * setzt die an den Knoten angrenzenden Elemente in einem Schritt, z.B. beim
+     * Einlesen eines Netzes mit vorberechneter Knoten-Element-Zuordnung
+     * 
+     * @param elements angrenzende Elemente ohne Duplikate
+     */
+    public final void setFElements(FElement[] elements) {
+        felements = elements;
+    }
+
     public final int getNumberofFElements() {
         return felements.length;
     }
@@ -150,6 +160,7 @@ public class DOF extends Point3d {
         System.arraycopy(modelData, 0, tmp, 0, modelData.length);
         tmp[modelData.length] = model.genData(this);
         modelData = tmp;
+        ModelCoupling.modelDataAdded();
     }
 
     /**
@@ -166,6 +177,7 @@ public class DOF extends Point3d {
         System.arraycopy(modelData, 0, tmp, 0, modelData.length);
         tmp[modelData.length] = modeldata;
         modelData = tmp;
+        ModelCoupling.modelDataAdded();
     }
 
     /**
@@ -25,10 +25,12 @@ package de.smile.marina.fem;
 
 import bijava.marina.geom3d.BoundingBox3d;
 import de.smile.geom.Rectangle2d;
+import java.util.Arrays;
+import java.util.BitSet;
 import javax.vecmath.*;
 
 /**
- * @version 3.17.3
+ * @version 3.20.0
  * @author Peter Milbradt
  */
 public class FEDecomposition {
@@ -39,6 +41,15 @@ public class FEDecomposition {
     protected DOF[] dofs = new DOF[0];
     
     private KDTree kdtree=null;
+    private volatile PointLocator pointLocator=null;
+    private volatile MeshTopology topology=null;
+
+    private int[][] elementColours = null; // Elementnummern je Farbe, Elemente einer Farbe haben keinen gemeinsamen DOF
+
+    private int[] dofFileNumbers = null; // Knotennummer in der Netzdatei je DOF.number, null wenn nicht umnummeriert
+    private int[] dofNumbers = null; // DOF.number je Knotennummer in der Netzdatei
+    private int[] elementFileNumbers = null; // Elementnummer in der Netzdatei je FElement.number
+    private int[] elementNumbers = null; // FElement.number je Elementnummer in der Netzdatei
 
     public FEDecomposition() {
     }
@@ -122,6 +133,84 @@ public class FEDecomposition {
         return dofs.length;
     }
 
+    /**
+     * Renumbering of the DOFs and elements, the DOF and element at position i
+     * of the new order get the number i. The numbers of the mesh file are kept
+     * and used to read input data and to write results in the original order.
+     *
+     * @param dofOrder     old DOF numbers in the new order
+     * @param elementOrder old element numbers in the new order
+     */
+    public synchronized void renumber(int[] dofOrder, int[] elementOrder) {
+        final DOF[] newDofs = new DOF[dofs.length];
+        final int[] newDofFileNumbers = new int[dofs.length];
+        for (int i = 0; i < dofOrder.length; i++) {
+            newDofs[i] = dofs[dofOrder[i]];
+            newDofFileNumbers[i] = getDOFFileNumber(dofOrder[i]);
+        }
+        final FElement[] newElements = new FElement[feelem.length];
+        final int[] newElementFileNumbers = new int[feelem.length];
+        for (int i = 0; i < elementOrder.length; i++) {
+            newElements[i] = feelem[elementOrder[i]];
+            newElementFileNumbers[i] = getFElementFileNumber(elementOrder[i]);
+        }
+        dofs = newDofs;
+        feelem = newElements;
+        dofFileNumbers = newDofFileNumbers;
+        elementFileNumbers = newElementFileNumbers;
+        dofNumbers = new int[dofs.length];
+        for (int i = 0; i < dofs.length; i++) {
+            dofs[i].number = i;
+            dofNumbers[dofFileNumbers[i]] = i;
+        }
+        elementNumbers = new int[feelem.length];
+        for (int i = 0; i < feelem.length; i++) {
+            feelem[i].number = i;
+            elementNumbers[elementFileNumbers[i]] = i;
+        }
+        // auf den alten Nummern aufgebaute Hilfsstrukturen verwerfen
+        kdtree = null;
+        pointLocator = null;
+        topology = null;
+        elementColours = null;
+    }
+
+    public final boolean isRenumbered() {
+        return dofFileNumbers != null;
+    }
+
+    /**
+     * @param fileNumber node number in the mesh file or an input file
+     * @return DOF.number of the node
+     */
+    public final int getDOFNumber(int fileNumber) {
+        return (dofNumbers == null) ? fileNumber : dofNumbers[fileNumber];
+    }
+
+    /**
+     * @param number DOF.number
+     * @return node number in the mesh file
+     */
+    public final int getDOFFileNumber(int number) {
+        return (dofFileNumbers == null) ? number : dofFileNumbers[number];
+    }
+
+    /**
+     * @param fileNumber element number in the mesh file
+     * @return FElement.number of the element
+     */
+    public final int getFElementNumber(int fileNumber) {
+        return (elementNumbers == null) ? fileNumber : elementNumbers[fileNumber];
+    }
+
+    /**
+     * @param number FElement.number
+     * @return element number in the mesh file
+     */
+    public final int getFElementFileNumber(int number) {
+        return (elementFileNumbers == null) ? number : elementFileNumbers[number];
+    }
+
     public final FElement getElement(Point3d p) {
         if (p == null) {
             return null;
@@ -133,6 +222,57 @@ public class FEDecomposition {
         return kdtree.searchElement(p);
     }
 
+    /**
+     * grid and walk based point location, use it to locate many points, e.g.
+     * for interpolations from another mesh
+     *
+     * @return the point locator of the decomposition
+     */
+    public final PointLocator getPointLocator() {
+        PointLocator locator = pointLocator;
+        if (locator == null) {
+            synchronized (this) {
+                locator = pointLocator;
+                if (locator == null) {
+                    pointLocator = locator = new PointLocator(this);
+                }
+            }
+        }
+        return locator;
+    }
+
+    /**
+     * compact topology and geometry of the decomposition in flat arrays, built
+     * on first use
+     *
+     * @return the topology of the triangle decomposition
+     */
+    public final MeshTopology getTopology() {
+        MeshTopology t = topology;
+        if (t == null) {
+            synchronized (this) {
+                t = topology;
+                if (t == null) {
+                    topology = t = new MeshTopology(this);
+                }
+            }
+        }
+        return t;
+    }
+
+    /**
+     * locate an array of points
+     *
+     * @param x
+     * @param y
+     * @param elements index of the host element for each point, -1 for points outside
+     * @param lambda natural coordinates, 3 values for each point (may be null)
+     * @return number of points located in the decomposition
+     */
+    public final int getElements(double[] x, double[] y, int[] elements, double[] lambda) {
+        return getPointLocator().locate(x, y, elements, lambda);
+    }
+
     public Rectangle2d getBounds() {
         double xmin=Double.MAX_VALUE;
 	double ymin=Double.MAX_VALUE;
@@ -165,6 +305,55 @@ public class FEDecomposition {
         }
     }
 
+    /**
+     * Colouring of the elements for a lock-free assembly. Elements of one colour
+     * share no DOF, so their contributions to the nodal data can be added
+     * without synchronisation when the colours are processed one after another.
+     *
+     * @return the element numbers grouped by colour
+     */
+    public final int[][] getElementColours() {
+        if (elementColours == null) {
+            generateElementColours();
+        }
+        return elementColours;
+    }
+
+    /** greedy colouring of the elements in the order of the element numbers */
+    public synchronized void generateElementColours() {
+        final int[] colour = new int[feelem.length];
+        Arrays.fill(colour, -1);
+        int[] count = new int[8];
+        int numberOfColours = 0;
+        BitSet used = new BitSet();
+        for (FElement element : feelem) {
+            used.clear();
+            for (DOF dof : element.getDOFs()) {
+                for (FElement neighbour : dof.getFElements()) {
+                    if (colour[neighbour.number] >= 0) {
+                        used.set(colour[neighbour.number]);
+                    }
+                }
+            }
+            final int c = used.nextClearBit(0);
+            colour[element.number] = c;
+            if (c >= count.length) {
+                count = Arrays.copyOf(count, 2 * count.length);
+            }
+            count[c]++;
+            numberOfColours = Math.max(numberOfColours, c + 1);
+        }
+        final int[][] colours = new int[numberOfColours][];
+        for (int c = 0; c < numberOfColours; c++) {
+            colours[c] = new int[count[c]];
+            count[c] = 0;
+        }
+        for (int i = 0; i < colour.length; i++) {
+            colours[colour[i]][count[colour[i]]++] = i;
+        }
+        elementColours = colours;
+    }
+
     public BoundingBox3d getBoundingBox3d() {
         double minX = dofs[0].x;
         double maxX = minX;
@@ -63,6 +63,7 @@ public abstract class FElement implements Serializable{
   
   public final void addModelData(FEModel model) {
         modelData.add(model.genData(this));
+        ModelCoupling.modelDataAdded();
   }
   
   /** Return the Iterator of ModelData at the DOF
@@ -0,0 +1,298 @@
+/* ----- AGPL ------------------------------------------------------------------
+ * Copyright (C) Peter Milbradt, 1996-2026
+
+ * This file is part of Marina.
+
+ * Marina is free software: you can redistribute it and/or modify              
+ * it under the terms of the GNU Affero General Public License as               
+ * published by the Free Software Foundation version 3.
+ * 
+ * Marina is distributed in the hope that it will be useful,                  
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of               
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                
+ * GNU Affero General Public License for more details.                          
+ *                                                                              
+ * You should have received a copy of the GNU Affero General Public License     
+ * along with Marina.  If not, see <http://www.gnu.org/licenses/>.             
+ *                                                                               
+ * contact: milbradt@smileconsult.de                                        
+ * smile consult GmbH                                                           
+ * Schiffgraben 11                                                                 
+ * 30159 Hannover, Germany 
+ * 
+ */
+package de.smile.marina.fem;
+
+import java.util.Arrays;
+
+/**
+ * Cache-freundliche Nummerierung eines Netzes: die Knoten werden mit dem
+ * umgekehrten Cuthill-McKee-Verfahren nummeriert, die Elemente in der
+ * Reihenfolge einer Hilbert-Kurve durch ihre Schwerpunkte. Benachbarte
+ * Knoten und Elemente liegen damit in den nach DOF.number und
+ * FElement.number indizierten Feldern der Modelle nahe beieinander.
+ *
+ * Die Nummern der Netzdatei bleiben im FEDecomposition erhalten und werden
+ * beim Einlesen von Knotennummern und beim Schreiben der Ergebnisse
+ * verwendet.
+ *
+ * @author Peter Milbradt
+ * @version 1.0.0
+ */
+public final class MeshRenumbering {
+
+    private static final int HILBERT_ORDER = 15; // Bits je Koordinate
+
+    private MeshRenumbering() {
+    }
+
+    /**
+     * nummeriert die Knoten nach Cuthill-McKee und die Elemente nach der
+     * Hilbert-Kurve um, ist die Knotennummerierung der Netzdatei schon
+     * kompakter (z.B. zeilenweise nummerierte strukturierte Netze), bleibt sie
+     * erhalten
+     *
+     * @param fed
+     */
+    public static void renumber(FEDecomposition fed) {
+        final int[][] neighbours = neighbours(fed);
+        final long[] before = bandwidth(neighbours, null);
+        final int[] dofOrder = reverseCuthillMcKee(neighbours);
+        final int[] position = new int[dofOrder.length];
+        for (int i = 0; i < dofOrder.length; i++) {
+            position[dofOrder[i]] = i;
+        }
+        long[] after = bandwidth(neighbours, position);
+        if (after[1] >= before[1]) {
+            for (int i = 0; i < dofOrder.length; i++) {
+                dofOrder[i] = i;
+            }
+            after = before;
+        }
+        fed.renumber(dofOrder, hilbertOrder(fed));
+        System.out.println("\tRenumbering of " + dofOrder.length + " nodes and " + fed.getNumberofFElements()
+                + " elements: bandwidth " + before[0] + " -> " + after[0]
+                + ", mean distance of neighbours " + (before[1] / Math.max(1, before[2])) + " -> " + (after[1] / Math.max(1, after[2])));
+    }
+
+    /** Nachbarknoten je DOF.number ueber die gemeinsamen Elemente */
+    static int[][] neighbours(FEDecomposition fed) {
+        final DOF[] dofs = fed.getDOFs();
+        final int[][] neighbours = new int[dofs.length][];
+        final int[] mark = new int[dofs.length];
+        Arrays.fill(mark, -1);
+        int[] buffer = new int[16];
+        for (DOF dof : dofs) {
+            final int n = dof.number;
+            int count = 0;
+            for (FElement element : dof.getFElements()) {
+                for (DOF d : element.getDOFs()) {
+                    final int m = d.number;
+                    if (m != n && mark[m] != n) {
+                        mark[m] = n;
+                        if (count == buffer.length) {
+                            buffer = Arrays.copyOf(buffer, 2 * count);
+                        }
+                        buffer[count++] = m;
+                    }
+                }
+            }
+            neighbours[n] = Arrays.copyOf(buffer, count);
+        }
+        return neighbours;
+    }
+
+    /**
+     * umgekehrte Cuthill-McKee-Reihenfolge, jede Zusammenhangskomponente
+     * beginnt an einem pseudo-peripheren Knoten
+     *
+     * @param neighbours
+     * @return alte Knotennummern in der neuen Reihenfolge
+     */
+    static int[] reverseCuthillMcKee(int[][] neighbours) {
+        final int n = neighbours.length;
+        final int[] order = new int[n];
+        final boolean[] numbered = new boolean[n];
+        final int[] level = new int[n];
+        int count = 0;
+        for (int start = 0; start < n; start++) {
+            if (numbered[start]) {
+                continue;
+            }
+            // Knoten kleinsten Grades der Komponente suchen
+            int root = start;
+            final int componentEnd = breadthFirst(neighbours, start, numbered, level, order, count);
+            for (int i = count; i < componentEnd; i++) {
+                if (neighbours[order[i]].length < neighbours[root].length) {
+                    root = order[i];
+                }
+            }
+            root = pseudoPeripheral(neighbours, root, numbered, level, order, count);
+
+            // Cuthill-McKee: Breitensuche, Nachbarn nach aufsteigendem Grad
+            int head = count;
+            order[count++] = root;
+            numbered[root] = true;
+            while (head < count) {
+                final int v = order[head++];
+                final int first = count;
+                for (int w : neighbours[v]) {
+                    if (!numbered[w]) {
+                        numbered[w] = true;
+                        order[count++] = w;
+                    }
+                }
+                sortByDegree(order, first, count, neighbours);
+            }
+        }
+        // umkehren
+        for (int i = 0, j = n - 1; i < j; i++, j--) {
+            final int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        return order;
+    }
+
+    /**
+     * Breitensuche ab root ueber die noch nicht nummerierten Knoten, die
+     * besuchten Knoten stehen danach in order[from, return[ und ihre Ebenen in
+     * level, numbered bleibt unveraendert
+     */
+    private static int breadthFirst(int[][] neighbours, int root, boolean[] numbered, int[] level, int[] order, int from) {
+        int head = from, tail = from;
+        order[tail++] = root;
+        numbered[root] = true;
+        level[root] = 0;
+        while (head < tail) {
+            final int v = order[head++];
+            for (int w : neighbours[v]) {
+                if (!numbered[w]) {
+                    numbered[w] = true;
+                    level[w] = level[v] + 1;
+                    order[tail++] = w;
+                }
+            }
+        }
+        for (int i = from; i < tail; i++) {
+            numbered[order[i]] = false;
+        }
+        return tail;
+    }
+
+    /** pseudo-peripherer Knoten nach George und Liu */
+    private static int pseudoPeripheral(int[][] neighbours, int root, boolean[] numbered, int[] level, int[] order, int from) {
+        int end = breadthFirst(neighbours, root, numbered, level, order, from);
+        int eccentricity = level[order[end - 1]];
+        for (int iteration = 0; iteration < 8; iteration++) {
+            // Knoten kleinsten Grades der letzten Ebene
+            int candidate = order[end - 1];
+            for (int i = end - 1; i >= from && level[order[i]] == eccentricity; i--) {
+                if (neighbours[order[i]].length < neighbours[candidate].length) {
+                    candidate = order[i];
+                }
+            }
+            end = breadthFirst(neighbours, candidate, numbered, level, order, from);
+            final int e = level[order[end - 1]];
+            if (e <= eccentricity) {
+                break;
+            }
+            root = candidate;
+            eccentricity = e;
+        }
+        return root;
+    }
+
+    /** Einfuegesortierung nach dem Grad, die Nachbarlisten sind kurz */
+    private static void sortByDegree(int[] order, int from, int to, int[][] neighbours) {
+        for (int i = from + 1; i < to; i++) {
+            final int v = order[i];
+            final int degree = neighbours[v].length;
+            int j = i - 1;
+            while (j >= from && neighbours[order[j]].length > degree) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = v;
+        }
+    }
+
+    /**
+     * Reihenfolge der Elemente entlang einer Hilbert-Kurve durch die
+     * Schwerpunkte
+     *
+     * @param fed
+     * @return alte Elementnummern in der neuen Reihenfolge
+     */
+    static int[] hilbertOrder(FEDecomposition fed) {
+        final FElement[] elements = fed.getFElements();
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        for (DOF dof : fed.getDOFs()) {
+            minX = Math.min(minX, dof.x);
+            minY = Math.min(minY, dof.y);
+            maxX = Math.max(maxX, dof.x);
+            maxY = Math.max(maxY, dof.y);
+        }
+        final int cells = 1 << HILBERT_ORDER;
+        final double scale = (cells - 1) / Math.max(Math.max(maxX - minX, maxY - minY), Double.MIN_NORMAL);
+        final long[] keys = new long[elements.length];
+        for (FElement element : elements) {
+            double x = 0., y = 0.;
+            final DOF[] dofs = element.getDOFs();
+            for (DOF dof : dofs) {
+                x += dof.x;
+                y += dof.y;
+            }
+            final int ix = (int) ((x / dofs.length - minX) * scale);
+            final int iy = (int) ((y / dofs.length - minY) * scale);
+            keys[element.number] = (hilbertIndex(ix, iy) << 31) | element.number;
+        }
+        Arrays.sort(keys);
+        final int[] order = new int[elements.length];
+        for (int i = 0; i < keys.length; i++) {
+            order[i] = (int) (keys[i] & Integer.MAX_VALUE);
+        }
+        return order;
+    }
+
+    /** Position der Zelle (x, y) auf der Hilbert-Kurve */
+    static long hilbertIndex(int x, int y) {
+        final int n = 1 << HILBERT_ORDER;
+        long d = 0;
+        for (int s = n >> 1; s > 0; s >>= 1) {
+            final int rx = (x & s) > 0 ? 1 : 0;
+            final int ry = (y & s) > 0 ? 1 : 0;
+            d += (long) s * s * ((3 * rx) ^ ry);
+            // Quadrant drehen
+            if (ry == 0) {
+                if (rx == 1) {
+                    x = n - 1 - x;
+                    y = n - 1 - y;
+                }
+                final int t = x;
+                x = y;
+                y = t;
+            }
+        }
+        return d;
+    }
+
+    /**
+     * @param neighbours Nachbarn je Knotennummer
+     * @param position   neue Nummer je Knotennummer oder null
+     * @return Bandbreite, Summe und Anzahl der Nummerndifferenzen benachbarter Knoten
+     */
+    private static long[] bandwidth(int[][] neighbours, int[] position) {
+        long max = 0, sum = 0, count = 0;
+        for (int v = 0; v < neighbours.length; v++) {
+            final int pv = (position == null) ? v : position[v];
+            for (int w : neighbours[v]) {
+                final int d = Math.abs(pv - ((position == null) ? w : position[w]));
+                max = Math.max(max, d);
+                sum += d;
+                count++;
+            }
+        }
+        return new long[]{max, sum, count};
+    }
+}
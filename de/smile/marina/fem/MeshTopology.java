@@ -0,0 +1,154 @@
+/* ----- AGPL ------------------------------------------------------------------
+ * Copyright (C) Peter Milbradt, 1996-2026
+
+ * This file is part of Marina.
+
+ * Marina is free software: you can redistribute it and/or modify              
+ * it under the terms of the GNU Affero General Public License as               
+ * published by the Free Software Foundation version 3.
+ * 
+ * Marina is distributed in the hope that it will be useful,                  
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of               
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                
+ * GNU Affero General Public License for more details.                          
+ *                                                                              
+ * You should have received a copy of the GNU Affero General Public License     
+ * along with Marina.  If not, see <http://www.gnu.org/licenses/>.             
+ *                                                                               
+ * contact: milbradt@smileconsult.de                                        
+ * smile consult GmbH                                                           
+ * Schiffgraben 11                                                                 
+ * 30159 Hannover, Germany 
+ * 
+ */
+package de.smile.marina.fem;
+
+/**
+ * Kompakte, unveraenderliche Topologie und Geometrie eines Dreiecksnetzes in
+ * flachen Feldern: Elementknoten, Knoten-Element-Zuordnung (CSR),
+ * Ableitungen der Formfunktionen, Flaechen und Kantenlaengen. Elemente werden
+ * ueber FElement.number, Knoten ueber DOF.number indiziert, so dass
+ * Schleifen ueber das Netz ohne Dereferenzierung der Element- und
+ * Knotenobjekte auskommen.
+ *
+ * Die Felder werden beim Erzeugen aus den FTriangle-Objekten kopiert, nach
+ * einer Aenderung des Netzes (z.B. FEDecomposition.renumber) liefert
+ * FEDecomposition.getTopology() eine neue Topologie.
+ *
+ * @author Peter Milbradt
+ * @version 1.1.0
+ */
+public final class MeshTopology {
+
+    private final int numberOfNodes;
+    private final int numberOfElements;
+
+    private final int[] elementNodes; // 3 Knotennummern je Element
+    private final int[] nodeElementOffsets; // Beginn der Elemente eines Knotens in nodeElements, Laenge Knoten+1
+    private final int[] nodeElements; // an die Knoten angrenzende Elemente in der Reihenfolge von DOF.getFElements()
+
+    private final double[] gradients; // dN_i/dx, dN_i/dy fuer i=0..2 je Element (koeffmat[i][1], koeffmat[i][2])
+    private final double[] areas;
+    private final double[] edgeLengths; // Kante k von Knoten k nach Knoten (k+1)%3 je Element
+
+    MeshTopology(FEDecomposition fed) {
+        final DOF[] dofs = fed.getDOFs();
+        final FElement[] elements = fed.getFElements();
+        numberOfNodes = dofs.length;
+        numberOfElements = elements.length;
+
+        elementNodes = new int[3 * numberOfElements];
+        gradients = new double[6 * numberOfElements];
+        areas = new double[numberOfElements];
+        edgeLengths = new double[3 * numberOfElements];
+        for (FElement felement : elements) {
+            final FTriangle element = (FTriangle) felement;
+            final int e = element.number;
+            final double[][] koeffmat = element.getkoeffmat();
+            for (int i = 0; i < 3; i++) {
+                elementNodes[3 * e + i] = element.getDOF(i).number;
+                gradients[6 * e + 2 * i] = koeffmat[i][1];
+                gradients[6 * e + 2 * i + 1] = koeffmat[i][2];
+                edgeLengths[3 * e + i] = element.distance[i][(i + 1) % 3];
+            }
+            areas[e] = element.area;
+        }
+
+        nodeElementOffsets = new int[numberOfNodes + 1];
+        for (DOF dof : dofs) {
+            nodeElementOffsets[dof.number + 1] = dof.getNumberofFElements();
+        }
+        for (int i = 0; i < numberOfNodes; i++) {
+            nodeElementOffsets[i + 1] += nodeElementOffsets[i];
+        }
+        nodeElements = new int[nodeElementOffsets[numberOfNodes]];
+        for (DOF dof : dofs) {
+            int k = nodeElementOffsets[dof.number];
+            for (FElement element : dof.getFElements()) {
+                nodeElements[k++] = element.number;
+            }
+        }
+    }
+
+    public int getNumberOfNodes() {
+        return numberOfNodes;
+    }
+
+    public int getNumberOfElements() {
+        return numberOfElements;
+    }
+
+    /** Nummer des i-ten Knotens (0..2) des Elementes e */
+    public int node(int e, int i) {
+        return elementNodes[3 * e + i];
+    }
+
+    /** Ableitung der Formfunktion des i-ten Knotens des Elementes e nach x */
+    public double dNdx(int e, int i) {
+        return gradients[6 * e + 2 * i];
+    }
+
+    /** Ableitung der Formfunktion des i-ten Knotens des Elementes e nach y */
+    public double dNdy(int e, int i) {
+        return gradients[6 * e + 2 * i + 1];
+    }
+
+    public double area(int e) {
+        return areas[e];
+    }
+
+    /** Laenge der Kante vom i-ten zum (i+1)%3-ten Knoten des Elementes e */
+    public double edgeLength(int e, int i) {
+        return edgeLengths[3 * e + i];
+    }
+
+    /** Abstand des i-ten und j-ten Knotens (i != j) des Elementes e */
+    public double distance(int e, int i, int j) {
+        return edgeLengths[3 * e + (((i + 1) % 3 == j) ? i : j)];
+    }
+
+    /** erster Index in {@link #element(int)} der an den Knoten angrenzenden Elemente */
+    public int firstElement(int node) {
+        return nodeElementOffsets[node];
+    }
+
+    /** Index hinter dem letzten an den Knoten angrenzenden Element */
+    public int endElement(int node) {
+        return nodeElementOffsets[node + 1];
+    }
+
+    /** Elementnummer an der Stelle k der Knoten-Element-Zuordnung */
+    public int element(int k) {
+        return nodeElements[k];
+    }
+
+    public int getNumberOfElements(int node) {
+        return nodeElementOffsets[node + 1] - nodeElementOffsets[node];
+    }
+
+    /** Speicherbedarf der Felder in Byte */
+    public long getSizeInBytes() {
+        return 4L * (elementNodes.length + nodeElementOffsets.length + nodeElements.length)
+                + 8L * (gradients.length + areas.length + edgeLengths.length);
+    }
+}
@@ -0,0 +1,131 @@
+/* ----- AGPL ------------------------------------------------------------------
+ * Copyright (C) Peter Milbradt, 1996-2026
+
+ * This file is part of Marina.
+
+ * Marina is free software: you can redistribute it and/or modify              
+ * it under the terms of the GNU Affero General Public License as               
+ * published by the Free Software Foundation version 3.
+ * 
+ * Marina is distributed in the hope that it will be useful,                  
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of               
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                
+ * GNU Affero General Public License for more details.                          
+ *                                                                              
+ * You should have received a copy of the GNU Affero General Public License     
+ * along with Marina.  If not, see <http://www.gnu.org/licenses/>.             
+ *                                                                               
+ * contact: milbradt@smileconsult.de                                        
+ * smile consult GmbH                                                           
+ * Schiffgraben 11                                                                 
+ * 30159 Hannover, Germany 
+ * 
+ */
+package de.smile.marina.fem;
+
+import java.lang.reflect.Array;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Kopplung an die Daten eines anderen Modells als Feld ueber DOF.number bzw.
+ * FElement.number. Die Zuordnung wird einmal aufgeloest und erst wieder neu
+ * bestimmt, wenn an einem Knoten oder Element Modelldaten hinzugekommen sind,
+ * z.B. weil ein Partnermodell nach dem Modell erzeugt wurde. get() wird
+ * einmal je Zeitschritt vor den Schleifen ueber Knoten und Elemente
+ * aufgerufen, in den Schleifen ersetzt dann ein Feldzugriff die Suche mit
+ * ModelData.extract, eine fehlende Kopplung liefert null statt eines Feldes.
+ *
+ * <pre>
+ * private final ModelCoupling&lt;WaveHYPModel2DData&gt; waveCoupling = ModelCoupling.ofDOFs(fenet, WaveHYPModel2DData.class);
+ * ...
+ * final WaveHYPModel2DData[] wave_data = waveCoupling.get();
+ * if (wave_data != null) ...
+ * </pre>
+ *
+ * @author Peter Milbradt
+ * @version 1.0.0
+ * @param <T> Typ der Modelldaten des Partnermodells
+ */
+public final class ModelCoupling<T extends ModelData> {
+
+    private static final AtomicInteger modificationCount = new AtomicInteger(); // Aenderungen der Modelldaten an DOFs und Elementen
+
+    private final FEDecomposition fenet;
+    private final Class<T> type;
+    private final boolean elements;
+    private volatile T[] data = null;
+    private volatile int resolvedCount = -1;
+
+    private ModelCoupling(FEDecomposition fenet, Class<T> type, boolean elements) {
+        this.fenet = fenet;
+        this.type = type;
+        this.elements = elements;
+    }
+
+    /** Kopplung an Modelldaten der Knoten */
+    public static <T extends ModelData> ModelCoupling<T> ofDOFs(FEDecomposition fenet, Class<T> type) {
+        return new ModelCoupling<>(fenet, type, false);
+    }
+
+    /** Kopplung an Modelldaten der Elemente */
+    public static <T extends ModelData> ModelCoupling<T> ofElements(FEDecomposition fenet, Class<T> type) {
+        return new ModelCoupling<>(fenet, type, true);
+    }
+
+    /** wird von DOF und FElement beim Hinzufuegen von Modelldaten aufgerufen */
+    static void modelDataAdded() {
+        modificationCount.incrementAndGet();
+    }
+
+    /**
+     * @return die Modelldaten des Partnermodells ueber DOF.number bzw.
+     *         FElement.number, null wenn kein Knoten bzw. Element Daten dieses
+     *         Typs hat
+     */
+    public T[] get() {
+        if (resolvedCount != modificationCount.get()) {
+            resolve();
+        }
+        return data;
+    }
+
+    /** @return true, wenn das Partnermodell existiert */
+    public boolean isPresent() {
+        return get() != null;
+    }
+
+    private synchronized void resolve() {
+        final int count = modificationCount.get();
+        if (resolvedCount == count) {
+            return;
+        }
+        final int size = elements ? fenet.getNumberofFElements() : fenet.getNumberofDOFs();
+        @SuppressWarnings("unchecked")
+        final T[] result = (T[]) Array.newInstance(type, size);
+        boolean found = false;
+        for (int i = 0; i < size; i++) {
+            final Iterator<ModelData> modeldatas;
+            final int number;
+            if (elements) {
+                final FElement element = fenet.getFElement(i);
+                modeldatas = element.allModelDatas();
+                number = element.number;
+            } else {
+                final DOF dof = fenet.getDOF(i);
+                modeldatas = dof.allModelDatas();
+                number = dof.number;
+            }
+            while (modeldatas.hasNext()) {
+                final ModelData md = modeldatas.next();
+                if (type.isInstance(md)) {
+                    result[number] = type.cast(md);
+                    found = true;
+                    break;
+                }
+            }
+        }
+        data = found ? result : null;
+        resolvedCount = count;
+    }
+}
@@ -0,0 +1,321 @@
+/* ----- AGPL ------------------------------------------------------------------
+ * Copyright (C) Peter Milbradt, 1996-2026
+
+ * This file is part of Marina.
+
+ * Marina is free software: you can redistribute it and/or modify              
+ * it under the terms of the GNU Affero General Public License as               
+ * published by the Free Software Foundation version 3.
+ * 
+ * Marina is distributed in the hope that it will be useful,                  
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of               
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                
+ * GNU Affero General Public License for more details.                          
+ *                                                                              
+ * You should have received a copy of the GNU Affero General Public License     
+ * along with Marina.  If not, see <http://www.gnu.org/licenses/>.             
+ *                                                                               
+ * contact: milbradt@smileconsult.de                                        
+ * smile consult GmbH                                                           
+ * Schiffgraben 11                                                                 
+ * 30159 Hannover, Germany 
+ * 
+ */
+package de.smile.marina.fem;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.function.IntSupplier;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Laufzeitstatistik eines zeitabhaengigen Modells: Zeiten der Phasen
+ * Randbedingungen, Elementschleife, Knotenaktualisierung und
+ * Ergebnisausgabe, gerechnete und zulaessige Zeitschritte, nasse Elemente
+ * und Allokationen je Zeitschritt. Die Werte werden als JFR-Ereignisse
+ * (Kategorie Marina) veroeffentlicht, sind ueber JMX lesbar
+ * (de.smile.marina:type=ModelStatistics) und werden von MarinaXML als
+ * Tabelle je Ausgabeintervall ausgegeben.
+ *
+ * Die Allokationen werden ueber alle Threads gezaehlt, bei gleichzeitig
+ * gerechneten Modellen enthalten sie auch die Allokationen der anderen
+ * Modelle derselben Stufe.
+ *
+ * @author Peter Milbradt
+ * @version 1.0.0
+ */
+public final class ModelStatistics implements ModelStatisticsMXBean {
+
+    public enum Phase {
+        BOUNDARY_CONDITIONS, ELEMENT_LOOP, NODAL_UPDATE, OUTPUT
+    }
+
+    @Name("de.smile.marina.ModelPhase")
+    @Label("Model Phase")
+    @Category("Marina")
+    static final class PhaseEvent extends Event {
+        @Label("Model")
+        String model;
+        @Label("Phase")
+        String phase;
+        @Label("Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long time;
+    }
+
+    @Name("de.smile.marina.ModelTimeStep")
+    @Label("Model Time Step")
+    @Category("Marina")
+    static final class TimeStepEvent extends Event {
+        @Label("Model")
+        String model;
+        @Label("Time Step [s]")
+        double timeStep;
+        @Label("Max. Time Step [s]")
+        double maxTimeStep;
+        @Label("Wet Elements")
+        int wetElements;
+        @Label("Allocated")
+        @DataAmount
+        long allocated;
+    }
+
+    private static final com.sun.management.ThreadMXBean THREADS = threadMXBean();
+
+    private final String model;
+    private final IntSupplier wetElements;
+
+    private final long[] phaseNanos = new long[Phase.values().length];
+    private long timeSteps;
+    private double lastTimeStep = Double.NaN, minTimeStep = Double.MAX_VALUE, maxTimeStep = Double.NaN;
+    private long allocated;
+
+    // Stand zu Beginn des laufenden Zeitschritts
+    private long stepStart, stepAllocated, stepOtherPhases;
+
+    // Stand bei der letzten Zusammenfassung
+    private final long[] summaryPhaseNanos = new long[Phase.values().length];
+    private long summaryTimeSteps, summaryAllocated;
+    private double summaryTime, summaryMinTimeStep = Double.MAX_VALUE, summaryMinMaxTimeStep = Double.MAX_VALUE;
+
+    public ModelStatistics(String model, IntSupplier wetElements) {
+        this.model = model;
+        this.wetElements = wetElements;
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+            return bean;
+        }
+        return null;
+    }
+
+    /** true, wenn die JVM die Allokationen je Thread zaehlen kann */
+    public static boolean isAllocationMeasured() {
+        return THREADS != null;
+    }
+
+    /** Summe der bisher allokierten Bytes aller lebenden Threads */
+    public static long allocatedBytes() {
+        if (THREADS == null) {
+            return 0L;
+        }
+        long sum = 0L;
+        for (long bytes : THREADS.getThreadAllocatedBytes(THREADS.getAllThreadIds())) {
+            if (bytes > 0) {
+                sum += bytes;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * meldet die Statistik als MBean an
+     *
+     * @param index Position des Modells in der Modellliste
+     */
+    public void register(int index) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this,
+                    new ObjectName("de.smile.marina:type=ModelStatistics,name=" + model + ",index=" + index));
+        } catch (JMException ex) {
+            System.out.println("ModelStatistics of " + model + " not registered: " + ex.getMessage());
+        }
+    }
+
+    /** @return Startzeit einer Phase fuer {@link #end(Phase, long)} */
+    public long begin() {
+        return System.nanoTime();
+    }
+
+    public void end(Phase phase, long begin) {
+        final long nanos = System.nanoTime() - begin;
+        synchronized (this) {
+            phaseNanos[phase.ordinal()] += nanos;
+        }
+        final PhaseEvent event = new PhaseEvent();
+        if (event.isEnabled()) {
+            event.model = model;
+            event.phase = phase.name();
+            event.time = nanos;
+            event.commit();
+        }
+    }
+
+    /** zu Beginn eines Zeitschritts des Modells */
+    public synchronized void beginStep() {
+        stepOtherPhases = phaseNanos[Phase.BOUNDARY_CONDITIONS.ordinal()] + phaseNanos[Phase.ELEMENT_LOOP.ordinal()];
+        stepAllocated = allocatedBytes();
+        stepStart = System.nanoTime();
+    }
+
+    /**
+     * am Ende eines Zeitschritts, die Zeit ausserhalb von Randbedingungen und
+     * Elementschleife wird der Knotenaktualisierung zugerechnet
+     *
+     * @param dt             gerechneter Zeitschritt
+     * @param maxTimeStep    vom Modell zugelassener Zeitschritt
+     */
+    public void endStep(double dt, double maxTimeStep) {
+        final long bytes;
+        synchronized (this) {
+            final long nanos = System.nanoTime() - stepStart;
+            final long other = phaseNanos[Phase.BOUNDARY_CONDITIONS.ordinal()] + phaseNanos[Phase.ELEMENT_LOOP.ordinal()] - stepOtherPhases;
+            phaseNanos[Phase.NODAL_UPDATE.ordinal()] += Math.max(0L, nanos - other);
+            bytes = allocatedBytes() - stepAllocated;
+            allocated += bytes;
+            timeSteps++;
+            lastTimeStep = dt;
+            minTimeStep = Math.min(minTimeStep, dt);
+            this.maxTimeStep = maxTimeStep;
+            summaryTime += dt;
+            summaryMinTimeStep = Math.min(summaryMinTimeStep, dt);
+            summaryMinMaxTimeStep = Math.min(summaryMinMaxTimeStep, maxTimeStep);
+        }
+        final TimeStepEvent event = new TimeStepEvent();
+        if (event.isEnabled()) {
+            event.model = model;
+            event.timeStep = dt;
+            event.maxTimeStep = maxTimeStep;
+            event.wetElements = wetElements.getAsInt();
+            event.allocated = bytes;
+            event.commit();
+        }
+    }
+
+    @Override
+    public String getModel() {
+        return model;
+    }
+
+    @Override
+    public synchronized long getTimeSteps() {
+        return timeSteps;
+    }
+
+    @Override
+    public synchronized double getLastTimeStep() {
+        return lastTimeStep;
+    }
+
+    @Override
+    public synchronized double getMinTimeStep() {
+        return timeSteps > 0 ? minTimeStep : Double.NaN;
+    }
+
+    @Override
+    public synchronized double getMaxTimeStep() {
+        return maxTimeStep;
+    }
+
+    private synchronized double millis(Phase phase) {
+        return phaseNanos[phase.ordinal()] * 1.e-6;
+    }
+
+    @Override
+    public double getBoundaryConditionsMillis() {
+        return millis(Phase.BOUNDARY_CONDITIONS);
+    }
+
+    @Override
+    public double getElementLoopMillis() {
+        return millis(Phase.ELEMENT_LOOP);
+    }
+
+    @Override
+    public double getNodalUpdateMillis() {
+        return millis(Phase.NODAL_UPDATE);
+    }
+
+    @Override
+    public double getOutputMillis() {
+        return millis(Phase.OUTPUT);
+    }
+
+    @Override
+    public int getWetElements() {
+        return wetElements.getAsInt();
+    }
+
+    @Override
+    public synchronized long getAllocatedBytesPerStep() {
+        return timeSteps > 0 ? allocated / timeSteps : 0L;
+    }
+
+    @Override
+    public synchronized void reset() {
+        java.util.Arrays.fill(phaseNanos, 0L);
+        java.util.Arrays.fill(summaryPhaseNanos, 0L);
+        timeSteps = summaryTimeSteps = 0L;
+        allocated = summaryAllocated = 0L;
+        lastTimeStep = maxTimeStep = Double.NaN;
+        minTimeStep = summaryMinTimeStep = summaryMinMaxTimeStep = Double.MAX_VALUE;
+        summaryTime = 0.;
+    }
+
+    /** Kopfzeile der Zusammenfassung */
+    public static String summaryHeader() {
+        return String.format(Locale.ROOT, "%-36s %7s %10s %10s %10s %10s %10s %10s %10s %9s %10s",
+                "model", "steps", "mean dt", "min dt", "limit dt", "bc ms", "elem ms", "nodes ms", "out ms", "wet", "MB/step");
+    }
+
+    /**
+     * eine Zeile der Zusammenfassung mit den Werten seit der letzten
+     * Zusammenfassung, "limit dt" ist der kleinste vom Modell zugelassene
+     * Zeitschritt im Intervall
+     *
+     * @return
+     */
+    public synchronized String summary() {
+        final long steps = timeSteps - summaryTimeSteps;
+        final double[] ms = new double[phaseNanos.length];
+        for (int i = 0; i < ms.length; i++) {
+            ms[i] = (phaseNanos[i] - summaryPhaseNanos[i]) * 1.e-6;
+            summaryPhaseNanos[i] = phaseNanos[i];
+        }
+        final double mbPerStep = steps > 0 ? (allocated - summaryAllocated) / (double) steps / (1024. * 1024.) : 0.;
+        final int wet = wetElements.getAsInt();
+        final String line = String.format(Locale.ROOT, "%-36s %7d %10.4g %10.4g %10s %10.1f %10.1f %10.1f %10.1f %9s %10.2f",
+                model, steps,
+                steps > 0 ? summaryTime / steps : Double.NaN,
+                steps > 0 ? summaryMinTimeStep : Double.NaN,
+                (steps > 0 && summaryMinMaxTimeStep < Double.MAX_VALUE) ? String.format(Locale.ROOT, "%.4g", summaryMinMaxTimeStep) : "-",
+                ms[Phase.BOUNDARY_CONDITIONS.ordinal()], ms[Phase.ELEMENT_LOOP.ordinal()],
+                ms[Phase.NODAL_UPDATE.ordinal()], ms[Phase.OUTPUT.ordinal()],
+                wet < 0 ? "-" : Integer.toString(wet), mbPerStep);
+        summaryTimeSteps = timeSteps;
+        summaryAllocated = allocated;
+        summaryTime = 0.;
+        summaryMinTimeStep = summaryMinMaxTimeStep = Double.MAX_VALUE;
+        return line;
+    }
+}
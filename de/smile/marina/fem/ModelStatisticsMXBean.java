@@ -0,0 +1,62 @@
+/* ----- AGPL ------------------------------------------------------------------
+ * Copyright (C) Peter Milbradt, 1996-2026
+
+ * This file is part of Marina.
+
+ * Marina is free software: you can redistribute it and/or modify              
+ * it under the terms of the GNU Affero General Public License as               
+ * published by the Free Software Foundation version 3.
+ * 
+ * Marina is distributed in the hope that it will be useful,                  
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of               
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                
+ * GNU Affero General Public License for more details.                          
+ *                                                                              
+ * You should have received a copy of the GNU Affero General Public License     
+ * along with Marina.  If not, see <http://www.gnu.org/licenses/>.             
+ *                                                                               
+ * contact: milbradt@smileconsult.de                                        
+ * smile consult GmbH                                                           
+ * Schiffgraben 11                                                                 
+ * 30159 Hannover, Germany 
+ * 
+ */
+package de.smile.marina.fem;
+
+/**
+ * JMX-Sicht auf die Laufzeitstatistik eines Modells
+ *
+ * @author Peter Milbradt
+ * @version 1.0.0
+ */
+public interface ModelStatisticsMXBean {
+
+    public String getModel();
+
+    public long getTimeSteps();
+
+    /** zuletzt gerechneter Zeitschritt [s] */
+    public double getLastTimeStep();
+
+    /** kleinster gerechneter Zeitschritt [s] */
+    public double getMinTimeStep();
+
+    /** vom Modell zuletzt zugelassener maximaler Zeitschritt [s] */
+    public double getMaxTimeStep();
+
+    public double getBoundaryConditionsMillis();
+
+    public double getElementLoopMillis();
+
+    public double getNodalUpdateMillis();
+
+    public double getOutputMillis();
+
+    /** Anzahl der nassen Elemente, -1 wenn das Modell keine Trockenfallen kennt */
+    public int getWetElements();
+
+    /** mittlere Allokation je Zeitschritt [Byte] */
+    public long getAllocatedBytesPerStep();
+
+    public void reset();
+}
@@ -0,0 +1,306 @@
+/* ----- AGPL ------------------------------------------------------------------
+ * Copyright (C) Peter Milbradt, 1996-2026
+
+ * This file is part of Marina.
+
+ * Marina is free software: you can redistribute it and/or modify              
+ * it under the terms of the GNU Affero General Public License as               
+ * published by the Free Software Foundation version 3.
+ * 
+ * Marina is distributed in the hope that it will be useful,                  
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of               
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                
+ * GNU Affero General Public License for more details.                          
+ *                                                                              
+ * You should have received a copy of the GNU Affero General Public License     
+ * along with Marina.  If not, see <http://www.gnu.org/licenses/>.             
+ *                                                                               
+ * contact: milbradt@smileconsult.de                                        
+ * smile consult GmbH                                                           
+ * Schiffgraben 11                                                                 
+ * 30159 Hannover, Germany 
+ * 
+ */
+package de.smile.marina.fem;
+
+import de.smile.geom.Rectangle2d;
+import de.smile.math.WorkerPool;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Point location in a triangle mesh by a uniform grid of buckets and a walk
+ * through the neighbouring triangles starting at the previous hit. The
+ * locator is immutable after construction and can be used by several threads
+ * at the same time. Only elements with three DOFs are located.
+ *
+ * Elements are identified by their index in the element array of the
+ * decomposition, the natural (barycentric) coordinates are computed in the same
+ * way as in {@link FTriangle#getNaturefromCart(javax.vecmath.Point3d)}.
+ *
+ * @author Peter Milbradt
+ * @version 1.0.0
+ */
+public final class PointLocator {
+
+    private static final double REPSILON = 1e-7;
+    /** maximal number of steps of a walk before the grid is used */
+    private static final int MAX_WALK = 64;
+
+    private final FEDecomposition mesh;
+    private final int numberOfElements;
+    // Knotenkoordinaten und Nachbarn je Element, Nachbar i liegt gegenueber Knoten i
+    private final double[] ex, ey;
+    private final int[] neighbours;
+
+    // Gitter der Buckets mit den Elementen, die die Zelle ueberdecken
+    private final double xmin, ymin, cellWidth, cellHeight;
+    private final int nx, ny;
+    private final int[] cellStart;
+    private final int[] cellElements;
+
+    public PointLocator(FEDecomposition mesh) {
+        this(mesh, 2.);
+    }
+
+    /**
+     * @param mesh decomposition with triangles
+     * @param elementsPerCell mean number of elements per grid cell
+     */
+    public PointLocator(FEDecomposition mesh, double elementsPerCell) {
+        this.mesh = mesh;
+        final FElement[] elements = mesh.getFElements();
+        numberOfElements = elements.length;
+        ex = new double[3 * numberOfElements];
+        ey = new double[3 * numberOfElements];
+        neighbours = new int[3 * numberOfElements];
+        Arrays.fill(neighbours, -1);
+
+        // Koordinaten und Nachbarschaften ueber die gemeinsamen Kanten
+        final HashMap<Long, Integer> edges = new HashMap<>(4 * numberOfElements);
+        final long n = Math.max(1, mesh.getNumberofDOFs());
+        for (int e = 0; e < numberOfElements; e++) {
+            final DOF[] dofs = elements[e].getDOFs();
+            if (dofs.length != 3) {
+                ex[3 * e] = Double.NaN;
+                continue;
+            }
+            for (int i = 0; i < 3; i++) {
+                ex[3 * e + i] = dofs[i].x;
+                ey[3 * e + i] = dofs[i].y;
+            }
+            for (int i = 0; i < 3; i++) {
+                final int a = dofs[(i + 1) % 3].number;
+                final int b = dofs[(i + 2) % 3].number;
+                final Long key = Math.min(a, b) * n + Math.max(a, b);
+                final Integer other = edges.remove(key);
+                if (other == null) {
+                    edges.put(key, 3 * e + i);
+                } else {
+                    neighbours[3 * e + i] = other / 3;
+                    neighbours[other] = e;
+                }
+            }
+        }
+
+        // Gitter mit etwa elementsPerCell Elementen je Zelle
+        final Rectangle2d bounds = mesh.getBounds();
+        final double width = Math.max(bounds.width, Double.MIN_NORMAL);
+        final double height = Math.max(bounds.height, Double.MIN_NORMAL);
+        final double cells = Math.max(1., numberOfElements / Math.max(elementsPerCell, 0.1));
+        nx = (int) Math.max(1, Math.min(1 << 15, Math.ceil(Math.sqrt(cells * width / height))));
+        ny = (int) Math.max(1, Math.min(1 << 15, Math.ceil(cells / nx)));
+        xmin = bounds.x;
+        ymin = bounds.y;
+        cellWidth = width / nx;
+        cellHeight = height / ny;
+
+        cellStart = new int[nx * ny + 1];
+        for (int e = 0; e < numberOfElements; e++) {
+            if (!Double.isNaN(ex[3 * e])) {
+                for (int j = cellY(yMin(e)); j <= cellY(yMax(e)); j++) {
+                    for (int i = cellX(xMin(e)); i <= cellX(xMax(e)); i++) {
+                        cellStart[j * nx + i + 1]++;
+                    }
+                }
+            }
+        }
+        for (int c = 0; c < nx * ny; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        cellElements = new int[cellStart[nx * ny]];
+        final int[] fill = Arrays.copyOf(cellStart, nx * ny);
+        for (int e = 0; e < numberOfElements; e++) {
+            if (!Double.isNaN(ex[3 * e])) {
+                for (int j = cellY(yMin(e)); j <= cellY(yMax(e)); j++) {
+                    for (int i = cellX(xMin(e)); i <= cellX(xMax(e)); i++) {
+                        cellElements[fill[j * nx + i]++] = e;
+                    }
+                }
+            }
+        }
+    }
+
+    private double xMin(int e) {
+        return Math.min(ex[3 * e], Math.min(ex[3 * e + 1], ex[3 * e + 2]));
+    }
+
+    private double xMax(int e) {
+        return Math.max(ex[3 * e], Math.max(ex[3 * e + 1], ex[3 * e + 2]));
+    }
+
+    private double yMin(int e) {
+        return Math.min(ey[3 * e], Math.min(ey[3 * e + 1], ey[3 * e + 2]));
+    }
+
+    private double yMax(int e) {
+        return Math.max(ey[3 * e], Math.max(ey[3 * e + 1], ey[3 * e + 2]));
+    }
+
+    private int cellX(double x) {
+        return Math.max(0, Math.min(nx - 1, (int) ((x - xmin) / cellWidth)));
+    }
+
+    private int cellY(double y) {
+        return Math.max(0, Math.min(ny - 1, (int) ((y - ymin) / cellHeight)));
+    }
+
+    public FEDecomposition getMesh() {
+        return mesh;
+    }
+
+    /**
+     * locate a point
+     *
+     * @param x
+     * @param y
+     * @param lambda natural coordinates of the point in the host element (length
+     *               3), may be null
+     * @return index of the host element or -1 if the point lies outside the mesh
+     */
+    public int locate(double x, double y, double[] lambda) {
+        return locate(x, y, -1, lambda);
+    }
+
+    /**
+     * locate a point starting the search at an element near the point, e.g. the
+     * host element of the previous point
+     *
+     * @param x
+     * @param y
+     * @param start index of the element to start the walk with, -1 if unknown
+     * @param lambda natural coordinates of the point in the host element (length
+     *               3), may be null
+     * @return index of the host element or -1 if the point lies outside the mesh
+     */
+    public int locate(double x, double y, int start, double[] lambda) {
+        if (lambda == null) {
+            lambda = new double[3];
+        }
+        // laufen nur, wenn das Startelement in der Naehe des Punktes liegt
+        if (start >= 0 && start < numberOfElements && !Double.isNaN(ex[3 * start])
+                && Math.abs(x - ex[3 * start]) < 2. * cellWidth && Math.abs(y - ey[3 * start]) < 2. * cellHeight) {
+            int e = start;
+            for (int step = 0; step < MAX_WALK; step++) {
+                final int out = natureFromCart(e, x, y, lambda);
+                if (out < 0) {
+                    return e;
+                }
+                final int next = neighbours[3 * e + out];
+                if (next < 0) {
+                    break; // Rand erreicht, eventuell konkaves Gebiet
+                }
+                e = next;
+            }
+        }
+        if (x < xmin || y < ymin || x > xmin + nx * cellWidth || y > ymin + ny * cellHeight) {
+            return -1;
+        }
+        final int c = cellY(y) * nx + cellX(x);
+        for (int k = cellStart[c]; k < cellStart[c + 1]; k++) {
+            final int e = cellElements[k];
+            if (natureFromCart(e, x, y, lambda) < 0) {
+                return e;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * locate an array of points, the points are processed in chunks by the
+     * worker threads, inside a chunk each search starts at the host element of
+     * the previous point
+     *
+     * @param x
+     * @param y
+     * @param elements index of the host element for each point, -1 for points
+     *                 outside the mesh
+     * @param lambda natural coordinates, 3 values for each point (may be null)
+     * @return number of points located in the mesh
+     */
+    public int locate(double[] x, double[] y, int[] elements, double[] lambda) {
+        final int n = x.length;
+        final int[] found = new int[Math.max(1, WorkerPool.getNumberOfThreads())];
+        WorkerPool.parallelFor(n, found.length, (lo, hi) -> {
+            final double[] l = new double[3];
+            int last = -1;
+            int count = 0;
+            for (int p = lo; p < hi; p++) {
+                final int e = locate(x[p], y[p], last, l);
+                elements[p] = e;
+                if (e >= 0) {
+                    last = e;
+                    count++;
+                    if (lambda != null) {
+                        System.arraycopy(l, 0, lambda, 3 * p, 3);
+                    }
+                } else if (lambda != null) {
+                    lambda[3 * p] = lambda[3 * p + 1] = lambda[3 * p + 2] = 0.;
+                }
+            }
+            synchronized (found) {
+                found[0] += count;
+            }
+        });
+        return found[0];
+    }
+
+    /**
+     * natural coordinates of a point in an element
+     *
+     * @return -1 if the point lies in the element, else the local number of the
+     *         node with the most negative coordinate (the point lies beyond the
+     *         opposite edge)
+     */
+    private int natureFromCart(int e, double x, double y, double[] lambda) {
+        final int o = 3 * e;
+        final double x0 = ex[o], x1 = ex[o + 1], x2 = ex[o + 2];
+        final double y0 = ey[o], y1 = ey[o + 1], y2 = ey[o + 2];
+        final double a2 = (x1 - x0) * (y2 - y0) - (x2 - x0) * (y1 - y0);
+        if (a2 == 0.) {
+            return 0; // entartetes Element
+        }
+        lambda[0] = (x1 * (y2 - y) + x2 * (y - y1) + x * (y1 - y2)) / a2;
+        lambda[1] = (x2 * (y0 - y) + x0 * (y - y2) + x * (y2 - y0)) / a2;
+        lambda[2] = (x0 * (y1 - y) + x1 * (y - y0) + x * (y0 - y1)) / a2;
+        int out = -1;
+        double min = -REPSILON;
+        for (int i = 0; i < 3; i++) {
+            if (lambda[i] <= min) {
+                min = lambda[i];
+                out = i;
+            }
+        }
+        if (out >= 0) {
+            return out;
+        }
+        for (int i = 0; i < 3; i++) {
+            if (lambda[i] <= REPSILON) {
+                lambda[i] = 0;
+            } else if (lambda[i] >= 1 - REPSILON) {
+                lambda[i] = 1;
+            }
+        }
+        return -1;
+    }
+}
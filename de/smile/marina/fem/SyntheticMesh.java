@@ -0,0 +1,137 @@
+/* ----- AGPL ------------------------------------------------------------------
+ * Copyright (C) Peter Milbradt, 1996-2026
+
+ * This file is part of Marina.
+
+ * Marina is free software: you can redistribute it and/or modify              
+ * it under the terms of the GNU Affero General Public License as               
+ * published by the Free Software Foundation version 3.
+ * 
+ * Marina is distributed in the hope that it will be useful,                  
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of               
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                
+ * GNU Affero General Public License for more details.                          
+ *                                                                              
+ * You should have received a copy of the GNU Affero General Public License     
+ * along with Marina.  If not, see <http://www.gnu.org/licenses/>.             
+ *                                                                               
+ * contact: milbradt@smileconsult.de                                        
+ * smile consult GmbH                                                           
+ * Schiffgraben 11                                                                 
+ * 30159 Hannover, Germany 
+ * 
+ */
+package de.smile.marina.fem;
+
+import java.util.Random;
+
+/**
+ * Synthetische Dreiecksnetze fuer Benchmarks: ein Rechteck aus nx x ny
+ * Zellen mit je zwei Dreiecken und 10 m Zellweite. Im strukturierten Netz
+ * liegen die Knoten auf dem Gitter und alle Zellen haben dieselbe Diagonale,
+ * im unstrukturierten Netz sind die inneren Knoten verschoben und die
+ * Diagonalen zufaellig gewaehlt.
+ *
+ * @author Peter Milbradt
+ * @version 1.0.0
+ */
+public final class SyntheticMesh {
+
+    public static final double CELLSIZE = 10.;
+
+    private SyntheticMesh() {
+    }
+
+    /** strukturiertes Netz mit konstanter Tiefe von 5 m */
+    public static FTriangleMesh structured(int nx, int ny) {
+        return generate(nx, ny, 0., false, 0L);
+    }
+
+    /** unstrukturiertes Netz mit konstanter Tiefe von 5 m */
+    public static FTriangleMesh unstructured(int nx, int ny, long seed) {
+        return generate(nx, ny, 0.3, true, seed);
+    }
+
+    /**
+     * Anzahl der Zellen je Seite eines quadratischen Netzes mit etwa der
+     * gegebenen Anzahl von Elementen
+     *
+     * @param numberOfElements
+     * @return
+     */
+    public static int cellsPerSide(int numberOfElements) {
+        return Math.max(1, (int) Math.round(Math.sqrt(numberOfElements / 2.)));
+    }
+
+    /**
+     * erzeugt das Netz
+     *
+     * @param nx               Zellen in x-Richtung
+     * @param ny               Zellen in y-Richtung
+     * @param perturbation     Verschiebung der inneren Knoten in Zellweiten
+     * @param randomDiagonals  Diagonale jeder Zelle zufaellig waehlen
+     * @param seed
+     * @return
+     */
+    public static FTriangleMesh generate(int nx, int ny, double perturbation, boolean randomDiagonals, long seed) {
+        final Random random = new Random(seed);
+        final DOF[] dofs = new DOF[(nx + 1) * (ny + 1)];
+        for (int j = 0; j <= ny; j++) {
+            for (int i = 0; i <= nx; i++) {
+                double x = i, y = j;
+                if (perturbation > 0. && i > 0 && i < nx && j > 0 && j < ny) {
+                    x += perturbation * (random.nextDouble() - 0.5);
+                    y += perturbation * (random.nextDouble() - 0.5);
+                }
+                final int k = j * (nx + 1) + i;
+                dofs[k] = new DOF(k, CELLSIZE * x, CELLSIZE * y, 5.);
+            }
+        }
+        final FTriangle[] elements = new FTriangle[2 * nx * ny];
+        int e = 0;
+        for (int j = 0; j < ny; j++) {
+            for (int i = 0; i < nx; i++) {
+                final int k = j * (nx + 1) + i;
+                if (randomDiagonals && random.nextBoolean()) {
+                    elements[e] = new FTriangle(dofs[k], dofs[k + 1], dofs[k + nx + 1]);
+                    elements[e].number = e++;
+                    elements[e] = new FTriangle(dofs[k + 1], dofs[k + nx + 2], dofs[k + nx + 1]);
+                    elements[e].number = e++;
+                } else {
+                    elements[e] = new FTriangle(dofs[k], dofs[k + 1], dofs[k + nx + 2]);
+                    elements[e].number = e++;
+                    elements[e] = new FTriangle(dofs[k], dofs[k + nx + 2], dofs[k + nx + 1]);
+                    elements[e].number = e++;
+                }
+            }
+        }
+        final FTriangleMesh mesh = new FTriangleMesh(elements, dofs);
+        for (FTriangle element : elements) {
+            for (DOF dof : element.getDOFs()) {
+                dof.addFElement(element);
+            }
+        }
+        // mittlere Kantenlaenge und Knotenmasse wie nach dem Einlesen in MarinaXML
+        mesh.initialMeanEdgeLength();
+        return mesh;
+    }
+
+    /**
+     * Boeschung in x-Richtung: der Anteil dryFraction der Flaeche liegt bei
+     * Wasserstand 0 trocken, die Tiefe steigt danach mit 1:100 an
+     *
+     * @param mesh
+     * @param dryFraction Anteil der trockenen Flaeche (0..1)
+     */
+    public static void setBathymetry(FEDecomposition mesh, double dryFraction) {
+        double xmin = Double.MAX_VALUE, xmax = -Double.MAX_VALUE;
+        for (DOF dof : mesh.getDOFs()) {
+            xmin = Math.min(xmin, dof.x);
+            xmax = Math.max(xmax, dof.x);
+        }
+        final double shore = xmin + dryFraction * (xmax - xmin);
+        for (DOF dof : mesh.getDOFs()) {
+            dof.z = dryFraction > 0. ? 0.01 * (dof.x - shore) : 0.5 + 0.01 * (dof.x - xmin);
+        }
+    }
+}
@@ -23,13 +23,14 @@
  */
 package de.smile.marina.fem;
 
+import de.smile.math.WorkerPool;
 import de.smile.math.ode.ivp.ODESystem;
 import java.util.Arrays;
-import java.util.OptionalDouble;
+import java.util.stream.Stream;
 
 /**  FE-Approximation of a System of timedependent partial differential equations
  * @author Peter Milbradt
- * @version 3.10
+ * @version 3.12
  */
 public abstract class TimeDependentFEApproximation extends FEApproximation implements ODESystem {
     
@@ -39,6 +40,11 @@ public abstract class TimeDependentFEApproximation extends FEApproximation imple
     
     protected double maxTimeStep = Double.MAX_VALUE;
     protected double time;
+    
+    protected boolean colouredAssembly = false; // Elementschleife farbweise, Elemente einer Farbe teilen keinen DOF
+    protected final BoundaryValueCache boundaryValues = new BoundaryValueCache(); // Randzeitreihen, einmal je Zeitschritt ausgewertet
+    protected ActiveSet activeSet = null; // nur aktive Elemente und Knoten berechnen, null: alle
+    protected final ModelStatistics statistics = new ModelStatistics(getClass().getSimpleName(), this::getNumberOfWetElements); // Laufzeitstatistik je Phase
     public abstract void setBoundaryCondition(DOF dof, double t);
     
     public final void setStartTime(double starttime){
@@ -67,15 +73,79 @@ public abstract class TimeDependentFEApproximation extends FEApproximation imple
     
     /** perform a loop over all DOF and update values and set boundary conditions using the Method setBoundaryCondition  */
     public void setBoundaryConditions(){
-        Arrays.stream(fenet.getDOFs()).parallel().forEach( dof -> {
+        final long begin = statistics.begin();
+        if (boundaryValues.size() > 0) {
+            boundaryValues.update(time);
+        }
+        WorkerPool.invoke(() -> Arrays.stream(fenet.getDOFs()).parallel().forEach( dof -> {
             femodel.setBoundaryCondition(dof,time);
-        });
+        }));
+        statistics.end(ModelStatistics.Phase.BOUNDARY_CONDITIONS, begin);
+    }
+    
+    /** switch the element loop to the coloured assembly mode,
+     *  the model has to add its element contributions without synchronisation if the mode is active
+     * @param coloured  */
+    public final void setColouredAssembly(boolean coloured){
+        colouredAssembly = coloured;
+        if (coloured) {
+            fenet.getElementColours();
+        }
+    }
+    
+    public final boolean isColouredAssembly(){
+        return colouredAssembly;
+    }
+    
+    /** @return the active set of the model, null if all elements and DOFs are computed */
+    public final ActiveSet getActiveSet(){
+        return activeSet;
     }
     
-    /** perform Elementloop using the Method ElementApproximation  */
+    /** @return the DOFs of the nodal loop as parallel stream, the active DOFs if the model uses an active set */
+    protected final Stream<DOF> activeDOFs(){
+        final DOF[] dofs = fenet.getDOFs();
+        if (activeSet == null) {
+            return Arrays.stream(dofs).parallel();
+        }
+        return Arrays.stream(activeSet.getNodes()).parallel().mapToObj(i -> dofs[i]);
+    }
+    
+    public final ModelStatistics getStatistics(){
+        return statistics;
+    }
+    
+    /** @return number of wet elements, -1 if the model does not know dry elements */
+    public int getNumberOfWetElements(){
+        return -1;
+    }
+    
+    /** perform Elementloop using the Method ElementApproximation, only over the active elements if the model uses an active set  */
     public final void performElementLoop(){
-        OptionalDouble tStep = Arrays.stream(fenet.getFElements()).parallel().mapToDouble((FElement element) -> femodel.ElementApproximation(element)).min();
-        final double timeStep = tStep.getAsDouble();
+        final long begin = statistics.begin();
+        if (colouredAssembly) {
+            performColouredElementLoop();
+        } else {
+            final double timeStep;
+            if (activeSet == null) {
+                timeStep = WorkerPool.compute(() -> Arrays.stream(fenet.getFElements()).parallel().mapToDouble((FElement element) -> femodel.ElementApproximation(element)).min().getAsDouble());
+            } else {
+                final FElement[] elements = fenet.getFElements();
+                timeStep = WorkerPool.compute(() -> Arrays.stream(activeSet.getElements()).parallel().mapToDouble(i -> femodel.ElementApproximation(elements[i])).min().orElse(Double.MAX_VALUE));
+            }
+            maxTimeStep = ((maxTimeStep < timeStep) ? maxTimeStep : timeStep);
+        }
+        statistics.end(ModelStatistics.Phase.ELEMENT_LOOP, begin);
+    }
+    
+    /** perform Elementloop colour by colour, the elements of one colour are computed in parallel */
+    private void performColouredElementLoop(){
+        final FElement[] elements = fenet.getFElements();
+        double timeStep = Double.MAX_VALUE;
+        for (int[] colour : fenet.getElementColours()) {
+            final double tStep = WorkerPool.compute(() -> Arrays.stream(colour).parallel().filter(i -> activeSet == null || activeSet.isActiveElement(i)).mapToDouble(i -> femodel.ElementApproximation(elements[i])).min().orElse(Double.MAX_VALUE));
+            timeStep = ((timeStep < tStep) ? timeStep : tStep);
+        }
         maxTimeStep = ((maxTimeStep < timeStep) ? maxTimeStep : timeStep);
     }
 }
@@ -29,6 +29,7 @@ public class TimeDependentFEModel {
 
     private double[] result;
     public Object model;
+    private int cycles = 1; // Anzahl der gemeinsamen Zeitschritte je Modellschritt (Subcycling)
 
     public TimeDependentFEModel(FEModel m, double[] r) {
         if (!(m instanceof ODESystem))
@@ -53,4 +54,18 @@ public class TimeDependentFEModel {
         result = r;
     }
 
+    public int getCycles() {
+        return cycles;
+    }
+
+    /**
+     * das Modell rechnet nur jeden cycles-ten gemeinsamen Zeitschritt, dann
+     * mit der Summe der ausgelassenen Zeitschritte
+     *
+     * @param cycles Anzahl der Zeitschritte je Modellschritt (>= 1)
+     */
+    public void setCycles(int cycles) {
+        this.cycles = Math.max(1, cycles);
+    }
+
 }
@@ -28,8 +28,8 @@ import de.smile.marina.TimeDependentModel;
 import de.smile.marina.fem.*;
 import de.smile.marina.fem.model.hydrodynamic.dim2.*;
 import de.smile.marina.io.TicadIO;
+import de.smile.marina.io.TicadResultWriter;
 import de.smile.math.Function;
-import java.io.DataOutputStream;
 
 /** Muschelmodell unabhaengig von der Art 
  *
@@ -44,7 +44,7 @@ public class MusselModel2D extends TimeDependentFEApproximation implements FEMod
 
     private SurfaceWaterModelData[] dof_surfaceWaterModelData=null;
     
-    private DataOutputStream xf_os = null;
+    private TicadResultWriter xf_os = null;
 
     @Override
     public void setBoundaryCondition(DOF dof, double t) {
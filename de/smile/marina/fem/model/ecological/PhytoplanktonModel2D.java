@@ -40,14 +40,13 @@ import de.smile.marina.fem.model.hydrodynamic.dim2.CurrentModel2D;
 import de.smile.marina.fem.model.meteorology.MeteorologyData2D;
 import de.smile.marina.io.FileIO;
 import de.smile.marina.io.TicadIO;
+import de.smile.marina.io.TicadResultReader;
+import de.smile.marina.io.TicadResultWriter;
 import de.smile.math.Function;
 import java.io.BufferedReader;
-import java.io.DataInputStream;
-import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.StreamTokenizer;
@@ -58,11 +57,10 @@ import javax.vecmath.Point3d;
 
 /**
  *
- * @version 1.8.42
+ * @version 1.8.43
  */
 public class PhytoplanktonModel2D extends TimeDependentFEApproximation implements FEModel, TicadModel {
-    private DataOutputStream xf_os = null;
-    private FileOutputStream xf_fs = null;
+    private TicadResultWriter xf_os = null;
     
     private Vector<DOF> initsc = new Vector<>();
     
@@ -106,10 +104,8 @@ public class PhytoplanktonModel2D extends TimeDependentFEApproximation implement
         result = new double[n];
         
         try {
-            xf_fs = new FileOutputStream(phytodat.xferg_name);
-            xf_os = new DataOutputStream(xf_fs);
-            // Setzen der Ergebnismaske 
-            TicadIO.write_xf(xf_os, this );
+            // Setzen der Ergebnismaske
+            xf_os = new TicadResultWriter(phytodat.xferg_name, this);
         } catch (FileNotFoundException e) {
             System.out.println("The file "+ phytodat.xferg_name + " cannot be opened");
             System.out.println(e.getMessage());
@@ -180,102 +176,29 @@ public class PhytoplanktonModel2D extends TimeDependentFEApproximation implement
     	
         System.out.println("\t Read inital values from result file "+phytoerg);
 	//erstes Durchscannen
-	File sysergFile=new File(phytoerg);
-        double[] x;
-        try (FileInputStream stream = new FileInputStream(sysergFile); DataInputStream inStream = new DataInputStream(stream)) {
-            
-// Kommentar lesen, bis ASCII-Zeichen 7 kommt
-            int c;
-            do {
-                c = inStream.readByte();
-            } while (c != 7);
-            // Ende Kommentar
-            
-            //Anzahl Elemente, Knoten und Rand lesen
-            int anzKnoten=inStream.readInt();
+        try (TicadResultReader reader = new TicadResultReader(phytoerg)) {
+
+            // Anzahl Knoten pruefen
+            int anzKnoten = reader.getNumberOfNodes();
             if (fenet.getNumberofDOFs()!=anzKnoten) {
                 System.out.println("Die Datei mit den Startwerten hat andere Anzahl von Knoten");
                 System.exit(1);
-            }   int anzr=inStream.readInt();
-            int anzElemente=inStream.readInt();
-            //ueberlesen folgende Zeilen
-            inStream.skip(9*4);
-            //Ergebnismaske lesen und auswerten
-            final int ergMaske = inStream.readInt();
-            final int anzWerte = TicadIO.ergMaskeAuswerten(ergMaske);
-            
-            final boolean None_gesetzt = ((ergMaske & TicadIO.HRES_NONE) == TicadIO.HRES_NONE);
-            final boolean Pos_gesetzt = ((ergMaske & TicadIO.HRES_POS) == TicadIO.HRES_POS);
-            final boolean Z_gesetzt = ((ergMaske & TicadIO.HRES_Z) == TicadIO.HRES_Z);
-            final boolean V_gesetzt = ((ergMaske & TicadIO.HRES_V) == TicadIO.HRES_V);        
-            final boolean Q_gesetzt = ((ergMaske & TicadIO.HRES_Q) == TicadIO.HRES_Q);
-            final boolean H_gesetzt = ((ergMaske & TicadIO.HRES_H) == TicadIO.HRES_H);             
-            final boolean SALT_gesetzt = ((ergMaske & TicadIO.HRES_SALT) == TicadIO.HRES_SALT);
-            final boolean EDDY_gesetzt = ((ergMaske & TicadIO.HRES_EDDY) == TicadIO.HRES_EDDY);    
-            final boolean SHEAR_gesetzt = ((ergMaske & TicadIO.HRES_SHEAR) == TicadIO.HRES_SHEAR); 
-            final boolean V_SCAL_gesetzt = ((ergMaske & TicadIO.HRES_V_SCAL) == TicadIO.HRES_V_SCAL);
-            final boolean Q_SCAL_gesetzt = ((ergMaske & TicadIO.HRES_Q_SCAL) == TicadIO.HRES_Q_SCAL);
-            final boolean AH_gesetzt = ((ergMaske & TicadIO.HRES_AH) == TicadIO.HRES_AH);
-            
-            
-            inStream.readInt();
-            //Elemente, Rand und Knoten überlesen
-            inStream.skip((anzElemente*4+anzr+3*anzKnoten)*4); //4 Bytes je float und int    
-            // bis zum record-Satz springen
-            inStream.skip((4+anzKnoten*anzWerte*4)*record);
+            }
+
+            final boolean H_gesetzt = reader.contains(TicadIO.HRES_H);
+
+            // Satz lesen
+            final TicadResultReader.Record erg = reader.getRecord(record);
             x = new double[getResultSize()];
-            float time=inStream.readFloat();
+            float time=erg.getTime();
             for (int i = 0;i<fenet.getNumberofDOFs();i++){
                 DOF dof=fenet.getDOF(i);
                 PhytoplanktonModel2DData phytomodeldata = PhytoplanktonModel2DData.extract(dof);
-                
-                if (None_gesetzt) {
-                    inStream.skip(4);
-                }
-
-                if (Pos_gesetzt) {
-                    inStream.skip(4);
-                }
-
-                if (Z_gesetzt) {
-                   inStream.skip(4);
-                }
-
-                if (V_gesetzt) {
-                    inStream.skip(8);
-                }
-
-                if (Q_gesetzt) {
-                    inStream.skip(8);
-                }
 
                 if (H_gesetzt) {
-                    phytomodeldata.phytoconc = x[PhytoConc + i] = inStream.readFloat();
-                }
-
-                if (SALT_gesetzt) {
-                    inStream.skip(4);
-                }
-
-                if (EDDY_gesetzt) {
-                    inStream.skip(4);
+                    phytomodeldata.phytoconc = x[PhytoConc + i] = erg.getValue(i, TicadIO.HRES_H);
                 }
 
-                if (SHEAR_gesetzt) {
-                    inStream.skip(8);
-                }
-
-                if (V_SCAL_gesetzt) {
-                    inStream.skip(4);
-                }
-
-                if (Q_SCAL_gesetzt) {
-                    inStream.skip(4);
-                }
-
-                if (AH_gesetzt) {
-                    inStream.skip(4);
-                }
             }          
         }
         return x;
@@ -674,7 +597,7 @@ public class PhytoplanktonModel2D extends TimeDependentFEApproximation implement
         while (b.hasMoreElements()) {
             BoundaryCondition bcond = (BoundaryCondition) b.nextElement();
             if ( dofnumber == bcond.pointnumber ){
-                data.bsc = bcond.function;
+                data.bsc = boundaryValues.register(bcond.function);
                 bsc.removeElement(bcond);
             }
         }
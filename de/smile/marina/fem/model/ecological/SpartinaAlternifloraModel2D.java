@@ -30,12 +30,10 @@ import de.smile.marina.fem.model.hydrodynamic.dim2.CurrentModel2DData;
 import de.smile.marina.io.FileIO;
 import de.smile.marina.io.SmileIO;
 import de.smile.marina.io.TicadIO;
-import java.io.DataInputStream;
-import java.io.DataOutputStream;
+import de.smile.marina.io.TicadResultReader;
+import de.smile.marina.io.TicadResultWriter;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.util.StringTokenizer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -46,8 +44,7 @@ import java.util.logging.Logger;
  */
 public class SpartinaAlternifloraModel2D extends TimeDependentFEApproximation implements FEModel, TicadModel, TimeDependentModel {
     
-    private DataOutputStream xf_os = null;
-    private FileOutputStream xf_fs = null;
+    private TicadResultWriter xf_os = null;
 
     //fuer Wachstum ueber das Jahr
     private final static double T1=365.*24.*3600.;   //1 Jahr
@@ -94,10 +91,8 @@ public class SpartinaAlternifloraModel2D extends TimeDependentFEApproximation im
             }
         
         try {
-            xf_fs = new FileOutputStream(spartinaalternifloradat.xferg_name);
-            xf_os = new DataOutputStream(xf_fs);
-            // Setzen der Ergebnismaske 
-            TicadIO.write_xf(xf_os, this );
+            // Setzen der Ergebnismaske
+            xf_os = new TicadResultWriter(spartinaalternifloradat.xferg_name, this);
         } catch (FileNotFoundException e) {
             System.out.println("The file "+ spartinaalternifloradat.xferg_name + " cannot be opened");
             System.out.println(e.getMessage());
@@ -121,106 +116,40 @@ public class SpartinaAlternifloraModel2D extends TimeDependentFEApproximation im
     	
         System.out.println("\t Read inital values from result file "+spartinaAlternifloraModel2DErgFileName);
 	//erstes Durchscannen
-	File sysergFile=new File(spartinaAlternifloraModel2DErgFileName);
-        try (FileInputStream stream = new FileInputStream(sysergFile); DataInputStream inStream = new DataInputStream(stream)) {
-            
-            // Kommentar lesen, bis ASCII-Zeichen 7 kommt
-            int c;
-            do{
-                c = inStream.readByte();
-            }while ( c != 7 );
-            // Ende Kommentar
-            
-            //Anzahl Elemente, Knoten und Rand lesen
-            int anzKnoten=inStream.readInt();
+        try (TicadResultReader reader = new TicadResultReader(spartinaAlternifloraModel2DErgFileName)) {
+
+            // Anzahl Knoten pruefen
+            int anzKnoten = reader.getNumberOfNodes();
             if (fenet.getNumberofDOFs()!=anzKnoten) {
                 System.out.println("Die Datei mit den Startwerten hat andere Anzahl von Knoten");
                 System.exit(1);
             }
-            int anzr=inStream.readInt();
-            int anzElemente=inStream.readInt();
-            
-            //ueberlesen folgende Zeilen
-            inStream.skip(9*4);
-            
-            //Ergebnismaske lesen und auswerten
-            int ergMaske = inStream.readInt();
-            int anzWerte = TicadIO.ergMaskeAuswerten(ergMaske);
-            
-            final boolean None_gesetzt = ((ergMaske & TicadIO.HRES_NONE) == TicadIO.HRES_NONE);
-            final boolean Pos_gesetzt = ((ergMaske & TicadIO.HRES_POS) == TicadIO.HRES_POS);
-            final boolean Z_gesetzt = ((ergMaske & TicadIO.HRES_Z) == TicadIO.HRES_Z);
-            final boolean V_gesetzt = ((ergMaske & TicadIO.HRES_V) == TicadIO.HRES_V);        
-            final boolean Q_gesetzt = ((ergMaske & TicadIO.HRES_Q) == TicadIO.HRES_Q);
-            final boolean VegetationDensity = ((ergMaske & TicadIO.HRES_H) == TicadIO.HRES_H);             
-            final boolean VegetationHeight = ((ergMaske & TicadIO.HRES_SALT) == TicadIO.HRES_SALT);
-            final boolean VegetationDiameter = ((ergMaske & TicadIO.HRES_EDDY) == TicadIO.HRES_EDDY);    
-            final boolean SHEAR_gesetzt = ((ergMaske & TicadIO.HRES_SHEAR) == TicadIO.HRES_SHEAR); 
-            final boolean V_SCAL_gesetzt = ((ergMaske & TicadIO.HRES_V_SCAL) == TicadIO.HRES_V_SCAL);
-            final boolean Q_SCAL_gesetzt = ((ergMaske & TicadIO.HRES_Q_SCAL) == TicadIO.HRES_Q_SCAL);
-            final boolean AH_gesetzt = ((ergMaske & TicadIO.HRES_AH) == TicadIO.HRES_AH);
-            
-            inStream.readInt();
-            
-            //Elemente, Rand und Knoten überlesen
-            inStream.skip((anzElemente*4+anzr+3*anzKnoten)*4); //4 Bytes je float und int
-            
-            // bis zum record-Satz springen
-            inStream.skip((4+anzKnoten*anzWerte*4)*record);
+
+            final boolean VegetationDensity = reader.contains(TicadIO.HRES_H);
+            final boolean VegetationHeight = reader.contains(TicadIO.HRES_SALT);
+            final boolean VegetationDiameter = reader.contains(TicadIO.HRES_EDDY);
+
+            // Satz lesen
+            final TicadResultReader.Record erg = reader.getRecord(record);
             
-            float time=inStream.readFloat();
+            float time=erg.getTime();
             for (int i = 0;i<fenet.getNumberofDOFs();i++){
                 DOF dof=fenet.getDOF(i);
                 SpartinaAlternifloraModel2DData safmodeldata = SpartinaAlternifloraModel2DData.extract(dof);
-                
-                if (None_gesetzt) {
-                    inStream.skip(4);
-                }
-
-                if (Pos_gesetzt) {
-                    inStream.skip(4);
-                }
-
-                if (Z_gesetzt) {
-                   inStream.skip(4);
-                }
-
-                if (V_gesetzt) {
-                    inStream.skip(8);
-                }
-
-                if (Q_gesetzt) {
-                    inStream.skip(8);
-                }
 
                 if (VegetationDensity) {
-                    safmodeldata.density = inStream.readFloat();
+                    safmodeldata.density = erg.getValue(i, TicadIO.HRES_H);
                     maxdensity = Math.max(maxdensity, safmodeldata.density);
                 }
 
                 if (VegetationHeight) {
-                    safmodeldata.height = inStream.readFloat();
+                    safmodeldata.height = erg.getValue(i, TicadIO.HRES_SALT);
                 }
 
                 if (VegetationDiameter) {
-                    safmodeldata.diameter = inStream.readFloat();
-                }
-
-                if (SHEAR_gesetzt) {
-                    inStream.skip(8);
-                }
-
-                if (V_SCAL_gesetzt) {
-                    inStream.skip(4);
-                }
-
-                if (Q_SCAL_gesetzt) {
-                    inStream.skip(4);
+                    safmodeldata.diameter = erg.getValue(i, TicadIO.HRES_EDDY);
                 }
 
-                if (AH_gesetzt) {
-                    inStream.skip(4);
-                }  
             }
         }
     }
@@ -340,15 +340,14 @@ public class SysErgInterpolatedBathymetricModel2D extends TimeDependentFEApproxi
             DOF rdof = new DOF(-1, dof.x, dof.y, dof.z);
             BathymetryData2D md = new BathymetryData2D();
             rdof.addModelData(md);
-            for (FElement elem : fenet.getFElements()) {
-                if (elem.contains(rdof)) {
-                    double[] lambda = elem.getNaturefromCart(rdof);
-                    BathymetryData2D md0 = BathymetryData2D.extract(elem.getDOF(0));
-                    BathymetryData2D md1 = BathymetryData2D.extract(elem.getDOF(1));
-                    BathymetryData2D md2 = BathymetryData2D.extract(elem.getDOF(2));
-                    md.z = lambda[0]*md0.z + lambda[1]*md1.z +lambda[2]*md2.z;
-                    break;
-                }
+            final double[] lambda = new double[3];
+            final int e = fenet.getPointLocator().locate(dof.x, dof.y, lambda);
+            if (e >= 0) {
+                final FElement elem = fenet.getFElement(e);
+                BathymetryData2D md0 = BathymetryData2D.extract(elem.getDOF(0));
+                BathymetryData2D md1 = BathymetryData2D.extract(elem.getDOF(1));
+                BathymetryData2D md2 = BathymetryData2D.extract(elem.getDOF(2));
+                md.z = lambda[0]*md0.z + lambda[1]*md1.z +lambda[2]*md2.z;
             }
             if(Double.isNaN(md.z)) System.out.println(dof.number+" ist NaN");
             return rdof;
@@ -45,6 +45,7 @@ public class AdvectionDispersionDat {
     public int startCounter=0;
     
     public int NumberOfThreads =1;
+    public boolean colouredAssembly = true; // lock-free Assemblierung ueber eine Faerbung der Elemente
 
     public double degradationRate = 0.;
     public double dispersionCoefficient = 1.1E-9;
@@ -25,11 +25,14 @@ package de.smile.marina.fem.model.hydrodynamic.dim2;
 
 import bijava.math.ifunction.ZeroFunction1d;
 import de.smile.marina.MarinaXML;
+import de.smile.marina.CoupledModel;
 import de.smile.marina.TimeDependentModel;
 import de.smile.marina.fem.*;
 import de.smile.marina.fem.model.hydrodynamic.BoundaryCondition;
 import de.smile.marina.io.FileIO;
 import de.smile.marina.io.TicadIO;
+import de.smile.marina.io.TicadResultReader;
+import de.smile.marina.io.TicadResultWriter;
 import de.smile.math.Function;
 import java.io.*;
 import java.util.*;
@@ -37,19 +40,18 @@ import java.util.*;
 /**
  * this ODE describe Advection-Dispersion model for depth integrated simulations
  * 
- * @version 4.7.0
+ * @version 4.8.2
  * @author Peter Milbradt
  */
 public class AdvectionDispersionModel2D extends TimeDependentFEApproximation
-        implements FEModel, TicadModel, TimeDependentModel {
+        implements FEModel, TicadModel, TimeDependentModel, CoupledModel {
 
     public double dispersionCoefficient = 1.1E-9; // Diffusionskoeffizient fuer Salz in m^2/s
     public double degradationRate = 0.;
 
     private double previousTimeStep = 0.0; // Speichert den vorherigen Zeitschritt für das gesamte Modell
 
-    private DataOutputStream xf_os = null;
-    private FileOutputStream xf_fs = null;
+    private TicadResultWriter xf_os = null;
 
     private ArrayList<DOF> initsc = new ArrayList<>();
 
@@ -85,11 +87,11 @@ public class AdvectionDispersionModel2D extends TimeDependentFEApproximation
         // element results initialization
         initialElementModelData();
 
+        setColouredAssembly(addat.colouredAssembly);
+
         try {
-            xf_fs = new FileOutputStream(addat.xferg_name);
-            xf_os = new DataOutputStream(xf_fs);
             // Setzen der Ergebnismaske (Tiefe, Transport x, Transport y)
-            TicadIO.write_xf(xf_os, this);
+            xf_os = new TicadResultWriter(addat.xferg_name, this);
         } catch (FileNotFoundException e) {
             System.out.println("The file " + addat.xferg_name + " cannot be opened");
             System.out.println(e.getMessage());
@@ -154,105 +156,27 @@ public class AdvectionDispersionModel2D extends TimeDependentFEApproximation
 
         System.out.println("\tread Inital Values from result file " + aderg);
         // erstes Durchscannen
-        File sysergFile = new File(aderg);
-        try (FileInputStream stream = new FileInputStream(sysergFile);
-                DataInputStream inStream = new DataInputStream(stream)) {
-
-            // Kommentar lesen, bis ASCII-Zeichen 7 kommt
-            int c;
-            do {
-                c = inStream.readByte();
-            } while (c != 7);
-            // Ende Kommentar
+        try (TicadResultReader reader = new TicadResultReader(aderg, fenet)) {
 
-            // Anzahl Elemente, Knoten und Rand lesen
-            int anzKnoten = inStream.readInt();
+            // Anzahl Knoten pruefen
+            int anzKnoten = reader.getNumberOfNodes();
             if (fenet.getNumberofDOFs() != anzKnoten) {
                 System.out.println("Die Datei mit den Startwerten hat andere Anzahl von Knoten");
                 System.exit(1);
             }
-            int anzr = inStream.readInt();
-            int anzElemente = inStream.readInt();
-
-            // Ueberlesen folgende Zeilen
-            inStream.skip(9 * 4);
-
-            // Ergebnismaske lesen und auswerten
-            int ergMaske = inStream.readInt();
-            int anzWerte = TicadIO.ergMaskeAuswerten(ergMaske);
-
-            boolean None_gesetzt = ((ergMaske & TicadIO.HRES_NONE) == TicadIO.HRES_NONE);
-            boolean Pos_gesetzt = ((ergMaske & TicadIO.HRES_POS) == TicadIO.HRES_POS);
-            boolean Z_gesetzt = ((ergMaske & TicadIO.HRES_Z) == TicadIO.HRES_Z);
-            boolean V_gesetzt = ((ergMaske & TicadIO.HRES_V) == TicadIO.HRES_V);
-            boolean Q_gesetzt = ((ergMaske & TicadIO.HRES_Q) == TicadIO.HRES_Q);
-            boolean H_gesetzt = ((ergMaske & TicadIO.HRES_H) == TicadIO.HRES_H);
-            boolean SALT_gesetzt = ((ergMaske & TicadIO.HRES_SALT) == TicadIO.HRES_SALT);
-            boolean EDDY_gesetzt = ((ergMaske & TicadIO.HRES_EDDY) == TicadIO.HRES_EDDY);
-            boolean SHEAR_gesetzt = ((ergMaske & TicadIO.HRES_SHEAR) == TicadIO.HRES_SHEAR);
-            boolean V_SCAL_gesetzt = ((ergMaske & TicadIO.HRES_V_SCAL) == TicadIO.HRES_V_SCAL);
-            boolean Q_SCAL_gesetzt = ((ergMaske & TicadIO.HRES_Q_SCAL) == TicadIO.HRES_Q_SCAL);
-            boolean AH_gesetzt = ((ergMaske & TicadIO.HRES_AH) == TicadIO.HRES_AH);
-
-            inStream.readInt();
-
-            // Elemente, Rand und Knoten ueberlesen
-            inStream.skip((anzElemente * 4L + anzr + 3L * anzKnoten) * 4L); // 4 Bytes je float und int
-
-            // bis zum record-Satz springen
-            inStream.skip((4L + anzKnoten * anzWerte * 4L) * record);
-
-            float t = inStream.readFloat();
-            for (int i = 0; i < fenet.getNumberofDOFs(); i++) {
-                DOF dof = fenet.getDOF(i);
-                AdvectionDispersionModel2DData adModelData = AdvectionDispersionModel2DData.extract(dof);
-
-                if (None_gesetzt) {
-                    inStream.skip(4);
-                }
-
-                if (Pos_gesetzt) {
-                    inStream.skip(4);
-                }
 
-                if (Z_gesetzt) {
-                    inStream.skip(4);
-                }
+            final boolean SALT_gesetzt = reader.contains(TicadIO.HRES_SALT);
 
-                if (V_gesetzt) {
-                    inStream.skip(8);
-                }
-
-                if (Q_gesetzt) {
-                    inStream.skip(8);
-                }
+            // Satz lesen
+            final TicadResultReader.Record erg = reader.getRecord(record);
 
-                if (H_gesetzt) {
-                    inStream.skip(4);
-                }
+            float t = erg.getTime();
+            for (int i = 0; i < fenet.getNumberofDOFs(); i++) {
+                DOF dof = fenet.getDOF(i);
+                AdvectionDispersionModel2DData adModelData = AdvectionDispersionModel2DData.extract(dof);
 
                 if (SALT_gesetzt) {
-                    adModelData.C = inStream.readFloat();
-                }
-
-                if (EDDY_gesetzt) {
-                    inStream.skip(4);
-                }
-
-                if (SHEAR_gesetzt) {
-                    inStream.skip(8);
-                }
-
-                if (V_SCAL_gesetzt) {
-                    inStream.skip(4);
-                }
-
-                if (Q_SCAL_gesetzt) {
-                    inStream.skip(4);
-                }
-
-                if (AH_gesetzt) {
-                    inStream.skip(4);
+                    adModelData.C = erg.getValue(i, TicadIO.HRES_SALT);
                 }
 
             }
@@ -312,7 +236,7 @@ public class AdvectionDispersionModel2D extends TimeDependentFEApproximation
 
                 // System.out.println(""+line+"\n");
                 if (!line.startsWith("C")) {
-                    knoten_nr = Integer.parseInt(strto.nextToken());
+                    knoten_nr = fenet.getDOFNumber(Integer.parseInt(strto.nextToken()));
                     strto.nextToken();
                     strto.nextToken();
                     try {
@@ -423,9 +347,9 @@ public class AdvectionDispersionModel2D extends TimeDependentFEApproximation
                 for (int i = 0; i < anzk; i++) {
                     // Punktnummer lesen
                     if (writePointNumbers)
-                        nr = bin_in.fbinreadint();
+                        nr = fenet.getDOFNumber(bin_in.fbinreadint());
                     else
-                        nr = i;
+                        nr = fenet.getDOFNumber(i);
 
                     // x,y,s lesen
                     bin_in.fbinreaddouble();
@@ -607,8 +531,12 @@ public class AdvectionDispersionModel2D extends TimeDependentFEApproximation
                                                 / Function.max(CurrentModel2D.WATT, cmd.totaldepth));
                         result_ADConc_i -= vorfak * terms_AD[l] * gl;
                     }
-                    synchronized (adModelData) {
+                    if (colouredAssembly) {
                         adModelData.radconc += result_ADConc_i;
+                    } else {
+                        synchronized (adModelData) {
+                            adModelData.radconc += result_ADConc_i;
+                        }
                     }
                 }
             }
@@ -725,7 +653,7 @@ public class AdvectionDispersionModel2D extends TimeDependentFEApproximation
 
         for (BoundaryCondition bcond : bsc) {
             if (dofnumber == bcond.pointnumber) {
-                data.bsc = bcond.function;
+                data.bsc = boundaryValues.register(bcond.function);
                 bsc.remove(bcond);
                 break;
             }
@@ -733,7 +661,7 @@ public class AdvectionDispersionModel2D extends TimeDependentFEApproximation
 
         for (BoundaryCondition bcond : sQ) {
             if (dofnumber == bcond.pointnumber) {
-                data.sourceQc = bcond.function;
+                data.sourceQc = boundaryValues.register(bcond.function);
                 sQ.remove(bcond);
                 break;
             }
@@ -812,6 +740,16 @@ public class AdvectionDispersionModel2D extends TimeDependentFEApproximation
 
     } // end readBoundCond
 
+    @Override
+    public Class<?>[] getReadData() {
+        return new Class<?>[]{CurrentModel2DData.class, Current2DElementData.class};
+    }
+
+    @Override
+    public Class<?>[] getWrittenData() {
+        return new Class<?>[]{AdvectionDispersionModel2DData.class, AdvectionDispersionModel2DElementData.class};
+    }
+
     @Override
     public void timeStep(double dt) {
         resultIsNaN = false;
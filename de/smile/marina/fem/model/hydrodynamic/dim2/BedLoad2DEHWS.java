@@ -48,9 +48,8 @@ public class BedLoad2DEHWS implements BedLoad2DFormulation {
      * @param dof
      * @return  */
     @Override
-    public double[] getLoadVector(DOF dof) {
+    public double[] getLoadVector(DOF dof, CurrentModel2DData cmd, SedimentModel2DData smd) {
 
-        SedimentModel2DData smd = SedimentModel2DData.extract(dof);
         smd.bedload = 0.;
         smd.bedloadVector[0] = 0.;
         smd.bedloadVector[1] = 0.;
@@ -60,7 +59,6 @@ public class BedLoad2DEHWS implements BedLoad2DFormulation {
         final double lambdaEH = Function.max(0., (4.E-3 - smd.d50)/4.E-3);
         final double lambdaWS = 1.-lambdaEH;
         
-        CurrentModel2DData cmd = CurrentModel2DData.extract(dof);
         final double S = Function.norm(cmd.dhdx, cmd.dhdy, 1.);
         
         final double CSF = smd.CSF; // variable // Bodenneigungsanteil wird schon bei der Berechnung des kritischen Shieldsspannung in SedimentModel2DData beruecksichtigt
@@ -77,10 +75,10 @@ public class BedLoad2DEHWS implements BedLoad2DFormulation {
         }
 
         if ((sf + sfwave) > CSF) {
-            smd.bedload = lambdaWS * (1.6 * Math.max(0, Math.log((sf + sfwave)) + 9.8)) * Math.sqrt((PhysicalParameters.RHO_SEDIM - PhysicalParameters.RHO_WATER) / PhysicalParameters.RHO_WATER * PhysicalParameters.G * Math.pow(smd.d50, 3.) * Math.pow((sf + sfwave) - CSF, 3.))
+            smd.bedload = lambdaWS * (1.6 * Math.max(0, Math.log((sf + sfwave)) + 9.8)) * Math.sqrt((PhysicalParameters.RHO_SEDIM - PhysicalParameters.RHO_WATER) / PhysicalParameters.RHO_WATER * PhysicalParameters.G * smd.getD50Pow3() * Math.pow((sf + sfwave) - CSF, 3.))
                     / Math.max(CSF, sf);
         }
-        smd.bedload += lambdaEH * 0.1 * (sf + sfwave) * Math.sqrt((sf + sfwave)) * PhysicalParameters.RHO_SEDIM * cmd.cv * cmd.wlambda * cmd.cv * cmd.wlambda * Math.sqrt((PhysicalParameters.RHO_SEDIM - PhysicalParameters.RHO_WATER) / PhysicalParameters.RHO_WATER * PhysicalParameters.G * Math.pow(smd.d50, 3.)) / (2. * PhysicalParameters.G /* Math.max(0.1, cmd.totaldepth)*/ * S); // Peter 18.08.2016
+        smd.bedload += lambdaEH * 0.1 * (sf + sfwave) * Math.sqrt((sf + sfwave)) * PhysicalParameters.RHO_SEDIM * cmd.cv * cmd.wlambda * cmd.cv * cmd.wlambda * Math.sqrt((PhysicalParameters.RHO_SEDIM - PhysicalParameters.RHO_WATER) / PhysicalParameters.RHO_WATER * PhysicalParameters.G * smd.getD50Pow3()) / (2. * PhysicalParameters.G /* Math.max(0.1, cmd.totaldepth)*/ * S); // Peter 18.08.2016
 
         smd.bedload *= smd.lambda; // decreasing depending on not erodible bottom
         smd.bedload *= Function.min(1., Function.max(Function.max(0,smd.d50) / (4.*dmin),Function.max(0,smd.d50 - dmin/2.) / (2. * dmin))); // Abminderung auf Grund zu kleiner Koerner
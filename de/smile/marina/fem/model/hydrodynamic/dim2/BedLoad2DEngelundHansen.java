@@ -50,16 +50,14 @@ public class BedLoad2DEngelundHansen implements BedLoad2DFormulation {
     }
     
     @Override
-    public double[] getLoadVector/*2.8.6*/(DOF dof) {
+    public double[] getLoadVector/*2.8.6*/(DOF dof, CurrentModel2DData cmd, SedimentModel2DData smd) {
 
-        SedimentModel2DData smd = SedimentModel2DData.extract(dof);
         smd.bedload = 0.;
         smd.bedloadVector[0] = 0.;
         smd.bedloadVector[1] = 0.;
         
         if(smd.lambda < Double.MIN_NORMAL) return smd.bedloadVector;
         
-        final CurrentModel2DData cmd = CurrentModel2DData.extract(dof);
         
         final double wlambda = Function.min(1., cmd.totaldepth / .1);
 
@@ -76,7 +74,7 @@ public class BedLoad2DEngelundHansen implements BedLoad2DFormulation {
         
         if((sf + sfwave)<Double.MIN_NORMAL*100.) return smd.bedloadVector;
 
-        smd.bedload = 0.05 * (sf + sfwave) * Math.sqrt(sf + sfwave) * PhysicalParameters.RHO_SEDIM * cmd.cv * wlambda * cmd.cv * wlambda * Math.sqrt((PhysicalParameters.RHO_SEDIM - PhysicalParameters.RHO_WATER) / PhysicalParameters.RHO_WATER * PhysicalParameters.G * Math.pow(smd.d50, 3.))
+        smd.bedload = 0.05 * (sf + sfwave) * Math.sqrt(sf + sfwave) * PhysicalParameters.RHO_SEDIM * cmd.cv * wlambda * cmd.cv * wlambda * Math.sqrt((PhysicalParameters.RHO_SEDIM - PhysicalParameters.RHO_WATER) / PhysicalParameters.RHO_WATER * PhysicalParameters.G * smd.getD50Pow3())
                 * (1. / (1. - smd.porosity)) // Beruecksichtigung der Prositaet
                 / (2.* PhysicalParameters.G /* Function.max(1., cmd.totaldepth)*/) // ++ warum hier durch 2 * G * depth geteilt wird ist mir nicht mehr klar! ++ // Peter 18.08.16 Wassertiefe auskommentiert
                 ;
@@ -129,7 +127,7 @@ public class BedLoad2DEngelundHansen implements BedLoad2DFormulation {
 
         smd.bedload = 0.05 * cmd.rho * cmd.cv * cmd.cv / Function.norm(cmd.tauBx, cmd.tauBy)
                 * Math.pow(sf + sfwave,1.5)
-                * Math.sqrt((PhysicalParameters.RHO_SEDIM - cmd.rho) / cmd.rho * PhysicalParameters.G * Math.pow(smd.d50, 3.))
+                * Math.sqrt((PhysicalParameters.RHO_SEDIM - cmd.rho) / cmd.rho * PhysicalParameters.G * smd.getD50Pow3())
                 * wlambda   // Verringerung des Transports an tockenen Knoten
                 ;
         
@@ -172,7 +170,7 @@ public class BedLoad2DEngelundHansen implements BedLoad2DFormulation {
         smd.bedload = 0.05 * cmd.rho * cmd.cv / tauB 
                 * Math.pow(tauB / ((PhysicalParameters.RHO_SEDIM - cmd.rho) * PhysicalParameters.G * smd.d50),2.5)
                 * PhysicalParameters.RHO_SEDIM * PhysicalParameters.G 
-                * Math.sqrt((PhysicalParameters.RHO_SEDIM/cmd.rho-1.) * PhysicalParameters.G * Math.pow(smd.d50, 3.));
+                * Math.sqrt((PhysicalParameters.RHO_SEDIM/cmd.rho-1.) * PhysicalParameters.G * smd.getD50Pow3());
         smd.bedload *= smd.lambda;
         smd.bedload /= PhysicalParameters.RHO_SEDIM * PhysicalParameters.G;
         
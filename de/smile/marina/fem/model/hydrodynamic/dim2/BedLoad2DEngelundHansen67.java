@@ -73,7 +73,7 @@ public class BedLoad2DEngelundHansen67 implements BedLoad2DFormulation {
         smd.bedload = 0.05 * cmd.rho * cmd.cv / tauB 
                 * Math.pow(tauB / ((PhysicalParameters.RHO_SEDIM - cmd.rho) * PhysicalParameters.G * smd.d50),2.5)
                 * PhysicalParameters.RHO_SEDIM * PhysicalParameters.G 
-                * Math.sqrt((PhysicalParameters.RHO_SEDIM/cmd.rho-1.) * PhysicalParameters.G * Math.pow(smd.d50, 3.));
+                * Math.sqrt((PhysicalParameters.RHO_SEDIM/cmd.rho-1.) * PhysicalParameters.G * smd.getD50Pow3());
         smd.bedload *= smd.lambda;
         smd.bedload /= PhysicalParameters.RHO_SEDIM * PhysicalParameters.G;
         
@@ -103,13 +103,11 @@ public class BedLoad2DEngelundHansen67 implements BedLoad2DFormulation {
      *  Mittlere Flieszgeschwindigkeiten: 0.2 bis 1.9 m/s
      */
     @Override
-    public double[] getLoadVector/*OriginalMitDrehenInRichtung_tauB und_Seegang*/(DOF dof) {
-        SedimentModel2DData smd = SedimentModel2DData.extract(dof);
+    public double[] getLoadVector/*OriginalMitDrehenInRichtung_tauB und_Seegang*/(DOF dof, CurrentModel2DData cmd, SedimentModel2DData smd) {
         smd.bedload = 0.;
         smd.bedloadVector[0] = 0.;
         smd.bedloadVector[1] = 0.;
         
-        final CurrentModel2DData cmd = CurrentModel2DData.extract(dof);
         double tauB = Function.norm(cmd.tauBx, cmd.tauBy);
         
         WaveHYPModel2DData wmd = WaveHYPModel2DData.extract(dof);
@@ -130,7 +128,7 @@ public class BedLoad2DEngelundHansen67 implements BedLoad2DFormulation {
         smd.bedload = prefactor * cmd.rho * cmd.cv * cmd.cv / tauB
                 * Math.pow(tauB / ((PhysicalParameters.RHO_SEDIM - cmd.rho) * PhysicalParameters.G * smd.d50),2.5)
                 * PhysicalParameters.RHO_SEDIM * PhysicalParameters.G 
-                * Math.sqrt((PhysicalParameters.RHO_SEDIM/cmd.rho-1.) * PhysicalParameters.G * Math.pow(smd.d50, 3.));
+                * Math.sqrt((PhysicalParameters.RHO_SEDIM/cmd.rho-1.) * PhysicalParameters.G * smd.getD50Pow3());
         smd.bedload *= smd.lambda;
         smd.bedload /= PhysicalParameters.RHO_SEDIM * PhysicalParameters.G;
           
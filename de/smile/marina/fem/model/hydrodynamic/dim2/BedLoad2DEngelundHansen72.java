@@ -43,16 +43,14 @@ public class BedLoad2DEngelundHansen72 implements BedLoad2DFormulation {
     }
 
     @Override
-    public double[] getLoadVector(DOF dof) {
+    public double[] getLoadVector(DOF dof, CurrentModel2DData cmd, SedimentModel2DData smd) {
        
-        SedimentModel2DData smd = SedimentModel2DData.extract(dof);
         smd.bedload = 0.;
         smd.bedloadVector[0] = 0.;
         smd.bedloadVector[1] = 0.;
         
         if(smd.lambda < Double.MIN_NORMAL) return smd.bedloadVector;
         
-        CurrentModel2DData cmd = CurrentModel2DData.extract(dof);
         final double wlambda = Function.min(1., cmd.totaldepth / .1);
         final double cv = cmd.cv;
         if(cv<0x1.0p-200)
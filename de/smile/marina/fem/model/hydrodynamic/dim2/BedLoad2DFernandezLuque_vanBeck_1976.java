@@ -44,10 +44,8 @@ public class BedLoad2DFernandezLuque_vanBeck_1976 implements BedLoad2DFormulatio
     }
 
     @Override
-    public double[] getLoadVector(DOF dof) {
+    public double[] getLoadVector(DOF dof, CurrentModel2DData cmd, SedimentModel2DData smd) {
 
-        CurrentModel2DData cmd = CurrentModel2DData.extract(dof);
-        SedimentModel2DData smd = SedimentModel2DData.extract(dof);
         smd.bedload = 0.;
         smd.bedloadVector[0] = 0.;
         smd.bedloadVector[1] = 0.;
@@ -65,7 +63,7 @@ public class BedLoad2DFernandezLuque_vanBeck_1976 implements BedLoad2DFormulatio
         double sf = Function.norm(sfx, sfy);
 
         if (sf > CSF) {
-            smd.bedload = 5.7 * Math.sqrt((PhysicalParameters.RHO_SEDIM - PhysicalParameters.RHO_WATER) / PhysicalParameters.RHO_WATER * PhysicalParameters.G * Math.pow(smd.d50, 3.) * Math.pow(sf - CSF, 3.));
+            smd.bedload = 5.7 * Math.sqrt((PhysicalParameters.RHO_SEDIM - PhysicalParameters.RHO_WATER) / PhysicalParameters.RHO_WATER * PhysicalParameters.G * smd.getD50Pow3() * Math.pow(sf - CSF, 3.));
             
             smd.bedload *= smd.lambda; // decreasing depending on not erodible bottom
             smd.bedload *= Function.min(1., Function.max(Function.max(0,smd.d50) / (4.*dmin),Function.max(0,smd.d50 - dmin/2.) / (2. * dmin))); // Abminderung auf Grund zu kleiner Koerner
@@ -26,9 +26,37 @@ import de.smile.marina.fem.DOF;
 
 /**
  * @author Peter Milbradt
- * @version 1.8
+ * @version 1.9
  */
 public interface BedLoad2DFormulation {
 //    public double getLoad(DOF dof); in [m**3/m/s]
-    public double[] getLoadVector(DOF dof);
+    public default double[] getLoadVector(DOF dof) {
+        return getLoadVector(dof, CurrentModel2DData.extract(dof), SedimentModel2DData.extract(dof));
+    }
+
+    /**
+     * bedload vector at a node with the model data of the node already at hand
+     *
+     * @param dof
+     * @param cmd current data of the node
+     * @param smd sediment data of the node, bedload and bedloadVector are set
+     * @return bedload vector [m**3/m/s]
+     */
+    public double[] getLoadVector(DOF dof, CurrentModel2DData cmd, SedimentModel2DData smd);
+
+    /**
+     * bedload vectors for the nodes lo to hi-1 of node arrays indexed in
+     * the same way, the results are stored in smd[i].bedloadVector
+     *
+     * @param dofs
+     * @param cmd
+     * @param smd
+     * @param lo first index
+     * @param hi last index + 1
+     */
+    public default void getLoadVectors(DOF[] dofs, CurrentModel2DData[] cmd, SedimentModel2DData[] smd, int lo, int hi) {
+        for (int i = lo; i < hi; i++) {
+            smd[i].bedloadVector = getLoadVector(dofs[i], cmd[i], smd[i]);
+        }
+    }
 }
@@ -45,12 +45,10 @@ public class BedLoad2DKomarovaAndHulscher_2000 implements BedLoad2DFormulation {
     }
 
     @Override
-    public double[] getLoadVector(DOF dof) {
+    public double[] getLoadVector(DOF dof, CurrentModel2DData cmd, SedimentModel2DData smd) {
 
         final double gamma = 1.;
 
-        CurrentModel2DData cmd = CurrentModel2DData.extract(dof);
-        SedimentModel2DData smd = SedimentModel2DData.extract(dof);
         smd.bedload = 0.;
         smd.bedloadVector[0] = 0.;
         smd.bedloadVector[1] = 0.;
@@ -50,10 +50,8 @@ public class BedLoad2DMPM48 implements BedLoad2DFormulation {
     }
 
     @Override
-    public double[] getLoadVector(DOF dof) {
+    public double[] getLoadVector(DOF dof, CurrentModel2DData cmd, SedimentModel2DData smd) {
 
-        CurrentModel2DData cmd = CurrentModel2DData.extract(dof);
-        SedimentModel2DData smd = SedimentModel2DData.extract(dof);
         smd.bedload = 0.;
         smd.bedloadVector[0] = 0.;
         smd.bedloadVector[1] = 0.;
@@ -71,7 +69,7 @@ public class BedLoad2DMPM48 implements BedLoad2DFormulation {
         double sf = Function.norm(sfx, sfy);
 
         if (sf > CSF) {
-            smd.bedload = 8. * Math.sqrt((PhysicalParameters.RHO_SEDIM - cmd.rho) / cmd.rho * PhysicalParameters.G * Math.pow(smd.d50, 3.) * Math.pow(sf - CSF, 3.));
+            smd.bedload = 8. * Math.sqrt((PhysicalParameters.RHO_SEDIM - cmd.rho) / cmd.rho * PhysicalParameters.G * smd.getD50Pow3() * Math.pow(sf - CSF, 3.));
            
             smd.bedload *= Function.min(1., smd.d50/dmin); // Abminderung auf Grund zu kleiner Koerner
             
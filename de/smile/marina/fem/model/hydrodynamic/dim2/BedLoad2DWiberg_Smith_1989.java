@@ -54,9 +54,8 @@ public class BedLoad2DWiberg_Smith_1989 implements BedLoad2DFormulation {
      * @return
      */
     @Override
-    public double[] getLoadVector(DOF dof) {
+    public double[] getLoadVector(DOF dof, CurrentModel2DData cmd, SedimentModel2DData smd) {
 
-        SedimentModel2DData smd = SedimentModel2DData.extract(dof);
         smd.bedload = 0.;
         smd.bedloadVector[0] = 0.;
         smd.bedloadVector[1] = 0.;
@@ -65,7 +64,6 @@ public class BedLoad2DWiberg_Smith_1989 implements BedLoad2DFormulation {
 
         final double CSF = smd.CSF; // variable // Bodenneigungsanteil wird schon bei der Berechnung des kritischen Shieldsspannung in SedimentModel2DData beruecksichtigt
 
-        CurrentModel2DData cmd = CurrentModel2DData.extract(dof);
         
         final double wlambda = Function.min(1., cmd.totaldepth / .1);
        
@@ -83,7 +81,7 @@ public class BedLoad2DWiberg_Smith_1989 implements BedLoad2DFormulation {
 //        }
 
         if ((sf + sfwave) > CSF) {
-            smd.bedload = (1.6 * Math.max(0, Math.log((sf + sfwave)) + 9.8)) * Math.sqrt((PhysicalParameters.RHO_SEDIM - cmd.rho) / cmd.rho * PhysicalParameters.G * Math.pow(smd.d50, 3.) * Math.pow((sf + sfwave) - CSF, 3.));
+            smd.bedload = (1.6 * Math.max(0, Math.log((sf + sfwave)) + 9.8)) * Math.sqrt((PhysicalParameters.RHO_SEDIM - cmd.rho) / cmd.rho * PhysicalParameters.G * smd.getD50Pow3() * Math.pow((sf + sfwave) - CSF, 3.));
             
             smd.bedload *= Function.min(1., smd.d50/dmin/2); // Abminderung auf Grund zu kleiner Koerner, beginnend bei 2*dmin
             // nicht mehr transportieren als ueber dem nicht erodierbarem Horizont vohanden ist
@@ -41,10 +41,8 @@ public class BedLoad2DWilson_1966 implements BedLoad2DFormulation {
     }
 
     @Override
-    public double[] getLoadVector(DOF dof) {
+    public double[] getLoadVector(DOF dof, CurrentModel2DData cmd, SedimentModel2DData smd) {
 
-        CurrentModel2DData cmd = CurrentModel2DData.extract(dof);
-        SedimentModel2DData smd = SedimentModel2DData.extract(dof);
         smd.bedload = 0.;
         smd.bedloadVector[0] = 0.;
         smd.bedloadVector[1] = 0.;
@@ -67,8 +65,8 @@ public class BedLoad2DWilson_1966 implements BedLoad2DFormulation {
 //        double CSF = smd.CSF; // variable
           double CSF = 0.047; // fest nach Meyer-Peter und Mueller (1948)
 
-        double sfx = ((smd.grainShearStress * cmd.u) * cmd.wlambda * PhysicalParameters.RHO_WATER + dzdx * PhysicalParameters.G * Math.PI*Math.pow(smd.d50,3.)/6.*(PhysicalParameters.RHO_SEDIM - PhysicalParameters.RHO_WATER) + cmd.tau_bx_extra) / ((PhysicalParameters.RHO_SEDIM - PhysicalParameters.RHO_WATER) * PhysicalParameters.G * smd.d50);
-        double sfy = ((smd.grainShearStress * cmd.v) * cmd.wlambda * PhysicalParameters.RHO_WATER + dzdy * PhysicalParameters.G * Math.PI*Math.pow(smd.d50,3.)/6.*(PhysicalParameters.RHO_SEDIM - PhysicalParameters.RHO_WATER) + cmd.tau_by_extra) / ((PhysicalParameters.RHO_SEDIM - PhysicalParameters.RHO_WATER) * PhysicalParameters.G * smd.d50);
+        double sfx = ((smd.grainShearStress * cmd.u) * cmd.wlambda * PhysicalParameters.RHO_WATER + dzdx * PhysicalParameters.G * Math.PI*smd.getD50Pow3()/6.*(PhysicalParameters.RHO_SEDIM - PhysicalParameters.RHO_WATER) + cmd.tau_bx_extra) / ((PhysicalParameters.RHO_SEDIM - PhysicalParameters.RHO_WATER) * PhysicalParameters.G * smd.d50);
+        double sfy = ((smd.grainShearStress * cmd.v) * cmd.wlambda * PhysicalParameters.RHO_WATER + dzdy * PhysicalParameters.G * Math.PI*smd.getD50Pow3()/6.*(PhysicalParameters.RHO_SEDIM - PhysicalParameters.RHO_WATER) + cmd.tau_by_extra) / ((PhysicalParameters.RHO_SEDIM - PhysicalParameters.RHO_WATER) * PhysicalParameters.G * smd.d50);
 
         sfx *= smd.lambda; // decreasing depending on not erodible bottom
         sfy *= smd.lambda; // decreasing depending on not erodible bottom
@@ -76,7 +74,7 @@ public class BedLoad2DWilson_1966 implements BedLoad2DFormulation {
         double sf = Function.norm(sfx, sfy);
 
         if (sf > CSF) {
-            smd.bedload = 12. * Math.sqrt((PhysicalParameters.RHO_SEDIM - PhysicalParameters.RHO_WATER) / PhysicalParameters.RHO_WATER * PhysicalParameters.G * Math.pow(smd.d50, 3.) * Math.pow(sf - CSF, 3.)) * smd.lambda;
+            smd.bedload = 12. * Math.sqrt((PhysicalParameters.RHO_SEDIM - PhysicalParameters.RHO_WATER) / PhysicalParameters.RHO_WATER * PhysicalParameters.G * smd.getD50Pow3() * Math.pow(sf - CSF, 3.)) * smd.lambda;
             smd.bedload = Math.min(1./SedimentModel2D.morphFactor * cmd.cv * Function.max(0.,smd.zh - smd.z)*(1. - smd.porosity), smd.bedload); // Peter 17.04.2012
 
             smd.bedloadVector[0] = smd.bedload * sfx / sf;
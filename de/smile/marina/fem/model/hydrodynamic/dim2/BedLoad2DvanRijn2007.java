@@ -42,10 +42,8 @@ public class BedLoad2DvanRijn2007 implements BedLoad2DFormulation {
     }
 
     @Override
-    public double[] getLoadVector(DOF dof) {
+    public double[] getLoadVector(DOF dof, CurrentModel2DData cmd, SedimentModel2DData smd) {
 
-        CurrentModel2DData cmd = CurrentModel2DData.extract(dof);
-        SedimentModel2DData smd = SedimentModel2DData.extract(dof);
         smd.bedload = 0.0;
         smd.bedloadVector[0] = 0.;
         smd.bedloadVector[1] = 0.;
@@ -41,10 +41,8 @@ public class BedLoad2DvanRijn84 implements BedLoad2DFormulation {
     }
 
     @Override
-    public double[] getLoadVector(DOF dof) {
+    public double[] getLoadVector(DOF dof, CurrentModel2DData cmd, SedimentModel2DData smd) {
 
-        CurrentModel2DData cmd = CurrentModel2DData.extract(dof);
-        SedimentModel2DData smd = SedimentModel2DData.extract(dof);
         smd.bedload = 0.0;
         smd.bedloadVector[0] = 0.;
         smd.bedloadVector[1] = 0.;
@@ -54,19 +52,19 @@ public class BedLoad2DvanRijn84 implements BedLoad2DFormulation {
         double d90 = smd.dmax; // oder 4 * d50 wie dies bei Delft3D vorgeschlagen wird
         
         final double del = (PhysicalParameters.RHO_SEDIM - PhysicalParameters.RHO_WATER) / PhysicalParameters.RHO_WATER;
-        final double dstar = smd.d50*Math.cbrt(del*PhysicalParameters.G/PhysicalParameters.KINVISCOSITY_WATER/PhysicalParameters.KINVISCOSITY_WATER);
+        final double dstar = smd.getDstar();
         final double rmuc = Math.pow(Math.log10(12.*cmd.totaldepth/rksc)/Math.log10(12.*cmd.totaldepth/3./d90),2.);
         final double fc = .24*Math.pow(Math.log10(12.*cmd.totaldepth/rksc), -2);
         final double tbc = .125*PhysicalParameters.RHO_WATER*fc*Math.pow(cmd.cv,2);
         final double tbce = rmuc*tbc;
-        final double thetcr = shld(dstar); // Critical Shieldsparameter
+        final double thetcr = smd.getCriticalShieldsVanRijn(); // Critical Shieldsparameter
         final double tbcr = (PhysicalParameters.RHO_SEDIM - PhysicalParameters.RHO_WATER)*PhysicalParameters.G*smd.d50*thetcr*smfac; // critical bottom shear stress
         double t = (tbce - tbcr)/tbcr;
         if (t<.000001) t = .000001;
         if (t<3.)
-            smd.bedload = 0.053*Math.sqrt(del)*Math.sqrt(PhysicalParameters.G)* Math.pow(smd.d50,1.5) / Math.pow(dstar, 0.3) * Math.pow(t, 2.1);
+            smd.bedload = 0.053*Math.sqrt(del)*Math.sqrt(PhysicalParameters.G)* smd.getD50Pow1_5() / smd.getDstarPow0_3() * Math.pow(t, 2.1);
         else
-            smd.bedload = 0.1*Math.sqrt(del)*Math.sqrt(PhysicalParameters.G)* Math.pow(smd.d50,1.5) / Math.pow(dstar, 0.3) * Math.pow(t, 1.5);
+            smd.bedload = 0.1*Math.sqrt(del)*Math.sqrt(PhysicalParameters.G)* smd.getD50Pow1_5() / smd.getDstarPow0_3() * Math.pow(t, 1.5);
         
         smd.bedload = Math.min(1./SedimentModel2D.morphFactor * cmd.cv*Function.max(0.,smd.zh - smd.z)*(1. - smd.porosity), smd.bedload);
         
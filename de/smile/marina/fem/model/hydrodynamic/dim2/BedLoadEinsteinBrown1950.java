@@ -44,10 +44,8 @@ public class BedLoadEinsteinBrown1950 implements BedLoad2DFormulation {
     }
 
     @Override
-    public double[] getLoadVector(DOF dof) {
+    public double[] getLoadVector(DOF dof, CurrentModel2DData cmd, SedimentModel2DData smd) {
 
-        CurrentModel2DData cmd = CurrentModel2DData.extract(dof);
-        SedimentModel2DData smd = SedimentModel2DData.extract(dof);
         smd.bedload = 0.;
         smd.bedloadVector[0] = 0.;
         smd.bedloadVector[1] = 0.;
@@ -59,7 +57,7 @@ public class BedLoadEinsteinBrown1950 implements BedLoad2DFormulation {
         sf = (sf > 0x1.0p-100) ? sf : 0x1.0p-100;
         double f1 = (sf < .2) ? 2.15 * Math.exp(-0.391 / sf) : 40. * sf * sf * sf;
 
-        smd.bedload = Math.sqrt((PhysicalParameters.RHO_SEDIM - cmd.rho) / cmd.rho * PhysicalParameters.G * Math.pow(smd.d50, 3.))
+        smd.bedload = Math.sqrt((PhysicalParameters.RHO_SEDIM - cmd.rho) / cmd.rho * PhysicalParameters.G * smd.getD50Pow3())
                 * f1 * Math.max(0.,Math.sqrt(Math.max(0., 2. / 3. - 36. / smd.D / smd.D / smd.D)) - Math.sqrt(36. / smd.D / smd.D / smd.D)); // koennen hier negative Werte raus kommen?
 
         smd.bedload *= smd.lambda; // decreasing depending on not erodible bottom
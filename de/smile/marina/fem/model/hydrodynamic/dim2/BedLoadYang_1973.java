@@ -56,15 +56,13 @@ public class BedLoadYang_1973  implements BedLoad2DFormulation {
     }
     
     @Override
-    public double[] getLoadVector(DOF dof) {
-        SedimentModel2DData smd = SedimentModel2DData.extract(dof);
+    public double[] getLoadVector(DOF dof, CurrentModel2DData cmd, SedimentModel2DData smd) {
         smd.bedload = 0.;
         smd.bedloadVector[0] = 0.;
         smd.bedloadVector[1] = 0.;
 
         if (smd.d50 < dTransition - dRange) return smd.bedloadVector;
 
-        CurrentModel2DData cmd = CurrentModel2DData.extract(dof);
         if (cmd.totaldepth < CurrentModel2D.WATT) return smd.bedloadVector;
 
         final double reStar = SedimentModel2DData.getParticleReynoldsNumber(smd.d50, cmd);
@@ -29,7 +29,7 @@ import de.smile.marina.io.SmileIO;
 
 /**
  * @author Peter Milbradt
- * @version 3.15.7
+ * @version 3.17.0
  */
 public class CurrentDat{
     
@@ -69,4 +69,6 @@ public class CurrentDat{
     public double infiltrationRate = 0.; // default value 1.e-5 for fine sand
     
     public int NumberOfThreads =2;
+    public boolean colouredAssembly = true; // lock-free Assemblierung ueber eine Faerbung der Elemente
+    public boolean skipDryRegions = true; // Elemente und Knoten in trockenen Gebieten mit unveraenderlichem Zustand ueberspringen
 }
@@ -35,7 +35,10 @@ import de.smile.marina.fem.model.meteorology.MeteorologyData2D;
 import de.smile.marina.io.FileIO;
 import de.smile.marina.io.SmileIO;
 import de.smile.marina.io.TicadIO;
+import de.smile.marina.io.TicadResultReader;
+import de.smile.marina.io.TicadResultWriter;
 import de.smile.math.Function;
+import de.smile.math.WorkerPool;
 import de.smile.xml.marina.weirs.*;
 import java.io.*;
 import java.util.*;
@@ -50,18 +53,42 @@ import javax.xml.bind.*;
  * governing equations,
  * and it supports various boundary conditions and initial conditions.
  * 
- * @version 4.9.2
+ * @version 4.15.1
  * @author Peter Milbradt
  */
 public class CurrentModel2D extends SurfaceWaterModel {
 
     CurrentModel2DData[] dof_data = null;
+    CurrentModel2DNodeState nodeState = null; // Zwischenergebnisse der rechten Seite als Felder ueber DOF.number
     Current2DElementData[] element_data = null;
 
-    private DataOutputStream xf_os = null;
+    private TicadResultWriter xf_os = null;
 
     private final CurrentDat currentdat;
 
+    // Kopplungen an andere Modelle als Felder ueber DOF.number bzw. FElement.number
+    private final ModelCoupling<SedimentModel2DData> sedimentCoupling;
+    private final ModelCoupling<SedimentElementData> sedimentElementCoupling;
+    private final ModelCoupling<WaveHYPModel2DData> waveCoupling;
+    private final ModelCoupling<GroundWater2DData> groundWaterCoupling;
+    private final ModelCoupling<BathymetryData2D> bathymetryCoupling;
+    private final ModelCoupling<FluidMudFlowModel2DData> fluidMudCoupling;
+    private final ModelCoupling<SpartinaAlternifloraModel2DData> spartinaCoupling;
+    private final ModelCoupling<MeteorologyData2D> meteorologyCoupling;
+    private final ModelCoupling<HeatTransportModel2DData> heatCoupling;
+    private final ModelCoupling<SaltModel2DData> saltCoupling;
+    // einmal je Zeitschritt in resolveCouplings() aufgeloest, null wenn das gekoppelte Modell nicht existiert
+    private SedimentModel2DData[] sediment_data = null;
+    private SedimentElementData[] sedimentElement_data = null;
+    private WaveHYPModel2DData[] wave_data = null;
+    private GroundWater2DData[] groundWater_data = null;
+    private BathymetryData2D[] bathymetry_data = null;
+    private FluidMudFlowModel2DData[] fluidMud_data = null;
+    private SpartinaAlternifloraModel2DData[] spartina_data = null;
+    private MeteorologyData2D[] meteorology_data = null;
+    private HeatTransportModel2DData[] heat_data = null;
+    private SaltModel2DData[] salt_data = null;
+
     static private final double ALPHA = .75; // coefficient for secondary flow [0.75 rough bottom, 1. smooth], die
                                              // Beruecksichtigung der Bodenrauheit erfolgt ueber beta in der Formel
 
@@ -77,11 +104,23 @@ public class CurrentModel2D extends SurfaceWaterModel {
         fenet = fe;
         femodel = this;
         this.currentdat = currentdat;
+
+        sedimentCoupling = ModelCoupling.ofDOFs(fenet, SedimentModel2DData.class);
+        sedimentElementCoupling = ModelCoupling.ofElements(fenet, SedimentElementData.class);
+        waveCoupling = ModelCoupling.ofDOFs(fenet, WaveHYPModel2DData.class);
+        groundWaterCoupling = ModelCoupling.ofDOFs(fenet, GroundWater2DData.class);
+        bathymetryCoupling = ModelCoupling.ofDOFs(fenet, BathymetryData2D.class);
+        fluidMudCoupling = ModelCoupling.ofDOFs(fenet, FluidMudFlowModel2DData.class);
+        spartinaCoupling = ModelCoupling.ofDOFs(fenet, SpartinaAlternifloraModel2DData.class);
+        meteorologyCoupling = ModelCoupling.ofDOFs(fenet, MeteorologyData2D.class);
+        heatCoupling = ModelCoupling.ofDOFs(fenet, HeatTransportModel2DData.class);
+        saltCoupling = ModelCoupling.ofDOFs(fenet, SaltModel2DData.class);
         WATT = Function.max(0.01, currentdat.watt); // verhindert das jemand als Wattgrenze 0 angibt
         halfWATT = WATT / 2.;
         infiltrationRate = currentdat.infiltrationRate;
 
         dof_data = new CurrentModel2DData[fenet.getNumberofDOFs()];
+        nodeState = new CurrentModel2DNodeState(fenet.getNumberofDOFs());
         element_data = new Current2DElementData[fenet.getNumberofFElements()];
 
         setNumberOfThreads(currentdat.NumberOfThreads);
@@ -97,6 +136,11 @@ public class CurrentModel2D extends SurfaceWaterModel {
 
         initialElementModelData();
 
+        setColouredAssembly(currentdat.colouredAssembly);
+        if (currentdat.skipDryRegions) {
+            activeSet = new ActiveSet(fenet);
+        }
+
         generateClosedBoundCond();
 
         // Rauhigkeiten lesen
@@ -133,9 +177,8 @@ public class CurrentModel2D extends SurfaceWaterModel {
         initializeWeirRoughness();
 
         try {
-            xf_os = new DataOutputStream(new FileOutputStream(currentdat.xferg_name));
             // Setzen der Ergebnismaske
-            TicadIO.write_xf(xf_os, this);
+            xf_os = new TicadResultWriter(currentdat.xferg_name, this);
         } catch (FileNotFoundException e) {
             System.out.println("The file " + currentdat.xferg_name + " cannot be opened");
             System.out.println(e.getMessage());
@@ -184,112 +227,50 @@ public class CurrentModel2D extends SurfaceWaterModel {
 
         System.out.println("\tRead initial values from result file " + currentergPath);
         // erstes Durchscannen
-        File sysergFile = new File(currentergPath);
-        try (FileInputStream stream = new FileInputStream(sysergFile);
-                DataInputStream inStream = new DataInputStream(stream)) {
-
-            // Kommentar lesen, bis ASCII-Zeichen 7 kommt
-            int c;
-            do {
-                c = inStream.readByte();
-            } while (c != 7);
-            // Ende Kommentar
+        try (TicadResultReader reader = new TicadResultReader(currentergPath, fenet)) {
 
-            // Anzahl Elemente, Knoten und Rand lesen
-            final int anzKnoten = inStream.readInt();
+            // Anzahl Knoten pruefen
+            final int anzKnoten = reader.getNumberOfNodes();
             if (fenet.getNumberofDOFs() != anzKnoten) {
                 System.out.println("Die Datei mit den Startwerten hat andere Anzahl von Knoten");
                 System.exit(1);
             }
-            final int anzr = inStream.readInt();
-            final int anzElemente = inStream.readInt();
 
-            // Ueberlesen folgender Zeilen
-            inStream.skip(9 * 4);
+            final boolean Z_gesetzt = reader.contains(TicadIO.HRES_Z);
+            final boolean V_gesetzt = reader.contains(TicadIO.HRES_V);
+            final boolean H_gesetzt = reader.contains(TicadIO.HRES_H);
+            final boolean SHEAR_gesetzt = reader.contains(TicadIO.HRES_SHEAR);
 
-            // Ergebnismaske lesen und auswerten
-            int ergMaske = inStream.readInt();
-            int anzWerte = TicadIO.ergMaskeAuswerten(ergMaske);
+            // Satz lesen
+            final TicadResultReader.Record erg = reader.getRecord(record);
 
-            final boolean None_gesetzt = ((ergMaske & TicadIO.HRES_NONE) == TicadIO.HRES_NONE);
-            final boolean Pos_gesetzt = ((ergMaske & TicadIO.HRES_POS) == TicadIO.HRES_POS);
-            final boolean Z_gesetzt = ((ergMaske & TicadIO.HRES_Z) == TicadIO.HRES_Z);
-            final boolean V_gesetzt = ((ergMaske & TicadIO.HRES_V) == TicadIO.HRES_V);
-            final boolean Q_gesetzt = ((ergMaske & TicadIO.HRES_Q) == TicadIO.HRES_Q);
-            final boolean H_gesetzt = ((ergMaske & TicadIO.HRES_H) == TicadIO.HRES_H);
-            final boolean SALT_gesetzt = ((ergMaske & TicadIO.HRES_SALT) == TicadIO.HRES_SALT);
-            final boolean EDDY_gesetzt = ((ergMaske & TicadIO.HRES_EDDY) == TicadIO.HRES_EDDY);
-            final boolean SHEAR_gesetzt = ((ergMaske & TicadIO.HRES_SHEAR) == TicadIO.HRES_SHEAR);
-            final boolean V_SCAL_gesetzt = ((ergMaske & TicadIO.HRES_V_SCAL) == TicadIO.HRES_V_SCAL);
-            final boolean Q_SCAL_gesetzt = ((ergMaske & TicadIO.HRES_Q_SCAL) == TicadIO.HRES_Q_SCAL);
-            final boolean AH_gesetzt = ((ergMaske & TicadIO.HRES_AH) == TicadIO.HRES_AH);
-
-            inStream.readInt();
-
-            // Elemente, Rand und Knoten Ueberlesen
-            inStream.skip((anzElemente * 4 + anzr + 3 * anzKnoten) * 4); // 4 Bytes je float und int
-
-            // bis zum record-Satz springen
-            inStream.skip((4L + anzKnoten * anzWerte * 4) * record);
-
-            float t = inStream.readFloat();
+            float t = erg.getTime();
             for (int i = 0; i < fenet.getNumberofDOFs(); i++) {
-                if (None_gesetzt) {
-                    inStream.skip(4);
-                }
-
-                if (Pos_gesetzt) {
-                    inStream.skip(4);
-                }
 
                 if (Z_gesetzt) {
                     if (sysDatZ) {
-                        inStream.skip(4);
                         dof_data[i].z = fenet.getDOF(i).z;
                     } else
-                        dof_data[i].z = inStream.readFloat();
+                        dof_data[i].z = erg.getValue(i, TicadIO.HRES_Z);
                 }
 
                 if (V_gesetzt) {
-                    dof_data[i].u = inStream.readFloat();
-                    dof_data[i].v = inStream.readFloat();
+                    dof_data[i].u = erg.getValue(i, TicadIO.HRES_V, 0);
+                    dof_data[i].v = erg.getValue(i, TicadIO.HRES_V, 1);
                     dof_data[i].cv = Function.norm(dof_data[i].u, dof_data[i].v);
                 }
 
-                if (Q_gesetzt) {
-                    inStream.skip(8);
-                }
-
                 if (H_gesetzt) {
-                    dof_data[i].setWaterLevel(inStream.readFloat());
-                }
-
-                if (SALT_gesetzt) {
-                    inStream.skip(4);
-                }
-
-                if (EDDY_gesetzt) {
-                    inStream.skip(4);
+                    dof_data[i].setWaterLevel(erg.getValue(i, TicadIO.HRES_H));
                 }
 
                 if (SHEAR_gesetzt) {
-                    dof_data[i].tauBx = inStream.readFloat();
-                    dof_data[i].tauBy = inStream.readFloat();
+                    dof_data[i].tauBx = erg.getValue(i, TicadIO.HRES_SHEAR, 0);
+                    dof_data[i].tauBy = erg.getValue(i, TicadIO.HRES_SHEAR, 1);
                     dof_data[i].bottomFrictionCoefficient = Function.norm(dof_data[i].tauBx, dof_data[i].tauBy)
                             / dof_data[i].rho;
                 }
 
-                if (V_SCAL_gesetzt) {
-                    inStream.skip(4);
-                }
-
-                if (Q_SCAL_gesetzt) {
-                    inStream.skip(4);
-                }
-
-                if (AH_gesetzt) {
-                    inStream.skip(4);
-                }
             }
         }
         return null;
@@ -306,19 +287,8 @@ public class CurrentModel2D extends SurfaceWaterModel {
 
         System.out.println("\tinterpolating initial water level");
 
-        initalSolutionLoop[] iloop = new initalSolutionLoop[numberOfThreads];
-        int anzdofs = fenet.getNumberofDOFs();
-        for (int ii = 0; ii < numberOfThreads; ii++) {
-            iloop[ii] = new initalSolutionLoop(anzdofs * ii / numberOfThreads, anzdofs * (ii + 1) / numberOfThreads,
-                    time);
-            iloop[ii].start();
-        }
-        for (int ii = 0; ii < numberOfThreads; ii++) {
-            try {
-                iloop[ii].join();
-            } catch (InterruptedException e) {
-            }
-        }
+        WorkerPool.parallelFor(fenet.getNumberofDOFs(), numberOfThreads,
+                (lo, hi) -> new initalSolutionLoop(lo, hi, time).run());
 
         inith = null;
 
@@ -347,7 +317,7 @@ public class CurrentModel2D extends SurfaceWaterModel {
         }
     }
 
-    private class initalSolutionLoop extends Thread {
+    private class initalSolutionLoop implements Runnable {
 
         int lo, hi;
         double time;
@@ -423,7 +393,7 @@ public class CurrentModel2D extends SurfaceWaterModel {
                 if (anzk == fenet.getNumberofDOFs()) {
                     System.out.println("\tRead initial waterlevel (in Ticad-SysDat-Format): " + systemDatPath);
                     for (int j = 0; j < anzk; j++) {
-                        int nr = TicadIO.NextInt(st);
+                        int nr = fenet.getDOFNumber(TicadIO.NextInt(st));
                         TicadIO.NextDouble(st);
                         TicadIO.NextDouble(st);
                         value = TicadIO.NextDouble(st); // -> eta
@@ -521,9 +491,9 @@ public class CurrentModel2D extends SurfaceWaterModel {
                 for (int i = 0; i < anzk; i++) {
                     // Punktnummer lesen
                     if (writePointNumbers) {
-                        nr = bin_in.fbinreadint();
+                        nr = fenet.getDOFNumber(bin_in.fbinreadint());
                     } else {
-                        nr = i;
+                        nr = fenet.getDOFNumber(i);
                     }
 
                     // x,y,kst lesen
@@ -609,7 +579,7 @@ public class CurrentModel2D extends SurfaceWaterModel {
         }
 
         // caculate Bottomslope
-        final SedimentElementData eleSedimentData = SedimentElementData.extract(ele);
+        final SedimentElementData eleSedimentData = coupled(sedimentElement_data, ele.number);
         final double bottomslope = (eleSedimentData != null) ? eleSedimentData.bottomslope : ele.bottomslope;
 
         if (dry == 3) { // element is totaly dry
@@ -617,11 +587,10 @@ public class CurrentModel2D extends SurfaceWaterModel {
             eleCurrentData.isDry = true;
 
             for (int j = 0; j < 3; j++) {
-                final CurrentModel2DData cmd = dof_data[ele.getDOF(j).number];
+                final int n = ele.getDOF(j).number;
+                final CurrentModel2DData cmd = dof_data[n];
                 final double w1_lambda = 1. - cmd.totaldepth / halfWATT;
-                synchronized (cmd) {
-                    cmd.reta -= (1.E-7 + infiltrationRate) * w1_lambda * bottomslope; // kuenstliches Versickeren auf trockenen Elementen zur Modellstabilisierung
-                }
+                addReta(n, cmd, -(1.E-7 + infiltrationRate) * w1_lambda * bottomslope); // kuenstliches Versickeren auf trockenen Elementen zur Modellstabilisierung
             }
 
         } else {
@@ -686,7 +655,7 @@ public class CurrentModel2D extends SurfaceWaterModel {
                 depthdx += cmd.totaldepth * koeffmat[j][1];
                 depthdy += cmd.totaldepth * koeffmat[j][2];
 
-                final WaveHYPModel2DData wave = WaveHYPModel2DData.extract(dof);
+                final WaveHYPModel2DData wave = (wave_data != null) ? wave_data[dof.number] : null;
                 if (wave != null) {
                     dsxxdx += wave.sxx * cmd.rho * PhysicalParameters.G * wave.wa * koeffmat[j][1];
                     dsxydx += wave.sxy * cmd.rho * PhysicalParameters.G * wave.wa * koeffmat[j][1];
@@ -962,7 +931,7 @@ public class CurrentModel2D extends SurfaceWaterModel {
             }
 
             for (int j = 0; j < 3; j++) {
-                final SedimentModel2DData smd = SedimentModel2DData.extract(dofs[j]);
+                final SedimentModel2DData smd = (sediment_data != null) ? sediment_data[dofs[j].number] : null;
                 final CurrentModel2DData cmd = dof_data[dofs[j].number];
                 final double wlambda = (flood > cmd.wlambda ? flood : cmd.wlambda);
                 final double nonZeroTotalDepth = ((cmd.totaldepth < WATT) ? WATT : cmd.totaldepth);
@@ -1025,10 +994,8 @@ public class CurrentModel2D extends SurfaceWaterModel {
                     final double coeff = beta * r / (ALPHA * cv * cv) * PhysicalParameters.G * cmd.totaldepth
                             * (cmd.u * detady - cmd.v * detadx)
                             / reduceFactor;
-                    synchronized (cmd) {
-                        cmd._tau_bx_extra -= coeff * (-cmd.v);
-                        cmd._tau_by_extra -= coeff * (+cmd.u);
-                    }
+                    final int n = dofs[j].number;
+                    addTauExtra(n, cmd, -coeff * (-cmd.v), -coeff * (+cmd.u));
                 }
             }
 
@@ -1042,7 +1009,8 @@ public class CurrentModel2D extends SurfaceWaterModel {
 
             for (int j = 0; j < 3; j++) {
 
-                final CurrentModel2DData cmd = dof_data[ele.getDOF(j).number];
+                final int n = ele.getDOF(j).number;
+                final CurrentModel2DData cmd = dof_data[n];
                 final double wlambda = (flood > cmd.wlambda ? flood : cmd.wlambda);
 
                 // Error correction calculation
@@ -1114,24 +1082,72 @@ public class CurrentModel2D extends SurfaceWaterModel {
 
                 }
 
-                synchronized (cmd) {
-                    cmd.ru += result_U_i;
-                    cmd.rv += result_V_i;
-                    cmd.reta += result_H_i;
+                addElementResults(n, cmd, result_U_i, result_V_i, result_H_i, puddleLambda, detadx, detady,
+                        uCorrect * ele.area / 3., vCorrect * ele.area / 3., etaCorrect * ele.area / 3.);
+            }
+        }
+        return timeStep;
+    } // end ElementApproximation
 
-                    cmd.puddleLambda = ((cmd.puddleLambda < puddleLambda) ? puddleLambda : cmd.puddleLambda);
+    /** add the contributions of an element to the node with the number n */
+    private void addElementResults(int n, CurrentModel2DData cmd,
+            double ru, double rv, double reta,
+            double puddleLambda, double detadx, double detady,
+            double ruCorrection, double rvCorrection, double retaCorrection) {
+        if (colouredAssembly) {
+            addNodeResults(nodeState, n, cmd, ru, rv, reta, puddleLambda, detadx, detady,
+                    ruCorrection, rvCorrection, retaCorrection);
+        } else {
+            synchronized (cmd) {
+                addNodeResults(nodeState, n, cmd, ru, rv, reta, puddleLambda, detadx, detady,
+                        ruCorrection, rvCorrection, retaCorrection);
+            }
+        }
+    }
 
-                    cmd._dhdx += detadx;
-                    cmd._dhdy += detady;
+    /** add a contribution to the continuity equation of the node with the number n */
+    private void addReta(int n, CurrentModel2DData cmd, double reta) {
+        if (colouredAssembly) {
+            nodeState.reta[n] += reta;
+        } else {
+            synchronized (cmd) {
+                nodeState.reta[n] += reta;
+            }
+        }
+    }
 
-                    cmd.ruCorrection += uCorrect * ele.area / 3.;
-                    cmd.rvCorrection += vCorrect * ele.area / 3.;
-                    cmd.retaCorrection += etaCorrect * ele.area / 3.;
-                }
+    /** add the elementdependent extra parts of bottom shear stress to the node with the number n */
+    private void addTauExtra(int n, CurrentModel2DData cmd, double taubx, double tauby) {
+        if (colouredAssembly) {
+            nodeState._tau_bx_extra[n] += taubx;
+            nodeState._tau_by_extra[n] += tauby;
+        } else {
+            synchronized (cmd) {
+                nodeState._tau_bx_extra[n] += taubx;
+                nodeState._tau_by_extra[n] += tauby;
             }
         }
-        return timeStep;
-    } // end ElementApproximation
+    }
+
+    /** add the contributions of an element to the nodal data,
+     *  the caller is responsible for the synchronisation */
+    private static void addNodeResults(CurrentModel2DNodeState ns, int n, CurrentModel2DData cmd,
+            double ru, double rv, double reta,
+            double puddleLambda, double detadx, double detady,
+            double ruCorrection, double rvCorrection, double retaCorrection) {
+        ns.ru[n] += ru;
+        ns.rv[n] += rv;
+        ns.reta[n] += reta;
+
+        cmd.puddleLambda = ((cmd.puddleLambda < puddleLambda) ? puddleLambda : cmd.puddleLambda);
+
+        ns._dhdx[n] += detadx;
+        ns._dhdy[n] += detady;
+
+        ns.ruCorrection[n] += ruCorrection;
+        ns.rvCorrection[n] += rvCorrection;
+        ns.retaCorrection[n] += retaCorrection;
+    }
 
     /**
      * setBoundaryCondition
@@ -1149,9 +1165,9 @@ public class CurrentModel2D extends SurfaceWaterModel {
 
         double d50; // in [m]
 
-        final SedimentModel2DData sedimentmodeldata = SedimentModel2DData.extract(dof);
+        final SedimentModel2DData sedimentmodeldata = coupled(sediment_data, i);
         if (sedimentmodeldata == null) {
-            final BathymetryData2D bathymetrymodeldata = BathymetryData2D.extract(dof);
+            final BathymetryData2D bathymetrymodeldata = coupled(bathymetry_data, i);
             if (bathymetrymodeldata != null) {
                 currentdata.z = bathymetrymodeldata.z;
             }
@@ -1339,7 +1355,7 @@ public class CurrentModel2D extends SurfaceWaterModel {
         // currentdata.totaldepth);
         // }
         double fmudLambda = 0.;
-        final FluidMudFlowModel2DData fmuddata = FluidMudFlowModel2DData.extract(dof);
+        final FluidMudFlowModel2DData fmuddata = coupled(fluidMud_data, i);
         if (fmuddata != null) {
             currentdata.z = Function.min(-fmuddata.m, currentdata.z);
             fmudLambda = Function.min(1., fmuddata.thickness / (10. * WATT));
@@ -1366,7 +1382,7 @@ public class CurrentModel2D extends SurfaceWaterModel {
 
         // Bewuchs
         double ks_benthic = 0.; // in [m]
-        final SpartinaAlternifloraModel2DData samd = SpartinaAlternifloraModel2DData.extract(dof);
+        final SpartinaAlternifloraModel2DData samd = coupled(spartina_data, i);
         if (samd != null) {
             ks_benthic = CurrentModel2DData.Strickler2Nikuradse(samd.getStrickler(currentdata.totaldepth));
         }
@@ -1406,7 +1422,7 @@ public class CurrentModel2D extends SurfaceWaterModel {
         /* wind stress coeffizient */
         /* Smith and Banke (1975) */
         if (currentdata.totaldepth > WATT) {
-            final MeteorologyData2D meteorologyData2D = MeteorologyData2D.extract(dof);
+            final MeteorologyData2D meteorologyData2D = coupled(meteorology_data, i);
             if (meteorologyData2D != null) {
                 double tau_wind = (0.63 + 0.066 * meteorologyData2D.windspeed) * 1.E-3 * PhysicalParameters.RHO_AIR;
                 if (currentdata.bu == null)
@@ -1426,9 +1442,9 @@ public class CurrentModel2D extends SurfaceWaterModel {
         // aktualisieren der Wasserdichte
         currentdata.rho = PhysicalParameters.RHO_WATER_10;
         // Temperature
-        final HeatTransportModel2DData temperature = HeatTransportModel2DData.extract(dof);
+        final HeatTransportModel2DData temperature = coupled(heat_data, i);
         // Saltdata
-        final SaltModel2DData saltconcentration = SaltModel2DData.extract(dof);
+        final SaltModel2DData saltconcentration = coupled(salt_data, i);
         if (temperature != null && saltconcentration != null) {
             currentdata.rho = PhysicalParameters.rhoWater(temperature.temperature, saltconcentration.C);
         } else {
@@ -1486,7 +1502,7 @@ public class CurrentModel2D extends SurfaceWaterModel {
 
         for (BoundaryCondition bcond : bqx) {
             if (dofnumber == bcond.pointnumber) {
-                data.bqx = bcond.function;
+                data.bqx = boundaryValues.register(bcond.function);
                 bqx.remove(bcond);
                 data.boundary = true;
                 break;
@@ -1495,7 +1511,7 @@ public class CurrentModel2D extends SurfaceWaterModel {
 
         for (BoundaryCondition bcond : bqy) {
             if (dofnumber == bcond.pointnumber) {
-                data.bqy = bcond.function;
+                data.bqy = boundaryValues.register(bcond.function);
                 bqy.remove(bcond);
                 data.boundary = true;
                 break;
@@ -1504,7 +1520,7 @@ public class CurrentModel2D extends SurfaceWaterModel {
 
         for (BoundaryCondition bcond : bu) {
             if (dofnumber == bcond.pointnumber) {
-                data.bu = bcond.function;
+                data.bu = boundaryValues.register(bcond.function);
                 bu.remove(bcond);
                 data.boundary = true;
                 break;
@@ -1513,7 +1529,7 @@ public class CurrentModel2D extends SurfaceWaterModel {
 
         for (BoundaryCondition bcond : bv) {
             if (dofnumber == bcond.pointnumber) {
-                data.bv = bcond.function;
+                data.bv = boundaryValues.register(bcond.function);
                 bv.remove(bcond);
                 data.boundary = true;
                 break;
@@ -1522,7 +1538,7 @@ public class CurrentModel2D extends SurfaceWaterModel {
 
         for (BoundaryCondition bcond : bh) {
             if (dofnumber == bcond.pointnumber) {
-                data.bh = bcond.function;
+                data.bh = boundaryValues.register(bcond.function);
                 bh.remove(bcond);
                 data.boundary = true;
                 break;
@@ -1549,7 +1565,7 @@ public class CurrentModel2D extends SurfaceWaterModel {
 
         for (BoundaryCondition bcond : sQ) {
             if (dofnumber == bcond.pointnumber) {
-                data.sourceQ = bcond.function;
+                data.sourceQ = boundaryValues.register(bcond.function);
                 sQ.remove(bcond);
                 break;
             }
@@ -1557,7 +1573,7 @@ public class CurrentModel2D extends SurfaceWaterModel {
 
         for (BoundaryCondition bcond : sh) {
             if (dofnumber == bcond.pointnumber) {
-                data.sourceh = bcond.function;
+                data.sourceh = boundaryValues.register(bcond.function);
                 sh.remove(bcond);
                 break;
             }
@@ -1633,9 +1649,9 @@ public class CurrentModel2D extends SurfaceWaterModel {
                 for (int i = 0; i < anzk; i++) {
                     // Punktnummer lesen
                     if (writePointNumbers) {
-                        nr = bin_in.fbinreadint();
+                        nr = fenet.getDOFNumber(bin_in.fbinreadint());
                     } else {
-                        nr = i;
+                        nr = fenet.getDOFNumber(i);
                     }
 
                     // x,y,kst lesen
@@ -1741,7 +1757,7 @@ public class CurrentModel2D extends SurfaceWaterModel {
 
                 // System.out.println(""+line+"\n");
                 if (!line.startsWith("C")) {
-                    knoten_nr = Integer.parseInt(strto.nextToken());
+                    knoten_nr = fenet.getDOFNumber(Integer.parseInt(strto.nextToken()));
                     x = Double.parseDouble(strto.nextToken());
                     y = Double.parseDouble(strto.nextToken());
                     try {
@@ -1863,9 +1879,9 @@ public class CurrentModel2D extends SurfaceWaterModel {
                 for (int i = 0; i < anzk; i++) {
                     // Punktnummer lesen
                     if (writePointNumbers) {
-                        nr = bin_in.fbinreadint();
+                        nr = fenet.getDOFNumber(bin_in.fbinreadint());
                     } else {
-                        nr = i;
+                        nr = fenet.getDOFNumber(i);
                     }
 
                     // x,y,ks lesen
@@ -1971,7 +1987,7 @@ public class CurrentModel2D extends SurfaceWaterModel {
 
                 // System.out.println(""+line+"\n");
                 if (!line.startsWith("C")) {
-                    knoten_nr = Integer.parseInt(strto.nextToken());
+                    knoten_nr = fenet.getDOFNumber(Integer.parseInt(strto.nextToken()));
                     x = Double.parseDouble(strto.nextToken());
                     y = Double.parseDouble(strto.nextToken());
                     try {
@@ -2048,6 +2064,9 @@ public class CurrentModel2D extends SurfaceWaterModel {
         try {
             xf_os.writeFloat((float) time);
 
+            if (MarinaXML.release) {
+                resolveCouplings();
+            }
             for (DOF dof : fenet.getDOFs()) {
                 CurrentModel2DData current = dof_data[dof.number];
                 if (MarinaXML.release) {
@@ -2099,7 +2118,7 @@ public class CurrentModel2D extends SurfaceWaterModel {
                 int[] knotennummern = new int[nodes.size()];
                 int i = 0;
                 for (int j : nodes) {
-                    knotennummern[i] = j;
+                    knotennummern[i] = fenet.getDOFNumber(j);
                     i++;
                 }
                 // BroadCrestedWeir
@@ -2152,7 +2171,7 @@ public class CurrentModel2D extends SurfaceWaterModel {
                             int[] mesureNodeID = new int[nodes.size()];
                             i = 0;
                             for (int j : nodes) {
-                                mesureNodeID[i] = j;
+                                mesureNodeID[i] = fenet.getDOFNumber(j);
                                 i++;
                             }
                             WaterLevelControlledBroadCrestedWeir weir = new WaterLevelControlledBroadCrestedWeir(
@@ -2305,7 +2324,7 @@ public class CurrentModel2D extends SurfaceWaterModel {
                             int[] mesureNodeID = new int[nodes.size()];
                             i = 0;
                             for (int j : nodes) {
-                                mesureNodeID[i] = j;
+                                mesureNodeID[i] = fenet.getDOFNumber(j);
                                 i++;
                             }
                             WaterLevelControlledNeedleWeir weir = new WaterLevelControlledNeedleWeir(mesureNodeID,
@@ -2339,6 +2358,60 @@ public class CurrentModel2D extends SurfaceWaterModel {
         }
     }
 
+    @Override
+    public int getNumberOfWetElements() {
+        int wet = 0;
+        for (Current2DElementData eleData : element_data) {
+            if (eleData != null && !eleData.isDry)
+                wet++;
+        }
+        return wet;
+    }
+
+    /**
+     * trockener Knoten in Ruhe: keine Stroemung, keine Aenderungsraten ausser
+     * der kuenstlichen Versickerung
+     */
+    private static boolean isSettledDry(CurrentModel2DData cmd, CurrentModel2DNodeState ns, int i) {
+        return cmd.totaldepth == 0. && cmd.u == 0. && cmd.v == 0. && cmd.dudt == 0. && cmd.dvdt == 0.
+                && cmd.dhdx == 0. && cmd.dhdy == 0. && cmd.tau_bx_extra == 0. && cmd.tau_by_extra == 0.
+                && cmd.tauBx == 0. && cmd.tauBy == 0. && cmd.puddleLambda == 0.
+                && ns.duCdt[i] == 0. && ns.dvCdt[i] == 0. && ns.detaCdt[i] == 0.;
+    }
+
+    /** Knoten mit Rand- oder Quellbedingung oder Kopplung an das Grundwasser werden immer berechnet */
+    private boolean hasBoundaryCondition(int i, CurrentModel2DData cmd) {
+        return cmd.bh != null || cmd.bu != null || cmd.bv != null || cmd.bqx != null || cmd.bqy != null
+                || cmd.bQx != null || cmd.bQy != null || cmd.bWeir != null || cmd.sourceh != null
+                || cmd.sourceQ != null || cmd.extrapolate_h || cmd.extrapolate_u || cmd.extrapolate_v
+                || coupled(groundWater_data, i) != null;
+    }
+
+    /** Daten des gekoppelten Modells am Knoten bzw. Element i, null wenn das Modell nicht existiert */
+    private static <T extends ModelData> T coupled(T[] data, int i) {
+        return (data != null) ? data[i] : null;
+    }
+
+    /** die Kopplungen an andere Modelle einmal vor den Schleifen ueber Knoten und Elemente aufloesen */
+    private void resolveCouplings() {
+        sediment_data = sedimentCoupling.get();
+        sedimentElement_data = sedimentElementCoupling.get();
+        wave_data = waveCoupling.get();
+        groundWater_data = groundWaterCoupling.get();
+        bathymetry_data = bathymetryCoupling.get();
+        fluidMud_data = fluidMudCoupling.get();
+        spartina_data = spartinaCoupling.get();
+        meteorology_data = meteorologyCoupling.get();
+        heat_data = heatCoupling.get();
+        salt_data = saltCoupling.get();
+    }
+
+    @Override
+    public void setBoundaryConditions() {
+        resolveCouplings();
+        super.setBoundaryConditions();
+    }
+
     @Override
     public final void timeStep(double dt) {
 
@@ -2346,6 +2419,18 @@ public class CurrentModel2D extends SurfaceWaterModel {
 
         setBoundaryConditions();
 
+        if (activeSet != null) {
+            // von anderen Modellen oder Randbedingungen geaenderte ruhende Knoten wieder aktivieren,
+            // an trockenen Knoten gilt eta = -z, eine geaenderte Sohle (Bathymetrie, Fluid Mud) verletzt dies
+            for (int i = 0; i < dof_data.length; i++) {
+                final CurrentModel2DData cmd = dof_data[i];
+                if (activeSet.isQuiet(i) && (cmd.totaldepth != 0. || cmd.z + cmd.eta != 0.)) {
+                    activeSet.setQuiet(i, false);
+                }
+            }
+            activeSet.update();
+        }
+
         maxTimeStep = Double.MAX_VALUE;
 
         // Elementloop
@@ -2364,58 +2449,64 @@ public class CurrentModel2D extends SurfaceWaterModel {
             beta1 = -omega;
         }
 
-        Arrays.stream(fenet.getDOFs()).parallel().forEach(dof -> {
+        final CurrentModel2DNodeState ns = nodeState;
+        activeDOFs().forEach(dof -> {
 
-            final CurrentModel2DData cmd = dof_data[dof.number];
-            final SedimentModel2DData smd = SedimentModel2DData.extract(dof);
+            final int i = dof.number;
+            final CurrentModel2DData cmd = dof_data[i];
+            final SedimentModel2DData smd = coupled(sediment_data, i);
+
+            final boolean wasSettled = activeSet != null && isSettledDry(cmd, ns, i);
+            final double lastDetadt = cmd.detadt;
 
             final int gamma = dof.getNumberofFElements();
+            final double lumpedMass = dof.lumpedMass;
 
-            cmd.dhdx = cmd._dhdx / gamma;
-            cmd._dhdx = 0.;
-            cmd.dhdy = cmd._dhdy / gamma;
-            cmd._dhdy = 0.;
+            cmd.dhdx = ns._dhdx[i] / gamma;
+            ns._dhdx[i] = 0.;
+            cmd.dhdy = ns._dhdy[i] / gamma;
+            ns._dhdy[i] = 0.;
 
-            cmd.ru /= dof.lumpedMass;
-            cmd.rv /= dof.lumpedMass;
-            cmd.reta /= dof.lumpedMass;
+            final double dudt = ns.ru[i] / lumpedMass;
+            final double dvdt = ns.rv[i] / lumpedMass;
+            final double detadt = ns.reta[i] / lumpedMass;
 
-            cmd.ruCorrection /= dof.lumpedMass;
-            cmd.rvCorrection /= dof.lumpedMass;
-            cmd.retaCorrection /= dof.lumpedMass;
+            final double duCdt = ns.ruCorrection[i] / lumpedMass;
+            final double dvCdt = ns.rvCorrection[i] / lumpedMass;
+            final double detaCdt = ns.retaCorrection[i] / lumpedMass;
 
-            cmd.tau_bx_extra = cmd._tau_bx_extra / gamma;
-            cmd.tau_by_extra = cmd._tau_by_extra / gamma;
-            cmd._tau_bx_extra = 0.;
-            cmd._tau_by_extra = 0.;
+            cmd.tau_bx_extra = ns._tau_bx_extra[i] / gamma;
+            cmd.tau_by_extra = ns._tau_by_extra[i] / gamma;
+            ns._tau_bx_extra[i] = 0.;
+            ns._tau_by_extra[i] = 0.;
 
-            double ru = beta0 * cmd.ru + beta1 * cmd.dudt; // zusaetzlichen Stabilisierung in Anlehnung am expliziten
-                                                           // Adams-Bashford 2. Ordnung mit variabler Schrittweite
-            double ruCorrection = beta0 * cmd.ruCorrection + beta1 * cmd.duCdt;
+            double ru = beta0 * dudt + beta1 * cmd.dudt; // zusaetzlichen Stabilisierung in Anlehnung am expliziten
+                                                         // Adams-Bashford 2. Ordnung mit variabler Schrittweite
+            double ruCorrection = beta0 * duCdt + beta1 * ns.duCdt[i];
             ru += ruCorrection;
-            double rv = beta0 * cmd.rv + beta1 * cmd.dvdt; // zusaetzlichen Stabilisierung in Anlehnung am expliziten
-                                                           // Adams-Bashford 2. Ordnung mit variabler Schrittweite
-            double rvCorrection = beta0 * cmd.rvCorrection + beta1 * cmd.dvCdt;
+            double rv = beta0 * dvdt + beta1 * cmd.dvdt; // zusaetzlichen Stabilisierung in Anlehnung am expliziten
+                                                         // Adams-Bashford 2. Ordnung mit variabler Schrittweite
+            double rvCorrection = beta0 * dvCdt + beta1 * ns.dvCdt[i];
             rv += rvCorrection;
-            double reta = beta0 * cmd.reta + beta1 * cmd.detadt; // zusaetzlichen Stabilisierung in Anlehnung am
-                                                                 // expliziten Adams-Bashford 2. Ordnung mit variabler
-                                                                 // Schrittweite
-            double retaCorrection = beta0 * cmd.retaCorrection + beta1 * cmd.detaCdt;
+            double reta = beta0 * detadt + beta1 * cmd.detadt; // zusaetzlichen Stabilisierung in Anlehnung am
+                                                               // expliziten Adams-Bashford 2. Ordnung mit variabler
+                                                               // Schrittweite
+            double retaCorrection = beta0 * detaCdt + beta1 * ns.detaCdt[i];
             reta += retaCorrection;
 
-            cmd.dudt = cmd.ru;
-            cmd.ru = 0.;
-            cmd.dvdt = cmd.rv;
-            cmd.rv = 0.;
-            cmd.detadt = cmd.reta;
-            cmd.reta = 0.;
+            cmd.dudt = dudt;
+            ns.ru[i] = 0.;
+            cmd.dvdt = dvdt;
+            ns.rv[i] = 0.;
+            cmd.detadt = detadt;
+            ns.reta[i] = 0.;
 
-            cmd.duCdt = cmd.ruCorrection;
-            cmd.ruCorrection = 0.;
-            cmd.dvCdt = cmd.rvCorrection;
-            cmd.rvCorrection = 0.;
-            cmd.detaCdt = cmd.retaCorrection;
-            cmd.retaCorrection = 0.;
+            ns.duCdt[i] = duCdt;
+            ns.ruCorrection[i] = 0.;
+            ns.dvCdt[i] = dvCdt;
+            ns.rvCorrection[i] = 0.;
+            ns.detaCdt[i] = detaCdt;
+            ns.retaCorrection[i] = 0.;
 
             // Quellen und Senken fuer das Oberflaechenwasser bestimmen
             double source_dhdt = 0;
@@ -2430,7 +2521,7 @@ public class CurrentModel2D extends SurfaceWaterModel {
                 }
                 source_dhdt = cmd.sourceQ.getValue(time) / area;
             }
-            final GroundWater2DData gwdata = GroundWater2DData.extract(dof);
+            final GroundWater2DData gwdata = coupled(groundWater_data, i);
             if (gwdata != null) {
                 if ((cmd.z + gwdata.h) >= 0.) {
                     source_dhdt += gwdata.dhdt;
@@ -2460,11 +2551,27 @@ public class CurrentModel2D extends SurfaceWaterModel {
             boolean rIsNaN = Double.isNaN(ru) || Double.isNaN(rv) || Double.isNaN(reta);
             if (rIsNaN) {
                 System.out.println(
-                        "CurrentModel2D is NaN bei " + dof.number + " dh/dt=" + reta + " du/dt=" + ru + " dv/dt=" + rv);
+                        "CurrentModel2D is NaN bei " + i + " dh/dt=" + reta + " du/dt=" + ru + " dv/dt=" + rv);
             }
             resultIsNaN |= rIsNaN;
+
+            if (activeSet != null) {
+                // Fixpunkt: trocken vor und nach dem Zeitschritt mit gleicher kuenstlicher Versickerung
+                activeSet.setQuiet(i, wasSettled && isSettledDry(cmd, ns, i) && cmd.detadt == lastDetadt
+                        && !hasBoundaryCondition(i, cmd));
+            }
         });
 
+        if (activeSet != null) {
+            // Beitraege aktiver Elemente an nicht aktiven Knoten verwerfen
+            for (int i : activeSet.getRingNodes()) {
+                ns.ru[i] = ns.rv[i] = ns.reta[i] = 0.;
+                ns.ruCorrection[i] = ns.rvCorrection[i] = ns.retaCorrection[i] = 0.;
+                ns._dhdx[i] = ns._dhdy[i] = 0.;
+                ns._tau_bx_extra[i] = ns._tau_by_extra[i] = 0.;
+            }
+        }
+
         // Aktualisiere den vorherigen Zeitschritt für das gesamte Modell
         this.previousTimeStep = dt;
         this.time += dt;
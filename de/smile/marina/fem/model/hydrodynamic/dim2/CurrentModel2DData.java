@@ -39,7 +39,7 @@ import java.util.*;
 /**
  * ModelDatas for shallow water equations
  *
- * @version 3.24.X zusaetzliche Variablen fuer die getrennte Berechnung der Residuumkorrektur
+ * @version 3.25.0 Zwischenergebnisse der rechten Seite in CurrentModel2DNodeState
  * @author Peter Milbradt
  */
 public class CurrentModel2DData extends SurfaceWaterModelData {
@@ -52,21 +52,17 @@ public class CurrentModel2DData extends SurfaceWaterModelData {
     public double v = 0., dvdt = 0.;       // velocity in y-direction
     public double cv = 0.;           // norm of the velocity
 
-    public double _dhdx = 0., _dhdy = 0., dhdx = 0., dhdy = 0.;    // wird nur fuer UnderFlowTopoWeir verwendet TODO elementieren?
+    public double dhdx = 0., dhdy = 0.;    // wird nur fuer UnderFlowTopoWeir verwendet TODO elementieren?
 
     public double rho = PhysicalParameters.RHO_WATER_0;  // waterdensety by temperature 4 Grad C
     public double temp = 4.;      // [Grad C]
     
     double bottomFrictionCoefficient; // Reibungsbeiwert oder Reibungskoeffizient der die Stroemung bremst
-    double _tau_bx_extra, _tau_by_extra;  // temporary for elementdependent extra parts of bottom shear stress (secondary flow)
     public double tau_bx_extra, tau_by_extra;  // for elementdependent extra parts of bottom shear stress (secondary flow)
 
     public double tau_windx, tau_windy;     // wind stress koeffizient
 
-    // Zwischenergebnisse der rechte Seite
-    double ru = 0., rv = 0., reta = 0.;
-    double ruCorrection = 0., rvCorrection = 0., retaCorrection = 0.;
-    double duCdt, dvCdt, detaCdt;
+    // die Zwischenergebnisse der rechte Seite liegen als Felder in CurrentModel2DNodeState
 
     // boudary conditions
     public ScalarFunction1d sourceQ = null;
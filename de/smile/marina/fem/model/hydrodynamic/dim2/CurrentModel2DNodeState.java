@@ -0,0 +1,64 @@
+/* ----- AGPL ------------------------------------------------------------------
+ * Copyright (C) Peter Milbradt, 1996-2026
+
+ * This file is part of Marina.
+
+ * Marina is free software: you can redistribute it and/or modify              
+ * it under the terms of the GNU Affero General Public License as               
+ * published by the Free Software Foundation version 3.
+ * 
+ * Marina is distributed in the hope that it will be useful,                  
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of               
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                
+ * GNU Affero General Public License for more details.                          
+ *                                                                              
+ * You should have received a copy of the GNU Affero General Public License     
+ * along with Marina.  If not, see <http://www.gnu.org/licenses/>.             
+ *                                                                               
+ * contact: milbradt@smileconsult.de                                        
+ * smile consult GmbH                                                           
+ * Schiffgraben 11                                                                 
+ * 30159 Hannover, Germany 
+ * 
+ */
+package de.smile.marina.fem.model.hydrodynamic.dim2;
+
+/**
+ * Zwischenergebnisse der rechten Seite des CurrentModel2D als
+ * Structure-of-Arrays, indiziert ueber DOF.number.
+ * Die Elementschleife sammelt die Beitraege in den Feldern, die Knotenschleife
+ * des Zeitschritts laeuft dann linear durch den Speicher.
+ * Die Zustandsgroessen (u, v, eta, ...) bleiben in CurrentModel2DData.
+ *
+ * @author Peter Milbradt
+ * @version 1.0.0
+ */
+final class CurrentModel2DNodeState {
+
+    final int size;
+
+    // Zwischenergebnisse der rechte Seite
+    final double[] ru, rv, reta;
+    final double[] ruCorrection, rvCorrection, retaCorrection;
+    final double[] duCdt, dvCdt, detaCdt;
+
+    final double[] _dhdx, _dhdy; // Summe der Elementgradienten des Wasserspiegels
+    final double[] _tau_bx_extra, _tau_by_extra; // temporary for elementdependent extra parts of bottom shear stress (secondary flow)
+
+    CurrentModel2DNodeState(int size) {
+        this.size = size;
+        ru = new double[size];
+        rv = new double[size];
+        reta = new double[size];
+        ruCorrection = new double[size];
+        rvCorrection = new double[size];
+        retaCorrection = new double[size];
+        duCdt = new double[size];
+        dvCdt = new double[size];
+        detaCdt = new double[size];
+        _dhdx = new double[size];
+        _dhdy = new double[size];
+        _tau_bx_extra = new double[size];
+        _tau_by_extra = new double[size];
+    }
+}
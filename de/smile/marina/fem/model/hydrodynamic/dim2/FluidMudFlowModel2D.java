@@ -32,7 +32,10 @@ import de.smile.marina.fem.model.ecological.SpartinaAlternifloraModel2DData;
 import de.smile.marina.fem.model.hydrodynamic.BoundaryCondition;
 import de.smile.marina.io.FileIO;
 import de.smile.marina.io.TicadIO;
+import de.smile.marina.io.TicadResultReader;
+import de.smile.marina.io.TicadResultWriter;
 import de.smile.math.Function;
+import de.smile.math.WorkerPool;
 import static de.smile.math.Function.norm;
 import java.io.*;
 import java.util.*;
@@ -41,7 +44,7 @@ import java.util.*;
  * this Class describe a depth integrated fluid mud flow based on depth
  * integrated equations
  * 
- * @version 3.18.0
+ * @version 3.18.1
  * @author Peter Milbradt
  */
 public class FluidMudFlowModel2D extends TimeDependentFEApproximation
@@ -49,7 +52,7 @@ public class FluidMudFlowModel2D extends TimeDependentFEApproximation
 
     FluidMudFlowModel2DData[] dof_data = null;
 
-    private DataOutputStream xf_os = null;
+    private TicadResultWriter xf_os = null;
 
     private Vector<BoundaryCondition> bqx = new Vector<>();
     private Vector<BoundaryCondition> bqy = new Vector<>();
@@ -101,9 +104,8 @@ public class FluidMudFlowModel2D extends TimeDependentFEApproximation
         generateClosedBoundCond();
 
         try {
-            xf_os = new DataOutputStream(new FileOutputStream(fluidmuddat.xferg_name));
             // Setzen der Ergebnismaske
-            TicadIO.write_xf(xf_os, this);
+            xf_os = new TicadResultWriter(fluidmuddat.xferg_name, this);
         } catch (FileNotFoundException e) {
             System.out.println("The file " + fluidmuddat.xferg_name + " cannot be opened");
             System.out.println(e.getMessage());
@@ -147,80 +149,33 @@ public class FluidMudFlowModel2D extends TimeDependentFEApproximation
 
         System.out.println("\tRead initial values from result file " + currentergPath);
         // erstes Durchscannen
-        File sysergFile = new File(currentergPath);
-        try (FileInputStream stream = new FileInputStream(sysergFile);
-                DataInputStream inStream = new DataInputStream(stream)) {
-
-            // Kommentar lesen, bis ASCII-Zeichen 7 kommt
-            int c;
-            do {
-                c = inStream.readByte();
-            } while (c != 7);
-            // Ende Kommentar
-
-            // Anzahl Elemente, Knoten und Rand lesen
-            int anzKnoten = inStream.readInt();
+        try (TicadResultReader reader = new TicadResultReader(currentergPath)) {
+
+            // Anzahl Knoten pruefen
+            int anzKnoten = reader.getNumberOfNodes();
             if (fenet.getNumberofDOFs() != anzKnoten) {
                 System.out.println("Die Datei mit den Startwerten hat andere Anzahl von Knoten");
                 System.exit(1);
             }
-            int anzr = inStream.readInt();
-            int anzElemente = inStream.readInt();
-
-            // Ueberlesen folgender Zeilen
-            inStream.skip(9 * 4);
-
-            // Ergebnismaske lesen und auswerten
-            int ergMaske = inStream.readInt();
-            int anzWerte = TicadIO.ergMaskeAuswerten(ergMaske);
-
-            boolean None_gesetzt = ((ergMaske & TicadIO.HRES_NONE) == TicadIO.HRES_NONE);
-            boolean Pos_gesetzt = ((ergMaske & TicadIO.HRES_POS) == TicadIO.HRES_POS);
-            boolean Z_gesetzt = ((ergMaske & TicadIO.HRES_Z) == TicadIO.HRES_Z);
-            boolean V_gesetzt = ((ergMaske & TicadIO.HRES_V) == TicadIO.HRES_V);
-            boolean Q_gesetzt = ((ergMaske & TicadIO.HRES_Q) == TicadIO.HRES_Q);
-            boolean H_gesetzt = ((ergMaske & TicadIO.HRES_H) == TicadIO.HRES_H);
-            boolean SALT_gesetzt = ((ergMaske & TicadIO.HRES_SALT) == TicadIO.HRES_SALT);
-            boolean EDDY_gesetzt = ((ergMaske & TicadIO.HRES_EDDY) == TicadIO.HRES_EDDY);
-            boolean SHEAR_gesetzt = ((ergMaske & TicadIO.HRES_SHEAR) == TicadIO.HRES_SHEAR);
-            boolean V_SCAL_gesetzt = ((ergMaske & TicadIO.HRES_V_SCAL) == TicadIO.HRES_V_SCAL);
-            boolean Q_SCAL_gesetzt = ((ergMaske & TicadIO.HRES_Q_SCAL) == TicadIO.HRES_Q_SCAL);
-            boolean AH_gesetzt = ((ergMaske & TicadIO.HRES_AH) == TicadIO.HRES_AH);
-
-            inStream.readInt();
-
-            // Elemente, Rand und Knoten Ueberlesen
-            inStream.skip((anzElemente * 4 + anzr + 3 * anzKnoten) * 4); // 4 Bytes je float und int
-
-            // bis zum record-Satz springen
-            inStream.skip((4L + anzKnoten * anzWerte * 4) * record);
-
-            float t = inStream.readFloat();
-            for (int i = 0; i < fenet.getNumberofDOFs(); i++) {
-                if (None_gesetzt) {
-                    inStream.skip(4);
-                }
 
-                if (Pos_gesetzt) {
-                    inStream.skip(4);
-                }
+            final boolean V_gesetzt = reader.contains(TicadIO.HRES_V);
+            final boolean H_gesetzt = reader.contains(TicadIO.HRES_H);
+            final boolean SHEAR_gesetzt = reader.contains(TicadIO.HRES_SHEAR);
 
-                if (Z_gesetzt) {
-                    inStream.skip(4);
-                }
+            // Satz lesen
+            final TicadResultReader.Record erg = reader.getRecord(record);
+
+            float t = erg.getTime();
+            for (int i = 0; i < fenet.getNumberofDOFs(); i++) {
 
                 if (V_gesetzt) {
-                    dof_data[i].u = inStream.readFloat();
-                    dof_data[i].v = inStream.readFloat();
+                    dof_data[i].u = erg.getValue(i, TicadIO.HRES_V, 0);
+                    dof_data[i].v = erg.getValue(i, TicadIO.HRES_V, 1);
                     dof_data[i].cv = Function.norm(dof_data[i].u, dof_data[i].v);
                 }
 
-                if (Q_gesetzt) {
-                    inStream.skip(8);
-                }
-
                 if (H_gesetzt) {
-                    dof_data[i].m = inStream.readFloat();
+                    dof_data[i].m = erg.getValue(i, TicadIO.HRES_H);
                     DOF dof = fenet.getDOF(i);
                     double depth;
                     SedimentModel2DData sedimentmodeldata = SedimentModel2DData.extract(dof);
@@ -237,32 +192,13 @@ public class FluidMudFlowModel2D extends TimeDependentFEApproximation
 
                 }
 
-                if (SALT_gesetzt) {
-                    inStream.skip(4);
-                }
-
-                if (EDDY_gesetzt) {
-                    inStream.skip(4);
-                }
-
                 if (SHEAR_gesetzt) {
-                    double tau_bx = inStream.readFloat() / PhysicalParameters.RHO_WATER;
-                    double tau_by = inStream.readFloat() / PhysicalParameters.RHO_WATER;
+                    double tau_bx = erg.getValue(i, TicadIO.HRES_SHEAR, 0) / PhysicalParameters.RHO_WATER;
+                    double tau_by = erg.getValue(i, TicadIO.HRES_SHEAR, 1) / PhysicalParameters.RHO_WATER;
                     dof_data[i].tau_b = Function.norm(tau_bx, tau_by);
                     // inStream.skip(8);
                 }
 
-                if (V_SCAL_gesetzt) {
-                    inStream.skip(4);
-                }
-
-                if (Q_SCAL_gesetzt) {
-                    inStream.skip(4);
-                }
-
-                if (AH_gesetzt) {
-                    inStream.skip(4);
-                }
             }
         }
         return null;
@@ -279,19 +215,8 @@ public class FluidMudFlowModel2D extends TimeDependentFEApproximation
 
         System.out.println("\tinterpolating initial water level");
 
-        initalSolutionLoop[] iloop = new initalSolutionLoop[numberOfThreads];
-        int anzdofs = fenet.getNumberofDOFs();
-        for (int ii = 0; ii < numberOfThreads; ii++) {
-            iloop[ii] = new initalSolutionLoop(anzdofs * ii / numberOfThreads, anzdofs * (ii + 1) / numberOfThreads,
-                    time);
-            iloop[ii].start();
-        }
-        for (int ii = 0; ii < numberOfThreads; ii++) {
-            try {
-                iloop[ii].join();
-            } catch (Exception e) {
-            }
-        }
+        WorkerPool.parallelFor(fenet.getNumberofDOFs(), numberOfThreads,
+                (lo, hi) -> new initalSolutionLoop(lo, hi, time).run());
 
         inith = null;
 
@@ -303,7 +228,7 @@ public class FluidMudFlowModel2D extends TimeDependentFEApproximation
         throw new UnsupportedOperationException("Not supported yet.");
     }
 
-    private final class initalSolutionLoop extends Thread {
+    private final class initalSolutionLoop implements Runnable {
 
         int lo, hi;
         double time;
@@ -1273,7 +1198,7 @@ public class FluidMudFlowModel2D extends TimeDependentFEApproximation
 
         for (BoundaryCondition bcond : bsc) {
             if (dofnumber == bcond.pointnumber) {
-            data.bconc = bcond.function;
+            data.bconc = boundaryValues.register(bcond.function);
             bsc.remove(bcond);
             break;
             }
@@ -1281,7 +1206,7 @@ public class FluidMudFlowModel2D extends TimeDependentFEApproximation
 
         for (BoundaryCondition bcond : bqx) {
             if (dofnumber == bcond.pointnumber) {
-            data.bqx = bcond.function;
+            data.bqx = boundaryValues.register(bcond.function);
             bqx.remove(bcond);
             data.boundary = true;
             break;
@@ -1290,7 +1215,7 @@ public class FluidMudFlowModel2D extends TimeDependentFEApproximation
 
         for (BoundaryCondition bcond : bqy) {
             if (dofnumber == bcond.pointnumber) {
-            data.bqy = bcond.function;
+            data.bqy = boundaryValues.register(bcond.function);
             bqy.remove(bcond);
             data.boundary = true;
             break;
@@ -1299,7 +1224,7 @@ public class FluidMudFlowModel2D extends TimeDependentFEApproximation
 
         for (BoundaryCondition bcond : bu) {
             if (dofnumber == bcond.pointnumber) {
-            data.bu = bcond.function;
+            data.bu = boundaryValues.register(bcond.function);
             bu.remove(bcond);
             data.boundary = true;
             break;
@@ -1308,7 +1233,7 @@ public class FluidMudFlowModel2D extends TimeDependentFEApproximation
 
         for (BoundaryCondition bcond : bv) {
             if (dofnumber == bcond.pointnumber) {
-            data.bv = bcond.function;
+            data.bv = boundaryValues.register(bcond.function);
             bv.remove(bcond);
             data.boundary = true;
             break;
@@ -1317,7 +1242,7 @@ public class FluidMudFlowModel2D extends TimeDependentFEApproximation
 
         for (BoundaryCondition bcond : bh) {
             if (dofnumber == bcond.pointnumber) {
-            data.bh = bcond.function;
+            data.bh = boundaryValues.register(bcond.function);
             bh.remove(bcond);
             data.boundary = true;
             break;
@@ -1344,7 +1269,7 @@ public class FluidMudFlowModel2D extends TimeDependentFEApproximation
 
         for (BoundaryCondition bcond : sQ) {
             if (dofnumber == bcond.pointnumber) {
-            data.sourceQ = bcond.function;
+            data.sourceQ = boundaryValues.register(bcond.function);
             sQ.remove(bcond);
             break;
             }
@@ -1352,7 +1277,7 @@ public class FluidMudFlowModel2D extends TimeDependentFEApproximation
 
         for (BoundaryCondition bcond : sh) {
             if (dofnumber == bcond.pointnumber) {
-            data.sourceh = bcond.function;
+            data.sourceh = boundaryValues.register(bcond.function);
             sh.remove(bcond);
             break;
             }
@@ -1650,18 +1575,8 @@ public class FluidMudFlowModel2D extends TimeDependentFEApproximation
         // Elementloop
         performElementLoop();
 
-        timeStepLoop[] iloop = new timeStepLoop[numberOfThreads];
-        int anzdofs = fenet.getNumberofDOFs();
-        for (int ii = 0; ii < numberOfThreads; ii++) {
-            iloop[ii] = new timeStepLoop(anzdofs * ii / numberOfThreads, anzdofs * (ii + 1) / numberOfThreads, dt);
-            iloop[ii].start();
-        }
-        for (int ii = 0; ii < numberOfThreads; ii++) {
-            try {
-                iloop[ii].join();
-            } catch (Exception e) {
-            }
-        }
+        WorkerPool.parallelFor(fenet.getNumberofDOFs(), numberOfThreads,
+                (lo, hi) -> new timeStepLoop(lo, hi, dt).run());
 
         this.time += dt;
 
@@ -1677,7 +1592,7 @@ public class FluidMudFlowModel2D extends TimeDependentFEApproximation
     }
 
     // innere Klasse
-    private final class timeStepLoop extends Thread {
+    private final class timeStepLoop implements Runnable {
 
         int lo, hi;
         double dt;
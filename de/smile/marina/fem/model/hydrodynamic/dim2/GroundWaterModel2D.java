@@ -32,7 +32,10 @@ import de.smile.marina.fem.FTriangle;
 import de.smile.marina.fem.ModelData;
 import de.smile.marina.fem.TimeDependentFEApproximation;
 import de.smile.marina.io.TicadIO;
+import de.smile.marina.io.TicadResultReader;
+import de.smile.marina.io.TicadResultWriter;
 import de.smile.math.Function;
+import de.smile.math.WorkerPool;
 import java.io.*;
 import javax.vecmath.*;
 import java.util.*;
@@ -46,7 +49,7 @@ import de.smile.marina.io.SmileIO;
 /**
  * this ODE describe groundwater model based on darcy equation
  * 
- * @version 1.7.0
+ * @version 1.7.1
  * @author Peter Milbradt
  */
 public class GroundWaterModel2D extends TimeDependentFEApproximation implements FEModel, TicadModel {
@@ -54,7 +57,7 @@ public class GroundWaterModel2D extends TimeDependentFEApproximation implements
     private GroundWater2DData[] dof_data = null;
     private GroundWater2DElementData[] element_data = null;
 
-    private DataOutputStream xf_os = null;
+    private TicadResultWriter xf_os = null;
 
     private Vector<BoundaryCondition> bh = new Vector<>();
 
@@ -147,8 +150,7 @@ public class GroundWaterModel2D extends TimeDependentFEApproximation implements
         result = new double[n];
 
         try {
-            xf_os = new DataOutputStream(new FileOutputStream(groundwaterdat.xferg_name));
-            TicadIO.write_xf(xf_os, this);
+            xf_os = new TicadResultWriter(groundwaterdat.xferg_name, this);
         } catch (FileNotFoundException e) {
             System.out.println("The file " + groundwaterdat.xferg_name + " cannot be opened");
             System.out.println(e.getMessage());
@@ -193,77 +195,33 @@ public class GroundWaterModel2D extends TimeDependentFEApproximation implements
 
         System.out.println("\t Read inital values from result file " + currentergPath);
         // erstes Durchscannen
-        File sysergFile = new File(currentergPath);
-        try (FileInputStream stream = new FileInputStream(sysergFile);
-                DataInputStream inStream = new DataInputStream(stream)) {
+        try (TicadResultReader reader = new TicadResultReader(currentergPath)) {
 
-            // Kommentar lesen, bis ASCII-Zeichen 7 kommt
-            int c;
-            do {
-                c = inStream.readByte();
-            } while (c != 7);
-            // Ende Kommentar
-
-            // Anzahl Elemente, Knoten und Rand lesen
-            int anzKnoten = inStream.readInt();
+            // Anzahl Knoten pruefen
+            int anzKnoten = reader.getNumberOfNodes();
             if (fenet.getNumberofDOFs() != anzKnoten) {
                 System.out.println("Die Datei mit den Startwerten hat andere Anzahl von Knoten");
                 System.exit(1);
             }
-            int anzr = inStream.readInt();
-            int anzElemente = inStream.readInt();
-
-            // Ueberlesen folgende Zeilen
-            inStream.skip(9L * 4L);
-
-            // Ergebnismaske lesen und auswerten
-            int ergMaske = inStream.readInt();
-            int anzWerte = TicadIO.ergMaskeAuswerten(ergMaske);
-
-            final boolean None_gesetzt = ((ergMaske & TicadIO.HRES_NONE) == TicadIO.HRES_NONE);
-            final boolean Pos_gesetzt = ((ergMaske & TicadIO.HRES_POS) == TicadIO.HRES_POS);
-            final boolean Z_gesetzt = ((ergMaske & TicadIO.HRES_Z) == TicadIO.HRES_Z);
-            final boolean V_gesetzt = ((ergMaske & TicadIO.HRES_V) == TicadIO.HRES_V);
-            final boolean Q_gesetzt = ((ergMaske & TicadIO.HRES_Q) == TicadIO.HRES_Q);
-            final boolean H_gesetzt = ((ergMaske & TicadIO.HRES_H) == TicadIO.HRES_H);
-            final boolean SALT_gesetzt = ((ergMaske & TicadIO.HRES_SALT) == TicadIO.HRES_SALT);
-            final boolean EDDY_gesetzt = ((ergMaske & TicadIO.HRES_EDDY) == TicadIO.HRES_EDDY);
-            final boolean SHEAR_gesetzt = ((ergMaske & TicadIO.HRES_SHEAR) == TicadIO.HRES_SHEAR);
-            final boolean V_SCAL_gesetzt = ((ergMaske & TicadIO.HRES_V_SCAL) == TicadIO.HRES_V_SCAL);
-            final boolean Q_SCAL_gesetzt = ((ergMaske & TicadIO.HRES_Q_SCAL) == TicadIO.HRES_Q_SCAL);
-            final boolean AH_gesetzt = ((ergMaske & TicadIO.HRES_AH) == TicadIO.HRES_AH);
 
-            inStream.readInt();
+            final boolean V_gesetzt = reader.contains(TicadIO.HRES_V);
+            final boolean H_gesetzt = reader.contains(TicadIO.HRES_H);
 
-            // Elemente, Rand und Knoten Ueberlesen
-            inStream.skip((anzElemente * 4L + anzr + 3L * anzKnoten) * 4L); // 4 Bytes je float und int
-
-            // bis zum record-Satz springen
-            inStream.skip((4L + anzKnoten * anzWerte * 4L) * record);
+            // Satz lesen
+            final TicadResultReader.Record erg = reader.getRecord(record);
 
             x = new double[n];
 
-            float t = inStream.readFloat();
+            float t = erg.getTime();
             for (int i = 0; i < fenet.getNumberofDOFs(); i++) {
-                if (None_gesetzt)
-                    inStream.skip(4);
-
-                if (Pos_gesetzt)
-                    inStream.skip(4);
-
-                if (Z_gesetzt)
-                    inStream.skip(4);
 
                 if (V_gesetzt) {
-                    dof_data[i].u = inStream.readFloat() / 1000.;
-                    dof_data[i].v = inStream.readFloat() / 1000.;
+                    dof_data[i].u = erg.getValue(i, TicadIO.HRES_V, 0) / 1000.;
+                    dof_data[i].v = erg.getValue(i, TicadIO.HRES_V, 1) / 1000.;
                 }
 
-                if (Q_gesetzt)
-                    inStream.skip(8);
-
                 if (H_gesetzt) {
-                    x[H + i] = inStream.readFloat();
+                    x[H + i] = erg.getValue(i, TicadIO.HRES_H);
                     CurrentModel2DData current2d = CurrentModel2DData.extract(fenet.getDOF(i));
                     if (current2d != null) {
                         if ((current2d.z + current2d.eta > CurrentModel2D.WATT)) {
@@ -276,24 +234,6 @@ public class GroundWaterModel2D extends TimeDependentFEApproximation implements
                     }
                 }
 
-                if (SALT_gesetzt)
-                    inStream.skip(4);
-
-                if (EDDY_gesetzt)
-                    inStream.skip(4);
-
-                if (SHEAR_gesetzt)
-                    inStream.skip(8);
-
-                if (V_SCAL_gesetzt)
-                    inStream.skip(4);
-
-                if (Q_SCAL_gesetzt)
-                    inStream.skip(4);
-
-                if (AH_gesetzt)
-                    inStream.skip(4);
-
             }
         }
         return x;
@@ -312,24 +252,14 @@ public class GroundWaterModel2D extends TimeDependentFEApproximation implements
         // System.out.println("CurrentModel - Werte Initialisieren");
         int NumberOfThreads = getNumberOfThreads();
 
-        initalSolutionLoop[] iloop = new initalSolutionLoop[NumberOfThreads];
-        int anzdofs = fenet.getNumberofDOFs();
-        for (int ii = 0; ii < NumberOfThreads; ii++) {
-            iloop[ii] = new initalSolutionLoop(anzdofs * ii / NumberOfThreads, anzdofs * (ii + 1) / NumberOfThreads, x,
-                    time);
-            iloop[ii].start();
-        }
-        for (int ii = 0; ii < NumberOfThreads; ii++)
-            try {
-                iloop[ii].join();
-            } catch (Exception e) {
-            }
+        WorkerPool.parallelFor(fenet.getNumberofDOFs(), NumberOfThreads,
+                (lo, hi) -> new initalSolutionLoop(lo, hi, x, time).run());
 
         inith = null;
         return x;
     }
 
-    public final class initalSolutionLoop extends Thread {
+    public final class initalSolutionLoop implements Runnable {
         int lo, hi;
         double[] x;
         double time;
@@ -763,7 +693,7 @@ public class GroundWaterModel2D extends TimeDependentFEApproximation implements
         while (b.hasMoreElements()) {
             BoundaryCondition bcond = (BoundaryCondition) b.nextElement();
             if (dofnumber == bcond.pointnumber) {
-                data.bh = bcond.function;
+                data.bh = boundaryValues.register(bcond.function);
                 bh.removeElement(bcond);
             }
         }
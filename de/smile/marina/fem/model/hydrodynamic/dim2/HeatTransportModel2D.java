@@ -25,12 +25,15 @@ package de.smile.marina.fem.model.hydrodynamic.dim2;
 
 import de.smile.marina.MarinaXML;
 import de.smile.marina.PhysicalParameters;
+import de.smile.marina.CoupledModel;
 import de.smile.marina.TimeDependentModel;
 import de.smile.marina.fem.*;
 import de.smile.marina.fem.model.hydrodynamic.BoundaryCondition;
 import de.smile.marina.fem.model.meteorology.MeteorologyData2D;
 import de.smile.marina.io.FileIO;
 import de.smile.marina.io.TicadIO;
+import de.smile.marina.io.TicadResultReader;
+import de.smile.marina.io.TicadResultWriter;
 import de.smile.math.Function;
 import java.io.*;
 import java.util.*;
@@ -39,14 +42,14 @@ import java.util.*;
  * this TimeDependentFEApproximation describe heat-transport model for depth
  * integrated simulations
  * 
- * @version 4.7.0
+ * @version 4.8.2
  * @author Peter Milbradt
  */
 public class HeatTransportModel2D extends TimeDependentFEApproximation
-        implements FEModel, TicadModel, TimeDependentModel {
+        implements FEModel, TicadModel, TimeDependentModel, CoupledModel {
 
     private HeatTransportModel2DData[] dof_data = null;
-    private DataOutputStream xf_os = null;
+    private TicadResultWriter xf_os = null;
 
     private Vector<DOF> initsc = new Vector<>();
     private Vector<BoundaryCondition> bsc = new Vector<>();
@@ -83,9 +86,8 @@ public class HeatTransportModel2D extends TimeDependentFEApproximation
         initialDOFs();
 
         try {
-            xf_os = new DataOutputStream(new FileOutputStream(temperaturedat.xferg_name));
             // Setzen der Ergebnismaske
-            TicadIO.write_xf(xf_os, this);
+            xf_os = new TicadResultWriter(temperaturedat.xferg_name, this);
         } catch (FileNotFoundException e) {
             System.out.println("The file " + temperaturedat.xferg_name + " cannot be opened");
             System.out.println(e.getMessage());
@@ -147,106 +149,28 @@ public class HeatTransportModel2D extends TimeDependentFEApproximation
 
         System.out.println("\tRead inital values from result file " + heaterg);
         // erstes Durchscannen
-        File sysergFile = new File(heaterg);
-        try (FileInputStream stream = new FileInputStream(sysergFile);
-                DataInputStream inStream = new DataInputStream(stream)) {
+        try (TicadResultReader reader = new TicadResultReader(heaterg, fenet)) {
 
-            // Kommentar lesen, bis ASCII-Zeichen 7 kommt
-            int c;
-            do {
-                c = inStream.readByte();
-            } while (c != 7);
-            // Ende Kommentar
-
-            // Anzahl Elemente, Knoten und Rand lesen
-            int anzKnoten = inStream.readInt();
+            // Anzahl Knoten pruefen
+            int anzKnoten = reader.getNumberOfNodes();
             if (fenet.getNumberofDOFs() != anzKnoten) {
                 System.out.println("Die Datei mit den Startwerten hat andere Anzahl von Knoten");
                 System.out.println("Netz" + fenet.getNumberofDOFs() + " Startdatei " + anzKnoten);
                 System.exit(1);
             }
-            int anzr = inStream.readInt();
-            int anzElemente = inStream.readInt();
-
-            // Ueberlesen folgende Zeilen
-            inStream.skip(9 * 4);
-
-            // Ergebnismaske lesen und auswerten
-            int ergMaske = inStream.readInt();
-            int anzWerte = TicadIO.ergMaskeAuswerten(ergMaske);
-
-            boolean None_gesetzt = ((ergMaske & TicadIO.HRES_NONE) == TicadIO.HRES_NONE);
-            boolean Pos_gesetzt = ((ergMaske & TicadIO.HRES_POS) == TicadIO.HRES_POS);
-            boolean Z_gesetzt = ((ergMaske & TicadIO.HRES_Z) == TicadIO.HRES_Z);
-            boolean V_gesetzt = ((ergMaske & TicadIO.HRES_V) == TicadIO.HRES_V);
-            boolean Q_gesetzt = ((ergMaske & TicadIO.HRES_Q) == TicadIO.HRES_Q);
-            boolean H_gesetzt = ((ergMaske & TicadIO.HRES_H) == TicadIO.HRES_H);
-            boolean SALT_gesetzt = ((ergMaske & TicadIO.HRES_SALT) == TicadIO.HRES_SALT);
-            boolean EDDY_gesetzt = ((ergMaske & TicadIO.HRES_EDDY) == TicadIO.HRES_EDDY);
-            boolean SHEAR_gesetzt = ((ergMaske & TicadIO.HRES_SHEAR) == TicadIO.HRES_SHEAR);
-            boolean V_SCAL_gesetzt = ((ergMaske & TicadIO.HRES_V_SCAL) == TicadIO.HRES_V_SCAL);
-            boolean Q_SCAL_gesetzt = ((ergMaske & TicadIO.HRES_Q_SCAL) == TicadIO.HRES_Q_SCAL);
-            boolean AH_gesetzt = ((ergMaske & TicadIO.HRES_AH) == TicadIO.HRES_AH);
-
-            inStream.readInt();
-
-            // Elemente, Rand und Knoten überlesen
-            inStream.skip((anzElemente * 4L + anzr + 3L * anzKnoten) * 4L); // 4 Bytes je float und int
-
-            // bis zum record-Satz springen
-            inStream.skip((4L + anzKnoten * anzWerte * 4L) * record);
-
-            float t = inStream.readFloat();
-            for (int i = 0; i < fenet.getNumberofDOFs(); i++) {
-                DOF dof = fenet.getDOF(i);
-                HeatTransportModel2DData heatmodeldata = HeatTransportModel2DData.extract(dof);
 
-                if (None_gesetzt) {
-                    inStream.skip(4);
-                }
-
-                if (Pos_gesetzt) {
-                    inStream.skip(4);
-                }
+            final boolean H_gesetzt = reader.contains(TicadIO.HRES_H);
 
-                if (Z_gesetzt) {
-                    inStream.skip(4);
-                }
+            // Satz lesen
+            final TicadResultReader.Record erg = reader.getRecord(record);
 
-                if (V_gesetzt) {
-                    inStream.skip(8);
-                }
-
-                if (Q_gesetzt) {
-                    inStream.skip(8);
-                }
+            float t = erg.getTime();
+            for (int i = 0; i < fenet.getNumberofDOFs(); i++) {
+                DOF dof = fenet.getDOF(i);
+                HeatTransportModel2DData heatmodeldata = HeatTransportModel2DData.extract(dof);
 
                 if (H_gesetzt) {
-                    heatmodeldata.temperature = inStream.readFloat();
-                }
-
-                if (SALT_gesetzt) {
-                    inStream.skip(4);
-                }
-
-                if (EDDY_gesetzt) {
-                    inStream.skip(4);
-                }
-
-                if (SHEAR_gesetzt) {
-                    inStream.skip(8);
-                }
-
-                if (V_SCAL_gesetzt) {
-                    inStream.skip(4);
-                }
-
-                if (Q_SCAL_gesetzt) {
-                    inStream.skip(4);
-                }
-
-                if (AH_gesetzt) {
-                    inStream.skip(4);
+                    heatmodeldata.temperature = erg.getValue(i, TicadIO.HRES_H);
                 }
 
             }
@@ -323,7 +247,7 @@ public class HeatTransportModel2D extends TimeDependentFEApproximation
 
                 // System.out.println(""+line+"\n");
                 if (!line.startsWith("C")) {
-                    knoten_nr = Integer.parseInt(strto.nextToken());
+                    knoten_nr = fenet.getDOFNumber(Integer.parseInt(strto.nextToken()));
                     strto.nextToken();
                     strto.nextToken();
                     try {
@@ -437,9 +361,9 @@ public class HeatTransportModel2D extends TimeDependentFEApproximation
                 for (int i = 0; i < anzk; i++) {
                     // Punktnummer lesen
                     if (writePointNumbers) {
-                        nr = bin_in.fbinreadint();
+                        nr = fenet.getDOFNumber(bin_in.fbinreadint());
                     } else {
-                        nr = i;
+                        nr = fenet.getDOFNumber(i);
                     }
 
                     // x,y,s lesen
@@ -716,7 +640,7 @@ public class HeatTransportModel2D extends TimeDependentFEApproximation
         while (b.hasMoreElements()) {
             BoundaryCondition bcond = b.nextElement();
             if (dofnumber == bcond.pointnumber) {
-                data.bc = bcond.function;
+                data.bc = boundaryValues.register(bcond.function);
                 bsc.removeElement(bcond);
             }
         }
@@ -828,6 +752,16 @@ public class HeatTransportModel2D extends TimeDependentFEApproximation
 
     } // end readBoundCond
 
+    @Override
+    public Class<?>[] getReadData() {
+        return new Class<?>[]{CurrentModel2DData.class, Current2DElementData.class, MeteorologyData2D.class};
+    }
+
+    @Override
+    public Class<?>[] getWrittenData() {
+        return new Class<?>[]{HeatTransportModel2DData.class};
+    }
+
     @Override
     public void timeStep(double dt) {
         resultIsNaN = false;
@@ -40,4 +40,5 @@ public class SaltDat {
     public int startCounter=0;
     
     public int NumberOfThreads =1;
+    public boolean colouredAssembly = true; // lock-free Assemblierung ueber eine Faerbung der Elemente
 }
@@ -25,11 +25,14 @@ package de.smile.marina.fem.model.hydrodynamic.dim2;
 
 import bijava.math.ifunction.ZeroFunction1d;
 import de.smile.marina.MarinaXML;
+import de.smile.marina.CoupledModel;
 import de.smile.marina.TimeDependentModel;
 import de.smile.marina.fem.*;
 import de.smile.marina.fem.model.hydrodynamic.BoundaryCondition;
 import de.smile.marina.io.FileIO;
 import de.smile.marina.io.TicadIO;
+import de.smile.marina.io.TicadResultReader;
+import de.smile.marina.io.TicadResultWriter;
 import de.smile.math.Function;
 import java.io.*;
 import java.util.*;
@@ -37,10 +40,10 @@ import java.util.*;
 /**
  * this ODE describe salt-transport model for depth integrated simulations
  * 
- * @version 4.7.0
+ * @version 4.8.2
  * @author Peter Milbradt
  */
-public class SaltModel2D extends TimeDependentFEApproximation implements FEModel, TicadModel, TimeDependentModel {
+public class SaltModel2D extends TimeDependentFEApproximation implements FEModel, TicadModel, TimeDependentModel, CoupledModel {
 
     private SaltModel2DData[] dof_data = null;
 
@@ -49,7 +52,7 @@ public class SaltModel2D extends TimeDependentFEApproximation implements FEModel
 
     public final static double dispersionCoefficient = 1.1E-9; // Diffusionskoeffizient fuer Salz in m^2/s
 
-    private DataOutputStream xf_os = null;
+    private TicadResultWriter xf_os = null;
 
     private ArrayList<DOF> initsc = new ArrayList<>();
 
@@ -80,10 +83,11 @@ public class SaltModel2D extends TimeDependentFEApproximation implements FEModel
         // DOFs initialisieren
         initialDOFs();
 
+        setColouredAssembly(saltdat.colouredAssembly);
+
         try {
-            xf_os = new DataOutputStream(new FileOutputStream(saltdat.xferg_name));
             // Setzen der Ergebnismaske
-            TicadIO.write_xf(xf_os, this);
+            xf_os = new TicadResultWriter(saltdat.xferg_name, this);
         } catch (FileNotFoundException e) {
             System.out.println("The file " + saltdat.xferg_name + " cannot be opened");
             System.out.println(e.getMessage());
@@ -150,103 +154,25 @@ public class SaltModel2D extends TimeDependentFEApproximation implements FEModel
 
         System.out.println("\tRead inital values from result file " + salterg);
         // erstes Durchscannen
-        File sysergFile = new File(salterg);
-        try (FileInputStream stream = new FileInputStream(sysergFile);
-                DataInputStream inStream = new DataInputStream(stream)) {
-
-            // Kommentar lesen, bis ASCII-Zeichen 7 kommt
-            int c;
-            do {
-                c = inStream.readByte();
-            } while (c != 7);
-            // Ende Kommentar
+        try (TicadResultReader reader = new TicadResultReader(salterg, fenet)) {
 
-            // Anzahl Elemente, Knoten und Rand lesen
-            int anzKnoten = inStream.readInt();
+            // Anzahl Knoten pruefen
+            int anzKnoten = reader.getNumberOfNodes();
             if (fenet.getNumberofDOFs() != anzKnoten) {
                 System.out.println("Die Datei mit den Startwerten hat andere Anzahl von Knoten");
                 System.exit(1);
             }
-            int anzr = inStream.readInt();
-            int anzElemente = inStream.readInt();
-
-            // Ueberlesen folgende Zeilen
-            inStream.skip(9 * 4);
-
-            // Ergebnismaske lesen und auswerten
-            int ergMaske = inStream.readInt();
-            int anzWerte = TicadIO.ergMaskeAuswerten(ergMaske);
-
-            boolean None_gesetzt = ((ergMaske & TicadIO.HRES_NONE) == TicadIO.HRES_NONE);
-            boolean Pos_gesetzt = ((ergMaske & TicadIO.HRES_POS) == TicadIO.HRES_POS);
-            boolean Z_gesetzt = ((ergMaske & TicadIO.HRES_Z) == TicadIO.HRES_Z);
-            boolean V_gesetzt = ((ergMaske & TicadIO.HRES_V) == TicadIO.HRES_V);
-            boolean Q_gesetzt = ((ergMaske & TicadIO.HRES_Q) == TicadIO.HRES_Q);
-            boolean H_gesetzt = ((ergMaske & TicadIO.HRES_H) == TicadIO.HRES_H);
-            boolean SALT_gesetzt = ((ergMaske & TicadIO.HRES_SALT) == TicadIO.HRES_SALT);
-            boolean EDDY_gesetzt = ((ergMaske & TicadIO.HRES_EDDY) == TicadIO.HRES_EDDY);
-            boolean SHEAR_gesetzt = ((ergMaske & TicadIO.HRES_SHEAR) == TicadIO.HRES_SHEAR);
-            boolean V_SCAL_gesetzt = ((ergMaske & TicadIO.HRES_V_SCAL) == TicadIO.HRES_V_SCAL);
-            boolean Q_SCAL_gesetzt = ((ergMaske & TicadIO.HRES_Q_SCAL) == TicadIO.HRES_Q_SCAL);
-            boolean AH_gesetzt = ((ergMaske & TicadIO.HRES_AH) == TicadIO.HRES_AH);
-
-            inStream.readInt();
-
-            // Elemente, Rand und Knoten √ºberlesen
-            inStream.skip((anzElemente * 4L + anzr + 3L * anzKnoten) * 4L); // 4 Bytes je float und int
-
-            // bis zum record-Satz springen
-            inStream.skip((4L + anzKnoten * anzWerte * 4L) * record);
-
-            inStream.readFloat(); // read time in float
-            for (int i = 0; i < fenet.getNumberofDOFs(); i++) {
-
-                if (None_gesetzt) {
-                    inStream.skip(4);
-                }
-
-                if (Pos_gesetzt) {
-                    inStream.skip(4);
-                }
 
-                if (Z_gesetzt) {
-                    inStream.skip(4);
-                }
-
-                if (V_gesetzt) {
-                    inStream.skip(8);
-                }
+            final boolean SALT_gesetzt = reader.contains(TicadIO.HRES_SALT);
 
-                if (Q_gesetzt) {
-                    inStream.skip(8);
-                }
+            // Satz lesen
+            final TicadResultReader.Record erg = reader.getRecord(record);
 
-                if (H_gesetzt) {
-                    inStream.skip(4);
-                }
+            erg.getTime(); // read time in float
+            for (int i = 0; i < fenet.getNumberofDOFs(); i++) {
 
                 if (SALT_gesetzt) {
-                    dof_data[i].C = inStream.readFloat();
-                }
-
-                if (EDDY_gesetzt) {
-                    inStream.skip(4);
-                }
-
-                if (SHEAR_gesetzt) {
-                    inStream.skip(8);
-                }
-
-                if (V_SCAL_gesetzt) {
-                    inStream.skip(4);
-                }
-
-                if (Q_SCAL_gesetzt) {
-                    inStream.skip(4);
-                }
-
-                if (AH_gesetzt) {
-                    inStream.skip(4);
+                    dof_data[i].C = erg.getValue(i, TicadIO.HRES_SALT);
                 }
 
             }
@@ -303,7 +229,7 @@ public class SaltModel2D extends TimeDependentFEApproximation implements FEModel
 
                 // System.out.println(""+line+"\n");
                 if (!line.startsWith("C")) {
-                    int knoten_nr = Integer.parseInt(strto.nextToken());
+                    int knoten_nr = fenet.getDOFNumber(Integer.parseInt(strto.nextToken()));
                     strto.nextToken();
                     strto.nextToken();
                     try {
@@ -414,9 +340,9 @@ public class SaltModel2D extends TimeDependentFEApproximation implements FEModel
                 for (int i = 0; i < anzk; i++) {
                     // Punktnummer lesen
                     if (writePointNumbers)
-                        nr = bin_in.fbinreadint();
+                        nr = fenet.getDOFNumber(bin_in.fbinreadint());
                     else
-                        nr = i;
+                        nr = fenet.getDOFNumber(i);
 
                     // x,y,s lesen
                     bin_in.fbinreaddouble();
@@ -569,8 +495,12 @@ public class SaltModel2D extends TimeDependentFEApproximation implements FEModel
                                                 / Math.max(CurrentModel2D.WATT, cmd.totaldepth));
                         result_SaltConc_i -= vorfak * terms_Salt[l] * gl;
                     }
-                    synchronized (saltmodeldata) {
+                    if (colouredAssembly) {
                         saltmodeldata.rsaltconc += result_SaltConc_i;
+                    } else {
+                        synchronized (saltmodeldata) {
+                            saltmodeldata.rsaltconc += result_SaltConc_i;
+                        }
                     }
                 }
             }
@@ -653,7 +583,7 @@ public class SaltModel2D extends TimeDependentFEApproximation implements FEModel
 
         for (BoundaryCondition bcond : bsc) {
             if (dofnumber == bcond.pointnumber) {
-                data.bsc = bcond.function;
+                data.bsc = boundaryValues.register(bcond.function);
                 bsc.remove(bcond);
                 break;
             }
@@ -661,7 +591,7 @@ public class SaltModel2D extends TimeDependentFEApproximation implements FEModel
 
         for (BoundaryCondition bcond : sQ) {
             if (dofnumber == bcond.pointnumber) {
-                data.sourceQc = bcond.function;
+                data.sourceQc = boundaryValues.register(bcond.function);
                 sQ.remove(bcond);
                 break;
             }
@@ -741,6 +671,16 @@ public class SaltModel2D extends TimeDependentFEApproximation implements FEModel
 
     } // end readBoundCond
 
+    @Override
+    public Class<?>[] getReadData() {
+        return new Class<?>[]{CurrentModel2DData.class, Current2DElementData.class};
+    }
+
+    @Override
+    public Class<?>[] getWrittenData() {
+        return new Class<?>[]{SaltModel2DData.class};
+    }
+
     @Override
     public void timeStep(double dt) {
         resultIsNaN = false;
@@ -229,7 +229,7 @@ public class SedimentDat {
         }
 
         @Override
-        public double[] getLoadVector(DOF dof) {
+        public double[] getLoadVector(DOF dof, CurrentModel2DData cmd, SedimentModel2DData smd) {
             return new double[]{0., 0.};
         }
     };
@@ -241,7 +241,7 @@ public class SedimentDat {
         }
 
         @Override
-        public double getConcentration(DOF dof) {
+        public double getConcentration(DOF dof, CurrentModel2DData cmd, SedimentModel2DData smd) {
             return 0.;
         }
 
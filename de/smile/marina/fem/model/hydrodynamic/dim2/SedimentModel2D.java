@@ -34,7 +34,10 @@ import de.smile.marina.fem.model.hydrodynamic.dim3.CurrentModel3DData;
 import de.smile.marina.io.FileIO;
 import de.smile.marina.io.SmileIO;
 import de.smile.marina.io.TicadIO;
+import de.smile.marina.io.TicadResultReader;
+import de.smile.marina.io.TicadResultWriter;
 import de.smile.math.Function;
+import de.smile.math.WorkerPool;
 import de.smile.xml.marina.TSSSFileType;
 import java.io.*;
 import static java.lang.Math.max;
@@ -44,13 +47,14 @@ import java.nio.file.*;
 import java.util.*;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.IntStream;
 
 /**
  * this class describe a depth integrated morphodynamic model including bottom
  * load, suspened transport and bottom evolution
  * 
  * @author Peter Milbradt
- * @version 4.9.3
+ * @version 4.13.0
  */
 public class SedimentModel2D extends TimeDependentFEApproximation implements FEModel, TicadModel, TimeDependentModel {
 
@@ -66,7 +70,7 @@ public class SedimentModel2D extends TimeDependentFEApproximation implements FEM
     private CurrentModel2DData[] dof_currentdata = null;
     private Current2DElementData[] element_currentdata = null;
 
-    private DataOutputStream xf_os = null;
+    private TicadResultWriter xf_os = null;
 
     private final ArrayList<BoundaryCondition> bsc = new ArrayList<>();
     private final ArrayList<BoundaryCondition> bz = new ArrayList<>();
@@ -76,6 +80,7 @@ public class SedimentModel2D extends TimeDependentFEApproximation implements FEM
     private SuspendedLoad2DFormulation sl = null;
 
     private final SedimentDat sedimentdat;
+    private final ModelCoupling<WaveHYPModel2DData> waveCoupling;
 
     protected static double morphFactor = 1.; // morphological Factor
     @SuppressWarnings("unused")
@@ -100,6 +105,7 @@ public class SedimentModel2D extends TimeDependentFEApproximation implements FEM
 
         femodel = this;
         this.sedimentdat = sedimentdat;
+        waveCoupling = ModelCoupling.ofDOFs(fenet, WaveHYPModel2DData.class);
 
         initialSedimentModel2D(sedimentdat);
     }
@@ -131,6 +137,7 @@ public class SedimentModel2D extends TimeDependentFEApproximation implements FEM
 
         femodel = this;
         this.sedimentdat = sedimentdat;
+        waveCoupling = ModelCoupling.ofDOFs(fenet, WaveHYPModel2DData.class);
 
         initialSedimentModel2D(sedimentdat);
     }
@@ -332,9 +339,8 @@ public class SedimentModel2D extends TimeDependentFEApproximation implements FEM
         initialBottomGradientsAtPoints();
 
         try {
-            xf_os = new DataOutputStream(new FileOutputStream(sedimentdat.xferg_name));
             // Setzen der Ergebnismaske
-            TicadIO.write_xf(xf_os, this);
+            xf_os = new TicadResultWriter(sedimentdat.xferg_name, this);
         } catch (FileNotFoundException e) {
             System.out.println("The file " + sedimentdat.xferg_name + " cannot be opened");
             System.out.println(e.getMessage());
@@ -344,18 +350,17 @@ public class SedimentModel2D extends TimeDependentFEApproximation implements FEM
 
     private void initialBottomGradientsAtPoints() {
 
+        final MeshTopology topology = fenet.getTopology();
+
         // Berechnen der Elementgradienten
-        for (FElement felement : fenet.getFElements()) {
-            FTriangle element = (FTriangle) felement;
-            final double[][] koeffmat = element.getkoeffmat();
-            SedimentElementData eleSedimentData = element_data[element.number];
+        for (int e = 0; e < topology.getNumberOfElements(); e++) {
+            SedimentElementData eleSedimentData = element_data[e];
             double dzdx = 0.; // Tiefe
             double dzdy = 0.; // Tiefe
             for (int j = 0; j < 3; j++) {
-                DOF dof = element.getDOF(j);
-                SedimentModel2DData sedimentmodeldata = dof_data[dof.number];
-                dzdx += sedimentmodeldata.z * koeffmat[j][1];
-                dzdy += sedimentmodeldata.z * koeffmat[j][2];
+                SedimentModel2DData sedimentmodeldata = dof_data[topology.node(e, j)];
+                dzdx += sedimentmodeldata.z * topology.dNdx(e, j);
+                dzdy += sedimentmodeldata.z * topology.dNdy(e, j);
             }
             eleSedimentData.dzdx = dzdx;
             eleSedimentData.dzdy = dzdy;
@@ -367,10 +372,9 @@ public class SedimentModel2D extends TimeDependentFEApproximation implements FEM
         // initialisieren der punktbezogenen Gradienten
         for (DOF dof : fenet.getDOFs()) {
             SedimentModel2DData data = dof_data[dof.number];
-            for (FElement felem : dof.getFElements()) {
-                FTriangle element = (FTriangle) felem;
-                SedimentElementData eleSedimentData = element_data[element.number];
-                data._bottomslope += eleSedimentData.bottomslope * element.area;
+            for (int k = topology.firstElement(dof.number); k < topology.endElement(dof.number); k++) {
+                final int e = topology.element(k);
+                data._bottomslope += element_data[e].bottomslope * topology.area(e);
             }
             data.bottomslope = data._bottomslope / (dof.lumpedMass * 3.);
         }
@@ -433,7 +437,7 @@ public class SedimentModel2D extends TimeDependentFEApproximation implements FEM
                     String[] split = line.split(";");
                     int dofNumber = Integer.parseInt(split[0].trim());
                     biggestDofNumber = Math.max(biggestDofNumber, dofNumber);
-                    SoilModel3DData sm3d = (SoilModel3DData) dof_data[dofNumber];
+                    SoilModel3DData sm3d = (SoilModel3DData) dof_data[fenet.getDOFNumber(dofNumber)];
                     SoilModel3DData.LayerValues layer = new SoilModel3DData.LayerValues(line);
                     if (Double.isNaN(layer.sorting))
                         layer.sorting = 1.;
@@ -445,9 +449,9 @@ public class SedimentModel2D extends TimeDependentFEApproximation implements FEM
             }
             if (biggestDofNumber == 0) {
                 System.out.println("!Initialisierung mit nur einer Schichtvorgabe!");
-                SoilModel3DData sm3d_0 = (SoilModel3DData) dof_data[0];
+                SoilModel3DData sm3d_0 = (SoilModel3DData) dof_data[fenet.getDOFNumber(0)];
                 for (DOF dof : fenet.getDOFs()) {
-                    if (dof.number > 0) {
+                    if (dof.number != fenet.getDOFNumber(0)) {
                         SoilModel3DData sm3d = (SoilModel3DData) dof_data[dof.number];
                         try {
                             sm3d.layerValues = sm3d_0.clone().layerValues;
@@ -514,12 +518,12 @@ public class SedimentModel2D extends TimeDependentFEApproximation implements FEM
                 boolean firstLayer = true;
                 for (SoilModel3DData.LayerValues layer : sm3d.layerValues) { // Tiefste zu erst, hoechste zu letzte
                     if (firstLayer) {
-                        writer.write("\n" + nr + " ; " + dof.x + " ; " + dof.y + " ; " + layer.toString());
+                        writer.write("\n" + fenet.getDOFFileNumber(nr) + " ; " + dof.x + " ; " + dof.y + " ; " + layer.toString());
                         firstLayer = false;
                     } else {
                         if (!(Math.abs(layer.zl - lastLayerZ) < Double.MIN_NORMAL * 128)) // wenn die Schicht nicht
                                                                                           // doppelt ist
-                            writer.write("\n" + nr + " ; " + dof.x + " ; " + dof.y + " ; " + layer.toString());
+                            writer.write("\n" + fenet.getDOFFileNumber(nr) + " ; " + dof.x + " ; " + dof.y + " ; " + layer.toString());
                     }
                     lastLayerZ = layer.zl;
                 }
@@ -615,100 +619,53 @@ public class SedimentModel2D extends TimeDependentFEApproximation implements FEM
 
         System.out.println("\tRead inital values from result file " + sedimentergPath);
         // erstes Durchscannen
-        File sysergFile = new File(sedimentergPath);
-        try (FileInputStream stream = new FileInputStream(sysergFile);
-                DataInputStream inStream = new DataInputStream(stream)) {
+        try (TicadResultReader reader = new TicadResultReader(sedimentergPath, fenet)) {
 
-            // Kommentar lesen, bis ASCII-Zeichen 7 kommt
-            int c;
-            do {
-                c = inStream.readByte();
-            } while (c != 7);
-            // Ende Kommentar
-
-            // Anzahl Elemente, Knoten und Rand lesen
-            int anzKnoten = inStream.readInt();
+            // Anzahl Knoten pruefen
+            int anzKnoten = reader.getNumberOfNodes();
             if (fenet.getNumberofDOFs() != anzKnoten) {
                 System.out.println("Die Datei mit den Startwerten hat eine andere Anzahl von Knoten");
                 System.exit(1);
             }
-            int anzr = inStream.readInt();
-            int anzElemente = inStream.readInt();
-
-            // Ueberlesen folgende Zeilen
-            inStream.skip(9 * 4);
 
-            // Ergebnismaske lesen und auswerten
-            final int ergMaske = inStream.readInt();
-            final int anzWerte = TicadIO.ergMaskeAuswerten(ergMaske);
-
-            final boolean None_gesetzt = ((ergMaske & TicadIO.HRES_NONE) == TicadIO.HRES_NONE);
-            final boolean Pos_gesetzt = ((ergMaske & TicadIO.HRES_POS) == TicadIO.HRES_POS);
-            final boolean Z_gesetzt = ((ergMaske & TicadIO.HRES_Z) == TicadIO.HRES_Z);
-            final boolean V_gesetzt = ((ergMaske & TicadIO.HRES_V) == TicadIO.HRES_V);
-            final boolean Q_gesetzt = ((ergMaske & TicadIO.HRES_Q) == TicadIO.HRES_Q);
-            final boolean C_gesetzt = ((ergMaske & TicadIO.HRES_H) == TicadIO.HRES_H);
-            final boolean D50_gesetzt = ((ergMaske & TicadIO.HRES_SALT) == TicadIO.HRES_SALT);
-            final boolean DUNEHight_gesetzt = ((ergMaske & TicadIO.HRES_EDDY) == TicadIO.HRES_EDDY);
-            final boolean DUNELength_gesetzt = ((ergMaske & TicadIO.HRES_SHEAR) == TicadIO.HRES_SHEAR);
-            final boolean V_SCAL_gesetzt = ((ergMaske & TicadIO.HRES_V_SCAL) == TicadIO.HRES_V_SCAL);
-            final boolean Q_SCAL_gesetzt = ((ergMaske & TicadIO.HRES_Q_SCAL) == TicadIO.HRES_Q_SCAL);
-            final boolean POROSITY_gesetzt = ((ergMaske & TicadIO.HRES_AH) == TicadIO.HRES_AH);
+            final boolean Z_gesetzt = reader.contains(TicadIO.HRES_Z);
+            final boolean C_gesetzt = reader.contains(TicadIO.HRES_H);
+            final boolean D50_gesetzt = reader.contains(TicadIO.HRES_SALT);
+            final boolean DUNEHight_gesetzt = reader.contains(TicadIO.HRES_EDDY);
+            final boolean DUNELength_gesetzt = reader.contains(TicadIO.HRES_SHEAR);
+            final boolean POROSITY_gesetzt = reader.contains(TicadIO.HRES_AH);
 
-            inStream.readInt();
-
-            // Elemente, Rand und Knoten Ueberlesen
-            inStream.skip((anzElemente * 4L + anzr + 3L * anzKnoten) * 4L); // 4 Bytes je float und int
-
-            // bis zum record-Satz springen
-            inStream.skip((4L + anzKnoten * anzWerte * 4L) * record);
+            // Satz lesen
+            final TicadResultReader.Record erg = reader.getRecord(record);
 
             @SuppressWarnings("unused")
-            float t = inStream.readFloat();
+            float t = erg.getTime();
             for (int i = 0; i < fenet.getNumberofDOFs(); i++) {
 
-                if (None_gesetzt)
-                    inStream.skip(4);
-
-                if (Pos_gesetzt)
-                    inStream.skip(4);
-
                 if (Z_gesetzt) {
-                    dof_data[i].z = inStream.readFloat();
+                    dof_data[i].z = erg.getValue(i, TicadIO.HRES_Z);
                     CurrentModel2DData currentdata = CurrentModel2DData.extract(fenet.getDOF(i));
                     currentdata.setBottomLevel(dof_data[i].z);
                 }
 
-                if (V_gesetzt) // Sedimenttransportrate
-                    inStream.skip(8);
-
-                if (Q_gesetzt) // nicht gesetzt
-                    inStream.skip(8);
-
                 if (C_gesetzt) {
-                    dof_data[i].sC = inStream.readFloat() / PhysicalParameters.RHO_SEDIM;
+                    dof_data[i].sC = erg.getValue(i, TicadIO.HRES_H) / PhysicalParameters.RHO_SEDIM;
                 }
 
                 if (D50_gesetzt) {
-                    dof_data[i].d50 = inStream.readFloat() / 1000.;
+                    dof_data[i].d50 = erg.getValue(i, TicadIO.HRES_SALT) / 1000.;
                 }
 
                 if (DUNEHight_gesetzt)
-                    dof_data[i].duneHeight = Function.max(0., inStream.readFloat());
+                    dof_data[i].duneHeight = Function.max(0., erg.getValue(i, TicadIO.HRES_EDDY));
 
                 if (DUNELength_gesetzt) {
-                    dof_data[i].duneLengthX = inStream.readFloat();
-                    dof_data[i].duneLengthY = inStream.readFloat();
+                    dof_data[i].duneLengthX = erg.getValue(i, TicadIO.HRES_SHEAR, 0);
+                    dof_data[i].duneLengthY = erg.getValue(i, TicadIO.HRES_SHEAR, 1);
                 }
 
-                if (V_SCAL_gesetzt)
-                    inStream.skip(4);
-
-                if (Q_SCAL_gesetzt)
-                    inStream.skip(4);
-
                 if (POROSITY_gesetzt)
-                    dof_data[i].porosity = inStream.readFloat() / 100.;
+                    dof_data[i].porosity = erg.getValue(i, TicadIO.HRES_AH) / 100.;
             }
         }
 
@@ -773,7 +730,7 @@ public class SedimentModel2D extends TimeDependentFEApproximation implements FEM
 
                 // System.out.println(""+line+"\n");
                 if (!line.startsWith("C")) {
-                    knoten_nr = Integer.parseInt(strto.nextToken());
+                    knoten_nr = fenet.getDOFNumber(Integer.parseInt(strto.nextToken()));
                     strto.nextToken();
                     strto.nextToken();
                     try {
@@ -900,9 +857,9 @@ public class SedimentModel2D extends TimeDependentFEApproximation implements FEM
                 for (int i = 0; i < anzk; i++) {
                     // Punktnummer lesen
                     if (writePointNumbers)
-                        nr = bin_in.fbinreadint();
+                        nr = fenet.getDOFNumber(bin_in.fbinreadint());
                     else
-                        nr = i;
+                        nr = fenet.getDOFNumber(i);
 
                     // x,y,s lesen
                     bin_in.fbinreaddouble();
@@ -965,14 +922,14 @@ public class SedimentModel2D extends TimeDependentFEApproximation implements FEM
 
         double timeStep = Double.POSITIVE_INFINITY;
 
-        final Current2DElementData eleCurrentData = element_currentdata[element.number];
-        SedimentElementData eleSedimentData = element_data[element.number];
+        final int e = element.number;
+        final MeshTopology topology = fenet.getTopology();
+        final Current2DElementData eleCurrentData = element_currentdata[e];
+        SedimentElementData eleSedimentData = element_data[e];
         final FTriangle ele = (FTriangle) element;
 
         if (!eleCurrentData.isDry) {
 
-            final double[][] koeffmat = ele.getkoeffmat();
-
             final double[] terms_C = new double[3];
             final double[] terms_z = new double[3];
 
@@ -1003,25 +960,25 @@ public class SedimentModel2D extends TimeDependentFEApproximation implements FEM
             // compute element derivations
             // -------------------------------------------------------------------
             for (int j = 0; j < 3; j++) {
-                final SedimentModel2DData smd = dof_data[ele.getDOF(j).number];
-                final CurrentModel2DData cmd = dof_currentdata[ele.getDOF(j).number];
+                final SedimentModel2DData smd = dof_data[topology.node(e, j)];
+                final CurrentModel2DData cmd = dof_currentdata[topology.node(e, j)];
 
                 porosity_mean += smd.porosity / 3.;
 
-                dzdx += smd.z * koeffmat[j][1];
-                dzdy += smd.z * koeffmat[j][2];
+                dzdx += smd.z * topology.dNdx(e, j);
+                dzdy += smd.z * topology.dNdy(e, j);
 
                 u_mean += 1. / 3. * cmd.u;
                 v_mean += 1. / 3. * cmd.v;
 
-                dskoncdx += smd.sC * koeffmat[j][1];
-                dskoncdy += smd.sC * koeffmat[j][2];
+                dskoncdx += smd.sC * topology.dNdx(e, j);
+                dskoncdy += smd.sC * topology.dNdy(e, j);
 
                 morph_x += 1. / 3. * smd.u_bank; // mittlere Geschwindigkeit mit der sich Sedimentpakete bewegen
                 morph_y += 1. / 3. * smd.v_bank;
 
-                dQxdx += smd.qTotal_x * koeffmat[j][1];
-                dQydy += smd.qTotal_y * koeffmat[j][2];
+                dQxdx += smd.qTotal_x * topology.dNdx(e, j);
+                dQydy += smd.qTotal_y * topology.dNdy(e, j);
 
                 // Indikator fuer nichterodierbare // oder teiltrockene Elemente bestimmen
                 eleEro *= smd.lambda;
@@ -1066,7 +1023,7 @@ public class SedimentModel2D extends TimeDependentFEApproximation implements FEM
 
             // Elementfehler berechnen
             for (int j = 0; j < 3; j++) {
-                final int i = ele.getDOF(j).number;
+                final int i = topology.node(e, j);
                 final SedimentModel2DData smd = dof_data[i];
                 final CurrentModel2DData cmd = dof_currentdata[i];
 
@@ -1098,13 +1055,13 @@ public class SedimentModel2D extends TimeDependentFEApproximation implements FEM
                 tauC = 0.;
 
             for (int j = 0; j < 3; j++) {
-                final int i = ele.getDOF(j).number;
+                final int i = topology.node(e, j);
                 SedimentModel2DData smd = dof_data[i];
                 final CurrentModel2DData cmd = dof_currentdata[i];
                 // Fehlerkorrektur C
-                double sKoncCorrect = -tauC * (koeffmat[j][1] * u_mean + koeffmat[j][2] * v_mean) * localResC;
+                double sKoncCorrect = -tauC * (topology.dNdx(e, j) * u_mean + topology.dNdy(e, j) * v_mean) * localResC;
                 // Diffusionsterm (entspricht ∇⋅(D∇c))
-                sKoncCorrect -= (koeffmat[j][1] * astx * dskoncdx + koeffmat[j][2] * asty * dskoncdy) * cmd.wlambda
+                sKoncCorrect -= (topology.dNdx(e, j) * astx * dskoncdx + topology.dNdy(e, j) * asty * dskoncdy) * cmd.wlambda
                         // KORREKTURTERM fuer variable Wassertiefe (entspricht 1/d * (D∇d)⋅(∇c)):
                         // korrigiert die Diffusion, wenn sich die Tiefe aendert.
                         - 1. / 3. * (1. / Function.max(cmd.totaldepth, CurrentModel2D.WATT))
@@ -1113,38 +1070,38 @@ public class SedimentModel2D extends TimeDependentFEApproximation implements FEM
                                 * cmd.wlambda;
 
                 // Fehlerkorrektur Z
-                double resCorrect = -tau_z * (koeffmat[j][1] * lambda_x + koeffmat[j][2] * lambda_y)
+                double resCorrect = -tau_z * (topology.dNdx(e, j) * lambda_x + topology.dNdy(e, j) * lambda_y)
                         * localResZTransport;
                 // gravitioneller Transport, herunter rollern mit max. wc/4 inklusive Projektion
                 // in die Ebene
-                resCorrect -= (koeffmat[j][1] * dzdx + koeffmat[j][2] * dzdy) * nu_sed;
+                resCorrect -= (topology.dNdx(e, j) * dzdx + topology.dNdy(e, j) * dzdy) * nu_sed;
 
                 double result_Z_i = 0;
                 double result_SKonc_i = 0.;
                 for (int l = 0; l < 3; l++) {
-                    final double vorfak = ele.area * ((l == j) ? 1. / 6. : 1. / 12.);
+                    final double vorfak = topology.area(e) * ((l == j) ? 1. / 6. : 1. / 12.);
 
                     double gl = (l == j) ? 1.
-                            : Math.min(dof_currentdata[ele.getDOF(l).number].wlambda,
-                                    dof_currentdata[ele.getDOF(l).number].totaldepth
+                            : Math.min(dof_currentdata[topology.node(e, l)].wlambda,
+                                    dof_currentdata[topology.node(e, l)].totaldepth
                                             / Math.max(CurrentModel2D.WATT, cmd.totaldepth));
                     result_SKonc_i -= vorfak * terms_C[l] * gl;
 
                     gl = 1.;
                     if (l != j) { // ToDo siehe Marina-Version 2.8.9
                         if (terms_z[l] > 0) { // abgelegener Knoten sedimentiert
-                            if (dof_data[ele.getDOF(l).number].z > smd.z) { // abgelegener Knoten liegt unterhalb
+                            if (dof_data[topology.node(e, l)].z > smd.z) { // abgelegener Knoten liegt unterhalb
                                 gl = cmd.wlambda * Function.max(0.,
-                                        1. - (dof_data[ele.getDOF(l).number].z - smd.z) / ele.distance[l][j]);
+                                        1. - (dof_data[topology.node(e, l)].z - smd.z) / topology.distance(e, l, j));
                             } else { // abgelegener Knoten liegt oberhalb
-                                gl = dof_currentdata[ele.getDOF(l).number].wlambda;
+                                gl = dof_currentdata[topology.node(e, l)].wlambda;
                             }
                         } else { // abgelegener Knoten erodiert
-                            if (dof_data[ele.getDOF(l).number].z > smd.z) { // abgelegener Knoten liegt unterhalb
+                            if (dof_data[topology.node(e, l)].z > smd.z) { // abgelegener Knoten liegt unterhalb
                                 gl = smd.lambdaQs;
                             } else { // abgelegenen Knoten liegt oberhalb
-                                gl = smd.lambdaQs * dof_data[ele.getDOF(l).number].lambda * Function.max(0.,
-                                        1. - (smd.z - dof_data[ele.getDOF(l).number].z) / ele.distance[l][j]);
+                                gl = smd.lambdaQs * dof_data[topology.node(e, l)].lambda * Function.max(0.,
+                                        1. - (smd.z - dof_data[topology.node(e, l)].z) / topology.distance(e, l, j));
                             }
                         }
                     }
@@ -1155,24 +1112,24 @@ public class SedimentModel2D extends TimeDependentFEApproximation implements FEM
                     smd.rC += result_SKonc_i;
                     smd.rZTransport += result_Z_i;
 
-                    smd._bottomslope += bottomslope * ele.area;
-                    smd.rZCorrect += resCorrect * ele.area / 3.;
-                    smd.rSKoncCorrect += sKoncCorrect * ele.area / 3.;
+                    smd._bottomslope += bottomslope * topology.area(e);
+                    smd.rZCorrect += resCorrect * topology.area(e) / 3.;
+                    smd.rSKoncCorrect += sKoncCorrect * topology.area(e) / 3.;
 
                     // Test ob der Knoten tiefster / hoester im Patch ist
-                    smd._isDeepest &= ((smd.z > dof_data[ele.getDOF((j + 1) % 3).number].z + smd.bound)
-                            && (smd.z > dof_data[ele.getDOF((j + 2) % 3).number].z + smd.bound));
-                    smd._isHighest &= ((smd.z < dof_data[ele.getDOF((j + 1) % 3).number].z - smd.bound)
-                            && (smd.z < dof_data[ele.getDOF((j + 2) % 3).number].z - smd.bound));
+                    smd._isDeepest &= ((smd.z > dof_data[topology.node(e, (j + 1) % 3)].z + smd.bound)
+                            && (smd.z > dof_data[topology.node(e, (j + 2) % 3)].z + smd.bound));
+                    smd._isHighest &= ((smd.z < dof_data[topology.node(e, (j + 1) % 3)].z - smd.bound)
+                            && (smd.z < dof_data[topology.node(e, (j + 2) % 3)].z - smd.bound));
                 }
 
             }
         } else {
             // dry element
             for (int j = 0; j < 3; j++) {
-                SedimentModel2DData smd = dof_data[element.getDOF(j).number];
+                SedimentModel2DData smd = dof_data[topology.node(e, j)];
                 synchronized (smd) {
-                    smd._bottomslope += eleSedimentData.bottomslope * ele.area;
+                    smd._bottomslope += eleSedimentData.bottomslope * topology.area(e);
                 }
             }
         }
@@ -1183,8 +1140,47 @@ public class SedimentModel2D extends TimeDependentFEApproximation implements FEM
     // ------------------------------------------------------------------------
     // setBoundaryCondition
     // ------------------------------------------------------------------------
+    /** Anzahl der Knoten, deren Transportformeln gemeinsam ausgewertet werden */
+    private static final int NODE_BLOCK = 256;
+
+    /**
+     * setzt die Randbedingungen blockweise, die Geschiebe- und Konzentrationsformeln
+     * werden fuer jeden Block von Knoten gemeinsam ausgewertet
+     */
+    @Override
+    public void setBoundaryConditions() {
+        final long begin = statistics.begin();
+        if (boundaryValues.size() > 0) {
+            boundaryValues.update(time);
+        }
+        final DOF[] dofs = fenet.getDOFs(); // dofs[i].number == i
+        final double[] concentration = new double[dofs.length];
+        final int blocks = (dofs.length + NODE_BLOCK - 1) / NODE_BLOCK;
+        WorkerPool.invoke(() -> IntStream.range(0, blocks).parallel().forEach(b -> {
+            final int lo = b * NODE_BLOCK;
+            final int hi = Math.min(dofs.length, lo + NODE_BLOCK);
+            for (int i = lo; i < hi; i++) {
+                prepareBoundaryCondition(dofs[i], time);
+            }
+            bl.getLoadVectors(dofs, dof_currentdata, dof_data, lo, hi);
+            sl.getConcentrations(dofs, dof_currentdata, dof_data, concentration, lo, hi);
+            for (int i = lo; i < hi; i++) {
+                completeBoundaryCondition(dofs[i], time, concentration[i]);
+            }
+        }));
+        statistics.end(ModelStatistics.Phase.BOUNDARY_CONDITIONS, begin);
+    }
+
     @Override
     public final void setBoundaryCondition(DOF dof, double t) {
+        prepareBoundaryCondition(dof, t);
+        final int i = dof.number;
+        dof_data[i].bedloadVector = bl.getLoadVector(dof, dof_currentdata[i], dof_data[i]);
+        completeBoundaryCondition(dof, t, sl.getConcentration(dof, dof_currentdata[i], dof_data[i]));
+    }
+
+    /** Randbedingungen und Sohlzustand des Knotens vor der Auswertung der Transportformeln */
+    private void prepareBoundaryCondition(DOF dof, double t) {
 
         final int i = dof.number;
         SedimentModel2DData smd = dof_data[i];
@@ -1251,8 +1247,19 @@ public class SedimentModel2D extends TimeDependentFEApproximation implements FEM
         if (smd.zh <= smd.z)
             smd.z = smd.zh;
         smd.lambda = Function.min(1, Function.max(0., smd.zh - smd.z) / smd.bound);
+    }
 
-        smd.bedloadVector = bl.getLoadVector(dof);
+    /**
+     * Randbedingungen des Knotens nach der Auswertung der Transportformeln
+     *
+     * @param concentration Gleichgewichtskonzentration der Suspensionsfracht [m**3/m**3]
+     */
+    private void completeBoundaryCondition(DOF dof, double t, double concentration) {
+
+        final int i = dof.number;
+        SedimentModel2DData smd = dof_data[i];
+
+        final CurrentModel2DData cmd = dof_currentdata[i];
 
         if (smd.bconc != null) {
             smd.sC = smd.bconc.getValue(t);
@@ -1263,7 +1270,7 @@ public class SedimentModel2D extends TimeDependentFEApproximation implements FEM
         if (smd.sC < 0.)
             smd.sC = 0.;
 
-        smd.sedimentSource = getSourceSunk(dof, smd.sC, sl.getConcentration(dof));
+        smd.sedimentSource = getSourceSunk(dof, smd.sC, concentration);
 
         smd.qsx = smd.sC * cmd.u * cmd.totaldepth; // suspendet Load in Richtung der tiefenintegrierten
                                                    // Stroemungsgeschwindigkeit
@@ -1302,7 +1309,7 @@ public class SedimentModel2D extends TimeDependentFEApproximation implements FEM
 
         for (BoundaryCondition bcond : bsc) {
             if (dofnumber == bcond.pointnumber) {
-                data.bconc = bcond.function;
+                data.bconc = boundaryValues.register(bcond.function);
                 bsc.remove(bcond);
                 break;
             }
@@ -1310,7 +1317,7 @@ public class SedimentModel2D extends TimeDependentFEApproximation implements FEM
 
         for (BoundaryCondition bcond : bz) {
             if (dofnumber == bcond.pointnumber) {
-                data.bz = bcond.function;
+                data.bz = boundaryValues.register(bcond.function);
                 bz.remove(bcond);
                 break;
             }
@@ -1318,14 +1325,14 @@ public class SedimentModel2D extends TimeDependentFEApproximation implements FEM
 
         for (BoundaryCondition bcond : bd50) {
             if (dofnumber == bcond.pointnumber) {
-                data.bd50 = bcond.function;
+                data.bd50 = boundaryValues.register(bcond.function);
                 bd50.remove(bcond);
                 break;
             }
         }
 
         // ToDo alle randknoten suchen - Christoph fragen
-        if (dofnumber < ((FTriangleMesh) fenet).anzr) {
+        if (fenet.getDOFFileNumber(dofnumber) < ((FTriangleMesh) fenet).anzr) {
             if (data.bz == null) {
                 data.extrapolate_z = true;
             }
@@ -1422,9 +1429,9 @@ public class SedimentModel2D extends TimeDependentFEApproximation implements FEM
                 for (int i = 0; i < anzk; i++) {
                     // Punktnummer lesen
                     if (writePointNumbers)
-                        nr = bin_in.fbinreadint();
+                        nr = fenet.getDOFNumber(bin_in.fbinreadint());
                     else
-                        nr = i;
+                        nr = fenet.getDOFNumber(i);
 
                     // x,y,s lesen
                     x = bin_in.fbinreaddouble();
@@ -1513,7 +1520,7 @@ public class SedimentModel2D extends TimeDependentFEApproximation implements FEM
 
                 // System.out.println(""+line+"\n");
                 if (!line.startsWith("C")) {
-                    knoten_nr = Integer.parseInt(strto.nextToken());
+                    knoten_nr = fenet.getDOFNumber(Integer.parseInt(strto.nextToken()));
                     x = Double.parseDouble(strto.nextToken());
                     y = Double.parseDouble(strto.nextToken());
                     try {
@@ -1626,9 +1633,9 @@ public class SedimentModel2D extends TimeDependentFEApproximation implements FEM
                 for (int i = 0; i < anzk; i++) {
                     // Punktnummer lesen
                     if (writePointNumbers)
-                        nr = bin_in.fbinreadint();
+                        nr = fenet.getDOFNumber(bin_in.fbinreadint());
                     else
-                        nr = i;
+                        nr = fenet.getDOFNumber(i);
 
                     // x,y,s lesen
                     x = bin_in.fbinreaddouble();
@@ -1761,7 +1768,7 @@ public class SedimentModel2D extends TimeDependentFEApproximation implements FEM
                 strto = new StringTokenizer(line, " \t\n\r\f,");
 
                 if (!line.startsWith("C")) {
-                    final int nr = Integer.parseInt(strto.nextToken());
+                    final int nr = fenet.getDOFNumber(Integer.parseInt(strto.nextToken()));
                     /* final double x=Double.parseDouble( */strto.nextToken()/* ) */;
                     // parse x
                     /* final double y=Double.parseDouble( */strto.nextToken()/* ) */; // parse y
@@ -1912,9 +1919,9 @@ public class SedimentModel2D extends TimeDependentFEApproximation implements FEM
                 for (int i = 0; i < anzk; i++) {
                     // Punktnummer lesen
                     if (writePointNumbers)
-                        nr = bin_in.fbinreadint();
+                        nr = fenet.getDOFNumber(bin_in.fbinreadint());
                     else
-                        nr = i;
+                        nr = fenet.getDOFNumber(i);
 
                     // x,y,s lesen
                     x = bin_in.fbinreaddouble();
@@ -2067,7 +2074,8 @@ public class SedimentModel2D extends TimeDependentFEApproximation implements FEM
             inStream.skip((4L + anzKnoten * anzWerte * 4L) * record);
 
             inStream.readFloat(); // time
-            for (int i = 0; i < fenet.getNumberofDOFs(); i++) {
+            for (int k = 0; k < fenet.getNumberofDOFs(); k++) {
+                final int i = fenet.getDOFNumber(k); // Knoten k der Datei
 
                 if (None_gesetzt)
                     inStream.skip(4);
@@ -2291,6 +2299,7 @@ public class SedimentModel2D extends TimeDependentFEApproximation implements FEM
             beta1 = -omega;
         }
 
+        final WaveHYPModel2DData[] wave_data = waveCoupling.get();
         Arrays.stream(fenet.getDOFs()).parallel().forEach(dof -> {
             final int j = dof.number;
             SedimentModel2DData smd = dof_data[j];
@@ -2387,7 +2396,7 @@ public class SedimentModel2D extends TimeDependentFEApproximation implements FEM
             double tauBx = cmd.tauBx;
             double tauBy = cmd.tauBy;
             final double waveBreaking; // energyloss by wavebreaking
-            WaveHYPModel2DData wmd = WaveHYPModel2DData.extract(dof);
+            WaveHYPModel2DData wmd = (wave_data == null) ? null : wave_data[j];
             if (wmd != null) {
                 double twX = wmd.taubX / 2.; // ! Wave induced mean bottomshearstress = maximal bottomshearstress / 2. !
                 double twY = wmd.taubY / 2.;
@@ -33,7 +33,7 @@ import java.util.*;
 
 /**
  * @author Peter Milbradt
- * @version 4.9.3
+ * @version 4.10.0
  */
 public class SedimentModel2DData extends SedimentProperties implements ModelData {
 
@@ -208,6 +208,51 @@ public class SedimentModel2DData extends SedimentProperties implements ModelData
                 * PhysicalParameters.G * d50;
     }
 
+    // nur von der Korngroesze abhaengige Groeszen der Transportformeln, werden erst bei einer Aenderung von d50 neu bestimmt
+    private double grainD50 = Double.NaN; // d50 zu dem die Werte bestimmt wurden
+    private double dstar; // dimensionsloser Korndurchmesser nach van Rijn
+    private double dstarPow0_3; // dstar^0.3
+    private double shieldsVanRijn; // kritischer Shieldsparameter nach van Rijn (1984)
+    private double d50Pow1_5; // d50^1.5
+    private double d50Pow3; // d50^3
+
+    private void updateGrainConstants() {
+        final double del = (PhysicalParameters.RHO_SEDIM - PhysicalParameters.RHO_WATER) / PhysicalParameters.RHO_WATER;
+        dstar = d50 * Math.cbrt(del * PhysicalParameters.G / PhysicalParameters.KINVISCOSITY_WATER / PhysicalParameters.KINVISCOSITY_WATER);
+        dstarPow0_3 = Math.pow(dstar, 0.3);
+        shieldsVanRijn = BedLoad2DvanRijn84.shld(dstar);
+        d50Pow1_5 = Math.pow(d50, 1.5);
+        d50Pow3 = Math.pow(d50, 3.);
+        grainD50 = d50;
+    }
+
+    /** @return dimensionsloser Korndurchmesser nach van Rijn */
+    final double getDstar() {
+        if (d50 != grainD50) updateGrainConstants();
+        return dstar;
+    }
+
+    final double getDstarPow0_3() {
+        if (d50 != grainD50) updateGrainConstants();
+        return dstarPow0_3;
+    }
+
+    /** @return kritischer Shieldsparameter nach van Rijn (1984) */
+    final double getCriticalShieldsVanRijn() {
+        if (d50 != grainD50) updateGrainConstants();
+        return shieldsVanRijn;
+    }
+
+    final double getD50Pow1_5() {
+        if (d50 != grainD50) updateGrainConstants();
+        return d50Pow1_5;
+    }
+
+    final double getD50Pow3() {
+        if (d50 != grainD50) updateGrainConstants();
+        return d50Pow3;
+    }
+
     /**
      * critical depth-averaged velocity for initiation of suspesion (Soulsby 1997)
      * 
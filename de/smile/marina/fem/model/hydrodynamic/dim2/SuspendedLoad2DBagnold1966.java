@@ -52,10 +52,8 @@ public class SuspendedLoad2DBagnold1966 implements SuspendedLoad2DFormulation {
      * @return  in [m**3/m**3]
      */
     @Override
-    public double getConcentration/*OriginalOptimiert*/(DOF dof) {
+    public double getConcentration/*OriginalOptimiert*/(DOF dof, CurrentModel2DData cmd, SedimentModel2DData smd) {
 
-        SedimentModel2DData smd = SedimentModel2DData.extract(dof);
-        final CurrentModel2DData cmd = CurrentModel2DData.extract(dof);
         final double nonTotalepth = (cmd.totaldepth < CurrentModel2D.WATT) ? CurrentModel2D.WATT : cmd.totaldepth;
 
         double tauB = Function.norm(cmd.tauBx, cmd.tauBy);
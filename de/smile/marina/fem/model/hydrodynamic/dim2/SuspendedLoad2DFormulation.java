@@ -27,7 +27,7 @@ import de.smile.marina.fem.DOF;
 
 /**
  * @author Peter Milbradt
- * @version 1.8.13
+ * @version 1.9.0
  */
 public interface SuspendedLoad2DFormulation {
     /** maximal volume concentration [m**3/m**3] */
@@ -66,5 +66,33 @@ public interface SuspendedLoad2DFormulation {
      * @param dof the degree of freedom to sample.
      * @return mean volume concentration [m**3/m**3] at the specified degree of freedom.
      */
-    public double getConcentration (DOF dof);
+    public default double getConcentration (DOF dof) {
+        return getConcentration(dof, CurrentModel2DData.extract(dof), SedimentModel2DData.extract(dof));
+    }
+
+    /**
+     * mean volume concentration [m**3/m**3] with the model data of the node already at hand
+     *
+     * @param dof the degree of freedom to sample.
+     * @param cmd current data of the node
+     * @param smd sediment data of the node
+     * @return mean volume concentration [m**3/m**3] at the specified degree of freedom.
+     */
+    public double getConcentration (DOF dof, CurrentModel2DData cmd, SedimentModel2DData smd);
+
+    /**
+     * mean volume concentrations for the nodes lo to hi-1 of node arrays indexed in the same way
+     *
+     * @param dofs
+     * @param cmd
+     * @param smd
+     * @param c concentrations
+     * @param lo first index
+     * @param hi last index + 1
+     */
+    public default void getConcentrations(DOF[] dofs, CurrentModel2DData[] cmd, SedimentModel2DData[] smd, double[] c, int lo, int hi) {
+        for (int i = lo; i < hi; i++) {
+            c[i] = getConcentration(dofs[i], cmd[i], smd[i]);
+        }
+    }
 }
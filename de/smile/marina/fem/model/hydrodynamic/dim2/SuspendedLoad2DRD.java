@@ -38,11 +38,10 @@ public class SuspendedLoad2DRD implements SuspendedLoad2DFormulation {
     static final double BATTJESKOEFF =     0.2; // Turbulenzkoeffizient infolge Wellenbrechen	
     
     @Override
-    public double getConcentration(DOF dof) {
+    public double getConcentration(DOF dof, CurrentModel2DData currentmodeldata, SedimentModel2DData smd) {
         
         double  konzmax     = 0.0;
         
-        CurrentModel2DData  currentmodeldata = CurrentModel2DData.extract(dof);
         double cv=currentmodeldata.cv;
         final double d=currentmodeldata.totaldepth;
 
@@ -55,7 +54,6 @@ public class SuspendedLoad2DRD implements SuspendedLoad2DFormulation {
                 epsilon_b = wave.epsilon_b;
             }
             
-            SedimentModel2DData smd = SedimentModel2DData.extract(dof);
             /* erzeugen von Konzentrationen infolge spontaner Erosion */
             /* meine eigene einfache Implemntierung */
             cv += (1.-1./smd.bottomslope) * smd.wc * currentmodeldata.wlambda * smd.lambda;
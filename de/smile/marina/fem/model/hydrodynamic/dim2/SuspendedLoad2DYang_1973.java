@@ -56,12 +56,10 @@ public class SuspendedLoad2DYang_1973 implements SuspendedLoad2DFormulation {
     }
 
     @Override
-    public double getConcentration(DOF dof) {
+    public double getConcentration(DOF dof, CurrentModel2DData cmd, SedimentModel2DData smd) {
 
-        SedimentModel2DData smd = SedimentModel2DData.extract(dof);
         if (smd.d50 > dTransition + dRange) return 0.;
 
-        final CurrentModel2DData cmd = CurrentModel2DData.extract(dof);
         if (cmd.totaldepth < CurrentModel2D.WATT) return 0.;
 
         final double reStar = SedimentModel2DData.getParticleReynoldsNumber(smd.d50, cmd);
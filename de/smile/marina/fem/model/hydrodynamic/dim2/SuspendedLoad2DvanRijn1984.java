@@ -47,8 +47,8 @@ public class SuspendedLoad2DvanRijn1984 implements SuspendedLoad2DFormulation {
     }
     
     @Override
-    public double getConcentration(DOF dof) {
-        return getConcentrationDelft3D(dof);
+    public double getConcentration(DOF dof, CurrentModel2DData cmd, SedimentModel2DData smd) {
+        return getConcentrationDelft3D(dof, cmd, smd);
     }
     
     public double getConcentrationPeters(DOF dof) {
@@ -70,29 +70,26 @@ public class SuspendedLoad2DvanRijn1984 implements SuspendedLoad2DFormulation {
         return rvalue;
     }
     
-    public double getConcentrationDelft3D(DOF dof) {
+    public double getConcentrationDelft3D(DOF dof, CurrentModel2DData cmd, SedimentModel2DData smd) {
         final double alf1    = 2.0;  // calibration coefficient [-]
         final double rksc    = 0.1;        // reference level van Rijn (1984) [m]
         final double smfac   = 1.; // factor for sand-mud interaction
-
-        CurrentModel2DData cmd = CurrentModel2DData.extract(dof);
-        SedimentModel2DData smd = SedimentModel2DData.extract(dof);
         
         if( cmd.totaldepth/rksc < 1.33 || cmd.cv < 1.E-3) return 0.;
         
         double d90 = smd.dmax; // oder 4 * d50 wie dies bei Delft3D vorgeschlagen wird
         
         final double del = (PhysicalParameters.RHO_SEDIM - PhysicalParameters.RHO_WATER) / PhysicalParameters.RHO_WATER;
-        final double dstar = smd.d50*Math.cbrt(del*PhysicalParameters.G/PhysicalParameters.KINVISCOSITY_WATER/PhysicalParameters.KINVISCOSITY_WATER);
+        final double dstar = smd.getDstar();
         final double rmuc = Math.pow(Math.log10(12.*cmd.totaldepth/rksc)/Math.log10(12.*cmd.totaldepth/3./d90),2.);
         final double fc = .24*Math.pow(Math.log10(12.*cmd.totaldepth/rksc), -2);
         final double tbc = .125*PhysicalParameters.RHO_WATER*fc*Math.pow(cmd.cv,2);
         final double tbce = rmuc*tbc;
-        final double thetcr = shld(dstar); // Critical Shieldsparameter
+        final double thetcr = smd.getCriticalShieldsVanRijn(); // Critical Shieldsparameter
         final double tbcr = (PhysicalParameters.RHO_SEDIM - PhysicalParameters.RHO_WATER)*PhysicalParameters.G*smd.d50*thetcr*smfac;
         double t = (tbce - tbcr)/tbcr;
         if (t<.000001) return 0.;
-        double rvalue = .015*alf1*smd.d50/rksc*Math.pow(t, 1.5)/Math.pow(dstar,.3);
+        double rvalue = .015*alf1*smd.d50/rksc*Math.pow(t, 1.5)/smd.getDstarPow0_3();
         rvalue = Function.min(cmax, rvalue);
         rvalue *= Function.min(1., cmd.totaldepth/0.1);  // increasing depending on water depth
         
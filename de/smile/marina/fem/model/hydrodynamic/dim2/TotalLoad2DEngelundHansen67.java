@@ -73,7 +73,7 @@ public class TotalLoad2DEngelundHansen67 implements TotalLoad2DFormulation {
         smd.bedload = 0.05 * cmd.rho * cmd.cv / tauB 
                 * Math.pow(tauB / ((PhysicalParameters.RHO_SEDIM - cmd.rho) * PhysicalParameters.G * smd.d50),2.5)
                 * PhysicalParameters.RHO_SEDIM * PhysicalParameters.G 
-                * Math.sqrt((PhysicalParameters.RHO_SEDIM/cmd.rho-1.) * PhysicalParameters.G * Math.pow(smd.d50, 3.));
+                * Math.sqrt((PhysicalParameters.RHO_SEDIM/cmd.rho-1.) * PhysicalParameters.G * smd.getD50Pow3());
         smd.bedload *= smd.lambda;
         smd.bedload /= PhysicalParameters.RHO_SEDIM * PhysicalParameters.G;
         
@@ -121,7 +121,7 @@ public class TotalLoad2DEngelundHansen67 implements TotalLoad2DFormulation {
         totalLoad = 0.05 * cmd.rho * cmd.cv * cmd.cv / tauB 
                 * Math.pow(tauB / ((PhysicalParameters.RHO_SEDIM - cmd.rho) * PhysicalParameters.G * smd.d50),2.5)
                 * PhysicalParameters.RHO_SEDIM * PhysicalParameters.G 
-                * Math.sqrt((PhysicalParameters.RHO_SEDIM/cmd.rho-1.) * PhysicalParameters.G * Math.pow(smd.d50, 3.));
+                * Math.sqrt((PhysicalParameters.RHO_SEDIM/cmd.rho-1.) * PhysicalParameters.G * smd.getD50Pow3());
         totalLoad *= smd.lambda;
         totalLoad /= PhysicalParameters.RHO_SEDIM * PhysicalParameters.G;
         
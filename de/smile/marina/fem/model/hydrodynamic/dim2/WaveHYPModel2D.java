@@ -38,10 +38,12 @@ import de.smile.marina.fem.ModelData;
 import de.smile.marina.fem.TicadModel;
 import de.smile.marina.fem.TimeDependentFEApproximation;
 import de.smile.marina.fem.model.hydrodynamic.dim3.CurrentModel3DData;
-import de.smile.marina.fem.model.hydrodynamic.wave.WaveFunction;
+import de.smile.marina.fem.model.hydrodynamic.wave.DispersionRelation;
 import de.smile.marina.fem.model.meteorology.MeteorologyData2D;
 import de.smile.marina.io.RandN_Reader;
 import de.smile.marina.io.TicadIO;
+import de.smile.marina.io.TicadResultReader;
+import de.smile.marina.io.TicadResultWriter;
 import de.smile.math.Function;
 import java.io.*;
 import static java.lang.Math.PI;
@@ -52,12 +54,12 @@ import java.util.*;
  * 2-dimensional hyperbolic wave equations
  *
  * @author Peter Milbradt
- * @version 4.6.0
+ * @version 4.6.1
  */
 public class WaveHYPModel2D extends TimeDependentFEApproximation implements FEModel, TicadModel, TimeDependentModel {
 
     // File Streams
-    private DataOutputStream xf_os = null;
+    private TicadResultWriter xf_os = null;
     WaveHYPModel2DData[] dof_data = null;
     WaveHYPElementData[] element_data = null;
     ArrayList<DOF> bcs = new ArrayList<>();
@@ -109,9 +111,8 @@ public class WaveHYPModel2D extends TimeDependentFEApproximation implements FEMo
 
         try {
             System.out.println("\tOpen result file: "+ wavehypdat.xferg_name);
-            xf_os = new DataOutputStream(new FileOutputStream(wavehypdat.xferg_name));
-            // Setzen der Ergebnismaske 
-            TicadIO.write_xf(xf_os, this );
+            // Setzen der Ergebnismaske
+            xf_os = new TicadResultWriter(wavehypdat.xferg_name, this);
         } catch (FileNotFoundException e) {
             System.out.println("The file "+ wavehypdat.xferg_name + " cannot be opened");
             System.out.println(e.getMessage());
@@ -143,105 +144,38 @@ public class WaveHYPModel2D extends TimeDependentFEApproximation implements FEMo
 
         System.out.println("\tRead inital values from result file " + waveergPath);
         //erstes Durchscannen
-        File sysergFile = new File(waveergPath);
-        try (FileInputStream stream = new FileInputStream(sysergFile); DataInputStream inStream = new DataInputStream(stream)) {
-
-            // Kommentar lesen, bis ASCII-Zeichen 7 kommt
-            int c;
-            do {
-                c = inStream.readByte();
-            } while (c != 7);
-            // Ende Kommentar
-
-            //Anzahl Elemente, Knoten und Rand lesen
-            int anzKnoten = inStream.readInt();
+        try (TicadResultReader reader = new TicadResultReader(waveergPath)) {
+
+            // Anzahl Knoten pruefen
+            int anzKnoten = reader.getNumberOfNodes();
             if (fenet.getNumberofDOFs() != anzKnoten) {
                 System.out.println("Die Datei mit den Startwerten hat andere Anzahl von Knoten");
                 System.exit(1);
             }
-            final int anzr = inStream.readInt();
-            final int anzElemente = inStream.readInt();
-
-            //ueberlesen folgende Zeilen
-            inStream.skip(9 * 4);
-
-            //Ergebnismaske lesen und auswerten
-            final int ergMaske = inStream.readInt();
-            final int anzWerte = TicadIO.ergMaskeAuswerten(ergMaske);
 
-            final boolean None_gesetzt = ((ergMaske & TicadIO.HRES_NONE) == TicadIO.HRES_NONE);
-            final boolean Pos_gesetzt = ((ergMaske & TicadIO.HRES_POS) == TicadIO.HRES_POS);
-            final boolean Z_gesetzt = ((ergMaske & TicadIO.HRES_Z) == TicadIO.HRES_Z);
-            final boolean V_gesetzt = ((ergMaske & TicadIO.HRES_V) == TicadIO.HRES_V);              // entspricht wellenzahlvektor
-            final boolean Q_gesetzt = ((ergMaske & TicadIO.HRES_Q) == TicadIO.HRES_Q);
-            final boolean H_gesetzt = ((ergMaske & TicadIO.HRES_H) == TicadIO.HRES_H);              // entspricht wellenhoehe
-            final boolean SALT_gesetzt = ((ergMaske & TicadIO.HRES_SALT) == TicadIO.HRES_SALT);     // Energie des Wellenbrechens
-            final boolean EDDY_gesetzt = ((ergMaske & TicadIO.HRES_EDDY) == TicadIO.HRES_EDDY);     // wellenpriode
-            final boolean SHEAR_gesetzt = ((ergMaske & TicadIO.HRES_SHEAR) == TicadIO.HRES_SHEAR);  // vektor der orbitalgeschwindigkeiten
-            final boolean V_SCAL_gesetzt = ((ergMaske & TicadIO.HRES_V_SCAL) == TicadIO.HRES_V_SCAL); 
-            final boolean Q_SCAL_gesetzt = ((ergMaske & TicadIO.HRES_Q_SCAL) == TicadIO.HRES_Q_SCAL);
-            final boolean AH_gesetzt = ((ergMaske & TicadIO.HRES_AH) == TicadIO.HRES_AH);           
+            final boolean V_gesetzt = reader.contains(TicadIO.HRES_V);
+            final boolean H_gesetzt = reader.contains(TicadIO.HRES_H);
+            final boolean EDDY_gesetzt = reader.contains(TicadIO.HRES_EDDY);
 
-            inStream.readInt();
-
-            //Elemente, Rand und Knoten ueerlesen
-            inStream.skip((anzElemente * 4L + anzr + 3L * anzKnoten) * 4L); //4 Bytes je float und int    
-
-            // bis zum record-Satz springen
-            inStream.skip((4L + anzKnoten * anzWerte * 4L) * record);
+            // Satz lesen
+            final TicadResultReader.Record erg = reader.getRecord(record);
 
             double wh = 0., wp = 0., wlx = 1., wly = 1.;
 
-            inStream.readFloat(); // read time
+            erg.getTime(); // read time
             for (int i = 0; i < fenet.getNumberofDOFs(); i++) {
 
-                if (None_gesetzt) {
-                    inStream.skip(4);
-                }
-
-                if (Pos_gesetzt) {
-                    inStream.skip(4);
-                }
-
-                if (Z_gesetzt) {
-                    inStream.skip(4);
-                }
-
                 if (V_gesetzt) {
-                    wlx = inStream.readFloat();
-                    wly = inStream.readFloat();
-                }
-
-                if (Q_gesetzt) {
-                    inStream.skip(8);
+                    wlx = erg.getValue(i, TicadIO.HRES_V, 0);
+                    wly = erg.getValue(i, TicadIO.HRES_V, 1);
                 }
 
                 if (H_gesetzt) {
-                    wh = inStream.readFloat();
-                }
-
-                if (SALT_gesetzt) {
-                    inStream.skip(4);
+                    wh = erg.getValue(i, TicadIO.HRES_H);
                 }
 
                 if (EDDY_gesetzt) {
-                    wp = inStream.readFloat();
-                }
-
-                if (SHEAR_gesetzt) {
-                    inStream.skip(8);
-                }
-
-                if (V_SCAL_gesetzt) {
-                    inStream.skip(4);
-                }
-
-                if (Q_SCAL_gesetzt) {
-                    inStream.skip(4);
-                }
-
-                if (AH_gesetzt) {
-                    inStream.skip(4);
+                    wp = erg.getValue(i, TicadIO.HRES_EDDY);
                 }
 
                 double wl = Math.sqrt(wlx * wlx + wly * wly);
@@ -415,7 +349,7 @@ public class WaveHYPModel2D extends TimeDependentFEApproximation implements FEMo
             totaldepth = Math.max(0., depth + current3D.eta);
         }
 
-        wnumber = WaveFunction.WaveNumber(totaldepth, waveData.sigma);
+        wnumber = DispersionRelation.waveNumber(totaldepth, waveData.sigma);
 
         k[0] = wnumber * costheta;    // kx
         k[1] = wnumber * sintheta;    // ky
@@ -959,7 +893,7 @@ public class WaveHYPModel2D extends TimeDependentFEApproximation implements FEMo
             wavehyp.sigmaA += wavehyp.kx*current.u+wavehyp.ky*current.v; // absolut angular frequency
 
 // ToDo   Wellenlaenge aendern auf Grund der Stroemung
-        wavehyp.kres = WaveFunction.WaveNumber(Math.max(WATT, totaldepth), wavehyp.sigma);
+        wavehyp.kres = DispersionRelation.waveNumber(Math.max(WATT, totaldepth), wavehyp.sigma);
         // Wavenumber with Diffraction ! funktioniert so nicht !
 //        final double deltaStar = 1./ Math.max(wavehyp.wa, WATT) * Function.norm(wavehyp.dwa2dx2, wavehyp.dwa2dy2) * wavehyp.wlambda;
 //        wavehyp.kres = Math.sqrt(wavehyp.kres*wavehyp.kres+deltaStar);
@@ -1136,12 +1070,12 @@ public class WaveHYPModel2D extends TimeDependentFEApproximation implements FEMo
                 DOF dof = fenet.getDOF(nummern[i]);
                 bcs.add(dof);
                 WaveHYPModel2DData wavehyp = WaveHYPModel2DData.extract(dof);
-                wavehyp.bwa = fkt[0];
+                wavehyp.bwa = boundaryValues.register(fkt[0]);
                 wavehyp.btheta = fkt[1];
-                wavehyp.bsigma = fkt[2];
+                wavehyp.bsigma = boundaryValues.register(fkt[2]);
 
-                wavehyp.bsintheta = fkt[3];
-                wavehyp.bcostheta = fkt[4];
+                wavehyp.bsintheta = boundaryValues.register(fkt[3]);
+                wavehyp.bcostheta = boundaryValues.register(fkt[4]);
 
                 wavehyp.bwa.setPeriodic(true);
                 wavehyp.btheta.setPeriodic(true);
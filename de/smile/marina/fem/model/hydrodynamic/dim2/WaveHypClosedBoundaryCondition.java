@@ -28,7 +28,7 @@ import de.smile.marina.fem.FEDecomposition;
 import de.smile.marina.fem.FEdge;
 import de.smile.marina.fem.FElement;
 import de.smile.marina.fem.FTriangle;
-import de.smile.marina.fem.model.hydrodynamic.wave.WaveFunction;
+import de.smile.marina.fem.model.hydrodynamic.wave.DispersionRelation;
 import de.smile.marina.fem.model.meteorology.MeteorologyData2D;
 import java.util.ArrayList;
 
@@ -120,7 +120,7 @@ public class WaveHypClosedBoundaryCondition {
             if (meteorologyData2D != null) {
                 if ((meteorologyData2D.windspeed > 2.) && (totaldepth > 10. * WaveHYPModel2D.WATT)) { // in den Wind ausrichten
                     wavehyp.sigma = 2. * Math.PI / (1.8 * Math.sqrt(meteorologyData2D.windspeed));
-                    wavehyp.kres = WaveFunction.WaveNumber(totaldepth, wavehyp.sigma);
+                    wavehyp.kres = DispersionRelation.waveNumber(totaldepth, wavehyp.sigma);
                     wavehyp.kx = meteorologyData2D.windx / meteorologyData2D.windspeed * wavehyp.kres;
                     wavehyp.ky = meteorologyData2D.windy / meteorologyData2D.windspeed * wavehyp.kres;
                     wavehyp.wa = 0.;
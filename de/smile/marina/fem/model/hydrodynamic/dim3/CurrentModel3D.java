@@ -56,6 +56,8 @@ import de.smile.marina.fem.model.meteorology.MeteorologyData2D;
 import de.smile.marina.io.FileIO;
 import de.smile.marina.io.SmileIO;
 import de.smile.marina.io.TicadIO;
+import de.smile.marina.io.TicadResultReader;
+import de.smile.marina.io.TicadResultWriter;
 import de.smile.math.Function;
 import java.io.*;
 import java.util.*;
@@ -69,14 +71,14 @@ import static java.lang.Math.min;
 import static java.lang.Math.sqrt;
 
 /** 3-dimensional current model with stabilized linear triangle finite elements
- * @version 4.6.0
+ * @version 4.7.1
  * @author Peter Milbradt
  */
 public class  CurrentModel3D extends SurfaceWaterModel  {
 
     private CurrentModel3DData[] dof_data=null;
     
-    private DataOutputStream xf_os = null;
+    private TicadResultWriter xf_os = null;
     
     private DataOutputStream os = null;
     private FileOutputStream fs = null;
@@ -84,6 +86,7 @@ public class  CurrentModel3D extends SurfaceWaterModel  {
     public CurrentDat currentdat;
     
     double[] tiefenverteilung;
+    CurrentModel3DProfiles profiles; // Vertikalprofile aller Knoten
     private boolean initialH=false;
     
     
@@ -104,6 +107,7 @@ public class  CurrentModel3D extends SurfaceWaterModel  {
         infiltrationRate = currentdat.infiltrationRate;
         
         dof_data= new CurrentModel3DData[fenet.getNumberofDOFs()];
+        profiles = new CurrentModel3DProfiles(fenet.getNumberofDOFs(), tiefenverteilung);
         
         readBoundCond(currentdat.rndwerteReader);
         
@@ -146,8 +150,7 @@ public class  CurrentModel3D extends SurfaceWaterModel  {
 // Ende Rauhigkeiten lesen
         
         try {
-            xf_os = new DataOutputStream(new FileOutputStream(currentdat.xferg_name));
-            TicadIO.write_xf(xf_os, this);
+            xf_os = new TicadResultWriter(currentdat.xferg_name, this);
         } catch (FileNotFoundException e) {
             System.out.println("The file "+ currentdat.xferg_name + " cannot be opened");
             System.out.println(e.getMessage());
@@ -457,15 +460,15 @@ public class  CurrentModel3D extends SurfaceWaterModel  {
                 }
 
                 int anzSch = inStream.readInt();
-                if (anzSch != cmd.f.getSizeOfValues()) {
+                if (anzSch != cmd.layers) {
                     System.out.println("\t Die Datei mit den Startwerten hat andere Anzahl von Schichten");
                     System.exit(1);
                 }
                 for (int s = 0; s < anzSch; s++) {
                     double hg = inStream.readFloat();
-                    cmd.f.setValueAt(_u, s, inStream.readFloat());
-                    cmd.f.setValueAt(_v, s, inStream.readFloat());
-                    cmd.f.setValueAt(_w, s, inStream.readFloat());
+                    cmd.setValueAt(_u, s, inStream.readFloat());
+                    cmd.setValueAt(_v, s, inStream.readFloat());
+                    cmd.setValueAt(_w, s, inStream.readFloat());
                     inStream.readFloat(); // hydrostatischen Druck ueberlesen
                 }
             }
@@ -492,90 +495,41 @@ public class  CurrentModel3D extends SurfaceWaterModel  {
         
         System.out.println("\tRead inital values from TicadSysErg-result file "+currentergPath+" (Current2D)"+" result record: "+record);
 	//erstes Durchscannen
-	File sysergFile=new File(currentergPath);
-        try (FileInputStream stream = new FileInputStream(sysergFile); DataInputStream inStream = new DataInputStream(stream)) {
-            
-            // Kommentar lesen, bis ASCII-Zeichen 7 kommt
-            int c;
-            do{
-                c = inStream.readByte();
-            }while ( c != 7 );
-            // Ende Kommentar
+        try (TicadResultReader reader = new TicadResultReader(currentergPath)) {
 
-            //Anzahl Elemente, Knoten und Rand lesen
-            int anzKnoten=inStream.readInt();
+            // Anzahl Knoten pruefen
+            int anzKnoten = reader.getNumberOfNodes();
             if (fenet.getNumberofDOFs()!=anzKnoten) {
                     System.out.println("Die Datei mit den Startwerten hat andere Anzahl von Knoten");
                     System.exit(1);
             }
-            int anzr=inStream.readInt();
-            int anzElemente=inStream.readInt();
-            
-            //Ueberlesen folgende Zeilen
-            inStream.skip(9*4);
-            
-            //Ergebnismaske lesen und auswerten
-            int ergMaske = inStream.readInt();
-            int anzWerte=TicadIO.ergMaskeAuswerten(ergMaske);
-            
-            inStream.readInt();
-            
-            //Elemente, Rand und Knoten Ueberlesen
-            inStream.skip((anzElemente*4L+anzr+3L*anzKnoten)*4L); //4 Bytes je float und int    
 
-            // bis zum record-Satz springen
-            inStream.skip((4L+anzKnoten*anzWerte*4L)*record);
+            // Satz lesen
+            final TicadResultReader.Record erg = reader.getRecord(record);
             
-            float t = inStream.readFloat(); // read time stamp
+            float t = erg.getTime(); // read time stamp
             for (int i = 0;i<fenet.getNumberofDOFs();i++){
                 
                 CurrentModel3DData cmd = dof_data[i];
                 
-                if((ergMaske & TicadIO.HRES_NONE) == TicadIO.HRES_NONE)
-                    inStream.skip(4);
-                
-                if((ergMaske & TicadIO.HRES_POS) == TicadIO.HRES_POS)
-                    inStream.skip(4);
-                
-                if((ergMaske & TicadIO.HRES_Z) == TicadIO.HRES_Z)
+                if(reader.contains(TicadIO.HRES_Z))
                     if(sysDatZ){
-                        inStream.skip(4);
                         dof_data[i].z = fenet.getDOF(i).z;
                     }else
-                        cmd.z = inStream.readFloat();
+                        cmd.z = erg.getValue(i, TicadIO.HRES_Z);
                 
-                if((ergMaske & TicadIO.HRES_V) == TicadIO.HRES_V){
-                    u_mean = inStream.readFloat();
-                    v_mean = inStream.readFloat();
-                    for(int s=0; s<cmd.f.getSizeOfValues();s++) {
-                        cmd.f.setValueAt(_u,s,u_mean);
-                        cmd.f.setValueAt(_v,s,v_mean);
+                if(reader.contains(TicadIO.HRES_V)){
+                    u_mean = erg.getValue(i, TicadIO.HRES_V, 0);
+                    v_mean = erg.getValue(i, TicadIO.HRES_V, 1);
+                    for(int s=0; s<cmd.layers;s++) {
+                        cmd.setValueAt(_u,s,u_mean);
+                        cmd.setValueAt(_v,s,v_mean);
                     }
                 }    
-                if((ergMaske & TicadIO.HRES_Q) == TicadIO.HRES_Q)
-                    inStream.skip(8);
                 
-                if ((ergMaske & TicadIO.HRES_H) == TicadIO.HRES_H) {
-                    cmd.setWaterLevel(inStream.readFloat());
+                if (reader.contains(TicadIO.HRES_H)) {
+                    cmd.setWaterLevel(erg.getValue(i, TicadIO.HRES_H));
                 }
-                
-                if((ergMaske & TicadIO.HRES_SALT) == TicadIO.HRES_SALT)
-                    inStream.skip(4);
-                
-                if((ergMaske & TicadIO.HRES_EDDY) == TicadIO.HRES_EDDY)
-                    inStream.skip(4);
-                
-                if((ergMaske & TicadIO.HRES_SHEAR) == TicadIO.HRES_SHEAR)
-                    inStream.skip(8);
-                
-                if((ergMaske & TicadIO.HRES_V_SCAL) == TicadIO.HRES_V_SCAL)
-                    inStream.skip(4);
-                
-                if((ergMaske & TicadIO.HRES_Q_SCAL) == TicadIO.HRES_Q_SCAL)
-                    inStream.skip(4);
-                
-                if((ergMaske & TicadIO.HRES_AH) == TicadIO.HRES_AH)
-                    inStream.skip(4);	  
             }   
         } catch(IOException e){
             e.printStackTrace();
@@ -589,23 +543,23 @@ public class  CurrentModel3D extends SurfaceWaterModel  {
             CurrentModel3DData cmd = dof_data[i];
 
             if (cmd.totaldepth < WATT / 10.) { // Knoten trocken
-                for (int s = 0; s < cmd.f.getSizeOfValues(); s++) {
-                    cmd.f.setValueAt(_u, s, 0.);
-                    cmd.f.setValueAt(_v, s, 0.);
-                    cmd.f.setValueAt(_rw, s, 0.);
-                    cmd.f.setValueAt(_w, s, 0.); // Tiefenkoordinaten
-                    cmd.f.setValueAt(_qx, s, 0.);
-                    cmd.f.setValueAt(_qy, s, 0.);
+                for (int s = 0; s < cmd.layers; s++) {
+                    cmd.setValueAt(_u, s, 0.);
+                    cmd.setValueAt(_v, s, 0.);
+                    cmd.setValueAt(_rw, s, 0.);
+                    cmd.setValueAt(_w, s, 0.); // Tiefenkoordinaten
+                    cmd.setValueAt(_qx, s, 0.);
+                    cmd.setValueAt(_qy, s, 0.);
                 }
             } else {
-                for (int s = 0; s < cmd.f.getSizeOfValues(); s++) {
-                        if (cmd.z <= cmd.f.getxAt(s)) { // Geschwingikeiten unterhalb des Bodens auf 0 setzen
-                        cmd.f.setValueAt(_u, s, 0.);
-                        cmd.f.setValueAt(_v, s, 0.);
-                        cmd.f.setValueAt(_rw, s, 0.);
-                        cmd.f.setValueAt(_w, s, 0);
-                        cmd.f.setValueAt(_qx, s, 0.);
-                        cmd.f.setValueAt(_qy, s, 0.);
+                for (int s = 0; s < cmd.layers; s++) {
+                        if (cmd.z <= cmd.x[s]) { // Geschwingikeiten unterhalb des Bodens auf 0 setzen
+                        cmd.setValueAt(_u, s, 0.);
+                        cmd.setValueAt(_v, s, 0.);
+                        cmd.setValueAt(_rw, s, 0.);
+                        cmd.setValueAt(_w, s, 0);
+                        cmd.setValueAt(_qx, s, 0.);
+                        cmd.setValueAt(_qy, s, 0.);
                     }
                 }
             }
@@ -634,12 +588,16 @@ public class  CurrentModel3D extends SurfaceWaterModel  {
         int iwatt = 0;
         int dry = 0;
         int schichten=0;
+        int sTop = Integer.MAX_VALUE; // oberste Schicht im Wasserkoerper eines der Knoten
+        int sBottom = -1; // unterste Schicht oberhalb des Bodens eines der Knoten
         
         for ( int j = 0; j < 3; j++) {
             DOF dof = ele.getDOF(j);
             CurrentModel3DData current = dof_data[dof.number];
             
-            schichten=Math.max(schichten,current.f.getSizeOfValues());
+            schichten=Math.max(schichten,current.layers);
+            sTop = Math.min(sTop, current.getWetTop());
+            sBottom = Math.max(sBottom, current.getWetBottom());
             
             if (current.totaldepth < WATT) {
                 iwatt++;
@@ -654,7 +612,7 @@ public class  CurrentModel3D extends SurfaceWaterModel  {
                 int i = ele.getDOF(j).number;
                 final double w1_lambda = 1.-dof_data[i].totaldepth/halfWATT;
                 for (int s = schichten - 1; s >= 0; s--) {
-                    dof_data[i].f.setValueAt(_rw, s, dof_data[i].f.getValueAt(_rw, s) + (1.E-6+infiltrationRate) * w1_lambda); // Tiefenkoordinatensystem
+                    dof_data[i].setValueAt(_rw, s, dof_data[i].getValueAt(_rw, s) + (1.E-6+infiltrationRate) * w1_lambda); // Tiefenkoordinatensystem
                 }
             }
         } else {
@@ -845,8 +803,14 @@ public class  CurrentModel3D extends SurfaceWaterModel  {
         final double[] terms_u = new double[3];
         final double[] terms_v = new double[3];
             
-        // compute element derivations per layer
-        for(int s=schichten-1;s>=0;s--) {
+        // Schichten unterhalb des Bodens aller Knoten gehen nur mit ihrer Schichtdicke in die Tiefenmittelung ein
+        for (int s = schichten - 1; s > sBottom; s--) {
+            for (int j = 0; j < 3; j++) {
+                schichtdicke_mean[s] += dof_data[ele.getDOF(j).number].getValueAt(_layerThickness, s) / 3.;
+            }
+        }
+        // compute element derivations per layer, Schichten oberhalb der Wasseroberflaeche aller Knoten werden nicht benoetigt
+        for(int s=sBottom;s>=sTop;s--) {
 
             double udx = 0.;
             double udy = 0.;
@@ -870,30 +834,30 @@ public class  CurrentModel3D extends SurfaceWaterModel  {
                 DOF dof = ele.getDOF(j);
                 CurrentModel3DData current = dof_data[dof.number];
                  
-                u[j]=current.f.getValueAt(_u,s);
-                v[j]=current.f.getValueAt(_v,s);
-                w[j]=current.f.getValueAt(_w,s);
+                u[j]=current.getValueAt(_u,s);
+                v[j]=current.getValueAt(_v,s);
+                w[j]=current.getValueAt(_w,s);
 // oberhalb der Wasseroberflaeche 
-                if (s + 1< current.f.getSizeOfValues() && current.eta < (-current.f.getxAt(s)) && current.eta <= (-current.f.getxAt(s + 1))) {
+                if (s + 1< current.layers && current.eta < (-current.x[s]) && current.eta <= (-current.x[s + 1])) {
                     ueberWasser++;
                 }
                 // Lage der Schichtobergrenze
-                final double dh = Math.max(-current.eta, current.f.getxAt(s));
+                final double dh = Math.max(-current.eta, current.x[s]);
                 
                 if(dh>current.z) unterBoden++;
                 
-                schichtdicke_mean[s]+= current.f.getValueAt(_layerThickness, s)/3.;
+                schichtdicke_mean[s]+= current.getValueAt(_layerThickness, s)/3.;
                 aktuelletiefe[j] = Function.max(0,current.z-dh);
                 aktuelletiefemean += aktuelletiefe[j]/3.;
                 
                 u_mean+=u[j]/3.;
                 v_mean+=v[j]/3.;
                 
-                qxdx += current.f.getValueAt(_qx,s) * koeffmat[j][1];
-                qydy += current.f.getValueAt(_qy,s) * koeffmat[j][2];
+                qxdx += current.getValueAt(_qx,s) * koeffmat[j][1];
+                qydy += current.getValueAt(_qy,s) * koeffmat[j][2];
                 
-                final double uI = current.f.getValueAt(_qx,s) / ((aktuelletiefe[j] < WATT) ? WATT : aktuelletiefe[j]);
-                final double vI = current.f.getValueAt(_qy,s) / ((aktuelletiefe[j] < WATT) ? WATT : aktuelletiefe[j]);
+                final double uI = current.getValueAt(_qx,s) / ((aktuelletiefe[j] < WATT) ? WATT : aktuelletiefe[j]);
+                final double vI = current.getValueAt(_qy,s) / ((aktuelletiefe[j] < WATT) ? WATT : aktuelletiefe[j]);
                 uI_mean += uI/3.;
                 vI_mean += vI/3.;
                 
@@ -971,7 +935,7 @@ if(unterBoden<3 && ueberWasser<3){ // mindestens ein Knoten der Schicht liegt ob
             // -----------------------
             for (int j = 0; j < 3; j++) {
                 final CurrentModel3DData cmd = dof_data[ele.getDOF(j).number];
-                final double slambda =  min(1., cmd.f.getValueAt(_layerThickness,s) / CurrentModel3D.WATT);
+                final double slambda =  min(1., cmd.getValueAt(_layerThickness,s) / CurrentModel3D.WATT);
                 contieq_mean += 1./3. * (-w[j] + (qxdx + qydy)) * slambda;
             }
 
@@ -979,12 +943,12 @@ if(unterBoden<3 && ueberWasser<3){ // mindestens ein Knoten der Schicht liegt ob
                 
                 final CurrentModel3DData cmd = dof_data[ele.getDOF(j).number];
                 final double wlambda = (flood > cmd.wlambda ? flood : cmd.wlambda);
-                final double slambda =  min(1., cmd.f.getValueAt(_layerThickness,s) / CurrentModel3D.WATT);
+                final double slambda =  min(1., cmd.getValueAt(_layerThickness,s) / CurrentModel3D.WATT);
 
                 terms_u[j] = PhysicalParameters.G * dhdx * wlambda
                                 - v[j] * Coriolis
                                 + (u[j] * udx + v[j] * udy)
-                                + w[j] * cmd.f.getValueAt(_dudz,s)
+                                + w[j] * cmd.getValueAt(_dudz,s)
                                 // Reibung
                                 + cmd.bfcoeff[s] * bottomslope * u[j] / Function.max(WATT, aktuelletiefe[j])
                                 // wind
@@ -1000,7 +964,7 @@ if(unterBoden<3 && ueberWasser<3){ // mindestens ein Knoten der Schicht liegt ob
                 terms_v[j] = PhysicalParameters.G * dhdy * wlambda
                                 + u[j] * Coriolis
                                 + (u[j] * vdx + v[j] * vdy)
-                                + w[j] * cmd.f.getValueAt(_dvdz,s)
+                                + w[j] * cmd.getValueAt(_dvdz,s)
                                 // Reibung
                                 + cmd.bfcoeff[s] * bottomslope * v[j] / Function.max(WATT, aktuelletiefe[j])
                                 // wind
@@ -1013,9 +977,9 @@ if(unterBoden<3 && ueberWasser<3){ // mindestens ein Knoten der Schicht liegt ob
                                 + v[j]/Function.max(WATT, aktuelletiefe[j]) * contieq_mean * slambda
                                           ;
                 
-                impuls1_mean += 1./3. * ( cmd.f.getValueAt(_dudt,s) + terms_u[j] ) * slambda;
+                impuls1_mean += 1./3. * ( cmd.getValueAt(_dudt,s) + terms_u[j] ) * slambda;
                 
-                impuls2_mean += 1./3. * ( cmd.f.getValueAt(_dvdt,s) + terms_v[j] ) * slambda;
+                impuls2_mean += 1./3. * ( cmd.getValueAt(_dvdt,s) + terms_v[j] ) * slambda;
 
             }
             
@@ -1049,7 +1013,7 @@ if(unterBoden<3 && ueberWasser<3){ // mindestens ein Knoten der Schicht liegt ob
 
                 final CurrentModel3DData cmd = dof_data[ele.getDOF(j).number];
                 final double wlambda = (flood > cmd.wlambda ? flood : cmd.wlambda);
-                final double slambda =  min(1., cmd.f.getValueAt(_layerThickness,s) / CurrentModel3D.WATT);
+                final double slambda =  min(1., cmd.getValueAt(_layerThickness,s) / CurrentModel3D.WATT);
                 
                 // Fehlerkorrektur durchfuehren
                 double ru = -tau_cur *
@@ -1058,7 +1022,7 @@ if(unterBoden<3 && ueberWasser<3){ // mindestens ein Knoten der Schicht liegt ob
                                 + koeffmat[j][2] * v_mean * impuls1_mean
                                 ) * ele.area;
                 // tubulence-term
-                ru += astz * cmd.f.getValueAt(_du2dz2,s)/3. * ele.area;
+                ru += astz * cmd.getValueAt(_du2dz2,s)/3. * ele.area;
                 ru -= (koeffmat[j][1] * astx * udx + koeffmat[j][2] * asty * udy) * slambda * ele.area;
                 
                 double rv = -tau_cur * 
@@ -1067,7 +1031,7 @@ if(unterBoden<3 && ueberWasser<3){ // mindestens ein Knoten der Schicht liegt ob
                                 + koeffmat[j][2] * v_mean * impuls2_mean
                                 ) * ele.area;
                 // tubulence-term
-                rv += astz * cmd.f.getValueAt(_dv2dz2,s)/3. * ele.area;
+                rv += astz * cmd.getValueAt(_dv2dz2,s)/3. * ele.area;
                 rv -= (koeffmat[j][1] * astx * vdx + koeffmat[j][2] * asty * vdy) * slambda * ele.area;
                 
                 double rw = tau_cur2D * 
@@ -1082,7 +1046,7 @@ if(unterBoden<3 && ueberWasser<3){ // mindestens ein Knoten der Schicht liegt ob
                 for (int l = 0; l < 3; l++) {
                     final double wlambda_l = (flood > dof_data[ele.getDOF(l).number].wlambda ? flood : dof_data[ele.getDOF(l).number].wlambda);
                     final double vorfak =  ele.area * ((l == j) ? 1. / 6. : 1. / 12.);
-                    double gl = (l == j) ? 1. : Math.min(wlambda_l,dof_data[ele.getDOF(l).number].f.getValueAt(_layerThickness, s)/Math.max(WATT,cmd.f.getValueAt(_layerThickness, s)));
+                    double gl = (l == j) ? 1. : Math.min(wlambda_l,dof_data[ele.getDOF(l).number].getValueAt(_layerThickness, s)/Math.max(WATT,cmd.getValueAt(_layerThickness, s)));
                     
                     ru -= vorfak * terms_u[l]*gl;
                     rv -= vorfak * terms_v[l]*gl;
@@ -1109,9 +1073,9 @@ if(unterBoden<3 && ueberWasser<3){ // mindestens ein Knoten der Schicht liegt ob
                     rw -= vorfak * terms_h * glH;
                 }
                 synchronized (cmd) {
-                    cmd.f.setValueAt(_ru,s,cmd.f.getValueAt(_ru,s)+ru);
-                    cmd.f.setValueAt(_rv,s,cmd.f.getValueAt(_rv,s)+rv);
-                    cmd.f.setValueAt(_rw,s,cmd.f.getValueAt(_rw,s)+rw);
+                    cmd.setValueAt(_ru,s,cmd.getValueAt(_ru,s)+ru);
+                    cmd.setValueAt(_rv,s,cmd.getValueAt(_rv,s)+rv);
+                    cmd.setValueAt(_rw,s,cmd.getValueAt(_rw,s)+rw);
                 }
             }
             
@@ -1131,10 +1095,10 @@ if(unterBoden<3 && ueberWasser<3){ // mindestens ein Knoten der Schicht liegt ob
         int i = dof.number;
 
         CurrentModel3DData cmd = dof_data[i];
-        for (int s = 0; s < cmd.f.getSizeOfValues(); s++) {
-            cmd.f.setValueAt(_ru, s, 0.);
-            cmd.f.setValueAt(_rv, s, 0.);
-            cmd.f.setValueAt(_rw, s, 0.);
+        for (int s = 0; s < cmd.layers; s++) {
+            cmd.setValueAt(_ru, s, 0.);
+            cmd.setValueAt(_rv, s, 0.);
+            cmd.setValueAt(_rw, s, 0.);
         }
 
         cmd.puddleLambda = 0.;
@@ -1159,8 +1123,8 @@ if(unterBoden<3 && ueberWasser<3){ // mindestens ein Knoten der Schicht liegt ob
         if (cmd.bh != null) {
             cmd.setWaterLevel_synchronized(cmd.bh.getValue(t));
             cmd.detadt = cmd.bh.getDifferential(t);
-            for(int s=0;s<cmd.f.getSizeOfValues();s++) cmd.f.setValueAt(_w,s,-cmd.detadt * Math.max(0,cmd.z+Math.min(-cmd.f.getxAt(s),cmd.eta)) /Math.max(WATT, cmd.totaldepth));
-//            for (int s = 0; s < cmd.f.getSizeOfValues(); s++) cmd.f.setValueAt(_w, s, 0);
+            for(int s=0;s<cmd.layers;s++) cmd.setValueAt(_w,s,-cmd.detadt * Math.max(0,cmd.z+Math.min(-cmd.x[s],cmd.eta)) /Math.max(WATT, cmd.totaldepth));
+//            for (int s = 0; s < cmd.layers; s++) cmd.setValueAt(_w, s, 0);
         }
         
         if ((cmd.extrapolate_h || cmd.extrapolate_u || cmd.extrapolate_v) && (cmd.totaldepth > WATT)){
@@ -1181,19 +1145,19 @@ if(unterBoden<3 && ueberWasser<3){ // mindestens ein Knoten der Schicht liegt ob
                                 }
                                 if(cmd.extrapolate_u){
                                     synchronized (cmd) {
-                                        for(int s=0;s<cmd.f.getSizeOfValues();s++) {
-                                            double du = (cmd.f.getValueAt(_u,s) - tmpcdata.f.getValueAt(_u,s))/10.;
+                                        for(int s=0;s<cmd.layers;s++) {
+                                            double du = (cmd.getValueAt(_u,s) - tmpcdata.getValueAt(_u,s))/10.;
                                             if (tmpcdata.extrapolate_u)  du /= 10.;
-                                            cmd.f.setValueAt(_u,s,cmd.f.getValueAt(_u,s)-du);
+                                            cmd.setValueAt(_u,s,cmd.getValueAt(_u,s)-du);
                                         }
                                     }
                                 }
                                 if(cmd.extrapolate_v){
                                     synchronized (cmd) {
-                                        for(int s=0;s<cmd.f.getSizeOfValues();s++) {
-                                            double dv = (cmd.f.getValueAt(_v,s) - tmpcdata.f.getValueAt(_v,s))/10.;
+                                        for(int s=0;s<cmd.layers;s++) {
+                                            double dv = (cmd.getValueAt(_v,s) - tmpcdata.getValueAt(_v,s))/10.;
                                             if (tmpcdata.extrapolate_v)  dv /= 10.;
-                                            cmd.f.setValueAt(_v,s,cmd.f.getValueAt(_v,s)-dv);
+                                            cmd.setValueAt(_v,s,cmd.getValueAt(_v,s)-dv);
                                         }
                                     }
                                 }
@@ -1254,40 +1218,40 @@ if(unterBoden<3 && ueberWasser<3){ // mindestens ein Knoten der Schicht liegt ob
             cmd.bQx.update(dof_data, t); // Methode update ist nun syncronized !
 
             final double u = cmd.bQx.getValueAt(i);
-            for(int s=0;s<cmd.f.getSizeOfValues();s++) {
-                cmd.f.setValueAt(_u,s,u);
-                cmd.f.setValueAt(_dudt,s,0);
-                cmd.f.setValueAt(_w,s,0);
+            for(int s=0;s<cmd.layers;s++) {
+                cmd.setValueAt(_u,s,u);
+                cmd.setValueAt(_dudt,s,0);
+                cmd.setValueAt(_w,s,0);
             }
         }
         if (cmd.bQy != null) {
             cmd.bQy.update(dof_data, t); // Methode update ist nun syncronized !
 
             final double v = cmd.bQy.getValueAt(i);
-            for(int s=0;s<cmd.f.getSizeOfValues();s++) {
-                cmd.f.setValueAt(_v,s,v);
-                cmd.f.setValueAt(_dvdt,s,0);
-                cmd.f.setValueAt(_w,s,0);
+            for(int s=0;s<cmd.layers;s++) {
+                cmd.setValueAt(_v,s,v);
+                cmd.setValueAt(_dvdt,s,0);
+                cmd.setValueAt(_w,s,0);
             }
         }
         
         if (cmd.bu != null) {
             final double u=cmd.bu.getValue(t);
             final double dudt = cmd.bu.getDifferential(t);
-            for(int s=0;s<cmd.f.getSizeOfValues();s++) {
-                cmd.f.setValueAt(_u,s,u);
-                cmd.f.setValueAt(_dudt,s,dudt);
-                cmd.f.setValueAt(_w,s,0);
+            for(int s=0;s<cmd.layers;s++) {
+                cmd.setValueAt(_u,s,u);
+                cmd.setValueAt(_dudt,s,dudt);
+                cmd.setValueAt(_w,s,0);
             }
         }
         
         if (cmd.bv != null){
             final double v=cmd.bv.getValue(t);
             final double dvdt = cmd.bv.getDifferential(t);
-            for(int s=0;s<cmd.f.getSizeOfValues();s++) {
-                cmd.f.setValueAt(_v,s,v);
-                cmd.f.setValueAt(_dvdt,s,dvdt);
-                cmd.f.setValueAt(_w,s,0);
+            for(int s=0;s<cmd.layers;s++) {
+                cmd.setValueAt(_v,s,v);
+                cmd.setValueAt(_dvdt,s,dvdt);
+                cmd.setValueAt(_w,s,0);
             }
         }
         
@@ -1296,20 +1260,20 @@ if(unterBoden<3 && ueberWasser<3){ // mindestens ein Knoten der Schicht liegt ob
             if (cmd.bqx != null) {
                 double data_u = cmd.bqx.getValue(t) / cmd.totaldepth;
 //                double data_dudt = (cmd.bqx.getDifferential(t) - data_u *(depthdt+cmd.detadt))/data.totaldepth;
-                for (int s = 0; s < cmd.f.getSizeOfValues(); s++) {
-                    cmd.f.setValueAt(_u, s, data_u);
-//                    cmd.f.setValueAt(_dudt,s,data_dudt);
-                    cmd.f.setValueAt(_w, s, 0);
+                for (int s = 0; s < cmd.layers; s++) {
+                    cmd.setValueAt(_u, s, data_u);
+//                    cmd.setValueAt(_dudt,s,data_dudt);
+                    cmd.setValueAt(_w, s, 0);
                 }
             }
 
             if (cmd.bqy != null) {
                 double data_v = cmd.bqy.getValue(t) / cmd.totaldepth;
 //                double data_dvdt = (cmd.bqy.getDifferential(t) - data_v *(depthdt+cmd.detadt))/data.totaldepth;
-                for (int s = 0; s < cmd.f.getSizeOfValues(); s++) {
-                    cmd.f.setValueAt(_v, s, data_v);
-//                    cmd.f.setValueAt(_dvdt,s,data_dvdt);
-                    cmd.f.setValueAt(_w, s, 0);
+                for (int s = 0; s < cmd.layers; s++) {
+                    cmd.setValueAt(_v, s, data_v);
+//                    cmd.setValueAt(_dvdt,s,data_dvdt);
+                    cmd.setValueAt(_w, s, 0);
                 }
             }
         }
@@ -1323,19 +1287,19 @@ if(unterBoden<3 && ueberWasser<3){ // mindestens ein Knoten der Schicht liegt ob
 
         if (cmd.totaldepth < WATT / 10.) { // Knoten trocken
 
-            for (int s = 0; s < cmd.f.getSizeOfValues(); s++) {
+            for (int s = 0; s < cmd.layers; s++) {
                 
-                cmd.f.setValueAt(_u, s, 0.);
-                cmd.f.setValueAt(_v, s, 0.);
-                cmd.f.setValueAt(_w, s, 1.E-6); // Tiefenkoordinaten
-                cmd.f.setValueAt(_qx, s, 0.);
-                cmd.f.setValueAt(_qy, s, 0.);
-                cmd.f.setValueAt(_dudz, s, 0);
-                cmd.f.setValueAt(_dvdz, s, 0);
-                cmd.f.setValueAt(_dwdz, s, 0);
-                cmd.f.setValueAt(_du2dz2, s, 0);
-                cmd.f.setValueAt(_dv2dz2, s, 0);
-                cmd.f.setValueAt(_layerThickness, s, 0);
+                cmd.setValueAt(_u, s, 0.);
+                cmd.setValueAt(_v, s, 0.);
+                cmd.setValueAt(_w, s, 1.E-6); // Tiefenkoordinaten
+                cmd.setValueAt(_qx, s, 0.);
+                cmd.setValueAt(_qy, s, 0.);
+                cmd.setValueAt(_dudz, s, 0);
+                cmd.setValueAt(_dvdz, s, 0);
+                cmd.setValueAt(_dwdz, s, 0);
+                cmd.setValueAt(_du2dz2, s, 0);
+                cmd.setValueAt(_dv2dz2, s, 0);
+                cmd.setValueAt(_layerThickness, s, 0);
                 
                 cmd.tau_windx[s] = 0.;
                 cmd.tau_windy[s] = 0.;
@@ -1363,20 +1327,20 @@ if(unterBoden<3 && ueberWasser<3){ // mindestens ein Knoten der Schicht liegt ob
             double w = 0.;
             double sschichten = 0.;
             
-            for (int s = cmd.f.getSizeOfValues() - 1; s >= 0; s--) {
-                if (cmd.z <= cmd.f.getxAt(s)) {
+            for (int s = cmd.layers - 1; s >= 0; s--) {
+                if (cmd.z <= cmd.x[s]) {
                     // Geschwingikeiten unterhalb des Bodens auf 0 setzen
-                    cmd.f.setValueAt(_u, s, 0.);
-                    cmd.f.setValueAt(_v, s, 0.);
-                    cmd.f.setValueAt(_w, s, 0.);
-                    cmd.f.setValueAt(_qx, s, 0.);
-                    cmd.f.setValueAt(_qy, s, 0.);
-                    cmd.f.setValueAt(_dudz, s, 0);
-                    cmd.f.setValueAt(_dvdz, s, 0);
-                    cmd.f.setValueAt(_dwdz, s, 0);
-                    cmd.f.setValueAt(_du2dz2, s, 0);
-                    cmd.f.setValueAt(_dv2dz2, s, 0);
-                    cmd.f.setValueAt(_layerThickness, s, 0);
+                    cmd.setValueAt(_u, s, 0.);
+                    cmd.setValueAt(_v, s, 0.);
+                    cmd.setValueAt(_w, s, 0.);
+                    cmd.setValueAt(_qx, s, 0.);
+                    cmd.setValueAt(_qy, s, 0.);
+                    cmd.setValueAt(_dudz, s, 0);
+                    cmd.setValueAt(_dvdz, s, 0);
+                    cmd.setValueAt(_dwdz, s, 0);
+                    cmd.setValueAt(_du2dz2, s, 0);
+                    cmd.setValueAt(_dv2dz2, s, 0);
+                    cmd.setValueAt(_layerThickness, s, 0);
                     
                     cmd.tau_windx[s] = 0.;
                     cmd.tau_windy[s] = 0.;
@@ -1386,37 +1350,37 @@ if(unterBoden<3 && ueberWasser<3){ // mindestens ein Knoten der Schicht liegt ob
                 } else {
                     
                     final double d;
-                    if (s == cmd.f.getSizeOfValues() - 1)
-                        d = cmd.z - Math.max(cmd.f.getxAt(s), -cmd.eta);
+                    if (s == cmd.layers - 1)
+                        d = cmd.z - Math.max(cmd.x[s], -cmd.eta);
                     else
-                        d = Function.max(0., Function.min(cmd.f.getxAt(s + 1), cmd.z) - Function.max(cmd.f.getxAt(s), -cmd.eta));
+                        d = Function.max(0., Function.min(cmd.x[s + 1], cmd.z) - Function.max(cmd.x[s], -cmd.eta));
                     
-                    qx += d * cmd.f.getValueAt(_u, s);
-                    qy += d * cmd.f.getValueAt(_v, s);
-                    cmd.f.setValueAt(_qx, s, qx);
-                    cmd.f.setValueAt(_qy, s, qy);
+                    qx += d * cmd.getValueAt(_u, s);
+                    qy += d * cmd.getValueAt(_v, s);
+                    cmd.setValueAt(_qx, s, qx);
+                    cmd.setValueAt(_qy, s, qy);
                     
-                    cmd.f.setValueAt(_dudz, s, cmd.f.centralDifference(_u, s));
-                    cmd.f.setValueAt(_dvdz, s, cmd.f.centralDifference(_v, s));
-                    cmd.f.setValueAt(_dwdz, s, cmd.f.centralDifference(_w, s));
-                    cmd.f.setValueAt(_du2dz2, s, cmd.f.secondDifference(_u, s));
-                    cmd.f.setValueAt(_dv2dz2, s, cmd.f.secondDifference(_v, s));
+                    cmd.setValueAt(_dudz, s, cmd.centralDifference(_u, s));
+                    cmd.setValueAt(_dvdz, s, cmd.centralDifference(_v, s));
+                    cmd.setValueAt(_dwdz, s, cmd.centralDifference(_w, s));
+                    cmd.setValueAt(_du2dz2, s, cmd.secondDifference(_u, s));
+                    cmd.setValueAt(_dv2dz2, s, cmd.secondDifference(_v, s));
                     
                     
-                    double dh = cmd.f.getxAt(s);
+                    double dh = cmd.x[s];
                     if (-dh > cmd.eta) {
                         dh = -cmd.eta; // Schicht an der Wasseroberflaeche
                     }
                     final double aktuelletiefe = max(0, cmd.z - dh);
                     
                     double schichtdicke;
-                    if (s < cmd.f.getSizeOfValues() - 1) {
-                        schichtdicke = Math.min(Math.max(0, cmd.f.getxAt(s + 1) - dh), aktuelletiefe);
+                    if (s < cmd.layers - 1) {
+                        schichtdicke = Math.min(Math.max(0, cmd.x[s + 1] - dh), aktuelletiefe);
                     } else {
                         // Unterste Schicht
                         schichtdicke = aktuelletiefe;
                     }
-                    cmd.f.setValueAt(_layerThickness, s, schichtdicke);
+                    cmd.setValueAt(_layerThickness, s, schichtdicke);
 
                     final double uI = qx / ((aktuelletiefe < WATT) ? WATT : aktuelletiefe);
                     final double vI = qy / ((aktuelletiefe < WATT) ? WATT : aktuelletiefe);
@@ -1426,7 +1390,7 @@ if(unterBoden<3 && ueberWasser<3){ // mindestens ein Knoten der Schicht liegt ob
                         cmd.bfcoeff[s] = (PhysicalParameters.KINVISCOSITY_WATER+PhysicalParameters.G / Function.sqr(Function.max(5.,18.*Math.log10(12.*((aktuelletiefe < 0.1) ? 0.1 : aktuelletiefe)/Function.max(cmd.ks,CurrentModel2DData.Strickler2Nikuradse(cmd.kst))))) * Function.norm(uI,vI)) * Function.pow3(schichtdicke /((aktuelletiefe < WATT) ? WATT : aktuelletiefe)); //Colebrooks / Nikuradse
                     } else{
                         // Strickler
-                        cmd.bfcoeff[s] = (PhysicalParameters.KINVISCOSITY_WATER+PhysicalParameters.G / cmd.kst / cmd.kst / Math.cbrt((aktuelletiefe < .1) ? .1 : aktuelletiefe) * Function.norm(uI,vI,cmd.f.getValueAt(_w, s))) * Function.pow4(schichtdicke /((aktuelletiefe < WATT) ? WATT : aktuelletiefe));
+                        cmd.bfcoeff[s] = (PhysicalParameters.KINVISCOSITY_WATER+PhysicalParameters.G / cmd.kst / cmd.kst / Math.cbrt((aktuelletiefe < .1) ? .1 : aktuelletiefe) * Function.norm(uI,vI,cmd.getValueAt(_w, s))) * Function.pow4(schichtdicke /((aktuelletiefe < WATT) ? WATT : aktuelletiefe));
                     }
                     /* wind stress koeffizient */
                     if (cmd.totaldepth > WATT) {
@@ -1439,9 +1403,9 @@ if(unterBoden<3 && ueberWasser<3){ // mindestens ein Knoten der Schicht liegt ob
                     if (sschichten < 1.) {
                         if (sschichten + schichtdicke >= 1.) schichtdicke = 1. - sschichten;
                         sschichten += schichtdicke;
-                        u += cmd.f.getValueAt(_u, s) * schichtdicke;
-                        v += cmd.f.getValueAt(_v, s) * schichtdicke;
-                        w += cmd.f.getValueAt(_w, s) * schichtdicke;
+                        u += cmd.getValueAt(_u, s) * schichtdicke;
+                        v += cmd.getValueAt(_v, s) * schichtdicke;
+                        w += cmd.getValueAt(_w, s) * schichtdicke;
                     }
                 }
             }
@@ -1488,13 +1452,13 @@ if(unterBoden<3 && ueberWasser<3){ // mindestens ein Knoten der Schicht liegt ob
     // ----------------------------------------------------------------------
     @Override
     public ModelData genData(DOF dof){
-        CurrentModel3DData data = new CurrentModel3DData(dof, this.tiefenverteilung);
+        CurrentModel3DData data = new CurrentModel3DData(dof, profiles);
         int dofnumber = dof.number;
         dof_data[dofnumber]=data;
         
         for(BoundaryCondition bcond : bqx){
             if (dofnumber == bcond.pointnumber) {
-                data.bqx = bcond.function;
+                data.bqx = boundaryValues.register(bcond.function);
                 bqx.remove(bcond);
                 data.boundary = true;
                 break;
@@ -1503,7 +1467,7 @@ if(unterBoden<3 && ueberWasser<3){ // mindestens ein Knoten der Schicht liegt ob
         
         for(BoundaryCondition bcond : bqy){
             if (dofnumber == bcond.pointnumber) {
-                data.bqy = bcond.function;
+                data.bqy = boundaryValues.register(bcond.function);
                 bqy.remove(bcond);
                 data.boundary = true;
                 break;
@@ -1512,7 +1476,7 @@ if(unterBoden<3 && ueberWasser<3){ // mindestens ein Knoten der Schicht liegt ob
 
         for(BoundaryCondition bcond : bu){
             if (dofnumber == bcond.pointnumber) {
-                data.bu = bcond.function;
+                data.bu = boundaryValues.register(bcond.function);
                 bu.remove(bcond);
                 data.boundary = true;
                 break;
@@ -1521,7 +1485,7 @@ if(unterBoden<3 && ueberWasser<3){ // mindestens ein Knoten der Schicht liegt ob
 
         for(BoundaryCondition bcond : bv){
             if (dofnumber == bcond.pointnumber) {
-                data.bv = bcond.function;
+                data.bv = boundaryValues.register(bcond.function);
                 bv.remove(bcond);
                 data.boundary = true;
                 break;
@@ -1530,7 +1494,7 @@ if(unterBoden<3 && ueberWasser<3){ // mindestens ein Knoten der Schicht liegt ob
 
         for(BoundaryCondition bcond : bh){
             if (dofnumber == bcond.pointnumber) {
-                data.bh = bcond.function;
+                data.bh = boundaryValues.register(bcond.function);
                 bh.remove(bcond);
                 data.boundary = true;
                 break;
@@ -2058,27 +2022,25 @@ if(unterBoden<3 && ueberWasser<3){ // mindestens ein Knoten der Schicht liegt ob
                     os.writeFloat((float) current.tauBz); // tauZ
                 }
                 
-                int anzWerte=current.f.getSizeOfValues();
+                int anzWerte=current.layers;
                 os.writeInt(anzWerte);
                 
-                double[]  werte;
                 for(int j=0;j<anzWerte;j++) {
-                    werte=current.f.getValueAt(j);
-                    double hg=current.f.getxAt(j); //tiefe
-                    if((j!=anzWerte-1) && (-hg>current.eta) && (-current.f.getxAt(j+1)<=current.eta) && MarinaXML.release ) hg=-current.eta;
+                    double hg=current.x[j]; //tiefe
+                    if((j!=anzWerte-1) && (-hg>current.eta) && (-current.x[j+1]<=current.eta) && MarinaXML.release ) hg=-current.eta;
                     os.writeFloat((float)hg);  // tiefe
                     
                     final double p = (hg+current.eta)*0.0980665 * 100.;
                     
-                    if((((j+1<anzWerte) && (-current.f.getxAt(j+1)>current.eta))||(current.totaldepth < WATT)) && MarinaXML.release) {
+                    if((((j+1<anzWerte) && (-current.x[j+1]>current.eta))||(current.totaldepth < WATT)) && MarinaXML.release) {
                         os.writeFloat(0.f);
                         os.writeFloat(0.f);
                         os.writeFloat(0.f);
                         os.writeFloat(0.f);
                     } else {
-                        os.writeFloat((float)werte[_u]);
-                        os.writeFloat((float)werte[_v]);
-                        os.writeFloat((float)werte[_w]);
+                        os.writeFloat((float)current.getValueAt(_u,j));
+                        os.writeFloat((float)current.getValueAt(_v,j));
+                        os.writeFloat((float)current.getValueAt(_w,j));
                         os.writeFloat((float)p); // hydrostatische Druck in [kPa] - ergibt sich je 1m Wassersaeule zu 0,0980665 bar (1 bar = 10^5 Pa = 100 kPa)
                     }
                 }
@@ -2155,6 +2117,9 @@ if(unterBoden<3 && ueberWasser<3){ // mindestens ein Knoten der Schicht liegt ob
 
         setBoundaryConditions();
 
+        // Schichtbereiche im Wasserkoerper erst nach allen Randbedingungen bestimmen, da dabei auch Wasserstaende der Nachbarknoten geglaettet werden
+        Arrays.stream(dof_data).parallel().forEach(CurrentModel3DData::updateWetRange);
+
         maxTimeStep = Double.MAX_VALUE;
 
         // Elementloop
@@ -2166,37 +2131,37 @@ if(unterBoden<3 && ueberWasser<3){ // mindestens ein Knoten der Schicht liegt ob
 
             double u=0., v=0., w=0.;
             double dudt=0., dvdt=0.;
-            for (int s = currentdata.f.getSizeOfValues()-1; s >=0 ; s--) {
+            for (int s = currentdata.layers-1; s >=0 ; s--) {
 
-                if (currentdata.eta >= (-currentdata.f.getxAt(s)) || currentdata.eta <= (-currentdata.f.getxAt(s))&& (s + 1 < currentdata.f.getSizeOfValues() && currentdata.eta > (-currentdata.f.getxAt(s + 1))) || (currentdata.f.getSizeOfValues() < 2)) {
+                if (currentdata.eta >= (-currentdata.x[s]) || currentdata.eta <= (-currentdata.x[s])&& (s + 1 < currentdata.layers && currentdata.eta > (-currentdata.x[s + 1])) || (currentdata.layers < 2)) {
                    
-                    if (currentdata.z <= currentdata.f.getxAt(s)) {
+                    if (currentdata.z <= currentdata.x[s]) {
                         // Geschwingikeiten unterhalb des Bodens auf 0 setzen
-                        currentdata.f.setValueAt(_u, s, 0.);
-                        currentdata.f.setValueAt(_v, s, 0.);
-                        currentdata.f.setValueAt(_dudt, s, 0);
-                        currentdata.f.setValueAt(_dvdt, s, 0);
-                        currentdata.f.setValueAt(_rw, s, 0.);
-                        currentdata.f.setValueAt(_w, s, 0);
-                        currentdata.f.setValueAt(_qx, s, 0.);
-                        currentdata.f.setValueAt(_qy, s, 0.);
+                        currentdata.setValueAt(_u, s, 0.);
+                        currentdata.setValueAt(_v, s, 0.);
+                        currentdata.setValueAt(_dudt, s, 0);
+                        currentdata.setValueAt(_dvdt, s, 0);
+                        currentdata.setValueAt(_rw, s, 0.);
+                        currentdata.setValueAt(_w, s, 0);
+                        currentdata.setValueAt(_qx, s, 0.);
+                        currentdata.setValueAt(_qy, s, 0.);
                     } else {
-                        dudt = currentdata.f.getValueAt(_ru, s) / dof.lumpedMass;
-                        dvdt = currentdata.f.getValueAt(_rv, s) / dof.lumpedMass;
-                        w = currentdata.f.getValueAt(_rw, s) / dof.lumpedMass;
+                        dudt = currentdata.getValueAt(_ru, s) / dof.lumpedMass;
+                        dvdt = currentdata.getValueAt(_rv, s) / dof.lumpedMass;
+                        w = currentdata.getValueAt(_rw, s) / dof.lumpedMass;
                         // zusaetzlichen Stabilisierung in Anlehnung am expliziten Adams-Bashford 2. Ordnung
-                        final double ru = (3. * dudt - currentdata.f.getValueAt(_dudt, s)) / 2.;
-                        final double rv = (3. * dvdt - currentdata.f.getValueAt(_dvdt, s)) / 2.;
+                        final double ru = (3. * dudt - currentdata.getValueAt(_dudt, s)) / 2.;
+                        final double rv = (3. * dvdt - currentdata.getValueAt(_dvdt, s)) / 2.;
 
-                        currentdata.f.setValueAt(_dudt, s, dudt);
-                        currentdata.f.setValueAt(_dvdt, s, dvdt);
-                        currentdata.f.setValueAt(_w, s, w);
+                        currentdata.setValueAt(_dudt, s, dudt);
+                        currentdata.setValueAt(_dvdt, s, dvdt);
+                        currentdata.setValueAt(_w, s, w);
 
-                        u = (currentdata.f.getValueAt(_u, s) + dt * ru) * currentdata.puddleLambda;
-                        v = (currentdata.f.getValueAt(_v, s) + dt * rv) * currentdata.puddleLambda;
+                        u = (currentdata.getValueAt(_u, s) + dt * ru) * currentdata.puddleLambda;
+                        v = (currentdata.getValueAt(_v, s) + dt * rv) * currentdata.puddleLambda;
 
                         // Froude - kostet viel Zeit, ist aber bei Dammbruchsimulationen notwendig 
-                        final double aktuelletiefe = Math.max(0, currentdata.z - Math.max(-currentdata.eta, currentdata.f.getxAt(s)));
+                        final double aktuelletiefe = Math.max(0, currentdata.z - Math.max(-currentdata.eta, currentdata.x[s]));
                         if (aktuelletiefe > halfWATT / 10.) {
                             final double vg = PhysicalParameters.G * aktuelletiefe;
                             final double cv2 = u * u + v * v;
@@ -2210,13 +2175,13 @@ if(unterBoden<3 && ueberWasser<3){ // mindestens ein Knoten der Schicht liegt ob
                             v *= aktuelletiefe/(halfWATT/10.);
                         }
 
-                        currentdata.f.setValueAt(_u, s, u);
-                        currentdata.f.setValueAt(_v, s, v);
+                        currentdata.setValueAt(_u, s, u);
+                        currentdata.setValueAt(_v, s, v);
 
-                        if ((currentdata.eta >= (-currentdata.f.getxAt(s))) && (s == 0) || currentdata.eta <= (-currentdata.f.getxAt(s)) && (s + 1 < currentdata.f.getSizeOfValues() && currentdata.eta > (-currentdata.f.getxAt(s + 1)) || (currentdata.f.getSizeOfValues() < 2))) { // Wasseroberflaeche dazwischen
+                        if ((currentdata.eta >= (-currentdata.x[s])) && (s == 0) || currentdata.eta <= (-currentdata.x[s]) && (s + 1 < currentdata.layers && currentdata.eta > (-currentdata.x[s + 1]) || (currentdata.layers < 2))) { // Wasseroberflaeche dazwischen
 
                             currentdata.detadt = w;
-                            double rw = -(3. * w - currentdata.f.getValueAt(_w, s)) / 2.; // zusaetzlichen Stabilisierung in Anlehnung am expliziten Adams-Bashford 2. Ordnung
+                            double rw = -(3. * w - currentdata.getValueAt(_w, s)) / 2.; // zusaetzlichen Stabilisierung in Anlehnung am expliziten Adams-Bashford 2. Ordnung
 
                             if ((currentdata.wattsickern) && (rw > 0.)) {
                                 rw *= currentdata.wlambda;
@@ -2229,11 +2194,11 @@ if(unterBoden<3 && ueberWasser<3){ // mindestens ein Knoten der Schicht liegt ob
                    
                 } else { // Ueber der Wasseroberflaeche
                     
-                    currentdata.f.setValueAt(_u, s, u);
-                    currentdata.f.setValueAt(_v, s, v);
-                    currentdata.f.setValueAt(_dudt, s, dudt);
-                    currentdata.f.setValueAt(_dvdt, s, dvdt);
-                    currentdata.f.setValueAt(_w, s, w);
+                    currentdata.setValueAt(_u, s, u);
+                    currentdata.setValueAt(_v, s, v);
+                    currentdata.setValueAt(_dudt, s, dudt);
+                    currentdata.setValueAt(_dvdt, s, dvdt);
+                    currentdata.setValueAt(_w, s, w);
                     
                 }
                 
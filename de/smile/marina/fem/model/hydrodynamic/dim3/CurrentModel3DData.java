@@ -28,7 +28,6 @@ import de.smile.marina.fem.DOF;
 import de.smile.marina.fem.ModelData;
 import java.util.*;
 
-import bijava.math.ifunction.DiscretVectorFunction1d;
 import de.smile.marina.PhysicalParameters;
 import de.smile.marina.fem.FTriangle;
 import de.smile.marina.fem.model.hydrodynamic.dim2.Current2DElementData;
@@ -48,13 +47,19 @@ import static java.lang.Math.max;
  * as well as interacting with 2D current data representations.
  *
  * @author Peter
- * @version 4.7.2
+ * @version 4.8.0
  **/
 public class CurrentModel3DData extends SurfaceWaterModelData {
     private static int id = NO_MODEL_DATA;
     private static final long serialVersionUID = 1L;
 
-    transient DiscretVectorFunction1d f; // zustandsgroessen
+    // zustandsgroessen: Ausschnitt dieses Knotens aus dem gemeinsamen Feld aller Knoten
+    transient CurrentModel3DProfiles profiles;
+    transient double[] values; // profiles.values
+    transient int offset; // Anfang der Werte dieses Knotens in values
+    transient double[] x; // Tiefenlage der Schichten
+    transient int layers; // Anzahl der Schichten
+    transient int node; // Knotennummer in profiles
     public static final int _u=0;
     public static final int _v=1;
     public static final int _w=2; // im Tiefenkoordinatensystem
@@ -74,8 +79,7 @@ public class CurrentModel3DData extends SurfaceWaterModelData {
     public static final int _du2dz2=14;
     public static final int _dv2dz2=15;
     
-    private static final int lastIndex = _dv2dz2;
-
+    
     double[] bfcoeff; // bottom friction coefficent for each layer
     double[] tau_windx; // wind shear coefficent for each layer
     double[] tau_windy; // wind shear coefficent for each layer
@@ -89,12 +93,28 @@ public class CurrentModel3DData extends SurfaceWaterModelData {
      * @param dof
      * @param tiefenverteilung  */
     public CurrentModel3DData(DOF dof, double[] tiefenverteilung) {
+        this(dof, new CurrentModel3DProfiles(1, tiefenverteilung), 0);
+    }
+
+    /**
+     * @param dof
+     * @param profiles gemeinsames Feld der Vertikalprofile aller Knoten, indiziert ueber dof.number */
+    CurrentModel3DData(DOF dof, CurrentModel3DProfiles profiles) {
+        this(dof, profiles, dof.number);
+    }
+
+    private CurrentModel3DData(DOF dof, CurrentModel3DProfiles profiles, int node) {
         super(dof);
         id = SEARCH_MODEL_DATA;
-        f = new DiscretVectorFunction1d(lastIndex+1, tiefenverteilung);
-        bfcoeff = new double[tiefenverteilung.length];
-        tau_windx = new double[tiefenverteilung.length];
-        tau_windy = new double[tiefenverteilung.length];
+        this.profiles = profiles;
+        this.values = profiles.values;
+        this.offset = profiles.offset(node);
+        this.x = profiles.x;
+        this.layers = profiles.layers;
+        this.node = node;
+        bfcoeff = new double[layers];
+        tau_windx = new double[layers];
+        tau_windy = new double[layers];
     }
 
     public static CurrentModel3DData extract(DOF dof) {
@@ -119,6 +139,70 @@ public class CurrentModel3DData extends SurfaceWaterModelData {
         return null;
     }
     
+    /** Wert einer Zustandsgroesse in einer Schicht
+     * @param v Index der Zustandsgroesse (_u, _v, ...)
+     * @param s Schicht
+     * @return  */
+    public final double getValueAt(int v, int s) {
+        return values[offset + s * CurrentModel3DProfiles.FIELDS + v];
+    }
+
+    final void setValueAt(int v, int s, double value) {
+        values[offset + s * CurrentModel3DProfiles.FIELDS + v] = value;
+    }
+
+    /** Tiefenlage der Obergrenze einer Schicht
+     * @param s Schicht
+     * @return  */
+    public final double getxAt(int s) {
+        return x[s];
+    }
+
+    public final int getNumberOfLayers() {
+        return layers;
+    }
+
+    /** oberste Schicht im Wasserkoerper, aktualisiert mit updateWetRange() */
+    final int getWetTop() {
+        return profiles.wetTop[node];
+    }
+
+    /** unterste Schicht oberhalb des Bodens, aktualisiert mit updateWetRange() */
+    final int getWetBottom() {
+        return profiles.wetBottom[node];
+    }
+
+    final void updateWetRange() {
+        profiles.updateWetRange(node, eta, z);
+    }
+
+    /* Differenzen ueber die Schichten wie in DiscretVectorFunction1d */
+    private static final double epsilon = 0.00001;
+
+    private double frontDifference(int v, int s) {
+        if (layers < 2) return 0.;
+        if (s >= layers - 1) return rearDifference(v, layers - 1);
+        if (Math.abs(x[s + 1] - x[s]) < epsilon) return 0.;
+        return (getValueAt(v, s + 1) - getValueAt(v, s)) / (x[s + 1] - x[s]);
+    }
+
+    private double rearDifference(int v, int s) {
+        if (s <= 0) return frontDifference(v, 0);
+        if (Math.abs(x[s] - x[s - 1]) < epsilon) return 0.;
+        return (getValueAt(v, s) - getValueAt(v, s - 1)) / (x[s] - x[s - 1]);
+    }
+
+    final double centralDifference(int v, int s) {
+        return 0.5 * rearDifference(v, s) + (1.0 - 0.5) * frontDifference(v, s);
+    }
+
+    final double secondDifference(int v, int s) {
+        if (s <= 0 || s >= layers - 1) return 0.;
+        final double deltaX = x[s + 1] - x[s - 1];
+        if (Math.abs(deltaX) < epsilon) return 0.;
+        return 2.0 * (frontDifference(v, s) - rearDifference(v, s)) / deltaX;
+    }
+
     /** Bestimmt die tiefenintegrierte Geschwindigkeit
      * @return  */
     public double getU() {
@@ -139,16 +223,16 @@ public class CurrentModel3DData extends SurfaceWaterModelData {
         if (this.totaldepth >= CurrentModel3D.WATT) {
             double sschichten = 0.;
 
-            for (int s = this.f.getSizeOfValues() - 1; s >= 0 && sschichten < 1.; s--) {
+            for (int s = layers - 1; s >= 0 && sschichten < 1.; s--) {
                 //Schichtdicke
                 double schichtdicke;
-                double dh = this.f.getxAt(s);
+                double dh = x[s];
                 if (-dh >= this.eta) {
                     // Schicht an der Wasseroberflaeche
                     schichtdicke = 0.;
                 } else {
-                    if (s < this.f.getSizeOfValues() - 1) {
-                        schichtdicke = Function.min(this.f.getxAt(s + 1) - dh, Function.max(0, this.z - dh));
+                    if (s < layers - 1) {
+                        schichtdicke = Function.min(x[s + 1] - dh, Function.max(0, this.z - dh));
                     } else {
                         // Unterste Schicht
                         schichtdicke = Function.max(0, this.z - dh);
@@ -157,9 +241,9 @@ public class CurrentModel3DData extends SurfaceWaterModelData {
                 if(sschichten + schichtdicke >= 1.) schichtdicke = 1.-sschichten;
                 sschichten += schichtdicke;
                 
-                u += this.f.getValueAt(_u, s) * schichtdicke;
-                v += this.f.getValueAt(_v, s) * schichtdicke;
-                w += this.f.getValueAt(_w, s) * schichtdicke;
+                u += getValueAt(_u, s) * schichtdicke;
+                v += getValueAt(_v, s) * schichtdicke;
+                w += getValueAt(_w, s) * schichtdicke;
             }
             if (sschichten > CurrentModel3D.WATT * 0.001) { // schichten sollten eigentlich immer 1 sein
                 u /= sschichten;
@@ -253,18 +337,18 @@ public class CurrentModel3DData extends SurfaceWaterModelData {
             this.totaldepth = 0.;
             this.wlambda=0;
             this.w1_lambda=1.;
-            for(int s=0;s<f.getSizeOfValues();s++) {
-                f.setValueAt(_u,s,0.);
-                f.setValueAt(_v,s,0.);
-                f.setValueAt(_w,s,1.E-6);
-                f.setValueAt(_qx, s, 0.);
-                f.setValueAt(_qy, s, 0.);
-                f.setValueAt(_dudz, s, 0);
-                f.setValueAt(_dvdz, s, 0);
-                f.setValueAt(_dwdz, s, 0);
-                f.setValueAt(_du2dz2, s, 0);
-                f.setValueAt(_dv2dz2, s, 0);
-                f.setValueAt(_layerThickness, s, 0.);
+            for(int s=0;s<layers;s++) {
+                setValueAt(_u,s,0.);
+                setValueAt(_v,s,0.);
+                setValueAt(_w,s,1.E-6);
+                setValueAt(_qx, s, 0.);
+                setValueAt(_qy, s, 0.);
+                setValueAt(_dudz, s, 0);
+                setValueAt(_dvdz, s, 0);
+                setValueAt(_dwdz, s, 0);
+                setValueAt(_du2dz2, s, 0);
+                setValueAt(_dv2dz2, s, 0);
+                setValueAt(_layerThickness, s, 0.);
                 tau_windx[s] = 0.;
                 tau_windy[s] = 0.;
                 bfcoeff[s] = PhysicalParameters.DYNVISCOSITY_WATER;
@@ -274,24 +358,24 @@ public class CurrentModel3DData extends SurfaceWaterModelData {
             this.totaldepth = this.z + this.eta;
             this.wlambda = Function.min(1., this.totaldepth / CurrentModel3D.WATT);
             this.w1_lambda=1.-this.wlambda;
-            for (int s = this.f.getSizeOfValues() - 1; s >= 0; s--) {
-                if (this.z <= this.f.getxAt(s)) { // echt unterhalb vom Boden
-                    f.setValueAt(_u, s, 0.);
-                    f.setValueAt(_v, s, 0.);
-                    f.setValueAt(_w, s, 0.);
-                    f.setValueAt(_qx, s, 0.);
-                    f.setValueAt(_qy, s, 0.);
-                    f.setValueAt(_dudz, s, 0);
-                    f.setValueAt(_dvdz, s, 0);
-                    f.setValueAt(_dwdz, s, 0);
-                    f.setValueAt(_du2dz2, s, 0);
-                    f.setValueAt(_dv2dz2, s, 0);
-                    f.setValueAt(_layerThickness, s, 0.);
+            for (int s = layers - 1; s >= 0; s--) {
+                if (this.z <= x[s]) { // echt unterhalb vom Boden
+                    setValueAt(_u, s, 0.);
+                    setValueAt(_v, s, 0.);
+                    setValueAt(_w, s, 0.);
+                    setValueAt(_qx, s, 0.);
+                    setValueAt(_qy, s, 0.);
+                    setValueAt(_dudz, s, 0);
+                    setValueAt(_dvdz, s, 0);
+                    setValueAt(_dwdz, s, 0);
+                    setValueAt(_du2dz2, s, 0);
+                    setValueAt(_dv2dz2, s, 0);
+                    setValueAt(_layerThickness, s, 0.);
                     tau_windx[s] = 0.;
                     tau_windy[s] = 0.;
                     bfcoeff[s] = PhysicalParameters.DYNVISCOSITY_WATER;
                 } else {
-                    double dh = this.f.getxAt(s);
+                    double dh = x[s];
                     if (-dh > this.eta) { // Schicht an der Wasseroberflaeche
                         dh = -this.eta;
                         tau_windx[s] = 0.;
@@ -300,13 +384,13 @@ public class CurrentModel3DData extends SurfaceWaterModelData {
                     }
                     final double aktuelletiefe = max(0, this.z - dh);
                     double schichtdicke;
-                    if (s < this.f.getSizeOfValues() - 1) {
-                        schichtdicke = Math.min(Math.max(0, this.f.getxAt(s + 1) - dh), aktuelletiefe);
+                    if (s < layers - 1) {
+                        schichtdicke = Math.min(Math.max(0, x[s + 1] - dh), aktuelletiefe);
                     } else {
                         // Unterste Schicht
                         schichtdicke = aktuelletiefe;
                     }
-                    f.setValueAt(_layerThickness, s, schichtdicke);
+                    setValueAt(_layerThickness, s, schichtdicke);
                 }
             }
         }
@@ -319,18 +403,18 @@ public class CurrentModel3DData extends SurfaceWaterModelData {
             this.totaldepth = 0.;
             this.wlambda = 0;
             this.w1_lambda = 1.;
-            for (int s = 0; s < f.getSizeOfValues(); s++) {
-                f.setValueAt(_u, s, 0.);
-                f.setValueAt(_v, s, 0.);
-                f.setValueAt(_w, s, 1.E-6);
-                f.setValueAt(_qx, s, 0.);
-                f.setValueAt(_qy, s, 0.);
-                f.setValueAt(_dudz, s, 0);
-                f.setValueAt(_dvdz, s, 0);
-                f.setValueAt(_dwdz, s, 0);
-                f.setValueAt(_du2dz2, s, 0);
-                f.setValueAt(_dv2dz2, s, 0);
-                f.setValueAt(_layerThickness, s, 0.);
+            for (int s = 0; s < layers; s++) {
+                setValueAt(_u, s, 0.);
+                setValueAt(_v, s, 0.);
+                setValueAt(_w, s, 1.E-6);
+                setValueAt(_qx, s, 0.);
+                setValueAt(_qy, s, 0.);
+                setValueAt(_dudz, s, 0);
+                setValueAt(_dvdz, s, 0);
+                setValueAt(_dwdz, s, 0);
+                setValueAt(_du2dz2, s, 0);
+                setValueAt(_dv2dz2, s, 0);
+                setValueAt(_layerThickness, s, 0.);
                 tau_windx[s] = 0.;
                 tau_windy[s] = 0.;
                 bfcoeff[s] = PhysicalParameters.DYNVISCOSITY_WATER;
@@ -339,24 +423,24 @@ public class CurrentModel3DData extends SurfaceWaterModelData {
             this.totaldepth = this.z + this.eta;
             this.wlambda = Function.min(1., this.totaldepth / CurrentModel3D.WATT);
             this.w1_lambda = 1. - this.wlambda;
-            for (int s = this.f.getSizeOfValues() - 1; s >= 0; s--) {
-                if (this.z <= this.f.getxAt(s)) { // echt unterhalb vom Boden
-                    f.setValueAt(_u, s, 0.);
-                    f.setValueAt(_v, s, 0.);
-                    f.setValueAt(_w, s, 0.);
-                    f.setValueAt(_qx, s, 0.);
-                    f.setValueAt(_qy, s, 0.);
-                    f.setValueAt(_dudz, s, 0);
-                    f.setValueAt(_dvdz, s, 0);
-                    f.setValueAt(_dwdz, s, 0);
-                    f.setValueAt(_du2dz2, s, 0);
-                    f.setValueAt(_dv2dz2, s, 0);
-                    f.setValueAt(_layerThickness, s, 0.);
+            for (int s = layers - 1; s >= 0; s--) {
+                if (this.z <= x[s]) { // echt unterhalb vom Boden
+                    setValueAt(_u, s, 0.);
+                    setValueAt(_v, s, 0.);
+                    setValueAt(_w, s, 0.);
+                    setValueAt(_qx, s, 0.);
+                    setValueAt(_qy, s, 0.);
+                    setValueAt(_dudz, s, 0);
+                    setValueAt(_dvdz, s, 0);
+                    setValueAt(_dwdz, s, 0);
+                    setValueAt(_du2dz2, s, 0);
+                    setValueAt(_dv2dz2, s, 0);
+                    setValueAt(_layerThickness, s, 0.);
                     tau_windx[s] = 0.;
                     tau_windy[s] = 0.;
                     bfcoeff[s] = PhysicalParameters.DYNVISCOSITY_WATER;
                 } else {
-                    double dh = this.f.getxAt(s);
+                    double dh = x[s];
                     if (-dh > this.eta) { // Schicht an der Wasseroberflaeche
                         dh = -this.eta;
                         tau_windx[s] = 0.;
@@ -365,13 +449,13 @@ public class CurrentModel3DData extends SurfaceWaterModelData {
                     }
                     final double aktuelletiefe = max(0, this.z - dh);
                     double schichtdicke;
-                    if (s < this.f.getSizeOfValues() - 1) {
-                        schichtdicke = Math.min(Math.max(0, this.f.getxAt(s + 1) - dh), aktuelletiefe);
+                    if (s < layers - 1) {
+                        schichtdicke = Math.min(Math.max(0, x[s + 1] - dh), aktuelletiefe);
                     } else {
                         // Unterste Schicht
                         schichtdicke = aktuelletiefe;
                     }
-                    f.setValueAt(_layerThickness, s, schichtdicke);
+                    setValueAt(_layerThickness, s, schichtdicke);
                 }
             }
         }
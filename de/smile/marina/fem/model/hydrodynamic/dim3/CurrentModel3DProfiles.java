@@ -0,0 +1,85 @@
+/* ----- AGPL ------------------------------------------------------------------
+ * Copyright (C) Peter Milbradt, 1996-2026
+
+ * This file is part of Marina.
+
+ * Marina is free software: you can redistribute it and/or modify              
+ * it under the terms of the GNU Affero General Public License as               
+ * published by the Free Software Foundation version 3.
+ * 
+ * Marina is distributed in the hope that it will be useful,                  
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of               
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                
+ * GNU Affero General Public License for more details.                          
+ *                                                                              
+ * You should have received a copy of the GNU Affero General Public License     
+ * along with Marina.  If not, see <http://www.gnu.org/licenses/>.             
+ *                                                                               
+ * contact: milbradt@smileconsult.de                                        
+ * smile consult GmbH                                                           
+ * Schiffgraben 11                                                                 
+ * 30159 Hannover, Germany 
+ * 
+ */
+package de.smile.marina.fem.model.hydrodynamic.dim3;
+
+/**
+ * Vertikalprofile aller Knoten des CurrentModel3D in einem zusammenhaengenden
+ * Feld, angeordnet Knoten x Schicht x Zustandsgroesse.
+ * Die Zustandsgroessen einer Schicht liegen damit direkt nebeneinander, die
+ * Schichten eines Knotens folgen aufeinander. Der Index eines Wertes ist
+ * {@code (node * layers + s) * FIELDS + field}.
+ * Zusaetzlich wird je Knoten der Bereich der Schichten gehalten, die im
+ * Wasserkoerper liegen (weder oberhalb der Wasseroberflaeche noch unterhalb
+ * des Bodens), damit Schichtschleifen die uebrigen Schichten ueberspringen koennen.
+ *
+ * @author Peter Milbradt
+ * @version 1.0.0
+ */
+final class CurrentModel3DProfiles {
+
+    /** Anzahl der Zustandsgroessen je Schicht */
+    static final int FIELDS = CurrentModel3DData._dv2dz2 + 1;
+
+    final int size;
+    final int layers;
+    /** Tiefenlage der Schichtobergrenzen, fuer alle Knoten gleich */
+    final double[] x;
+    final double[] values;
+
+    /** oberste Schicht im Wasserkoerper je Knoten */
+    final int[] wetTop;
+    /** unterste Schicht oberhalb des Bodens je Knoten */
+    final int[] wetBottom;
+
+    CurrentModel3DProfiles(int size, double[] tiefenverteilung) {
+        this.size = size;
+        this.layers = tiefenverteilung.length;
+        this.x = tiefenverteilung.clone();
+        this.values = new double[size * layers * FIELDS];
+        this.wetTop = new int[size];
+        this.wetBottom = new int[size];
+        java.util.Arrays.fill(wetBottom, layers - 1);
+    }
+
+    /** Anfangsindex der Werte eines Knotens */
+    final int offset(int node) {
+        return node * layers * FIELDS;
+    }
+
+    /** Bestimmt den Bereich der Schichten im Wasserkoerper eines Knotens.
+     * Eine Schicht s liegt oberhalb der Wasseroberflaeche, wenn auch die
+     * darunterliegende Schicht noch trocken ist, und unterhalb des Bodens,
+     * wenn ihre Obergrenze tiefer als der Boden liegt.
+     * @param node Knotennummer
+     * @param eta Wasserstand
+     * @param z Bodentiefe */
+    final void updateWetRange(int node, double eta, double z) {
+        int top = 0;
+        while (top + 1 < layers && eta < -x[top] && eta <= -x[top + 1]) top++;
+        int bottom = layers - 1;
+        while (bottom >= 0 && Math.max(-eta, x[bottom]) > z) bottom--;
+        wetTop[node] = top;
+        wetBottom[node] = bottom;
+    }
+}
@@ -0,0 +1,200 @@
+/* ----- AGPL ------------------------------------------------------------------
+ * Copyright (C) Peter Milbradt, 1996-2026
+
+ * This file is part of Marina.
+
+ * Marina is free software: you can redistribute it and/or modify              
+ * it under the terms of the GNU Affero General Public License as               
+ * published by the Free Software Foundation version 3.
+ * 
+ * Marina is distributed in the hope that it will be useful,                  
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of               
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                
+ * GNU Affero General Public License for more details.                          
+ *                                                                              
+ * You should have received a copy of the GNU Affero General Public License     
+ * along with Marina.  If not, see <http://www.gnu.org/licenses/>.             
+ *                                                                               
+ * contact: milbradt@smileconsult.de                                        
+ * smile consult GmbH                                                           
+ * Schiffgraben 11                                                                 
+ * 30159 Hannover, Germany 
+ * 
+ */
+package de.smile.marina.fem.model.hydrodynamic.wave;
+
+/**
+ * Linear dispersion relation sigma^2 = g k tanh(k h) without iterations.
+ *
+ * The dimensionless wave number kh is a function of kh0 = sigma^2 h / g only.
+ * It is tabulated once over s = sqrt(kh0) and evaluated by cubic Hermite
+ * interpolation (relative error below 1e-12), in deep water (kh0 > 16) kh =
+ * kh0 is used. In addition an explicit approximation (Fenton and McKee 1990
+ * with one Newton correction, relative error below 1e-4) is available.
+ *
+ * The results agree with {@link WaveFunction#WaveNumber(double, double)}
+ * including the special cases of vanishing frequency and depth.
+ *
+ * @author Peter Milbradt
+ * @version 1.0.1
+ */
+public final class DispersionRelation {
+
+    private static final double G = WaveFunction.G;
+    private static final double EPSILON = WaveFunction.EPSILON;
+
+    /** beyond this kh0 tanh(kh) is 1 in double precision */
+    private static final double KH0_MAX = 16.;
+    private static final double S_MAX = Math.sqrt(KH0_MAX);
+    private static final int INTERVALS = 2048;
+    private static final double DS = S_MAX / INTERVALS;
+
+    // kh und d(kh)/ds an den Stuetzstellen s_i = i*DS
+    private static final double[] KH = new double[INTERVALS + 1];
+    private static final double[] DKH = new double[INTERVALS + 1];
+
+    static {
+        for (int i = 0; i <= INTERVALS; i++) {
+            final double s = i * DS;
+            final double kh0 = s * s;
+            final double kh = solve(kh0);
+            KH[i] = kh;
+            if (i == 0) {
+                DKH[i] = 1.; // kh ~ s fuer s -> 0
+            } else {
+                final double t = Math.tanh(kh);
+                // d(kh)/d(kh0) = 1 / (tanh(kh) + kh (1 - tanh^2(kh))), d(kh0)/ds = 2s
+                DKH[i] = 2. * s / (t + kh * (1. - t * t));
+            }
+        }
+    }
+
+    private DispersionRelation() {
+    }
+
+    /**
+     * dimensionless wave number kh for kh0 = sigma^2 h / g by Newton's method to
+     * machine precision, used for the table
+     */
+    public static double solve(double kh0) {
+        if (kh0 <= 0.) {
+            return 0.;
+        }
+        double kh = explicitStart(kh0);
+        for (int i = 0; i < 50; i++) {
+            final double t = Math.tanh(kh);
+            final double dkh = (kh0 - kh * t) / (t + kh * (1. - t * t));
+            kh += dkh;
+            if (Math.abs(dkh) <= 1e-15 * kh) {
+                break;
+            }
+        }
+        return kh;
+    }
+
+    /** approximation of Fenton and McKee (1990) */
+    private static double explicitStart(double kh0) {
+        return kh0 / Math.pow(Math.tanh(Math.pow(kh0, 0.75)), 2. / 3.);
+    }
+
+    /**
+     * dimensionless wave number from the table
+     *
+     * @param kh0 sigma^2 h / g
+     * @return kh
+     */
+    public static double kh(double kh0) {
+        if (kh0 >= KH0_MAX) {
+            return kh0;
+        }
+        if (kh0 <= 0.) {
+            return 0.;
+        }
+        final double s = Math.sqrt(kh0);
+        final double r = s / DS;
+        final int i = Math.min((int) r, INTERVALS - 1);
+        final double t = r - i;
+        // kubische Hermite-Interpolation
+        final double t2 = t * t;
+        final double t3 = t2 * t;
+        return (2. * t3 - 3. * t2 + 1.) * KH[i] + (t3 - 2. * t2 + t) * DS * DKH[i]
+                + (-2. * t3 + 3. * t2) * KH[i + 1] + (t3 - t2) * DS * DKH[i + 1];
+    }
+
+    /**
+     * dimensionless wave number by the explicit approximation of Fenton and
+     * McKee with one Newton correction
+     *
+     * @param kh0 sigma^2 h / g
+     * @return kh
+     */
+    public static double khExplicit(double kh0) {
+        if (kh0 <= 0.) {
+            return 0.;
+        }
+        final double kh = explicitStart(kh0);
+        final double t = Math.tanh(kh);
+        return kh + (kh0 - kh * t) / (t + kh * (1. - t * t));
+    }
+
+    /**
+     * wave number from the table
+     *
+     * @param depth water depth [m]
+     * @param sigma angular frequency [1/s]
+     * @return wave number [1/m]
+     */
+    public static double waveNumber(double depth, double sigma) {
+        if (sigma <= EPSILON) {
+            return 0.;
+        }
+        if (depth <= EPSILON) {
+            return Double.MAX_VALUE / 10.;
+        }
+        return kh(depth / G * sigma * sigma) / depth;
+    }
+
+    /**
+     * wave number by the explicit approximation
+     *
+     * @param depth water depth [m]
+     * @param sigma angular frequency [1/s]
+     * @return wave number [1/m]
+     */
+    public static double waveNumberExplicit(double depth, double sigma) {
+        if (sigma <= EPSILON) {
+            return 0.;
+        }
+        if (depth <= EPSILON) {
+            return Double.MAX_VALUE / 10.;
+        }
+        return khExplicit(depth / G * sigma * sigma) / depth;
+    }
+
+    /**
+     * wave numbers of several frequencies at one depth, e.g. of all frequencies
+     * of a spectrum at a node
+     *
+     * @param depth water depth [m]
+     * @param sigma angular frequencies [1/s]
+     * @param k wave numbers [1/m], the array may be sigma itself
+     */
+    public static void waveNumbers(double depth, double[] sigma, double[] k) {
+        for (int i = 0; i < sigma.length; i++) {
+            k[i] = waveNumber(depth, sigma[i]);
+        }
+    }
+
+    /**
+     * wave numbers of one frequency at several depths, e.g. at all nodes
+     *
+     * @param depth water depths [m]
+     * @param sigma angular frequency [1/s]
+     * @param k wave numbers [1/m], the array may be depth itself
+     */
+    public static void waveNumbers(double[] depth, double sigma, double[] k) {
+        for (int i = 0; i < depth.length; i++) {
+            k[i] = waveNumber(depth[i], sigma);
+        }
+    }
+}
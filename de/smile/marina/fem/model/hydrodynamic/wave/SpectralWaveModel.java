@@ -33,6 +33,8 @@ import de.smile.marina.fem.ModelData;
 import de.smile.marina.fem.model.hydrodynamic.dim2.CurrentModel2DData;
 import de.smile.marina.fem.model.hydrodynamic.dim2.SedimentModel2DData;
 import de.smile.marina.io.TicadIO;
+import de.smile.marina.io.TicadResultWriter;
+import de.smile.math.WorkerPool;
 import java.io.*;
 import java.util.*;
 import javax.vecmath.*;
@@ -47,12 +49,12 @@ import de.smile.marina.fem.TimeDependentFEApproximation;
 
 
 /** this ODE describe a spectral wave Model based on action density
- * @version 1.2
+ * @version 1.4
  * @author Peter Milbradt
  */
 public class  SpectralWaveModel extends TimeDependentFEApproximation implements FEModel {
     
-    private DataOutputStream xf_os = null;
+    private TicadResultWriter xf_os = null;
     private DataOutputStream sp_os = null;
     private FileOutputStream sp_fs = null;
     
@@ -73,6 +75,12 @@ public class  SpectralWaveModel extends TimeDependentFEApproximation implements
     static final double RhoAir=1.2;              // Air density
     static final double C_D=0.0012;              // Dragkoeffizient
     
+    // cos und sin der diskreten Richtungen
+    private final double[] cosTheta, sinTheta;
+    
+    // Hilfsfelder der Elementapproximation je Thread
+    private final ThreadLocal<ElementScratch> elementScratch = ThreadLocal.withInitial(() -> new ElementScratch(this));
+    
     public SpectralWaveModel(FEDecomposition fe, WindData winddata, SpectralWaveDat _wavedat){
         
         fenet = fe;
@@ -81,9 +89,19 @@ public class  SpectralWaveModel extends TimeDependentFEApproximation implements
         this.winddata = winddata;
         
         setNumberOfThreads(wavedat.NumberOfThreads);
+        // die Elemente schreiben in die Spektren ihrer Knoten
+        setColouredAssembly(true);
         
         WATT=wavedat.watt;
         
+        DiscreteSpectrum2D grid = newSpectrum();
+        cosTheta = new double[grid.getDirectionLength()];
+        sinTheta = new double[grid.getDirectionLength()];
+        for (int ai=0; ai<grid.getDirectionLength(); ai++){
+            cosTheta[ai] = Math.cos(Math.PI * grid.getDirectionAt(ai) / 180.);
+            sinTheta[ai] = Math.sin(Math.PI * grid.getDirectionAt(ai) / 180.);
+        }
+        
         if ( wavedat.bcname!=null ) readBoundCond(wavedat.bcname);
         
         // Randwerte Erzeugen
@@ -127,8 +145,7 @@ public class  SpectralWaveModel extends TimeDependentFEApproximation implements
         
         
         try {
-            xf_os = new DataOutputStream(new FileOutputStream(wavedat.xferg_name));
-            TicadIO.write_xf(xf_os, this);
+            xf_os = new TicadResultWriter(wavedat.xferg_name, this);
         } catch (FileNotFoundException e) {
             System.out.println("The file "+ wavedat.xferg_name + " cannot be opened");
             System.out.println(e.getMessage());
@@ -206,11 +223,50 @@ public class  SpectralWaveModel extends TimeDependentFEApproximation implements
     @Override
     public double[] getRateofChange(double time, double x[]){
         
+        // Werte Aktualisieren, Knoten blockweise parallel
+        WorkerPool.parallelFor(fenet.getNumberofDOFs(), getNumberOfThreads(), (lo, hi) -> updateNodes(lo, hi, time, x));
+        
+        MaxTimeStep = 10000.;
+        
+        // Elementloop
+        performElementLoop();
+        
+        WorkerPool.parallelFor(fenet.getNumberofDOFs(), getNumberOfThreads(), (lo, hi) -> {
+            for (int j=lo; j<hi; j++){
+                DOF dof = (DOF) fenet.getDOF(j);
+                int i = dof.number;
+                int gamma = dof.getNumberofFElements();
+                
+                SpectralWaveModelData spectralwavemodeldata = SpectralWaveModelData.extract(dof);
+                
+                for (int ai=0; ai<spectralwavemodeldata.re.getDirectionLength(); ai++){
+                    for (int fi=0; fi<spectralwavemodeldata.re.getFrequencyLength(); fi++){
+                        
+                        result[GlobalIndex( fi, ai, i)] = (3. / gamma * spectralwavemodeldata.re.getDiscreteValue(fi,ai));
+                        if ((x[GlobalIndex( fi, ai, i)]<=0.) && (result[GlobalIndex( fi, ai, i)]<=0.))
+                            result[GlobalIndex( fi, ai, i)] = 0.;
+                    }
+                }
+            }
+        });
+        return result;
+    }
+    
+    /** update of the spectra, wave numbers, wave breaking, wind input and radiation stresses of the DOFs lo, .., hi-1 */
+    private void updateNodes(int lo, int hi, double time, double x[]){
+        
         double windx=0., windy=0.;
         
-        // Werte Aktualisieren
-		for (int j=0; j<fenet.getNumberofDOFs(); j++){
-			DOF dof = (DOF) fenet.getDOF(j);
+        // Werte, die fuer alle Richtungen einer Frequenz gleich sind
+        final int frequencyLength = wavedat.frequencylength;
+        final double[] sigmas = new double[frequencyLength];
+        final double[] wavenumbers = new double[frequencyLength];
+        final double[] cs = new double[frequencyLength];
+        final double[] cgs = new double[frequencyLength];
+        final double[] wavebrs = new double[frequencyLength];
+        
+        for (int j=lo; j<hi; j++){
+            DOF dof = (DOF) fenet.getDOF(j);
             int i = dof.number;
             
             SpectralWaveModelData spectralwavemodeldata = SpectralWaveModelData.extract(dof);
@@ -250,71 +306,63 @@ public class  SpectralWaveModel extends TimeDependentFEApproximation implements
             // Einarbeiten der Randbedingungen
             setBoundaryCondition(dof, time);
             
+            // Wellenzahl, Gruppengeschwindigkeit und Wellenbrechen haengen nur von der Frequenz ab
+            for (int fi=0; fi<frequencyLength; fi++){
+                sigmas[fi]=2.*Math.PI * s.getFrequencyAt(fi);
+            }
+            DispersionRelation.waveNumbers(depth, sigmas, wavenumbers);
+            for (int fi=0; fi<frequencyLength; fi++){
+                double sigma=sigmas[fi];
+                double wavenumber=wavenumbers[fi];
+                double c = sigma/wavenumber;
+                cs[fi] = c;
+                cgs[fi] = 0.5 * (1. + 2. * wavenumber * depth / sinh(2. * wavenumber * depth)) * c;
+                
+                // Battes/Janssen Wave breaking
+                double wavebr=Math.PI/(7.*wavenumber)*tanh(7.*MICHEKOEFF/Math.PI*wavenumber*depth);
+                wavebrs[fi]=Math.min(wavebr,Math.pow(MICHEKOEFF*depth,2.));
+            }
+            
             for (int ai=0; ai<s.getDirectionLength(); ai++){
-                for (int fi=0; fi<s.getFrequencyLength(); fi++){
+                for (int fi=0; fi<frequencyLength; fi++){
                     
-                    double[] werte = s.getValueAt(fi,ai);
-                    double sigma=2.*Math.PI * werte[0];
+                    double waction = s.getDiscreteValue(fi,ai);
+                    double sigma=sigmas[fi];
                     
-                    x[GlobalIndex( fi, ai, i)]=werte[2];
+                    x[GlobalIndex( fi, ai, i)]=waction;
                     // update other values
                     
-                    double wavenumber=WaveFunction.WaveNumber(depth,sigma);
-                    double c = sigma/wavenumber;
-                    double cg = 0.5 * (1. + 2. * wavenumber * depth / sinh(2. * wavenumber * depth)) * c;
+                    double wavenumber=wavenumbers[fi];
+                    double c = cs[fi];
+                    double cg = cgs[fi];
                     spectralwavemodeldata.wavenumber.setValueAt(fi,ai,wavenumber);
                     spectralwavemodeldata.Cg.setValueAt(fi,ai,cg);
                     
-                    // Battes/Janssen Wave breaking
-                    double wavebr=Math.PI/(7.*wavenumber)*tanh(7.*MICHEKOEFF/Math.PI*wavenumber*depth);
-                    wavebr=Math.min(wavebr,Math.pow(MICHEKOEFF*depth,2.));
+                    double wavebr=wavebrs[fi];
                     spectralwavemodeldata.wavebreaking.setValueAt(fi,ai,wavebr);
                     
                     // Windinput
-                    double uwind = Math.max(0., Math.cos(Math.PI * werte[1] / 180.)*windx+Math.sin(Math.PI * werte[1] / 180.)*windy);
+                    double uwind = Math.max(0., cosTheta[ai]*windx+sinTheta[ai]*windy);
                     double alpha=0., beta=0.;
-                    if ((wavebr-werte[2])<=0.){
+                    if ((wavebr-waction)<=0.){
                         // Hsiao und Shemdin
                         beta = 0.12*RhoAir/RhoWater*sigma*Math.pow(Math.max(0.,8./3./Math.PI*uwind/c-1.),2);
                         // Cavalieri und Rizzoli [1981]
                         alpha = 80.*RhoAir*RhoAir*sigma/(RhoWater*RhoWater*G*G*wavenumber*wavenumber)*C_D*C_D*Math.pow(uwind,4.);
                     }
-                    spectralwavemodeldata.windinput.setValueAt(fi,ai,alpha+beta*werte[2]);
+                    spectralwavemodeldata.windinput.setValueAt(fi,ai,alpha+beta*waction);
                     
                     //  RadiationStress
                     double n=cg/c;
-                    spectralwavemodeldata.sxx += werte[2] * (n*Math.pow(Math.cos(Math.PI * werte[1] / 180.),2)+n-0.5);
-                    spectralwavemodeldata.sxy += werte[2] *  n*Math.cos(Math.PI * werte[1] / 180.)*Math.sin(Math.PI * werte[1] / 180.);
-                    spectralwavemodeldata.syy += werte[2] * (n*Math.pow(Math.sin(Math.PI * werte[1] / 180.),2)+n-0.5);
+                    spectralwavemodeldata.sxx += waction * (n*Math.pow(cosTheta[ai],2)+n-0.5);
+                    spectralwavemodeldata.sxy += waction *  n*cosTheta[ai]*sinTheta[ai];
+                    spectralwavemodeldata.syy += waction * (n*Math.pow(sinTheta[ai],2)+n-0.5);
                 }
             }
             
             // set Results to zero
             spectralwavemodeldata.re.setZero();
         }
-        
-        MaxTimeStep = 10000.;
-        
-        // Elementloop
-        performElementLoop();
-        
-        for (int j=0; j<fenet.getNumberofDOFs(); j++){
-            DOF dof = (DOF) fenet.getDOF(j);
-            int i = dof.number;
-            int gamma = dof.getNumberofFElements();
-            
-            SpectralWaveModelData spectralwavemodeldata = SpectralWaveModelData.extract(dof);
-            
-            for (int ai=0; ai<spectralwavemodeldata.re.getDirectionLength(); ai++){
-                for (int fi=0; fi<spectralwavemodeldata.re.getFrequencyLength(); fi++){
-                    
-                    result[GlobalIndex( fi, ai, i)] = (3. / gamma * spectralwavemodeldata.re.getValueAt(fi,ai)[2]);
-                    if ((x[GlobalIndex( fi, ai, i)]<=0.) && (result[GlobalIndex( fi, ai, i)]<=0.))
-                        result[GlobalIndex( fi, ai, i)] = 0.;
-                }
-            }
-        }
-        return result;
     }
     
     // ElementApproximation
@@ -327,49 +375,44 @@ public class  SpectralWaveModel extends TimeDependentFEApproximation implements
         FTriangle ele = (FTriangle) element;
         final double[][] koeffmat = ele.getkoeffmat();
         
-        final double[] depth = new double[3];				// depth
-        DiscreteSpectrum2D[] N = new DiscreteSpectrum2D[3]; 	// WaveAction
-        DiscreteSpectrum2D[] Cg = new DiscreteSpectrum2D[3]; 	// Groupvelocity
-        DiscreteSpectrum2D[] Ctheta = new DiscreteSpectrum2D[3]; 	// Anglevelocity
-        DiscreteSpectrum2D[] k = new DiscreteSpectrum2D[3]; 	// Wavenumber
+        // wiederverwendbare Felder des Threads
+        final ElementScratch scratch = elementScratch.get();
+        scratch.setZero();
+        
+        final double[] depth = scratch.depth;				// depth
+        final DiscreteSpectrum2D[] N = scratch.N; 		// WaveAction
+        final DiscreteSpectrum2D[] Cg = scratch.Cg; 		// Groupvelocity
+        final DiscreteSpectrum2D[] Ctheta = scratch.Ctheta; 	// Anglevelocity
+        final DiscreteSpectrum2D[] k = scratch.k; 		// Wavenumber
+        final SpectralWaveModelData[] data = scratch.data;
         
         double dudx = 0.;
         double dudy = 0.;
         double dvdx = 0.;
         double dvdy = 0.;
-        double[] u = new double[3];
-        double[] v = new double[3];
+        final double[] u = scratch.u;
+        final double[] v = scratch.v;
         
         int iwatt=0;  // Markieren ob ein Knoten Trocken ist
         
+        final DiscreteSpectrum2D CgxNdx = scratch.CgxNdx;
+        final DiscreteSpectrum2D CgyNdy = scratch.CgyNdy;
         
-        DiscreteSpectrum2D CgxNdx = new DiscreteSpectrum2D(wavedat.frequencylength,wavedat.directionlength,
-        wavedat.frequenzminimum,wavedat.frequenzmaximum,
-        wavedat.directionminimum,wavedat.directionmaximum);
-        DiscreteSpectrum2D CgyNdy = new DiscreteSpectrum2D(wavedat.frequencylength,wavedat.directionlength,
-        wavedat.frequenzminimum,wavedat.frequenzmaximum,
-        wavedat.directionminimum,wavedat.directionmaximum);
+        final DiscreteSpectrum2D dNdx = scratch.dNdx;
+        final DiscreteSpectrum2D dNdy = scratch.dNdy;
         
-        DiscreteSpectrum2D dNdx = new DiscreteSpectrum2D(wavedat.frequencylength,wavedat.directionlength,
-        wavedat.frequenzminimum,wavedat.frequenzmaximum,
-        wavedat.directionminimum,wavedat.directionmaximum);
-        DiscreteSpectrum2D dNdy = new DiscreteSpectrum2D(wavedat.frequencylength,wavedat.directionlength,
-        wavedat.frequenzminimum,wavedat.frequenzmaximum,
-        wavedat.directionminimum,wavedat.directionmaximum);
-        
-        DiscreteSpectrum2D dkxdy = new DiscreteSpectrum2D(wavedat.frequencylength,wavedat.directionlength,
-        wavedat.frequenzminimum,wavedat.frequenzmaximum,
-        wavedat.directionminimum,wavedat.directionmaximum);
-        DiscreteSpectrum2D dkydx = new DiscreteSpectrum2D(wavedat.frequencylength,wavedat.directionlength,
-        wavedat.frequenzminimum,wavedat.frequenzmaximum,
-        wavedat.directionminimum,wavedat.directionmaximum);
+        final DiscreteSpectrum2D dkxdy = scratch.dkxdy;
+        final DiscreteSpectrum2D dkydx = scratch.dkydx;
         
+        final int frequencyLength = CgxNdx.getFrequencyLength();
+        final int directionLength = CgxNdx.getDirectionLength();
         
         // compute element derivations
         for ( int j = 0; j < 3; j++) {
             DOF dof = ele.getDOF(j);
             
             SpectralWaveModelData spectralwavemodeldata = SpectralWaveModelData.extract(dof);
+            data[j] = spectralwavemodeldata;
             
             CurrentModel2DData currentdata = CurrentModel2DData.extract(dof);
             
@@ -399,40 +442,35 @@ public class  SpectralWaveModel extends TimeDependentFEApproximation implements
             k[j] 	= spectralwavemodeldata.wavenumber;
             
             // for all Spektralkomponents
-            for (int fi=0; fi<N[j].getFrequencyLength(); fi++){
+            for (int fi=0; fi<frequencyLength; fi++){
                 // werte die fuer alle Richtungen Gleich sind
-                double[] werte = N[j].getValueAt(fi,0);
-                double sigma=2.*Math.PI * werte[0];
-                double wavenumber=k[j].getValueAt(fi,0)[2];
-                double c = sigma/wavenumber;
-                double cg = Cg[j].getValueAt(fi,0)[2];
+                double wavenumber=k[j].getDiscreteValue(fi,0);
+                double cg = Cg[j].getDiscreteValue(fi,0);
                 
-                for (int ai=0; ai<N[j].getDirectionLength(); ai++){
-                    werte = N[j].getValueAt(fi,ai);
-                    double theta = werte[1];
-                    double cgx = cg * Math.cos(Math.PI * theta / 180.);
-                    double cgy = cg * Math.sin(Math.PI * theta / 180.);
-                    double kx = wavenumber * Math.cos(Math.PI * theta / 180.);
-                    double ky = wavenumber * Math.sin(Math.PI * theta / 180.);
+                for (int ai=0; ai<directionLength; ai++){
+                    double cgx = cg * cosTheta[ai];
+                    double cgy = cg * sinTheta[ai];
+                    double kx = wavenumber * cosTheta[ai];
+                    double ky = wavenumber * sinTheta[ai];
                     
-                    double waction = werte[2];
+                    double waction = N[j].getDiscreteValue(fi,ai);
                     
-                    CgxNdx.setValueAt(fi, ai, CgxNdx.getValueAt(fi,ai)[2] + cgx * waction *  koeffmat[j][1]);
-                    CgyNdy.setValueAt(fi, ai, CgyNdy.getValueAt(fi,ai)[2] + cgy * waction *  koeffmat[j][2]);
+                    CgxNdx.addValueAt(fi, ai, cgx * waction *  koeffmat[j][1]);
+                    CgyNdy.addValueAt(fi, ai, cgy * waction *  koeffmat[j][2]);
                     
-                    dNdx.setValueAt(fi, ai, dNdx.getValueAt(fi,ai)[2] + waction *  koeffmat[j][1]);
-                    dNdy.setValueAt(fi, ai, dNdy.getValueAt(fi,ai)[2] + waction *  koeffmat[j][2]);
+                    dNdx.addValueAt(fi, ai, waction *  koeffmat[j][1]);
+                    dNdy.addValueAt(fi, ai, waction *  koeffmat[j][2]);
                     
-                    dkydx.setValueAt(fi, ai, dkydx.getValueAt(fi,ai)[2] + ky *  koeffmat[j][1]);
-                    dkxdy.setValueAt(fi, ai, dkxdy.getValueAt(fi,ai)[2] + kx *  koeffmat[j][2]);
+                    dkydx.addValueAt(fi, ai, ky *  koeffmat[j][1]);
+                    dkxdy.addValueAt(fi, ai, kx *  koeffmat[j][2]);
                 }
             }
         }
         
         // teilweise trockenes Element
         if(iwatt!=0){
-            for (int fi=0; fi<N[0].getFrequencyLength(); fi++)
-                for (int ai=0; ai<N[0].getDirectionLength(); ai++){
+            for (int fi=0; fi<frequencyLength; fi++)
+                for (int ai=0; ai<directionLength; ai++){
                     dkydx.setValueAt(fi, ai, 0.);
                     dkxdy.setValueAt(fi, ai, 0.);
                 }
@@ -443,18 +481,16 @@ public class  SpectralWaveModel extends TimeDependentFEApproximation implements
         
         // Refraction Velocity
         for ( int j = 0; j < 3; j++) {
-            Ctheta[j] = new DiscreteSpectrum2D(wavedat.frequencylength,wavedat.directionlength,
-            wavedat.frequenzminimum,wavedat.frequenzmaximum,
-            wavedat.directionminimum,wavedat.directionmaximum);
             // for all Spektralkomponents
-            for (int ai=0; ai<Ctheta[j].getDirectionLength(); ai++){
-                for (int fi=0; fi<Ctheta[j].getFrequencyLength(); fi++){
-                    double rtheta = Math.PI * Ctheta[j].getValueAt(fi, ai)[1] / 180.; // theta in radian
+            for (int ai=0; ai<directionLength; ai++){
+                final double sin = sinTheta[ai]; // theta in radian
+                final double cos = cosTheta[ai];
+                for (int fi=0; fi<frequencyLength; fi++){
                     Ctheta[j].setValueAt(fi, ai,
                     // depth refraction
-                    Cg[j].getValueAt(fi, ai)[2]/k[j].getValueAt(fi, ai)[2] * (dkxdy.getValueAt(fi, ai)[2]-dkydx.getValueAt(fi, ai)[2])
+                    Cg[j].getDiscreteValue(fi, ai)/k[j].getDiscreteValue(fi, ai) * (dkxdy.getDiscreteValue(fi, ai)-dkydx.getDiscreteValue(fi, ai))
                     // current refraction
-                    + (dudx - dudy)*Math.sin(rtheta)*Math.cos(rtheta) + dvdx*Math.pow(Math.sin(rtheta),2) - dudy*Math.pow(Math.cos(rtheta),2)
+                    + (dudx - dudy)*sin*cos + dvdx*Math.pow(sin,2) - dudy*Math.pow(cos,2)
                     // Diffraction !!
                     // + 0.015 * Math.sqrt( dEdx.getValueAt(fi,ai)[2]*dEdx.getValueAt(fi,ai)[2] + dEdy.getValueAt(fi,ai)[2]*dEdy.getValueAt(fi,ai)[2]) *
                     //		N[j].secondPartialDerivationDirection(fi,ai)
@@ -465,52 +501,45 @@ public class  SpectralWaveModel extends TimeDependentFEApproximation implements
         
         
         // Start -- compute the Element-Error for the Upwinding Step
-        DiscreteSpectrum2D elementerror = new DiscreteSpectrum2D(wavedat.frequencylength,wavedat.directionlength,
-        wavedat.frequenzminimum,wavedat.frequenzmaximum,
-        wavedat.directionminimum,wavedat.directionmaximum);
-        DiscreteSpectrum2D tau = new DiscreteSpectrum2D(wavedat.frequencylength,wavedat.directionlength,
-        wavedat.frequenzminimum,wavedat.frequenzmaximum,
-        wavedat.directionminimum,wavedat.directionmaximum);
+        final DiscreteSpectrum2D elementerror = scratch.elementerror;
+        final DiscreteSpectrum2D tau = scratch.tau;
         
         for ( int j = 0; j < 3; j++) {
-            DOF dof = ele.getDOF(j);
-            SpectralWaveModelData spectralwavemodeldata = SpectralWaveModelData.extract(dof);
+            SpectralWaveModelData spectralwavemodeldata = data[j];
             DiscreteSpectrum2D dndt=spectralwavemodeldata.dndt;
             // for all Spektralkomponents
-            for (int ai=0; ai<N[j].getDirectionLength(); ai++){
-                for (int fi=0; fi<N[j].getFrequencyLength(); fi++){
-                    double[] werte = N[j].getValueAt(fi,ai);
-                    double sigma = werte[0]*2.*Math.PI;
-                    double we  = werte[2]*sigma;
+            for (int ai=0; ai<directionLength; ai++){
+                for (int fi=0; fi<frequencyLength; fi++){
+                    double sigma = N[j].getFrequencyAt(fi)*2.*Math.PI;
+                    double we  = N[j].getDiscreteValue(fi,ai)*sigma;
                     
-                    double cg  = Cg[j].getValueAt(fi, ai)[2];
-                    double theta = werte[1];
-                    double cgx = cg * Math.cos(Math.PI * theta / 180.);
-                    double cgy = cg * Math.sin(Math.PI * theta / 180.);
+                    double cg  = Cg[j].getDiscreteValue(fi, ai);
+                    double cgx = cg * cosTheta[ai];
+                    double cgy = cg * sinTheta[ai];
                     
                     // upwinding Parameter
                     //tau.setValueAt(fi, ai, tau.getValueAt(fi, ai)[2] + 1./3. * 0.5 * ele.getVectorSize(cgx,cgy)/cg );
-                    tau.setValueAt(fi, ai, tau.getValueAt(fi, ai)[2] + 1./3. * 0.5 * ele.getVectorSize(cgx+u[j],cgy+v[j])/Math.sqrt(Math.pow(cgx+u[j],2.)+Math.pow(cgy+v[j],2.)) );
+                    tau.addValueAt(fi, ai, 1./3. * 0.5 * ele.getVectorSize(cgx+u[j],cgy+v[j])/Math.sqrt(Math.pow(cgx+u[j],2.)+Math.pow(cgy+v[j],2.)) );
                     //tau.setValueAt(fi, ai, tau.getValueAt(fi, ai)[2] + 1./3. * 0.5 * ele.getVectorSize(cgx,cgy)/Math.sqrt((Math.pow(cgx+u[j],2.)+Math.pow(cgy+v[j],2.)+1)) );
                     
                     if(we > 2.*WATT*WATT) {
-                        timeStep = Math.min(timeStep, tau.getValueAt(fi, ai)[2]);
-                        if (Ctheta[j].getValueAt(fi,ai)[2] > 0.01) {
-                            timeStep = Math.min(timeStep, Math.PI/180.*Ctheta[j].getDirectionIncrement()/Ctheta[j].getValueAt(fi,ai)[2]);
+                        timeStep = Math.min(timeStep, tau.getDiscreteValue(fi, ai));
+                        if (Ctheta[j].getDiscreteValue(fi,ai) > 0.01) {
+                            timeStep = Math.min(timeStep, Math.PI/180.*Ctheta[j].getDirectionIncrement()/Ctheta[j].getDiscreteValue(fi,ai));
                             //System.out.println(Ctheta[j].getValueAt(fi,ai)[2]);
                         }
                     }
                     
-                    double eleerror = elementerror.getValueAt(fi, ai)[2] + 1./3. * (dndt.getValueAt(fi, ai)[2]
+                    double eleerror = elementerror.getDiscreteValue(fi, ai) + 1./3. * (dndt.getDiscreteValue(fi, ai)
                                         // Propagation
-                                            + CgxNdx.getValueAt(fi,ai)[2] + CgyNdy.getValueAt(fi,ai)[2]
+                                            + CgxNdx.getDiscreteValue(fi,ai) + CgyNdy.getDiscreteValue(fi,ai)
                                         // Refraction
-                                            + Ctheta[j].getValueAt(fi,ai)[2]*N[j].partialDerivationDirection(fi,ai)
-                                            + N[j].getValueAt(fi,ai)[2]*Ctheta[j].partialDerivationDirection(fi,ai)
+                                            + Ctheta[j].getDiscreteValue(fi,ai)*N[j].partialDerivationDirection(fi,ai)
+                                            + N[j].getDiscreteValue(fi,ai)*Ctheta[j].partialDerivationDirection(fi,ai)
                                         // Energydissipation by wavebreaking
-                                            + BREAKING/depth[j]*cg*Math.max(0.,we-spectralwavemodeldata.wavebreaking.getValueAt(fi,ai)[2])
+                                            + BREAKING/depth[j]*cg*Math.max(0.,we-spectralwavemodeldata.wavebreaking.getDiscreteValue(fi,ai))
                                         // EnergyInput by wind
-                                            - spectralwavemodeldata.windinput.getValueAt(fi,ai)[2]
+                                            - spectralwavemodeldata.windinput.getDiscreteValue(fi,ai)
                                                                                     );
                     elementerror.setValueAt(fi, ai, eleerror);
                 }
@@ -521,60 +550,55 @@ public class  SpectralWaveModel extends TimeDependentFEApproximation implements
         // Galerkin Step
         double vorfak;
         for (int j = 0; j < 3; j++) {
-            DOF dof = ele.getDOF(j);
-            int i = dof.number;
-            SpectralWaveModelData spectralwavemodeldata = SpectralWaveModelData.extract(dof);
+            SpectralWaveModelData spectralwavemodeldata = data[j];
             DiscreteSpectrum2D re=spectralwavemodeldata.re;
             
             // for all Spektralkomponents
-            for (int ai=0; ai<N[j].getDirectionLength(); ai++){
-                for (int fi=0; fi<N[j].getFrequencyLength(); fi++){
-                    double cg = Cg[j].getValueAt(fi, ai)[2];
-                    double theta = N[j].getValueAt(fi,ai)[1];
-                    double cgx = cg * Math.cos(Math.PI * theta / 180.);
-                    double cgy = cg * Math.sin(Math.PI * theta / 180.);
+            for (int ai=0; ai<directionLength; ai++){
+                for (int fi=0; fi<frequencyLength; fi++){
+                    double cg = Cg[j].getDiscreteValue(fi, ai);
+                    double cgx = cg * cosTheta[ai];
+                    double cgy = cg * sinTheta[ai];
                     
-                    double res = re.getValueAt(fi,ai)[2]
+                    double res = re.getDiscreteValue(fi,ai)
                     // Upwinding
-                    - tau.getValueAt(fi,ai)[2] * ( koeffmat[j][1]*cgx*elementerror.getValueAt(fi,ai)[2]
-                                                 + koeffmat[j][2]*cgy*elementerror.getValueAt(fi,ai)[2]
+                    - tau.getDiscreteValue(fi,ai) * ( koeffmat[j][1]*cgx*elementerror.getDiscreteValue(fi,ai)
+                                                 + koeffmat[j][2]*cgy*elementerror.getDiscreteValue(fi,ai)
                     )
                     // Propagation
-                    - 1./3. * (CgxNdx.getValueAt(fi,ai)[2] + CgyNdy.getValueAt(fi,ai)[2])
+                    - 1./3. * (CgxNdx.getDiscreteValue(fi,ai) + CgyNdy.getDiscreteValue(fi,ai))
                     ;
                     re.setValueAt( fi, ai, res );
                 }
             }
             
             for (int l = 0; l < 3; l++){
-                DOF dofl = ele.getDOF(l);
-                int lg = dofl.number;
-                SpectralWaveModelData spectralwavemodeldatal = SpectralWaveModelData.extract(dofl);
+                SpectralWaveModelData spectralwavemodeldatal = data[l];
                 if (l == j)
                     vorfak = 1. / 6.;
                 else
                     vorfak = 1. / 12.;
                 
                 // for all Spektralkomponents
-                for (int ai=0; ai<N[l].getDirectionLength(); ai++){
-                    for (int fi=0; fi<N[l].getFrequencyLength(); fi++){
+                for (int ai=0; ai<directionLength; ai++){
+                    for (int fi=0; fi<frequencyLength; fi++){
                         
-                        double cg = Cg[l].getValueAt(fi, ai)[2];
+                        double cg = Cg[l].getDiscreteValue(fi, ai);
                         
-                        double res = re.getValueAt(fi,ai)[2] - vorfak * (
+                        double res = re.getDiscreteValue(fi,ai) - vorfak * (
                         
                         // Refraction
-                        + Ctheta[l].getValueAt(fi,ai)[2]*N[l].partialDerivationDirection(fi,ai)
-                        + N[l].getValueAt(fi,ai)[2]*Ctheta[l].partialDerivationDirection(fi,ai)
+                        + Ctheta[l].getDiscreteValue(fi,ai)*N[l].partialDerivationDirection(fi,ai)
+                        + N[l].getDiscreteValue(fi,ai)*Ctheta[l].partialDerivationDirection(fi,ai)
                         
                         
                         // Energydissipation by wavebreaking
-                        + BREAKING/depth[l]*cg*Math.max(0.,(N[l].getValueAt(fi,ai)[2]*(2.*Math.PI*N[l].getValueAt(fi,ai)[0]))
-                        -spectralwavemodeldatal.wavebreaking.getValueAt(fi,ai)[2])
+                        + BREAKING/depth[l]*cg*Math.max(0.,(N[l].getDiscreteValue(fi,ai)*(2.*Math.PI*N[l].getFrequencyAt(fi)))
+                        -spectralwavemodeldatal.wavebreaking.getDiscreteValue(fi,ai))
                         
                         
                         // EnergyInput by wind
-                        - spectralwavemodeldatal.windinput.getValueAt(fi,ai)[2]
+                        - spectralwavemodeldatal.windinput.getDiscreteValue(fi,ai)
                         );
                         re.setValueAt( fi, ai, res );
                     }
@@ -584,6 +608,50 @@ public class  SpectralWaveModel extends TimeDependentFEApproximation implements
         return timeStep;
     }
     
+    /** new discrete spectrum with the frequencies and directions of the model */
+    final DiscreteSpectrum2D newSpectrum(){
+        return new DiscreteSpectrum2D(wavedat.frequencylength,wavedat.directionlength,
+        wavedat.frequenzminimum,wavedat.frequenzmaximum,
+        wavedat.directionminimum,wavedat.directionmaximum);
+    }
+    
+    /** reusable spectra and arrays of the element approximation, one instance per thread */
+    private static final class ElementScratch {
+        final double[] depth = new double[3];
+        final double[] u = new double[3];
+        final double[] v = new double[3];
+        final DiscreteSpectrum2D[] N = new DiscreteSpectrum2D[3];
+        final DiscreteSpectrum2D[] Cg = new DiscreteSpectrum2D[3];
+        final DiscreteSpectrum2D[] k = new DiscreteSpectrum2D[3];
+        final DiscreteSpectrum2D[] Ctheta = new DiscreteSpectrum2D[3];
+        final SpectralWaveModelData[] data = new SpectralWaveModelData[3];
+        final DiscreteSpectrum2D CgxNdx, CgyNdy, dNdx, dNdy, dkxdy, dkydx, elementerror, tau;
+        
+        ElementScratch(SpectralWaveModel model){
+            CgxNdx = model.newSpectrum();
+            CgyNdy = model.newSpectrum();
+            dNdx = model.newSpectrum();
+            dNdy = model.newSpectrum();
+            dkxdy = model.newSpectrum();
+            dkydx = model.newSpectrum();
+            elementerror = model.newSpectrum();
+            tau = model.newSpectrum();
+            for (int j = 0; j < 3; j++) Ctheta[j] = model.newSpectrum();
+        }
+        
+        void setZero(){
+            CgxNdx.setZero();
+            CgyNdy.setZero();
+            dNdx.setZero();
+            dNdy.setZero();
+            dkxdy.setZero();
+            dkydx.setZero();
+            elementerror.setZero();
+            tau.setZero();
+            for (int j = 0; j < 3; j++) Ctheta[j].setZero();
+        }
+    }
+    
     int GlobalIndex(int fi, int ai, int i){
         return (ai*wavedat.frequencylength + fi)*fenet.getNumberofDOFs()+i;
     }
@@ -640,21 +708,21 @@ public class  SpectralWaveModel extends TimeDependentFEApproximation implements
         for (int ai=0; ai<n.getDirectionLength(); ai++){
             for (int fi=0; fi<n.getFrequencyLength(); fi++){
                 
-                double sigma = 2.*n.getValueAt(fi,ai)[0]*Math.PI;
+                double sigma = 2.*n.getFrequencyAt(fi)*Math.PI;
                 
                 // set boundary in (x,y)-space
                 if(spectralwavemodeldata.bc != null){
-                    n.setValueAt( fi, ai, (spectralwavemodeldata.bc.getValue(n.getValueAt(fi,ai)[0],n.getValueAt(fi,ai)[1],t)
+                    n.setValueAt( fi, ai, (spectralwavemodeldata.bc.getValue(n.getFrequencyAt(fi),n.getDirectionAt(ai),t)
                     /sigma));
-                    dndt.setValueAt( fi, ai, (spectralwavemodeldata.bc.getDifferential(n.getValueAt(fi,ai)[0],n.getValueAt(fi,ai)[1],t)
+                    dndt.setValueAt( fi, ai, (spectralwavemodeldata.bc.getDifferential(n.getFrequencyAt(fi),n.getDirectionAt(ai),t)
                     /sigma));
                 }
                 
-                if(n.getValueAt(fi, ai)[2]<0.){
+                if(n.getDiscreteValue(fi, ai)<0.){
                     n.setValueAt( fi, ai, 0.);
                     dndt.setValueAt( fi, ai, 0.);
                 } else
-                    n.setValueAt( fi, ai, Math.min( n.getValueAt(fi, ai)[2], Math.pow(depth,2.)/sigma));
+                    n.setValueAt( fi, ai, Math.min( n.getDiscreteValue(fi, ai), Math.pow(depth,2.)/sigma));
                 
                 // set boundary in frequence space
                 if((fi==0)||(fi==n.getFrequencyLength()-1)){
@@ -782,7 +850,12 @@ public class  SpectralWaveModel extends TimeDependentFEApproximation implements
                     xf_os.writeFloat(0.f);	// skalar1
                 }
             }
-        } catch (Exception e) {}
+            xf_os.flush();
+        } catch (IOException e) {
+            System.out.println(this.getClass() + "\n\ttime=" + t + "\n");
+            e.printStackTrace();
+            System.exit(1);
+        }
     }
     
     public final void write_specs_head() {
@@ -1083,7 +1156,7 @@ public class  SpectralWaveModel extends TimeDependentFEApproximation implements
             dos.writeDouble(n.getDirectionMax());
             for (int i=0; i<n.getFrequencyLength(); i++)
                 for (int j=0; j<n.getDirectionLength(); j++)
-                    dos.writeFloat((float) n.getValueAt(i, j)[2]);
+                    dos.writeFloat((float) n.getDiscreteValue(i, j));
         } catch (Exception e) {}
     }
     
@@ -27,6 +27,9 @@ package de.smile.marina.fem.model.meteorology;
  */
 public class MeteorologicalDat {
     public String xferg_name = "meteoerg.bin";
+    // Shepard-Interpolation der Stationswerte
+    public int shepardNeighbours = 0; // Anzahl der naechsten Stationen je Knoten, 0 = alle
+    public double shepardRadius = 0.; // Einflussradius, 0 = unbegrenzt
     
     /** Creates a new instance of MeteorologicalDat */
     public MeteorologicalDat() {
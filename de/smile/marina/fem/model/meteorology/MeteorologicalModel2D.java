@@ -23,24 +23,23 @@
  */
 package de.smile.marina.fem.model.meteorology;
 
+import de.smile.marina.CoupledModel;
 import de.smile.marina.TimeDependentModel;
 import de.smile.marina.fem.*;
 import de.smile.marina.io.TicadIO;
+import de.smile.marina.io.TicadResultWriter;
 import de.smile.math.Function;
-import java.io.DataOutputStream;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 
 /**
  * tiefenintegriertes Meteorologisches Modell
  * @author milbradt
- * @version 2.7.15
+ * @version 2.8.0
  */
-public class MeteorologicalModel2D extends TimeDependentFEApproximation implements FEModel, TicadModel, TimeDependentModel {
+public class MeteorologicalModel2D extends TimeDependentFEApproximation implements FEModel, TicadModel, TimeDependentModel, CoupledModel {
 
 
-    protected DataOutputStream xf_os = null;
-    protected FileOutputStream xf_fs = null;
+    protected TicadResultWriter xf_os = null;
 
     private OKWind windtimeseries = null;
 
@@ -87,9 +86,8 @@ public class MeteorologicalModel2D extends TimeDependentFEApproximation implemen
         initialDOFs();
 
         try {
-            xf_os = new DataOutputStream(new FileOutputStream(dat.xferg_name));
-            // Setzen der Ergebnismaske 
-            TicadIO.write_xf(xf_os, this );
+            // Setzen der Ergebnismaske
+            xf_os = new TicadResultWriter(dat.xferg_name, this);
         } catch (FileNotFoundException e) {
             System.out.println("The file "+ dat.xferg_name + " cannot be opened");
             System.out.println(e.getMessage());
@@ -103,6 +101,16 @@ public class MeteorologicalModel2D extends TimeDependentFEApproximation implemen
         return data;
     }
 
+    @Override
+    public Class<?>[] getReadData() {
+        return new Class<?>[]{};
+    }
+
+    @Override
+    public Class<?>[] getWrittenData() {
+        return new Class<?>[]{MeteorologyData2D.class};
+    }
+
     @Override
     public void timeStep(double dt) {
 
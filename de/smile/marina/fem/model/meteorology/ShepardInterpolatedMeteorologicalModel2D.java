@@ -23,24 +23,33 @@
  */
 package de.smile.marina.fem.model.meteorology;
 
+import de.smile.marina.CoupledModel;
 import de.smile.marina.TimeDependentModel;
 import de.smile.marina.fem.*;
 import de.smile.marina.io.TicadIO;
+import de.smile.marina.io.TicadResultWriter;
 import de.smile.math.Function;
-import java.io.DataOutputStream;
+import de.smile.math.ShepardWeights;
+import de.smile.math.WorkerPool;
 import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
 
 /**
+ * Windfeld aus den Zeitreihen einzelner Stationen, raeumlich mit der
+ * Shepard-Methode interpoliert. Die Gewichte der Stationen werden einmalig je
+ * Knoten als duenn besetzte Matrix bestimmt, jede Aktualisierung ist dann ein
+ * Matrix-Vektor-Produkt ueber die Stationswerte.
  *
  * @author milbradt
+ * @version 1.2.0
  */
 public class ShepardInterpolatedMeteorologicalModel2D extends TimeDependentFEApproximation
-        implements FEModel, TimeDependentModel {
-    private DataOutputStream xf_os = null;
+        implements FEModel, TimeDependentModel, CoupledModel {
+    private TicadResultWriter xf_os = null;
     OKWind[] windtimeseries = null;
-    ShepardMeteorologyData2D[] dof_data = null;
+    MeteorologyData2D[] dof_data = null;
+    ShepardWeights weights; // Interpolationsgewichte Knoten x Stationen
+    final double[] stationWindX, stationWindY; // Stationswerte zum aktuellen Zeitpunkt
     // fuer Temperaturansatz
     double T1 = 365. * 24. * 3600.; // 1 Jahr
     double w1 = (2. * 3.1415) / T1; // Kreisfrequenz bestimmen
@@ -66,15 +75,31 @@ public class ShepardInterpolatedMeteorologicalModel2D extends TimeDependentFEApp
 
         maxTimeStep = 10000.;
 
-        dof_data = new ShepardMeteorologyData2D[fenet.getNumberofDOFs()];
+        dof_data = new MeteorologyData2D[fenet.getNumberofDOFs()];
 
         // DOFs initialisieren
         initialDOFs();
 
+        // Gewichte der Stationen je Knoten einmalig bestimmen
+        final double[] x = new double[fenet.getNumberofDOFs()];
+        final double[] y = new double[x.length];
+        for (DOF dof : fenet.getDOFs()) {
+            x[dof.number] = dof.x;
+            y[dof.number] = dof.y;
+        }
+        final double[] sx = new double[windtimeseries.length];
+        final double[] sy = new double[windtimeseries.length];
+        for (int j = 0; j < windtimeseries.length; j++) {
+            sx[j] = windtimeseries[j].getLocation().x;
+            sy[j] = windtimeseries[j].getLocation().y;
+        }
+        weights = new ShepardWeights(x, y, sx, sy, dat.shepardNeighbours, dat.shepardRadius);
+        stationWindX = new double[windtimeseries.length];
+        stationWindY = new double[windtimeseries.length];
+
         try {
-            xf_os = new DataOutputStream(new FileOutputStream(dat.xferg_name));
             // Setzen der Ergebnismaske
-            TicadIO.write_xf(xf_os, this);
+            xf_os = new TicadResultWriter(dat.xferg_name, this);
         } catch (FileNotFoundException e) {
             System.out.println("The file " + dat.xferg_name + " cannot be opened");
             System.out.println(e.getMessage());
@@ -84,7 +109,7 @@ public class ShepardInterpolatedMeteorologicalModel2D extends TimeDependentFEApp
 
     @Override
     public ModelData genData(DOF dof) {
-        ShepardMeteorologyData2D data = new ShepardMeteorologyData2D(dof);
+        MeteorologyData2D data = new MeteorologyData2D();
         int dofnumber = dof.number;
         dof_data[dofnumber] = data;
         return data;
@@ -111,9 +136,7 @@ public class ShepardInterpolatedMeteorologicalModel2D extends TimeDependentFEApp
 
         System.out.println("\tinterpolating initial wind feld");
 
-        for (ShepardMeteorologyData2D dof_data1 : dof_data) {
-            dof_data1.update();
-        }
+        update();
         return null;
     }
 
@@ -131,13 +154,21 @@ public class ShepardInterpolatedMeteorologicalModel2D extends TimeDependentFEApp
         return Double.MAX_VALUE;
     }
 
+    @Override
+    public Class<?>[] getReadData() {
+        return new Class<?>[]{};
+    }
+
+    @Override
+    public Class<?>[] getWrittenData() {
+        return new Class<?>[]{MeteorologyData2D.class};
+    }
+
     @Override
     public void timeStep(double dt) {
         this.time += dt;
 
-        for (ShepardMeteorologyData2D dof_data1 : dof_data) {
-            dof_data1.update();
-        }
+        update();
     }
 
     @Override
@@ -160,84 +191,55 @@ public class ShepardInterpolatedMeteorologicalModel2D extends TimeDependentFEApp
             }
     }
 
-    class ShepardMeteorologyData2D extends MeteorologyData2D {
-
-        double w[]; // [0..n]-Vektor mit den Gewichten fuer die Stuetzwerte; haengt ab von r und
-                    // mue.
-
-        public ShepardMeteorologyData2D(DOF dof) {
-            super();
-            double[] r = new double[windtimeseries.length]; // [0..n]-Vektor mit den quadratischen Euklidischen
-                                                            // Abstaenden der Stuetzstellen von der Interpolationsstelle
-            int j;
-
-            w = new double[windtimeseries.length];
-            for (j = 0; j < windtimeseries.length; j++) { // Abstaende r[j] berechnen
-                r[j] = dof.sqrdistance2d(windtimeseries[j].getLocation());
-
-                if (r[j] == 0.) { // Abstand Null, d. h. (x0,y0)
-                    w[j] = 1.;
-                    for (int i = 0; i < w.length; i++) {
-                        if (i != j) {
-                            w[i] = 0.;
-                        }
-                    }
-                    j = r.length + 10;
-                }
-            }
-            if (j != r.length + 10) {
-                double norm;
-                for (j = 0, norm = 0.; j < windtimeseries.length; j++) {
-                    w[j] = 1. / r[j];
-                    norm += w[j];
-                }
-                for (j = 0; j < windtimeseries.length; j++) // die Gewichte
-                {
-                    w[j] /= norm;
-                }
-            }
+    /** aktualisiert die meteorologischen Groessen aller Knoten zur Zeit time */
+    void update() {
+        // Zeitreihen der Stationen nur einmal auswerten
+        for (int j = 0; j < windtimeseries.length; j++) {
+            double[] wi = windtimeseries[j].getValue(time);
+            stationWindX[j] = wi[0];
+            stationWindY[j] = wi[1];
         }
-
-        public void update() {
-            windx = 0.;
-            windy = 0.;
-            for (int j = 0; j < windtimeseries.length; j++) {
-                double[] wi = windtimeseries[j].getValue(time);
-                windx += w[j] * wi[0];
-                windy += w[j] * wi[1];
-            }
-            windspeed = Function.norm(windx, windy);
-            temperature = C1 * Math.cos(w1 * time - Math.PI) + x1;
-            // data.temperature+=C2*Math.cos(w2*time-Math.PI)+x2;
-
-            // Bestimme Lichtintensitaet in MJm-2day-1
-            double I_n = C3 * Math.cos(w3 * time - Math.PI) + x3;
-            // Umrechnung in Wm-2<==>Jm-2s-1
-            I_n *= 1000000. / (24. * 3600.);
-
-            // Bestimmung der Dauer der Photoperiode bezogen auf 1 Tag
-            double n = time / (3600. * 24.) + 1.;
-            n -= 60; // auf 1. Maerz beziehen
-            // Umrechnung Tag -> Winkel bezogen auf's ganze Jahr'
-            double y = 2 * Math.PI * (n - 21) / 365;
-            // Berechne Deklination der Sonne
-            double deklination = 0.38092 - 0.76996 * Math.cos(y) + 23.265 * Math.sin(y)
-                    + 0.36958 * Math.cos(2. * y) + 0.10868 * Math.sin(2. * y)
-                    + 0.01834 * Math.cos(3. * y) - 0.00392 * Math.sin(3. * y)
-                    - 0.00392 * Math.cos(4. * y) - 0.00072 * Math.sin(4. * y)
-                    - 0.00051 * Math.cos(5. * y) + 0.0025 * Math.sin(5. * y);
-            double varphi = 55.; // Noerdliche Breite
-            varphi = varphi / 180 * Math.PI;
-            // Bestimme Photoperiode bezogen auf ganzen Tag [0...1]
-            double p = (2 * Math.acos(-Math.tan(varphi) * Math.tan(deklination / 180. * Math.PI))) / (Math.PI * 2.);
-
-            double t = time % (24. * 3600.);
-            t /= (24. * 3600.);
-            if ((t < 0.5 - p / 2.) || (t > 0.5 + p / 2.)) {
-                insolation = 0.;
-            } else {
-                insolation = I_n / p * (1. + Math.cos((t - 0.5) * Math.PI * 2. / p));
-            }
+        final double temperature = C1 * Math.cos(w1 * time - Math.PI) + x1;
+        // data.temperature+=C2*Math.cos(w2*time-Math.PI)+x2;
+
+        // Bestimme Lichtintensitaet in MJm-2day-1
+        double I_n = C3 * Math.cos(w3 * time - Math.PI) + x3;
+        // Umrechnung in Wm-2<==>Jm-2s-1
+        I_n *= 1000000. / (24. * 3600.);
+
+        // Bestimmung der Dauer der Photoperiode bezogen auf 1 Tag
+        double n = time / (3600. * 24.) + 1.;
+        n -= 60; // auf 1. Maerz beziehen
+        // Umrechnung Tag -> Winkel bezogen auf's ganze Jahr'
+        double y = 2 * Math.PI * (n - 21) / 365;
+        // Berechne Deklination der Sonne
+        double deklination = 0.38092 - 0.76996 * Math.cos(y) + 23.265 * Math.sin(y)
+                + 0.36958 * Math.cos(2. * y) + 0.10868 * Math.sin(2. * y)
+                + 0.01834 * Math.cos(3. * y) - 0.00392 * Math.sin(3. * y)
+                - 0.00392 * Math.cos(4. * y) - 0.00072 * Math.sin(4. * y)
+                - 0.00051 * Math.cos(5. * y) + 0.0025 * Math.sin(5. * y);
+        double varphi = 55.; // Noerdliche Breite
+        varphi = varphi / 180 * Math.PI;
+        // Bestimme Photoperiode bezogen auf ganzen Tag [0...1]
+        double p = (2 * Math.acos(-Math.tan(varphi) * Math.tan(deklination / 180. * Math.PI))) / (Math.PI * 2.);
+
+        double t = time % (24. * 3600.);
+        t /= (24. * 3600.);
+        final double insolation;
+        if ((t < 0.5 - p / 2.) || (t > 0.5 + p / 2.)) {
+            insolation = 0.;
+        } else {
+            insolation = I_n / p * (1. + Math.cos((t - 0.5) * Math.PI * 2. / p));
         }
+        WorkerPool.parallelFor(dof_data.length, (lo, hi) -> {
+            for (int i = lo; i < hi; i++) {
+                final MeteorologyData2D data = dof_data[i];
+                data.windx = weights.getValue(i, stationWindX);
+                data.windy = weights.getValue(i, stationWindY);
+                data.windspeed = Function.norm(data.windx, data.windy);
+                data.temperature = temperature;
+                data.insolation = insolation;
+            }
+        });
     }
 }
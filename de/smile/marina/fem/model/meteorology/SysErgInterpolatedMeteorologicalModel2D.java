@@ -25,28 +25,53 @@ package de.smile.marina.fem.model.meteorology;
 
 import de.smile.marina.fem.*;
 import de.smile.marina.io.TicadIO;
+import de.smile.marina.io.TicadResultWriter;
 import de.smile.math.Function;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
 import java.io.DataInputStream;
-import java.io.File;
+import java.io.EOFException;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import java.io.DataOutputStream;
-import java.io.FileOutputStream;
-import javax.vecmath.Point3d;
-
 /**
+ * Meteorology interpolated from a TiCAD result file (syserg.bin) on an own
+ * triangle mesh. The forcing mesh is read once, the host element and the
+ * barycentric weights of every model node are computed in advance. The records
+ * are read by their position into a reusable buffer, the next record is read in
+ * the background. The file is closed after the last record or by close().
  *
  * @author milbradt
- * @version 1.9.3
+ * @version 2.1.0
  */
-public class SysErgInterpolatedMeteorologicalModel2D extends MeteorologicalModel2D {
+public class SysErgInterpolatedMeteorologicalModel2D extends MeteorologicalModel2D implements Closeable {
+
+    private static final ExecutorService prefetchExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "Marina meteorology prefetch");
+        t.setDaemon(true);
+        return t;
+    });
+
+    ForcingFile forcing = null;
+    ForcingFrame fe0 = null;
+    ForcingFrame fe1 = null;
+    private CompletableFuture<ForcingFrame> prefetch = null; // naechster Satz, im Hintergrund gelesen
+    private int prefetchRecord = -1;
 
-    FEMeteorologicalModel2D fe0 = null;
-    FEMeteorologicalModel2D fe1 = null;
+    // Knoten des Windfeldes und baryzentrische Gewichte je Modellknoten, [3 * dof.number + k]
+    private int[] hostNodes = null;
+    private double[] hostWeights = null;
 
     String fileName = null;
 
@@ -66,15 +91,16 @@ public class SysErgInterpolatedMeteorologicalModel2D extends MeteorologicalModel
         this.fileName = meteoergPath;
         System.out.println("\tOpen meteorology data file " + meteoergPath);
 
-        this.fe0 = new FEMeteorologicalModel2D(fileName, 0);
+        this.forcing = new ForcingFile(fileName);
+        computeInterpolationWeights();
+        this.fe0 = forcing.readFrame(0);
 
         // DOFs initialisieren
         initialDOFs();
 
         try {
-            xf_os = new DataOutputStream(new FileOutputStream(dat.xferg_name));
             // Setzen der Ergebnismaske
-            TicadIO.write_xf(xf_os, this);
+            xf_os = new TicadResultWriter(dat.xferg_name, this);
         } catch (FileNotFoundException e) {
             System.out.println("The file " + dat.xferg_name + " cannot be opened");
             System.out.println(e.getMessage());
@@ -82,11 +108,88 @@ public class SysErgInterpolatedMeteorologicalModel2D extends MeteorologicalModel
         }
     }
 
+    /** host element and barycentric weights of the model nodes in the forcing mesh */
+    private void computeInterpolationWeights() {
+        final DOF[] dofs = fenet.getDOFs();
+        final double[] x = new double[dofs.length];
+        final double[] y = new double[dofs.length];
+        for (DOF dof : dofs) {
+            x[dof.number] = dof.x;
+            y[dof.number] = dof.y;
+        }
+        final int[] elements = new int[dofs.length];
+        hostNodes = new int[3 * dofs.length];
+        hostWeights = new double[3 * dofs.length];
+        forcing.fenet.getElements(x, y, elements, hostWeights);
+        for (int i = 0; i < dofs.length; i++) {
+            if (elements[i] < 0) {
+                hostNodes[3 * i] = -1; // Knoten liegt auszerhalb des Windfeldes !
+            } else {
+                final FElement elem = forcing.fenet.getFElement(elements[i]);
+                for (int k = 0; k < 3; k++) {
+                    hostNodes[3 * i + k] = elem.getDOF(k).number;
+                }
+            }
+        }
+    }
+
     @Override
     public ModelData genData(DOF dof) {
         return new FEInterpolatedMeteorologyData2D(dof);
     }
 
+    /** read the record, a record prefetched in the background is used if available */
+    private ForcingFrame nextFrame(int record) throws IOException {
+        ForcingFrame frame = null;
+        if (prefetch != null && prefetchRecord == record) {
+            try {
+                frame = prefetch.join();
+            } catch (RuntimeException ex) { // Fehler beim Vorauslesen, erneut lesen
+            }
+        }
+        if (frame == null) {
+            frame = forcing.readFrame(record);
+        }
+        final int next = record + 1;
+        if (next < forcing.numberOfRecords) {
+            prefetchRecord = next;
+            prefetch = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return forcing.readFrame(next);
+                } catch (IOException ex) {
+                    throw new RuntimeException(ex);
+                }
+            }, prefetchExecutor);
+        } else {
+            prefetch = null;
+            prefetchRecord = -1;
+            forcing.close(); // letzter Satz gelesen
+        }
+        return frame;
+    }
+
+    /** close the forcing file, a record read in the background is awaited */
+    @Override
+    public void close() throws IOException {
+        final CompletableFuture<ForcingFrame> pending = prefetch;
+        prefetch = null;
+        prefetchRecord = -1;
+        if (pending != null) {
+            try {
+                pending.join();
+            } catch (RuntimeException ex) {
+            }
+        }
+        forcing.close();
+    }
+
+    private void updateFrames() {
+        for (DOF dof : fenet.getDOFs()) {
+            FEInterpolatedMeteorologyData2D md = (FEInterpolatedMeteorologyData2D) MeteorologyData2D.extract(dof);
+            md.update(fe0, fe1);
+        }
+    }
+
     @Override
     public void timeStep(double dt) {
 
@@ -97,13 +200,8 @@ public class SysErgInterpolatedMeteorologicalModel2D extends MeteorologicalModel
 
         if (fe1 == null)
             try {
-                fe1 = new FEMeteorologicalModel2D(fileName, fe0.record + 1);
-                // System.out.println("updaten");
-                for (DOF dof : fenet.getDOFs()) {
-                    FEInterpolatedMeteorologyData2D md = (FEInterpolatedMeteorologyData2D) MeteorologyData2D
-                            .extract(dof);
-                    md.update(fe0, fe1);
-                }
+                fe1 = nextFrame(fe0.record + 1);
+                updateFrames();
             } catch (IOException ex) {
                 Logger.getLogger(SysErgInterpolatedMeteorologicalModel2D.class.getName()).log(Level.SEVERE, null, ex);
             }
@@ -111,24 +209,20 @@ public class SysErgInterpolatedMeteorologicalModel2D extends MeteorologicalModel
             return;
         // System.out.println("time = "+this.time+", time1="+this.fe1.time);
         while (fe1.time < time) {
-            fe0 = fe1;
             try {
-                fe1 = new FEMeteorologicalModel2D(fileName, fe0.record + 1);
-                // System.out.println("updaten");
-                for (DOF dof : fenet.getDOFs()) {
-                    FEInterpolatedMeteorologyData2D md = (FEInterpolatedMeteorologyData2D) MeteorologyData2D
-                            .extract(dof);
-                    md.update(fe0, fe1);
-                }
+                final ForcingFrame next = nextFrame(fe1.record + 1);
+                fe0 = fe1;
+                fe1 = next;
+                updateFrames();
             } catch (IOException ex) {
                 Logger.getLogger(SysErgInterpolatedMeteorologicalModel2D.class.getName()).log(Level.SEVERE, null, ex);
+                break; // kein weiterer Satz, letzte Werte beibehalten
             }
         }
         // System.out.println("time0="+this.fe0.time+", time = "+this.time+",
         // time1="+this.fe1.time);
 
-        double lambda = (this.time - fe0.time) / (fe1.time - fe0.time);
-
+        double lambda = (fe1.time > fe0.time) ? Function.min(1., (this.time - fe0.time) / (fe1.time - fe0.time)) : 0.;
         for (DOF dof : fenet.getDOFs()) {
             FEInterpolatedMeteorologyData2D md = (FEInterpolatedMeteorologyData2D) MeteorologyData2D.extract(dof);
             md.insolation = (1 - lambda) * md.md0.insolation + lambda * md.md1.insolation;
@@ -179,33 +273,19 @@ public class SysErgInterpolatedMeteorologicalModel2D extends MeteorologicalModel
 
     class FEInterpolatedMeteorologyData2D extends MeteorologyData2D {
 
-        DOF myDof;
-        int elementNumber = -1;
+        final int o; // Position in hostNodes und hostWeights
         double time0;
-        MeteorologyData2D md0;
+        final MeteorologyData2D md0 = new MeteorologyData2D();
         double time1;
-        MeteorologyData2D md1;
+        final MeteorologyData2D md1 = new MeteorologyData2D();
 
         FEInterpolatedMeteorologyData2D(DOF dof) {
             super();
-            this.myDof = dof;
-
-            DOF ndof;
-
-            FElement elem = fe0.fenet.getElement(dof);
+            this.o = 3 * dof.number;
 
-            if (elem != null) {
-                elementNumber = elem.number;
-                ndof = fe0.interpolate(elem, dof);
-            } else { // Knoten liegt auszerhalb des Windfeldes !
-                ndof = new DOF(-1, myDof.x, myDof.y, myDof.z);
-                MeteorologyData2D md = new MeteorologyData2D();
-                ndof.addModelData(md);
-            }
-
-            md0 = MeteorologyData2D.extract(ndof);// (fe0.getValue(dof));
+            fe0.interpolate(hostNodes, hostWeights, o, md0);
             time0 = fe0.time;
-            md1 = MeteorologyData2D.extract(ndof);// (fe0.getValue(dof));
+            fe0.interpolate(hostNodes, hostWeights, o, md1);
             time1 = fe0.time;
             this.windx = md0.windx;
             this.windy = md0.windy;
@@ -215,44 +295,74 @@ public class SysErgInterpolatedMeteorologicalModel2D extends MeteorologicalModel
             this.temperature = md0.temperature;
         }
 
-        void update(FEMeteorologicalModel2D fe0, FEMeteorologicalModel2D fe1) {
-            DOF ndof;
-            if (elementNumber > -1) {
-                FElement elem = fe0.fenet.getFElement(elementNumber);
-                ndof = fe0.interpolate(elem, myDof);
-            } else { // Knoten liegt auszerhalb des Windfeldes !
-                ndof = new DOF(-1, myDof.x, myDof.y, myDof.z);
-                MeteorologyData2D md = new MeteorologyData2D();
-                ndof.addModelData(md);
-            }
-            md0 = MeteorologyData2D.extract(ndof);// (fe0.getValue(myDof));
+        void update(ForcingFrame fe0, ForcingFrame fe1) {
+            fe0.interpolate(hostNodes, hostWeights, o, md0);
             time0 = fe0.time;
-
-            DOF ndof2;
-            if (elementNumber > -1) {
-                FElement elem = fe1.fenet.getFElement(elementNumber);
-                ndof2 = fe1.interpolate(elem, myDof);
-            } else { // Knoten liegt auszerhalb des Windfeldes !
-                ndof2 = new DOF(-1, myDof.x, myDof.y, myDof.z);
-                MeteorologyData2D md = new MeteorologyData2D();
-                ndof2.addModelData(md);
-            }
-            md1 = MeteorologyData2D.extract(ndof2);// (fe1.getValue(myDof));
+            fe1.interpolate(hostNodes, hostWeights, o, md1);
             time1 = fe1.time;
         }
     }
 
-    class FEMeteorologicalModel2D extends FEInterpolation {
+    /** one record of the forcing file */
+    static final class ForcingFrame {
 
-        double time = 0;
-        int record = 0;
+        private static final MeteorologyData2D DEFAULT = new MeteorologyData2D(); // Werte ausserhalb des Windfeldes
 
-        @SuppressWarnings("unused")
-        FEMeteorologicalModel2D(String meteoergPath, int record) throws IOException {
+        final int record;
+        final double time;
+        final float[] windx, windy, pressure, insolation, temperature;
 
-            File sysergFile = new File(meteoergPath);
-            try (FileInputStream stream = new FileInputStream(sysergFile);
-                    DataInputStream inStream = new DataInputStream(stream)) {
+        ForcingFrame(int record, double time, int anzKnoten) {
+            this.record = record;
+            this.time = time;
+            windx = new float[anzKnoten];
+            windy = new float[anzKnoten];
+            pressure = new float[anzKnoten];
+            insolation = new float[anzKnoten];
+            temperature = new float[anzKnoten];
+        }
+
+        /** interpolate the values at a model node into md, nodes outside of the forcing mesh keep the default values */
+        void interpolate(int[] hostNodes, double[] hostWeights, int o, MeteorologyData2D md) {
+            final int n0 = hostNodes[o];
+            if (n0 < 0) {
+                md.windx = DEFAULT.windx;
+                md.windy = DEFAULT.windy;
+                md.windspeed = DEFAULT.windspeed;
+                md.pressure = DEFAULT.pressure;
+                md.insolation = DEFAULT.insolation;
+                md.temperature = DEFAULT.temperature;
+                return;
+            }
+            final int n1 = hostNodes[o + 1], n2 = hostNodes[o + 2];
+            final double l0 = hostWeights[o], l1 = hostWeights[o + 1], l2 = hostWeights[o + 2];
+            md.windx = l0 * windx[n0] + l1 * windx[n1] + l2 * windx[n2];
+            md.windy = l0 * windy[n0] + l1 * windy[n1] + l2 * windy[n2];
+            md.windspeed = Function.norm(md.windx, md.windy);
+            md.pressure = l0 * pressure[n0] + l1 * pressure[n1] + l2 * pressure[n2];
+            md.insolation = l0 * insolation[n0] + l1 * insolation[n1] + l2 * insolation[n2];
+            md.temperature = l0 * temperature[n0] + l1 * temperature[n1] + l2 * temperature[n2];
+        }
+    }
+
+    /** forcing file, the mesh is read once, the records are read by offset */
+    static final class ForcingFile implements Closeable {
+
+        final FTriangleMesh fenet;
+        final int anzKnoten;
+        final int anzWerte;
+        final long dataOffset; // Position des ersten Satzes
+        final long recordSize;
+        final int numberOfRecords;
+        // Position der Werte innerhalb eines Knotens in Floats, -1 wenn nicht vorhanden
+        final int windOffset, pressureOffset, insolationOffset, temperatureOffset;
+        private final FileChannel channel;
+        private final ByteBuffer buffer; // ein Satz, fuer jeden Satz wiederverwendet
+
+        ForcingFile(String meteoergPath) throws IOException {
+            long position = 0;
+            try (DataInputStream inStream = new DataInputStream(
+                    new BufferedInputStream(new FileInputStream(meteoergPath)))) {
 
                 // Kommentar lesen, bis ASCII-Zeichen 7 kommt
                 StringBuilder description = new StringBuilder();
@@ -260,68 +370,70 @@ public class SysErgInterpolatedMeteorologicalModel2D extends MeteorologicalModel
                 do {
                     c = (char) inStream.readByte();
                     description.append(c);
+                    position++;
                 } while (c != 7);
                 // Ende Kommentar
                 // sind Offset-Koordianten gespeichert
-                String model_component = "";
                 double offset_x = 0.0, offset_y = 0.0;
                 try {
                     offset_x = TicadIO.getStoredIntegerValue(description.toString(), "OffSetX");
                     offset_y = TicadIO.getStoredIntegerValue(description.toString(), "OffSetY");
-                    // System.out.println("OffSetX " + offset_x);
-                    // System.out.println("OffSetY " + offset_y);
-                    model_component = TicadIO.getStoredModelComponent(description.toString());
-                    // System.out.println("ModelComponent " + model_component);
                 } catch (Exception ex) {
                 }
 
                 // Anzahl Elemente, Knoten und Rand lesen
-                int anzKnoten = inStream.readInt();
+                anzKnoten = inStream.readInt();
                 int anzr = inStream.readInt();
                 int anzElemente = inStream.readInt();
                 // Ueberlesen folgender Zeilen
-                inStream.skip(9 * 4);
+                inStream.readFully(new byte[9 * 4]);
                 // Ergebnismaske lesen und auswerten
                 int ergMaske = inStream.readInt();
-                int anzWerte = TicadIO.ergMaskeAuswerten(ergMaske);
-
-                final boolean None_gesetzt = ((ergMaske & TicadIO.HRES_NONE) == TicadIO.HRES_NONE);
-                final boolean Pos_gesetzt = ((ergMaske & TicadIO.HRES_POS) == TicadIO.HRES_POS);
-                final boolean Z_gesetzt = ((ergMaske & TicadIO.HRES_Z) == TicadIO.HRES_Z);
-                final boolean V_gesetzt = ((ergMaske & TicadIO.HRES_V) == TicadIO.HRES_V);
-                final boolean Q_gesetzt = ((ergMaske & TicadIO.HRES_Q) == TicadIO.HRES_Q);
-                final boolean H_gesetzt = ((ergMaske & TicadIO.HRES_H) == TicadIO.HRES_H);
-                final boolean SALT_gesetzt = ((ergMaske & TicadIO.HRES_SALT) == TicadIO.HRES_SALT);
-                final boolean EDDY_gesetzt = ((ergMaske & TicadIO.HRES_EDDY) == TicadIO.HRES_EDDY);
-                final boolean SHEAR_gesetzt = ((ergMaske & TicadIO.HRES_SHEAR) == TicadIO.HRES_SHEAR);
-                final boolean V_SCAL_gesetzt = ((ergMaske & TicadIO.HRES_V_SCAL) == TicadIO.HRES_V_SCAL);
-                final boolean Q_SCAL_gesetzt = ((ergMaske & TicadIO.HRES_Q_SCAL) == TicadIO.HRES_Q_SCAL);
-                final boolean AH_gesetzt = ((ergMaske & TicadIO.HRES_AH) == TicadIO.HRES_AH);
-
+                anzWerte = TicadIO.ergMaskeAuswerten(ergMaske);
                 inStream.readInt();
+                position += 4 * 3 + 9 * 4 + 4 + 4;
+
+                int off = 0;
+                if ((ergMaske & TicadIO.HRES_NONE) == TicadIO.HRES_NONE) off += 1;
+                if ((ergMaske & TicadIO.HRES_POS) == TicadIO.HRES_POS) off += 1;
+                if ((ergMaske & TicadIO.HRES_Z) == TicadIO.HRES_Z) off += 1;
+                if ((ergMaske & TicadIO.HRES_V) == TicadIO.HRES_V) {
+                    windOffset = off;
+                    off += 2;
+                } else windOffset = -1;
+                if ((ergMaske & TicadIO.HRES_Q) == TicadIO.HRES_Q) off += 2;
+                if ((ergMaske & TicadIO.HRES_H) == TicadIO.HRES_H) {
+                    pressureOffset = off;
+                    off += 1;
+                } else pressureOffset = -1;
+                if ((ergMaske & TicadIO.HRES_SALT) == TicadIO.HRES_SALT) {
+                    insolationOffset = off;
+                    off += 1;
+                } else insolationOffset = -1;
+                if ((ergMaske & TicadIO.HRES_EDDY) == TicadIO.HRES_EDDY) {
+                    temperatureOffset = off;
+                } else temperatureOffset = -1;
 
                 DOF[] dof = new DOF[anzKnoten];
                 for (int i = 0; i < dof.length; i++)
                     dof[i] = new DOF(i, 0., 0., 0.);
 
                 FTriangle[] elem = new FTriangle[anzElemente];
-
                 for (int i = 0; i < anzElemente; i++) {
-
                     DOF dof0 = dof[inStream.readInt()];
                     DOF dof1 = dof[inStream.readInt()];
                     DOF dof2 = dof[inStream.readInt()];
-
                     elem[i] = new FTriangle(dof0, dof1, dof2);
                     elem[i].number = i;
-
                     inStream.readInt(); // Kennung
                 }
+                position += 16L * anzElemente;
 
                 // Schleife Nummern der Randknoten lesen
                 for (int i = 0; i < anzr; i++) {
                     inStream.readInt(); // Knotennummer ueberlesen
                 }
+                position += 4L * anzr;
 
                 // Schleife Knoten lesen 3 mal float
                 for (int i = 0; i < anzKnoten; i++) {
@@ -330,119 +442,52 @@ public class SysErgInterpolatedMeteorologicalModel2D extends MeteorologicalModel
                     p.y = inStream.readFloat() + offset_y;
                     p.z = inStream.readFloat();
                 }
+                position += 12L * anzKnoten;
 
                 fenet = new FTriangleMesh(elem, dof);
-
-                // bis zum record-Satz springen
-                inStream.skip((4L + anzKnoten * anzWerte * 4) * record);
-                this.record = record;
-                time = inStream.readFloat();
-                for (int i = 0; i < fenet.getNumberofDOFs(); i++) {
-
-                    MeteorologyData2D data = new MeteorologyData2D();
-                    dof[i].addModelData(data);
-
-                    if (None_gesetzt) {
-                        inStream.skip(4);
-                    }
-                    if (Pos_gesetzt) {
-                        inStream.skip(4);
-                    }
-                    if (Z_gesetzt) {
-                        inStream.skip(4);
-                    }
-                    if (V_gesetzt) {
-                        data.windx = inStream.readFloat();
-                        data.windy = inStream.readFloat();
-                        data.windspeed = Function.norm(data.windx, data.windy);
-                    }
-                    if (Q_gesetzt) {
-                        inStream.skip(8);
-                    }
-                    if (H_gesetzt) {
-                        data.pressure = inStream.readFloat();
-                    }
-                    if (SALT_gesetzt) {
-                        data.insolation = inStream.readFloat();
-                    }
-                    if (EDDY_gesetzt) {
-                        data.temperature = inStream.readFloat();
-                    }
-                    if (SHEAR_gesetzt) {
-                        inStream.skip(8);
-                    }
-                    if (V_SCAL_gesetzt) {
-                        inStream.skip(4);
-                    }
-                    if (Q_SCAL_gesetzt) {
-                        inStream.skip(4);
-                    }
-                    if (AH_gesetzt) {
-                        inStream.skip(4);
-                    }
-                }
-            } catch (FileNotFoundException ex) {
-                Logger.getLogger(SysErgInterpolatedMeteorologicalModel2D.class.getName()).log(Level.SEVERE, null, ex);
             }
+            dataOffset = position;
+            recordSize = 4L + 4L * anzKnoten * anzWerte;
+            channel = FileChannel.open(Paths.get(meteoergPath), StandardOpenOption.READ);
+            numberOfRecords = (int) Math.max(0, (channel.size() - dataOffset) / recordSize);
+            buffer = ByteBuffer.allocateDirect((int) recordSize);
         }
 
-        @Override
-        public ModelData genData(DOF dof) {
-            throw new UnsupportedOperationException("Not supported yet.");
-        }
-
-        @Override
-        public void ElementInterpolation(FElement ele) {
-            throw new UnsupportedOperationException("Not supported yet.");
+        /** read a record into the buffer of the forcing file */
+        synchronized ForcingFrame readFrame(int record) throws IOException {
+            if (record < 0 || record >= numberOfRecords) {
+                throw new EOFException("record " + record + " not in " + numberOfRecords + " records of the forcing file");
+            }
+            final ByteBuffer buf = buffer;
+            buf.clear();
+            final long position = dataOffset + record * recordSize;
+            while (buf.hasRemaining()) {
+                if (channel.read(buf, position + buf.position()) < 0) {
+                    throw new EOFException("record " + record + " of the forcing file is incomplete");
+                }
+            }
+            final ForcingFrame frame = new ForcingFrame(record, buf.getFloat(0), anzKnoten);
+            if (temperatureOffset < 0)
+                Arrays.fill(frame.temperature, (float) ForcingFrame.DEFAULT.temperature);
+            for (int i = 0; i < anzKnoten; i++) {
+                final int p = 4 + 4 * anzWerte * i;
+                if (windOffset >= 0) {
+                    frame.windx[i] = buf.getFloat(p + 4 * windOffset);
+                    frame.windy[i] = buf.getFloat(p + 4 * windOffset + 4);
+                }
+                if (pressureOffset >= 0)
+                    frame.pressure[i] = buf.getFloat(p + 4 * pressureOffset);
+                if (insolationOffset >= 0)
+                    frame.insolation[i] = buf.getFloat(p + 4 * insolationOffset);
+                if (temperatureOffset >= 0)
+                    frame.temperature[i] = buf.getFloat(p + 4 * temperatureOffset);
+            }
+            return frame;
         }
 
         @Override
-        public DOF getValue(DOF dof) {
-
-            DOF rdof = new DOF(-1, dof.x, dof.y, dof.z);
-            MeteorologyData2D md = new MeteorologyData2D();
-            rdof.addModelData(md);
-            // for (FElement elem : fenet.getFElements()) {
-            FElement elem = fenet.getElement(rdof);
-            if (elem == null)
-                return rdof;
-            // if (elem.contains(rdof)) {
-            double[] lambda = elem.getNaturefromCart(rdof);
-            MeteorologyData2D md0 = MeteorologyData2D.extract(elem.getDOF(0));
-            MeteorologyData2D md1 = MeteorologyData2D.extract(elem.getDOF(1));
-            MeteorologyData2D md2 = MeteorologyData2D.extract(elem.getDOF(2));
-            md.windx = lambda[0] * md0.windx + lambda[1] * md1.windx + lambda[2] * md2.windx;
-            md.windy = lambda[0] * md0.windy + lambda[1] * md1.windy + lambda[2] * md2.windy;
-            md.windspeed = Function.norm(md.windx, md.windy);
-            md.pressure = lambda[0] * md0.pressure + lambda[1] * md1.pressure + lambda[2] * md2.pressure;
-            md.insolation = lambda[0] * md0.insolation + lambda[1] * md1.insolation + lambda[2] * md2.insolation;
-            md.temperature = lambda[0] * md0.temperature + lambda[1] * md1.temperature + lambda[2] * md2.temperature;
-            // break; // Peter 21.09.2016
-            // }
-            // }
-            return rdof;
-        }
-
-        protected DOF interpolate(FElement elem, Point3d point) {
-
-            // if (elem.contains(point)) {
-            DOF rdof = new DOF(-1, point.x, point.y, point.z);
-            MeteorologyData2D md = new MeteorologyData2D();
-            rdof.addModelData(md);
-            double[] lambda = elem.getNaturefromCart(rdof);
-            MeteorologyData2D md0 = MeteorologyData2D.extract(elem.getDOF(0));
-            MeteorologyData2D md1 = MeteorologyData2D.extract(elem.getDOF(1));
-            MeteorologyData2D md2 = MeteorologyData2D.extract(elem.getDOF(2));
-            md.windx = lambda[0] * md0.windx + lambda[1] * md1.windx + lambda[2] * md2.windx;
-            md.windy = lambda[0] * md0.windy + lambda[1] * md1.windy + lambda[2] * md2.windy;
-            md.windspeed = Function.norm(md.windx, md.windy);
-            md.pressure = lambda[0] * md0.pressure + lambda[1] * md1.pressure + lambda[2] * md2.pressure;
-            md.insolation = lambda[0] * md0.insolation + lambda[1] * md1.insolation + lambda[2] * md2.insolation;
-            md.temperature = lambda[0] * md0.temperature + lambda[1] * md1.temperature + lambda[2] * md2.temperature;
-
-            return rdof;
-            // }
-            // return null;
+        public synchronized void close() throws IOException {
+            channel.close();
         }
     }
 }
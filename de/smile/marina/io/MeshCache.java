@@ -0,0 +1,281 @@
+/* ----- AGPL ------------------------------------------------------------------
+ * Copyright (C) Peter Milbradt, 1996-2026
+
+ * This file is part of Marina.
+
+ * Marina is free software: you can redistribute it and/or modify              
+ * it under the terms of the GNU Affero General Public License as               
+ * published by the Free Software Foundation version 3.
+ * 
+ * Marina is distributed in the hope that it will be useful,                  
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of               
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                
+ * GNU Affero General Public License for more details.                          
+ *                                                                              
+ * You should have received a copy of the GNU Affero General Public License     
+ * along with Marina.  If not, see <http://www.gnu.org/licenses/>.             
+ *                                                                               
+ * contact: milbradt@smileconsult.de                                        
+ * smile consult GmbH                                                           
+ * Schiffgraben 11                                                                 
+ * 30159 Hannover, Germany 
+ * 
+ */
+package de.smile.marina.io;
+
+import de.smile.marina.fem.DOF;
+import de.smile.marina.fem.FEDecomposition;
+import de.smile.marina.fem.FElement;
+import de.smile.marina.fem.FTriangle;
+import de.smile.marina.fem.FTriangleMesh;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.IdentityHashMap;
+import java.util.function.Function;
+import java.util.zip.CRC32C;
+
+/**
+ * Binaerer Zwischenspeicher fuer eingelesene Dreiecksnetze. Die Datei
+ * &lt;Netzdatei&gt;.cache enthaelt Koordinaten, Elementknoten, Kennungen,
+ * mittlere Kantenlaengen, Knotenmassen und die Knoten-Element-Zuordnung
+ * (CSR) als flache Felder und wird ueber die Laenge und eine CRC32C-Pruefsumme
+ * der Netzdatei identifiziert. Ist die Netzdatei unveraendert, wird das Netz
+ * aus einer speichergemappten Sicht auf den Zwischenspeicher aufgebaut, sonst
+ * mit dem uebergebenen Leser eingelesen und der Zwischenspeicher neu
+ * geschrieben.
+ *
+ * Layout (big endian, je Abschnitt ein flaches Feld):
+ * <pre>
+ * int MAGIC, int VERSION, long Laenge, long Pruefsumme,
+ * int anzr, int Knoten, int Elemente, int Eintraege der Zuordnung
+ * int    Knotennummern[Knoten]
+ * double x,y,z[3*Knoten]
+ * double meanEdgeLength[Knoten], lumpedMass[Knoten]
+ * int    Elementknoten[3*Elemente], Kennung[Elemente], Elementnummer[Elemente]
+ * int    Offsets[Knoten+1], Elemente je Knoten[Eintraege]
+ * </pre>
+ * Die Elementgeometrie (Koeffizientenmatrix, Kantenlaengen, Flaeche) wird
+ * nicht gespeichert, sie aus den Koordinaten zu berechnen ist schneller als
+ * sie zu lesen.
+ *
+ * @author Peter Milbradt
+ * @version 1.0.0
+ */
+public final class MeshCache {
+
+    private static final int MAGIC = 0x4d434348; // "MCCH"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 40;
+    private static final int CHECKSUM_BLOCK = 1 << 26;
+
+    private MeshCache() {
+    }
+
+    /**
+     * liest ein Netz aus dem Zwischenspeicher oder, falls dieser fehlt bzw.
+     * nicht zur Netzdatei passt, mit dem Leser und schreibt den
+     * Zwischenspeicher; die mittleren Kantenlaengen sind in beiden Faellen
+     * berechnet
+     *
+     * @param filename Netzdatei
+     * @param reader   Leser der Netzdatei, z.B. TicadIO::readFESysDat
+     * @return das Netz oder null, wenn die Netzdatei nicht gelesen werden kann
+     */
+    public static FEDecomposition read(String filename, Function<String, ? extends FEDecomposition> reader) {
+        final File source = new File(filename);
+        final File cache = new File(filename + ".cache");
+        long checksum = 0L;
+        try {
+            checksum = checksum(source.toPath());
+            if (cache.isFile()) {
+                final FTriangleMesh mesh = readCache(cache.toPath(), source.length(), checksum);
+                if (mesh != null) {
+                    System.out.println("Read FEDecomposition from " + cache.getPath());
+                    return mesh;
+                }
+                System.out.println("Mesh cache " + cache.getPath() + " does not match " + filename + ", it is rebuilt");
+            }
+        } catch (IOException e) {
+            System.out.println("Mesh cache " + cache.getPath() + " could not be read: " + e.getMessage());
+        }
+
+        final FEDecomposition mesh = reader.apply(filename);
+        if (mesh == null)
+            return null;
+        mesh.initialMeanEdgeLength();
+        try {
+            if (!writeCache(cache.toPath(), mesh, source.length(), checksum))
+                System.out.println("Mesh cache is not written, the mesh is not a numbered triangle mesh");
+        } catch (IOException e) {
+            System.out.println("Mesh cache " + cache.getPath() + " could not be written: " + e.getMessage());
+        }
+        return mesh;
+    }
+
+    /** CRC32C ueber den Inhalt der Datei, blockweise gemappt */
+    static long checksum(Path file) throws IOException {
+        final CRC32C crc = new CRC32C();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            for (long position = 0; position < size; position += CHECKSUM_BLOCK) {
+                crc.update(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(CHECKSUM_BLOCK, size - position)));
+            }
+        }
+        return crc.getValue();
+    }
+
+    private static FTriangleMesh readCache(Path file, long sourceLength, long sourceChecksum) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE)
+                return null;
+            final ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION
+                    || header.getLong() != sourceLength || header.getLong() != sourceChecksum)
+                return null;
+            final int anzr = header.getInt();
+            final int nodes = header.getInt();
+            final int elements = header.getInt();
+            final int entries = header.getInt();
+            final long size = HEADER_SIZE + 4L * nodes + 8L * 5 * nodes + 4L * 5 * elements + 4L * (nodes + 1) + 4L * entries;
+            if (nodes < 0 || elements < 0 || entries < 0 || channel.size() != size)
+                return null;
+
+            long position = HEADER_SIZE;
+            final int[] numbers = new int[nodes];
+            map(channel, position, 4L * nodes).asIntBuffer().get(numbers);
+            position += 4L * nodes;
+            final double[] xyz = new double[3 * nodes];
+            map(channel, position, 8L * 3 * nodes).asDoubleBuffer().get(xyz);
+            position += 8L * 3 * nodes;
+            final double[] meanEdgeLength = new double[nodes];
+            map(channel, position, 8L * nodes).asDoubleBuffer().get(meanEdgeLength);
+            position += 8L * nodes;
+            final double[] lumpedMass = new double[nodes];
+            map(channel, position, 8L * nodes).asDoubleBuffer().get(lumpedMass);
+            position += 8L * nodes;
+            final int[] connectivity = new int[3 * elements];
+            map(channel, position, 4L * 3 * elements).asIntBuffer().get(connectivity);
+            position += 4L * 3 * elements;
+            final int[] kennung = new int[elements];
+            map(channel, position, 4L * elements).asIntBuffer().get(kennung);
+            position += 4L * elements;
+            final int[] elementNumbers = new int[elements];
+            map(channel, position, 4L * elements).asIntBuffer().get(elementNumbers);
+            position += 4L * elements;
+            final int[] offsets = new int[nodes + 1];
+            map(channel, position, 4L * (nodes + 1)).asIntBuffer().get(offsets);
+            position += 4L * (nodes + 1);
+            final int[] adjacency = new int[entries];
+            map(channel, position, 4L * entries).asIntBuffer().get(adjacency);
+
+            final DOF[] dofs = new DOF[nodes];
+            for (int i = 0; i < nodes; i++) {
+                final DOF dof = new DOF(numbers[i], xyz[3 * i], xyz[3 * i + 1], xyz[3 * i + 2]);
+                dof.meanEdgeLength = meanEdgeLength[i];
+                dof.lumpedMass = lumpedMass[i];
+                dofs[i] = dof;
+            }
+            final FTriangle[] triangles = new FTriangle[elements];
+            for (int j = 0; j < elements; j++) {
+                final FTriangle triangle = new FTriangle(dofs[connectivity[3 * j]], dofs[connectivity[3 * j + 1]],
+                        dofs[connectivity[3 * j + 2]]);
+                triangle.setKennung(kennung[j]);
+                triangle.number = elementNumbers[j];
+                triangles[j] = triangle;
+            }
+            for (int i = 0; i < nodes; i++) {
+                final FElement[] adjacent = new FElement[offsets[i + 1] - offsets[i]];
+                for (int k = 0; k < adjacent.length; k++)
+                    adjacent[k] = triangles[adjacency[offsets[i] + k]];
+                dofs[i].setFElements(adjacent);
+            }
+            final FTriangleMesh mesh = new FTriangleMesh(triangles, dofs);
+            mesh.anzr = anzr;
+            return mesh;
+        }
+    }
+
+    private static ByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+    }
+
+    /**
+     * schreibt den Zwischenspeicher ueber eine temporaere Datei, damit ein
+     * abgebrochener Lauf keinen unvollstaendigen Zwischenspeicher hinterlaesst
+     *
+     * @return false, wenn das Netz nicht aus Dreiecken besteht
+     */
+    private static boolean writeCache(Path file, FEDecomposition mesh, long sourceLength, long sourceChecksum)
+            throws IOException {
+        final DOF[] dofs = mesh.getDOFs();
+        final FElement[] elements = mesh.getFElements();
+        final IdentityHashMap<DOF, Integer> dofIndex = new IdentityHashMap<>(2 * dofs.length);
+        for (int i = 0; i < dofs.length; i++) {
+            if (dofs[i] == null)
+                return false;
+            dofIndex.put(dofs[i], i);
+        }
+        final IdentityHashMap<FElement, Integer> elementIndex = new IdentityHashMap<>(2 * elements.length);
+        for (int j = 0; j < elements.length; j++) {
+            if (!(elements[j] instanceof FTriangle))
+                return false;
+            elementIndex.put(elements[j], j);
+        }
+        int entries = 0;
+        for (DOF dof : dofs)
+            entries += dof.getNumberofFElements();
+
+        final Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream os = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+            os.writeInt(MAGIC);
+            os.writeInt(VERSION);
+            os.writeLong(sourceLength);
+            os.writeLong(sourceChecksum);
+            os.writeInt(mesh instanceof FTriangleMesh ? ((FTriangleMesh) mesh).anzr : 0);
+            os.writeInt(dofs.length);
+            os.writeInt(elements.length);
+            os.writeInt(entries);
+            for (DOF dof : dofs)
+                os.writeInt(dof.number);
+            for (DOF dof : dofs) {
+                os.writeDouble(dof.x);
+                os.writeDouble(dof.y);
+                os.writeDouble(dof.z);
+            }
+            for (DOF dof : dofs)
+                os.writeDouble(dof.meanEdgeLength);
+            for (DOF dof : dofs)
+                os.writeDouble(dof.lumpedMass);
+            for (FElement element : elements)
+                for (int k = 0; k < 3; k++)
+                    os.writeInt(dofIndex.get(element.getDOF(k)));
+            for (FElement element : elements)
+                os.writeInt(((FTriangle) element).getKennung());
+            for (FElement element : elements)
+                os.writeInt(element.number);
+            int offset = 0;
+            os.writeInt(offset);
+            for (DOF dof : dofs) {
+                offset += dof.getNumberofFElements();
+                os.writeInt(offset);
+            }
+            for (DOF dof : dofs)
+                for (int k = 0; k < dof.getNumberofFElements(); k++)
+                    os.writeInt(elementIndex.get(dof.getFElementAt(k)));
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return true;
+    }
+}
@@ -38,7 +38,7 @@ import java.util.StringTokenizer;
 /**
  *
  * @author milbradt
- * @version 3.15.1
+ * @version 3.16.0
  */
 public class RndwerteBAWReader implements BoundaryConditionsReader {
 
@@ -372,7 +372,7 @@ public class RndwerteBAWReader implements BoundaryConditionsReader {
                             System.out.println("> " + dataLine.line);
                             System.exit(0);
                         }
-                        KnotenNr[K] = i1;
+                        KnotenNr[K] = fedecomposition.getDOFNumber(i1); // Knotennummer der Netzdatei
                     }
                     ip += countToken;
                 } while (ip < anz_identische_Knoten);
@@ -38,7 +38,7 @@ import javax.vecmath.*;
 
 /**
  * @author Peter Milbradt
- * @version 4.1.0
+ * @version 4.2.0
  */
 public class TicadIO {
     
@@ -405,12 +405,12 @@ public class TicadIO {
             os.writeInt(0);
 
 
-            //      Elementverzeichnis
+            //      Elementverzeichnis in der Nummerierung der Netzdatei
             //-----------------------------------------------
             for (int i = 0; i < net.getNumberofFElements(); i++) {
-                FTriangle triangle = (FTriangle) net.getFElement(i);
+                FTriangle triangle = (FTriangle) net.getFElement(net.getFElementNumber(i));
                 for (int j = 0; j < 3; j++) {
-                    os.writeInt(triangle.getDOF(j).number);
+                    os.writeInt(net.getDOFFileNumber(triangle.getDOF(j).number));
                 }
                 os.writeInt(triangle.getKennung());
             }
@@ -422,9 +422,10 @@ public class TicadIO {
 
             //      Knotenverzeichnis
             for (int i = 0; i < anzk; i++) {
-                os.writeFloat((float) (net.getDOF(i).x - offSetX));
-                os.writeFloat((float) (net.getDOF(i).y - offSetY));
-                os.writeFloat((float) net.getDOF(i).z);
+                final DOF dof = net.getDOF(net.getDOFNumber(i));
+                os.writeFloat((float) (dof.x - offSetX));
+                os.writeFloat((float) (dof.y - offSetY));
+                os.writeFloat((float) dof.z);
             }
             os.flush();
         } catch (IOException e) {
@@ -461,12 +462,12 @@ public class TicadIO {
             os.writeInt(0);
 
 
-            //      Elementverzeichnis
+            //      Elementverzeichnis in der Nummerierung der Netzdatei
             //-----------------------------------------------
             for (int i = 0; i < net.getNumberofFElements(); i++) {
-                FTriangle triangle = (FTriangle) net.getFElement(i);
+                FTriangle triangle = (FTriangle) net.getFElement(net.getFElementNumber(i));
                 for (int j = 0; j < 3; j++) {
-                    os.writeInt(triangle.getDOF(j).number);
+                    os.writeInt(net.getDOFFileNumber(triangle.getDOF(j).number));
                 }
                 os.writeInt(triangle.getKennung());
             }
@@ -478,9 +479,10 @@ public class TicadIO {
 
             //      Knotenverzeichnis
             for (int i = 0; i < anzk; i++) {
-                os.writeFloat((float) net.getDOF(i).x);
-                os.writeFloat((float) net.getDOF(i).y);
-                os.writeFloat((float) net.getDOF(i).z);
+                final DOF dof = net.getDOF(net.getDOFNumber(i));
+                os.writeFloat((float) dof.x);
+                os.writeFloat((float) dof.y);
+                os.writeFloat((float) dof.z);
             }
             os.flush();
         } catch (IOException e) {
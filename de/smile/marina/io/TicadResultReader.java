@@ -0,0 +1,340 @@
+/* ----- AGPL ------------------------------------------------------------------
+ * Copyright (C) Peter Milbradt, 1996-2026
+
+ * This file is part of Marina.
+
+ * Marina is free software: you can redistribute it and/or modify              
+ * it under the terms of the GNU Affero General Public License as               
+ * published by the Free Software Foundation version 3.
+ * 
+ * Marina is distributed in the hope that it will be useful,                  
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of               
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                
+ * GNU Affero General Public License for more details.                          
+ *                                                                              
+ * You should have received a copy of the GNU Affero General Public License     
+ * along with Marina.  If not, see <http://www.gnu.org/licenses/>.             
+ *                                                                               
+ * contact: milbradt@smileconsult.de                                        
+ * smile consult GmbH                                                           
+ * Schiffgraben 11                                                                 
+ * 30159 Hannover, Germany 
+ * 
+ */
+package de.smile.marina.io;
+
+import de.smile.marina.fem.FEDecomposition;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reader for TiCAD result files (syserg.bin). The header and the result mask
+ * are read once, the records are accessed by offset through memory mapped
+ * regions of the file.
+ * <p>
+ * A reader opened for a renumbered mesh addresses the nodes by DOF.number and
+ * maps them to the node numbers of the file.
+ *
+ * @author Peter Milbradt
+ * @version 1.1.0
+ */
+public final class TicadResultReader implements Closeable {
+
+    // Ergebnisgroessen in der Reihenfolge der Speicherung und Anzahl der Floats je Knoten
+    private static final int[] HRES = {TicadIO.HRES_NONE, TicadIO.HRES_POS, TicadIO.HRES_Z, TicadIO.HRES_V,
+        TicadIO.HRES_Q, TicadIO.HRES_H, TicadIO.HRES_SALT, TicadIO.HRES_EDDY, TicadIO.HRES_SHEAR,
+        TicadIO.HRES_V_SCAL, TicadIO.HRES_Q_SCAL, TicadIO.HRES_AH};
+    private static final int[] HRES_SIZE = {1, 1, 1, 2, 2, 1, 1, 1, 2, 1, 1, 1};
+
+    private final String fileName;
+    private final String description;
+    private final int anzKnoten, anzr, anzElemente;
+    private final int ergMaske;
+    private final int anzWerte;
+    private final double offSetX, offSetY;
+    private final int[] valueOffset = new int[HRES.length]; // Position der Groesse im Knoten in Floats, -1 wenn nicht gespeichert
+    private final long elementOffset, boundaryOffset, nodeOffset, dataOffset;
+    private final long recordSize;
+    private final FileChannel channel;
+    private final FEDecomposition numbering; // umnummeriertes Netz oder null
+
+
+    /**
+     * open a TiCAD result file and read the header
+     *
+     * @param fileName
+     * @throws IOException
+     */
+    public TicadResultReader(String fileName) throws IOException {
+        this(fileName, null);
+    }
+
+    /**
+     * open a TiCAD result file with the nodes of the mesh and read the header
+     *
+     * @param fileName
+     * @param fenet    mesh of the model, the nodes are addressed by DOF.number
+     * @throws IOException
+     */
+    public TicadResultReader(String fileName, FEDecomposition fenet) throws IOException {
+        this.fileName = fileName;
+        this.numbering = (fenet != null && fenet.isRenumbered()) ? fenet : null;
+        long position = 0;
+        try (DataInputStream inStream = new DataInputStream(new BufferedInputStream(new FileInputStream(fileName)))) {
+            // Kommentar lesen, bis ASCII-Zeichen 7 kommt
+            StringBuilder sb = new StringBuilder();
+            char c;
+            do {
+                c = (char) inStream.readByte();
+                sb.append(c);
+                position++;
+            } while (c != 7);
+            description = sb.toString();
+
+            // Anzahl Knoten, Rand und Elemente lesen
+            anzKnoten = inStream.readInt();
+            anzr = inStream.readInt();
+            anzElemente = inStream.readInt();
+            // Ueberlesen folgender Zeilen
+            inStream.readFully(new byte[9 * 4]);
+            // Ergebnismaske lesen und auswerten
+            ergMaske = inStream.readInt();
+            anzWerte = TicadIO.ergMaskeAuswerten(ergMaske);
+            inStream.readInt();
+            position += 4 * 3 + 9 * 4 + 4 + 4;
+        }
+
+        double x = 0., y = 0.;
+        try {
+            x = TicadIO.getStoredIntegerValue(description, "OffSetX");
+            y = TicadIO.getStoredIntegerValue(description, "OffSetY");
+        } catch (Exception ex) {
+        }
+        offSetX = x;
+        offSetY = y;
+
+        int off = 0;
+        for (int k = 0; k < HRES.length; k++) {
+            if ((ergMaske & HRES[k]) == HRES[k]) {
+                valueOffset[k] = off;
+                off += HRES_SIZE[k];
+            } else {
+                valueOffset[k] = -1;
+            }
+        }
+
+        elementOffset = position;
+        boundaryOffset = elementOffset + 16L * anzElemente;
+        nodeOffset = boundaryOffset + 4L * anzr;
+        dataOffset = nodeOffset + 12L * anzKnoten;
+        recordSize = 4L + 4L * anzKnoten * anzWerte;
+        channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ);
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public int getNumberOfNodes() {
+        return anzKnoten;
+    }
+
+    public int getNumberOfBoundaryNodes() {
+        return anzr;
+    }
+
+    public int getNumberOfElements() {
+        return anzElemente;
+    }
+
+    public int getErgMask() {
+        return ergMaske;
+    }
+
+    /** @return number of floats per node in a record */
+    public int getNumberOfValues() {
+        return anzWerte;
+    }
+
+    public double getOffSetX() {
+        return offSetX;
+    }
+
+    public double getOffSetY() {
+        return offSetY;
+    }
+
+    /** @return number of complete records in the file */
+    public int getNumberOfRecords() throws IOException {
+        return (int) Math.max(0, (channel.size() - dataOffset) / recordSize);
+    }
+
+    /**
+     * @param hres result quantity e.g. TicadIO.HRES_V
+     * @return true if the quantity is stored in the file
+     */
+    public boolean contains(int hres) {
+        return (ergMaske & hres) == hres;
+    }
+
+    /**
+     * position of a result quantity in the values of a node
+     *
+     * @param hres result quantity e.g. TicadIO.HRES_V
+     * @return offset in floats
+     */
+    public int getValueOffset(int hres) {
+        final int k = Integer.numberOfTrailingZeros(hres);
+        if (Integer.bitCount(hres) != 1 || k >= HRES.length) {
+            throw new IllegalArgumentException("unknown result quantity " + hres);
+        }
+        if (valueOffset[k] < 0) {
+            throw new IllegalArgumentException("result quantity " + hres + " is not stored in " + fileName);
+        }
+        return valueOffset[k];
+    }
+
+    /**
+     * read the elements
+     *
+     * @return [anzElemente][4] with the three node numbers and the Kennung
+     * @throws IOException
+     */
+    public int[][] readElements() throws IOException {
+        final ByteBuffer buf = map(elementOffset, 16L * anzElemente);
+        final int[][] elements = new int[anzElemente][4];
+        for (int[] element : elements) {
+            for (int j = 0; j < 4; j++) {
+                element[j] = buf.getInt();
+            }
+        }
+        return elements;
+    }
+
+    /**
+     * read the node numbers of the boundary
+     *
+     * @return
+     * @throws IOException
+     */
+    public int[] readBoundaryNodes() throws IOException {
+        final ByteBuffer buf = map(boundaryOffset, 4L * anzr);
+        final int[] boundary = new int[anzr];
+        for (int i = 0; i < anzr; i++) {
+            boundary[i] = buf.getInt();
+        }
+        return boundary;
+    }
+
+    /**
+     * read the node coordinates, the stored offset is added
+     *
+     * @return [anzKnoten][3] with x, y, z
+     * @throws IOException
+     */
+    public double[][] readNodes() throws IOException {
+        final ByteBuffer buf = map(nodeOffset, 12L * anzKnoten);
+        final double[][] nodes = new double[anzKnoten][3];
+        for (double[] node : nodes) {
+            node[0] = buf.getFloat() + offSetX;
+            node[1] = buf.getFloat() + offSetY;
+            node[2] = buf.getFloat();
+        }
+        return nodes;
+    }
+
+    /**
+     * random access view of a record
+     *
+     * @param record number of the record, starting with 0
+     * @return
+     * @throws IOException if the record is not in the file
+     */
+    public Record getRecord(int record) throws IOException {
+        if (record < 0 || record >= getNumberOfRecords()) {
+            throw new EOFException("record " + record + " not in " + getNumberOfRecords() + " records of " + fileName);
+        }
+        return new Record(record, map(dataOffset + record * recordSize, recordSize));
+    }
+
+    private MappedByteBuffer map(long position, long size) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /** one record of the result file */
+    public final class Record {
+
+        private final int record;
+        private final ByteBuffer buf;
+
+        private Record(int record, ByteBuffer buf) {
+            this.record = record;
+            this.buf = buf;
+        }
+
+        public int getRecordNumber() {
+            return record;
+        }
+
+        public float getTime() {
+            return buf.getFloat(0);
+        }
+
+        /**
+         * @param node node number
+         * @param hres result quantity e.g. TicadIO.HRES_H
+         * @return the (first) value of the quantity at the node
+         */
+        public float getValue(int node, int hres) {
+            return getValue(node, hres, 0);
+        }
+
+        /**
+         * @param node      node number
+         * @param hres      result quantity e.g. TicadIO.HRES_V
+         * @param component component of a vector quantity (0 or 1)
+         * @return value of the quantity at the node
+         */
+        public float getValue(int node, int hres, int component) {
+            if (numbering != null) {
+                node = numbering.getDOFFileNumber(node);
+            }
+            return buf.getFloat(4 + 4 * (anzWerte * node + getValueOffset(hres) + component));
+        }
+
+        /**
+         * all values of a quantity, faster than getValue for every node
+         *
+         * @param hres      result quantity e.g. TicadIO.HRES_V
+         * @param component component of a vector quantity (0 or 1)
+         * @return values of the quantity at all nodes
+         */
+        public float[] getValues(int hres, int component) {
+            final int offset = getValueOffset(hres) + component;
+            final float[] values = new float[anzKnoten];
+            for (int i = 0; i < anzKnoten; i++) {
+                final int node = (numbering == null) ? i : numbering.getDOFFileNumber(i);
+                values[i] = buf.getFloat(4 + 4 * (anzWerte * node + offset));
+            }
+            return values;
+        }
+    }
+}
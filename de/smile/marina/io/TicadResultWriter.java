@@ -0,0 +1,240 @@
+/* ----- AGPL ------------------------------------------------------------------
+ * Copyright (C) Peter Milbradt, 1996-2026
+
+ * This file is part of Marina.
+
+ * Marina is free software: you can redistribute it and/or modify              
+ * it under the terms of the GNU Affero General Public License as               
+ * published by the Free Software Foundation version 3.
+ * 
+ * Marina is distributed in the hope that it will be useful,                  
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of               
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                
+ * GNU Affero General Public License for more details.                          
+ *                                                                              
+ * You should have received a copy of the GNU Affero General Public License     
+ * along with Marina.  If not, see <http://www.gnu.org/licenses/>.             
+ *                                                                               
+ * contact: milbradt@smileconsult.de                                        
+ * smile consult GmbH                                                           
+ * Schiffgraben 11                                                                 
+ * 30159 Hannover, Germany 
+ * 
+ */
+package de.smile.marina.io;
+
+import de.smile.marina.fem.FEApproximation;
+import de.smile.marina.fem.FEDecomposition;
+import de.smile.marina.fem.TicadModel;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Writer for result files in the TiCAD syserg.bin format.
+ * The values of a result record are collected in a direct buffer and written
+ * with one channel write when the record is complete (method flush), the file
+ * content is identical to a file written float by float with a DataOutputStream.
+ * <p>
+ * In the asynchronous mode a completed record is handed over to a dedicated
+ * output thread and the model continues with the next free buffer of its pool.
+ * The number of buffers per file bounds the records in the queue, if all
+ * buffers are in the queue flush blocks until the output thread returns one.
+ * <p>
+ * If the mesh of the model is renumbered the node values of a record are
+ * written in the order of DOF.number and stored at the position of the node
+ * in the mesh file, so the file keeps the numbering of the mesh file.
+ *
+ * @author Peter Milbradt
+ * @version 1.2.0
+ */
+public class TicadResultWriter implements Closeable {
+
+    private static int numberOfBuffers = 1; // 1 = synchrones Schreiben
+    private static ExecutorService outputThread = null;
+    private static final ArrayList<TicadResultWriter> openWriters = new ArrayList<>();
+
+    private final FileOutputStream fs;
+    private final FileChannel channel;
+    private ByteBuffer record;
+    private final ArrayBlockingQueue<ByteBuffer> freeBuffers;
+    private volatile IOException writeException = null;
+    private boolean closed = false;
+
+    private final FEDecomposition numbering; // umnummeriertes Netz oder null
+    private final int valuesPerNode;
+    private final int nodeValues; // Anzahl der Knotenwerte eines Satzes
+    private int values = 0; // Anzahl der Werte im aktuellen Satz
+
+    /**
+     * switch on the asynchronous output for all result files opened afterwards
+     *
+     * @param buffers number of record buffers per result file (2 = double
+     *                buffering), values less than 2 switch to synchronous output
+     */
+    public static synchronized void setAsynchronousOutput(int buffers) {
+        numberOfBuffers = Math.max(1, buffers);
+        if (numberOfBuffers > 1 && outputThread == null) {
+            outputThread = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "Marina result output");
+                t.setDaemon(true);
+                return t;
+            });
+            // noch ausstehende Ergebnissaetze auch beim Abbruch (System.exit) schreiben
+            Runtime.getRuntime().addShutdownHook(new Thread(TicadResultWriter::closeAll));
+        }
+    }
+
+    /** write all pending records and close all open result files */
+    public static void closeAll() {
+        final TicadResultWriter[] writers;
+        synchronized (openWriters) {
+            writers = openWriters.toArray(new TicadResultWriter[0]);
+        }
+        for (TicadResultWriter writer : writers) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * open the result file and write the file header of the model
+     *
+     * @param fileName name of the result file
+     * @param model    model with the result mask (TicadModel)
+     * @throws FileNotFoundException
+     */
+    public TicadResultWriter(String fileName, FEApproximation model) throws FileNotFoundException {
+        fs = new FileOutputStream(fileName);
+        channel = fs.getChannel();
+
+        DataOutputStream os = new DataOutputStream(new BufferedOutputStream(fs));
+        TicadIO.write_xf(os, model);
+
+        final int anzWerte = TicadIO.ergMaskeAuswerten(((TicadModel) model).getTicadErgMask());
+        final int capacity = 4 + 4 * anzWerte * model.fenet.getNumberofDOFs();
+        record = ByteBuffer.allocateDirect(capacity);
+        numbering = model.fenet.isRenumbered() ? model.fenet : null;
+        valuesPerNode = anzWerte;
+        nodeValues = anzWerte * model.fenet.getNumberofDOFs();
+
+        final int buffers;
+        synchronized (TicadResultWriter.class) {
+            buffers = (outputThread == null) ? 1 : numberOfBuffers;
+        }
+        if (buffers > 1) {
+            freeBuffers = new ArrayBlockingQueue<>(buffers);
+            for (int i = 1; i < buffers; i++) {
+                freeBuffers.add(ByteBuffer.allocateDirect(capacity));
+            }
+        } else {
+            freeBuffers = null;
+        }
+        synchronized (openWriters) {
+            openWriters.add(this);
+        }
+    }
+
+    /** append a float value to the current record
+     * @param v */
+    public final void writeFloat(float v) {
+        final int k = values++ - 1; // der erste Wert eines Satzes ist die Zeit
+        if (numbering != null && k >= 0 && k < nodeValues) {
+            final int position = numbering.getDOFFileNumber(k / valuesPerNode) * valuesPerNode + k % valuesPerNode;
+            record.putInt(4 + 4 * position, Float.floatToIntBits(v));
+            if (k == nodeValues - 1) {
+                record.position(4 + 4 * nodeValues);
+            }
+            return;
+        }
+        if (record.remaining() < 4) {
+            ByteBuffer tmp = ByteBuffer.allocateDirect(2 * record.capacity());
+            record.flip();
+            tmp.put(record);
+            record = tmp;
+        }
+        record.putInt(Float.floatToIntBits(v)); // wie DataOutputStream.writeFloat (kanonisches NaN)
+    }
+
+    /** write the current record to the file, in the asynchronous mode the record
+     *  is queued and the method returns as soon as a free buffer is available
+     * @throws java.io.IOException */
+    public synchronized void flush() throws IOException {
+        checkWriteException();
+        values = 0;
+        record.flip();
+        if (freeBuffers == null) {
+            write(record);
+            return;
+        }
+        final ByteBuffer full = record;
+        outputThread.execute(() -> {
+            try {
+                write(full);
+            } catch (IOException e) {
+                writeException = e;
+                full.clear();
+            }
+            freeBuffers.add(full);
+        });
+        try {
+            record = freeBuffers.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("waiting for a free result buffer");
+        }
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void checkWriteException() throws IOException {
+        final IOException e = writeException;
+        if (e != null) {
+            writeException = null;
+            throw e;
+        }
+    }
+
+    /** write all pending records and close the file
+     * @throws java.io.IOException */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        synchronized (openWriters) {
+            openWriters.remove(this);
+        }
+        if (freeBuffers != null) {
+            // alle vorher eingereihten Saetze sind geschrieben, wenn dieser Auftrag ausgefuehrt wurde
+            try {
+                outputThread.submit(() -> {
+                }).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IOException(e.getCause());
+            }
+        }
+        if (record.position() > 0) {
+            record.flip();
+            write(record);
+        }
+        fs.close();
+        checkWriteException();
+    }
+}
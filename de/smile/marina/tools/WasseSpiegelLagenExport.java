@@ -199,16 +199,15 @@ public class WasseSpiegelLagenExport {
                 DOF rdof = new DOF(-1, x, y, z);
                 CurrentModel2DData md = new CurrentModel2DData();
                 rdof.addModelData(md);
-                for (FElement ftriangle : fed.getFElements()) {
-                    if (ftriangle.contains(rdof)) {
-                        double[] lambda = ftriangle.getNaturefromCart(rdof);
-                        CurrentModel2DData md0 = CurrentModel2DData.extract(ftriangle.getDOF(0));
-                        CurrentModel2DData md1 = CurrentModel2DData.extract(ftriangle.getDOF(1));
-                        CurrentModel2DData md2 = CurrentModel2DData.extract(ftriangle.getDOF(2));
-                        md.eta = lambda[0] * md0.eta + lambda[1] * md1.eta + lambda[2] * md2.eta;
-                        System.out.println(x + "\t" + y + "\t" + z + "\t" + md.eta);
-                        break;
-                    }
+                double[] lambda = new double[3];
+                int e = fed.getPointLocator().locate(x, y, lambda);
+                if (e >= 0) {
+                    FElement ftriangle = fed.getFElement(e);
+                    CurrentModel2DData md0 = CurrentModel2DData.extract(ftriangle.getDOF(0));
+                    CurrentModel2DData md1 = CurrentModel2DData.extract(ftriangle.getDOF(1));
+                    CurrentModel2DData md2 = CurrentModel2DData.extract(ftriangle.getDOF(2));
+                    md.eta = lambda[0] * md0.eta + lambda[1] * md1.eta + lambda[2] * md2.eta;
+                    System.out.println(x + "\t" + y + "\t" + z + "\t" + md.eta);
                 }
             }
 
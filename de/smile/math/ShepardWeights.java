@@ -0,0 +1,193 @@
+/* ----- AGPL ------------------------------------------------------------------
+ * Copyright (C) Peter Milbradt, 1996-2026
+
+ * This file is part of Marina.
+
+ * Marina is free software: you can redistribute it and/or modify              
+ * it under the terms of the GNU Affero General Public License as               
+ * published by the Free Software Foundation version 3.
+ * 
+ * Marina is distributed in the hope that it will be useful,                  
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of               
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                
+ * GNU Affero General Public License for more details.                          
+ *                                                                              
+ * You should have received a copy of the GNU Affero General Public License     
+ * along with Marina.  If not, see <http://www.gnu.org/licenses/>.             
+ *                                                                               
+ * contact: milbradt@smileconsult.de                                        
+ * smile consult GmbH                                                           
+ * Schiffgraben 11                                                                 
+ * 30159 Hannover, Germany 
+ * 
+ */
+package de.smile.math;
+
+/**
+ * Shepard (inverse distance) interpolation weights from a fixed set of
+ * stations to a fixed set of points, stored as a sparse matrix in compressed
+ * row form. The weights are computed once, each interpolation of new station
+ * values is then one sparse matrix-vector product.
+ * <p>
+ * Without a radius the weights are {@code 1/r^2}, with a radius R the
+ * Franke-Little weights {@code ((R-r)/(R r))^2} are used and stations outside
+ * the radius are ignored. Optionally only the k nearest stations are taken.
+ * A point without station inside the radius gets the value of its nearest
+ * station, a point on a station the value of this station.
+ *
+ * @author Peter Milbradt
+ * @version 1.0.0
+ */
+public final class ShepardWeights {
+
+    private final int size;
+    private final int stations;
+    private final int[] rowStart;
+    private final int[] column;
+    private final double[] weight;
+
+    /**
+     * global Shepard weights, all stations contribute to every point
+     *
+     * @param x  x-coordinates of the points
+     * @param y  y-coordinates of the points
+     * @param sx x-coordinates of the stations
+     * @param sy y-coordinates of the stations
+     */
+    public ShepardWeights(double[] x, double[] y, double[] sx, double[] sy) {
+        this(x, y, sx, sy, 0, 0.);
+    }
+
+    /**
+     * local Shepard weights
+     *
+     * @param x          x-coordinates of the points
+     * @param y          y-coordinates of the points
+     * @param sx         x-coordinates of the stations
+     * @param sy         y-coordinates of the stations
+     * @param neighbours number of nearest stations per point, 0 for all
+     * @param radius     radius of influence, 0 for unlimited
+     */
+    public ShepardWeights(double[] x, double[] y, double[] sx, double[] sy, int neighbours, double radius) {
+        this.size = x.length;
+        this.stations = sx.length;
+        final int k = (neighbours <= 0 || neighbours > stations) ? stations : neighbours;
+
+        final int[][] cols = new int[size][];
+        final double[][] ws = new double[size][];
+        WorkerPool.parallelFor(size, (lo, hi) -> {
+            final int[] candidate = new int[k];
+            final double[] d2 = new double[k];
+            for (int i = lo; i < hi; i++) {
+                // the k nearest stations inside the radius, sorted by distance
+                int n = 0;
+                int nearest = -1;
+                double nearestD2 = Double.MAX_VALUE;
+                boolean exact = false;
+                for (int j = 0; j < stations && !exact; j++) {
+                    final double r2 = (x[i] - sx[j]) * (x[i] - sx[j]) + (y[i] - sy[j]) * (y[i] - sy[j]);
+                    if (r2 < nearestD2) {
+                        nearestD2 = r2;
+                        nearest = j;
+                    }
+                    if (r2 == 0.) {
+                        exact = true;
+                    } else if (radius <= 0. || r2 < radius * radius) {
+                        if (n < k || r2 < d2[n - 1]) {
+                            int p = (n < k) ? n++ : n - 1;
+                            while (p > 0 && d2[p - 1] > r2) {
+                                d2[p] = d2[p - 1];
+                                candidate[p] = candidate[p - 1];
+                                p--;
+                            }
+                            d2[p] = r2;
+                            candidate[p] = j;
+                        }
+                    }
+                }
+                if (exact || n == 0) {
+                    cols[i] = (nearest < 0) ? new int[0] : new int[]{nearest};
+                    ws[i] = (nearest < 0) ? new double[0] : new double[]{1.};
+                    continue;
+                }
+                // store the weights in the order of the stations
+                final int[] c = java.util.Arrays.copyOf(candidate, n);
+                java.util.Arrays.sort(c);
+                final double[] w = new double[n];
+                double norm = 0.;
+                for (int l = 0; l < n; l++) {
+                    final int j = c[l];
+                    final double r2 = (x[i] - sx[j]) * (x[i] - sx[j]) + (y[i] - sy[j]) * (y[i] - sy[j]);
+                    if (radius > 0.) {
+                        final double r = Math.sqrt(r2);
+                        w[l] = Function.sqr((radius - r) / (radius * r));
+                    } else {
+                        w[l] = 1. / r2;
+                    }
+                    norm += w[l];
+                }
+                for (int l = 0; l < n; l++) {
+                    w[l] /= norm;
+                }
+                cols[i] = c;
+                ws[i] = w;
+            }
+        });
+
+        rowStart = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            rowStart[i + 1] = rowStart[i] + cols[i].length;
+        }
+        column = new int[rowStart[size]];
+        weight = new double[rowStart[size]];
+        for (int i = 0; i < size; i++) {
+            System.arraycopy(cols[i], 0, column, rowStart[i], cols[i].length);
+            System.arraycopy(ws[i], 0, weight, rowStart[i], ws[i].length);
+        }
+    }
+
+    /** @return number of points */
+    public int size() {
+        return size;
+    }
+
+    /** @return number of stations */
+    public int getNumberOfStations() {
+        return stations;
+    }
+
+    /** @return number of stored weights */
+    public int getNumberOfWeights() {
+        return weight.length;
+    }
+
+    /**
+     * interpolated value at one point
+     *
+     * @param i      index of the point
+     * @param values values at the stations
+     * @return
+     */
+    public double getValue(int i, double[] values) {
+        double v = 0.;
+        for (int l = rowStart[i]; l < rowStart[i + 1]; l++) {
+            v += weight[l] * values[column[l]];
+        }
+        return v;
+    }
+
+    /**
+     * interpolate the station values to all points, in parallel on the
+     * {@link WorkerPool}
+     *
+     * @param values values at the stations
+     * @param result interpolated values at the points
+     */
+    public void interpolate(double[] values, double[] result) {
+        WorkerPool.parallelFor(size, (lo, hi) -> {
+            for (int i = lo; i < hi; i++) {
+                result[i] = getValue(i, values);
+            }
+        });
+    }
+}
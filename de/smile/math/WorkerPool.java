@@ -0,0 +1,129 @@
+/* ----- AGPL ------------------------------------------------------------------
+ * Copyright (C) Peter Milbradt, 1996-2026
+
+ * This file is part of Marina.
+
+ * Marina is free software: you can redistribute it and/or modify              
+ * it under the terms of the GNU Affero General Public License as               
+ * published by the Free Software Foundation version 3.
+ * 
+ * Marina is distributed in the hope that it will be useful,                  
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of               
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                
+ * GNU Affero General Public License for more details.                          
+ *                                                                              
+ * You should have received a copy of the GNU Affero General Public License     
+ * along with Marina.  If not, see <http://www.gnu.org/licenses/>.             
+ *                                                                               
+ * contact: milbradt@smileconsult.de                                        
+ * smile consult GmbH                                                           
+ * Schiffgraben 11                                                                 
+ * 30159 Hannover, Germany 
+ * 
+ */
+package de.smile.math;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.DoubleSupplier;
+import java.util.stream.IntStream;
+
+/**
+ * Shared pool of worker threads for the parallel loops of the models and the
+ * time step methods. The pool is created once with the configured number of
+ * threads, parallel streams started inside the pool run on its threads.
+ *
+ * @author Peter Milbradt
+ * @version 1.0.0
+ */
+public final class WorkerPool {
+
+    private static ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /** loop body for the index range [lo, hi) */
+    @FunctionalInterface
+    public interface RangeLoop {
+        void run(int lo, int hi);
+    }
+
+    private WorkerPool() {
+    }
+
+    /**
+     * create the shared pool, should be called once before the models are
+     * generated
+     *
+     * @param numberOfThreads number of worker threads
+     */
+    public static synchronized void initialize(int numberOfThreads) {
+        if (pool != ForkJoinPool.commonPool()) {
+            pool.shutdown();
+        }
+        pool = new ForkJoinPool(Math.max(1, numberOfThreads));
+    }
+
+    public static ForkJoinPool getPool() {
+        return pool;
+    }
+
+    public static int getNumberOfThreads() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * run the task on the worker threads of the pool, parallel streams inside
+     * the task use the threads of the pool
+     *
+     * @param task
+     */
+    public static void invoke(Runnable task) {
+        final ForkJoinPool p = pool;
+        if (ForkJoinTask.getPool() == p) {
+            task.run();
+        } else {
+            p.submit(task).join();
+        }
+    }
+
+    /**
+     * compute a value on the worker threads of the pool, parallel streams
+     * inside the task use the threads of the pool
+     *
+     * @param task
+     * @return the value of the task
+     */
+    public static double compute(DoubleSupplier task) {
+        final ForkJoinPool p = pool;
+        if (ForkJoinTask.getPool() == p) {
+            return task.getAsDouble();
+        }
+        return p.submit(() -> task.getAsDouble()).join();
+    }
+
+    /**
+     * parallel loop over [0, n) in chunks
+     *
+     * @param n      number of iterations
+     * @param chunks number of chunks (e.g. the number of threads of a model)
+     * @param body   loop body for a chunk
+     */
+    public static void parallelFor(int n, int chunks, RangeLoop body) {
+        final int c = Math.max(1, Math.min(chunks, n));
+        if (c == 1) {
+            body.run(0, n);
+        } else {
+            invoke(() -> IntStream.range(0, c).parallel()
+                    .forEach(ii -> body.run((int) ((long) n * ii / c), (int) ((long) n * (ii + 1) / c))));
+        }
+    }
+
+    /**
+     * parallel loop over [0, n) with one chunk per worker thread
+     *
+     * @param n    number of iterations
+     * @param body loop body for a chunk
+     */
+    public static void parallelFor(int n, RangeLoop body) {
+        parallelFor(n, getNumberOfThreads(), body);
+    }
+}
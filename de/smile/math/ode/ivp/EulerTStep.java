@@ -23,6 +23,8 @@
  */
 package de.smile.math.ode.ivp;
 
+import de.smile.math.WorkerPool;
+
 public class EulerTStep implements SimpleTStep {
 
     int resultSize = 0;
@@ -62,37 +64,14 @@ public class EulerTStep implements SimpleTStep {
                 x[i] += dt * sysValue[i];
             }
         } else {
-            ParallelLoop[] ploop = new ParallelLoop[NumberOfThreads];
-            for (int ii = 0; ii < NumberOfThreads; ii++) {
-                ploop[ii] = new ParallelLoop(resultSize * ii / NumberOfThreads, resultSize * (ii + 1) / NumberOfThreads);
-                ploop[ii].start();
-            }
-            for (int ii = 0; ii < NumberOfThreads; ii++) {
-                try {
-                    ploop[ii].join();
-                } catch (InterruptedException e) {
+            WorkerPool.parallelFor(resultSize, NumberOfThreads, (lo, hi) -> {
+                for (int i = lo; i < hi; i++) {
+                    x[i] += dt * sysValue[i];
                 }
-            }
+            });
         }
 
         return x;
 
     }
-
-    class ParallelLoop extends Thread {
-
-        int lo, hi;
-
-        ParallelLoop(int lo, int hi) {
-            this.lo = lo;
-            this.hi = hi;
-        }
-
-        @Override
-        public void run() {
-            for (int i = lo; i < hi; i++) {
-                x[i] += dt * sysValue[i];
-            }
-        }
-    }
 }
@@ -23,6 +23,8 @@
  */
 package de.smile.math.ode.ivp;
 
+import de.smile.math.WorkerPool;
+
 public class HeunTStep implements SimpleTStep {
 
     int resultSize = 0;
@@ -53,7 +55,9 @@ public class HeunTStep implements SimpleTStep {
         this.dt = dt;
         this.x = x;
 
-        t1_result = new double[resultSize];
+        if (t1_result == null || t1_result.length != resultSize) {
+            t1_result = new double[resultSize];
+        }
 
         sysValue = sys.getRateofChange(t, x);
 //        if(sysValue.length!=resultSize)
@@ -64,17 +68,11 @@ public class HeunTStep implements SimpleTStep {
                 t1_result[i] = x[i] + dt / 2. * sysValue[i];
             }
         } else {
-            ParallelLoop1[] ploop1 = new ParallelLoop1[NumberOfThreads];
-            for (int ii = 0; ii < NumberOfThreads; ii++) {
-                ploop1[ii] = new ParallelLoop1(resultSize * ii / NumberOfThreads, resultSize * (ii + 1) / NumberOfThreads);
-                ploop1[ii].start();
-            }
-            for (int ii = 0; ii < NumberOfThreads; ii++) {
-                try {
-                    ploop1[ii].join();
-                } catch (InterruptedException e) {
+            WorkerPool.parallelFor(resultSize, NumberOfThreads, (lo, hi) -> {
+                for (int i = lo; i < hi; i++) {
+                    t1_result[i] = x[i] + dt / 2. * sysValue[i];
                 }
-            }
+            });
         }
 
 
@@ -84,54 +82,14 @@ public class HeunTStep implements SimpleTStep {
                 x[i] += dt * sysValue[i];
             }
         } else {
-            ParallelLoop[] ploop = new ParallelLoop[NumberOfThreads];
-            for (int ii = 0; ii < NumberOfThreads; ii++) {
-                ploop[ii] = new ParallelLoop(resultSize * ii / NumberOfThreads, resultSize * (ii + 1) / NumberOfThreads);
-                ploop[ii].start();
-            }
-            for (int ii = 0; ii < NumberOfThreads; ii++) {
-                try {
-                    ploop[ii].join();
-                } catch (InterruptedException e) {
+            WorkerPool.parallelFor(resultSize, NumberOfThreads, (lo, hi) -> {
+                for (int i = lo; i < hi; i++) {
+                    x[i] += dt * sysValue[i];
                 }
-            }
+            });
         }
 
         return x;
 
     }
-
-    class ParallelLoop1 extends Thread {
-
-        int lo, hi;
-
-        ParallelLoop1(int lo, int hi) {
-            this.lo = lo;
-            this.hi = hi;
-        }
-
-        @Override
-        public void run() {
-            for (int i = lo; i < hi; i++) {
-                t1_result[i] = x[i] + dt / 2. * sysValue[i];
-            }
-        }
-    }
-
-    class ParallelLoop extends Thread {
-
-        int lo, hi;
-
-        ParallelLoop(int lo, int hi) {
-            this.lo = lo;
-            this.hi = hi;
-        }
-
-        @Override
-        public void run() {
-            for (int i = lo; i < hi; i++) {
-                x[i] += dt * sysValue[i];
-            }
-        }
-    }
 }
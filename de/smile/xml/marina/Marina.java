@@ -32,6 +32,8 @@
 package de.smile.xml.marina;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlElement;
@@ -70,6 +72,8 @@ import javax.xml.datatype.XMLGregorianCalendar;
  *                                     &lt;sequence&gt;
  *                                       &lt;element name="FileName" type="{http://www.w3.org/2001/XMLSchema}string"/&gt;
  *                                       &lt;element name="FileType" type="{http://www.smileconsult.de/Marina}TMeshFileType"/&gt;
+ *                                       &lt;element name="Renumbering" type="{http://www.w3.org/2001/XMLSchema}boolean" minOccurs="0"/&gt;
+ *                                       &lt;element name="MeshCache" type="{http://www.w3.org/2001/XMLSchema}boolean" minOccurs="0"/&gt;
  *                                     &lt;/sequence&gt;
  *                                   &lt;/restriction&gt;
  *                                 &lt;/complexContent&gt;
@@ -95,6 +99,28 @@ import javax.xml.datatype.XMLGregorianCalendar;
  *                       &lt;/complexContent&gt;
  *                     &lt;/complexType&gt;
  *                   &lt;/element&gt;
+ *                   &lt;element name="SubCycling" minOccurs="0"&gt;
+ *                     &lt;complexType&gt;
+ *                       &lt;complexContent&gt;
+ *                         &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
+ *                           &lt;sequence&gt;
+ *                             &lt;element name="Model" maxOccurs="unbounded"&gt;
+ *                               &lt;complexType&gt;
+ *                                 &lt;complexContent&gt;
+ *                                   &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
+ *                                     &lt;sequence&gt;
+ *                                       &lt;element name="Name" type="{http://www.w3.org/2001/XMLSchema}string"/&gt;
+ *                                       &lt;element name="Cycles" type="{http://www.w3.org/2001/XMLSchema}int"/&gt;
+ *                                     &lt;/sequence&gt;
+ *                                   &lt;/restriction&gt;
+ *                                 &lt;/complexContent&gt;
+ *                               &lt;/complexType&gt;
+ *                             &lt;/element&gt;
+ *                           &lt;/sequence&gt;
+ *                         &lt;/restriction&gt;
+ *                       &lt;/complexContent&gt;
+ *                     &lt;/complexType&gt;
+ *                   &lt;/element&gt;
  *                 &lt;/all&gt;
  *               &lt;/restriction&gt;
  *             &lt;/complexContent&gt;
@@ -635,6 +661,31 @@ import javax.xml.datatype.XMLGregorianCalendar;
  *                                           &lt;/complexContent&gt;
  *                                         &lt;/complexType&gt;
  *                                       &lt;/element&gt;
+ *                                       &lt;element name="WindStations"&gt;
+ *                                         &lt;complexType&gt;
+ *                                           &lt;complexContent&gt;
+ *                                             &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
+ *                                               &lt;sequence&gt;
+ *                                                 &lt;element name="Station" maxOccurs="unbounded"&gt;
+ *                                                   &lt;complexType&gt;
+ *                                                     &lt;complexContent&gt;
+ *                                                       &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
+ *                                                         &lt;sequence&gt;
+ *                                                           &lt;element name="FileName" type="{http://www.w3.org/2001/XMLSchema}string"/&gt;
+ *                                                           &lt;element name="X" type="{http://www.w3.org/2001/XMLSchema}double"/&gt;
+ *                                                           &lt;element name="Y" type="{http://www.w3.org/2001/XMLSchema}double"/&gt;
+ *                                                         &lt;/sequence&gt;
+ *                                                       &lt;/restriction&gt;
+ *                                                     &lt;/complexContent&gt;
+ *                                                   &lt;/complexType&gt;
+ *                                                 &lt;/element&gt;
+ *                                                 &lt;element name="ShepardNeighbours" type="{http://www.w3.org/2001/XMLSchema}int" minOccurs="0"/&gt;
+ *                                                 &lt;element name="ShepardRadius" type="{http://www.w3.org/2001/XMLSchema}double" minOccurs="0"/&gt;
+ *                                               &lt;/sequence&gt;
+ *                                             &lt;/restriction&gt;
+ *                                           &lt;/complexContent&gt;
+ *                                         &lt;/complexType&gt;
+ *                                       &lt;/element&gt;
  *                                       &lt;element name="ResultFile"&gt;
  *                                         &lt;complexType&gt;
  *                                           &lt;complexContent&gt;
@@ -2788,6 +2839,31 @@ public class Marina {
      *                                 &lt;/complexContent&gt;
      *                               &lt;/complexType&gt;
      *                             &lt;/element&gt;
+     *                             &lt;element name="WindStations"&gt;
+     *                               &lt;complexType&gt;
+     *                                 &lt;complexContent&gt;
+     *                                   &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
+     *                                     &lt;sequence&gt;
+     *                                       &lt;element name="Station" maxOccurs="unbounded"&gt;
+     *                                         &lt;complexType&gt;
+     *                                           &lt;complexContent&gt;
+     *                                             &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
+     *                                               &lt;sequence&gt;
+     *                                                 &lt;element name="FileName" type="{http://www.w3.org/2001/XMLSchema}string"/&gt;
+     *                                                 &lt;element name="X" type="{http://www.w3.org/2001/XMLSchema}double"/&gt;
+     *                                                 &lt;element name="Y" type="{http://www.w3.org/2001/XMLSchema}double"/&gt;
+     *                                               &lt;/sequence&gt;
+     *                                             &lt;/restriction&gt;
+     *                                           &lt;/complexContent&gt;
+     *                                         &lt;/complexType&gt;
+     *                                       &lt;/element&gt;
+     *                                       &lt;element name="ShepardNeighbours" type="{http://www.w3.org/2001/XMLSchema}int" minOccurs="0"/&gt;
+     *                                       &lt;element name="ShepardRadius" type="{http://www.w3.org/2001/XMLSchema}double" minOccurs="0"/&gt;
+     *                                     &lt;/sequence&gt;
+     *                                   &lt;/restriction&gt;
+     *                                 &lt;/complexContent&gt;
+     *                               &lt;/complexType&gt;
+     *                             &lt;/element&gt;
      *                             &lt;element name="ResultFile"&gt;
      *                               &lt;complexType&gt;
      *                                 &lt;complexContent&gt;
@@ -13426,6 +13502,31 @@ public class Marina {
          *                       &lt;/complexContent&gt;
          *                     &lt;/complexType&gt;
          *                   &lt;/element&gt;
+         *                   &lt;element name="WindStations"&gt;
+         *                     &lt;complexType&gt;
+         *                       &lt;complexContent&gt;
+         *                         &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
+         *                           &lt;sequence&gt;
+         *                             &lt;element name="Station" maxOccurs="unbounded"&gt;
+         *                               &lt;complexType&gt;
+         *                                 &lt;complexContent&gt;
+         *                                   &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
+         *                                     &lt;sequence&gt;
+         *                                       &lt;element name="FileName" type="{http://www.w3.org/2001/XMLSchema}string"/&gt;
+         *                                       &lt;element name="X" type="{http://www.w3.org/2001/XMLSchema}double"/&gt;
+         *                                       &lt;element name="Y" type="{http://www.w3.org/2001/XMLSchema}double"/&gt;
+         *                                     &lt;/sequence&gt;
+         *                                   &lt;/restriction&gt;
+         *                                 &lt;/complexContent&gt;
+         *                               &lt;/complexType&gt;
+         *                             &lt;/element&gt;
+         *                             &lt;element name="ShepardNeighbours" type="{http://www.w3.org/2001/XMLSchema}int" minOccurs="0"/&gt;
+         *                             &lt;element name="ShepardRadius" type="{http://www.w3.org/2001/XMLSchema}double" minOccurs="0"/&gt;
+         *                           &lt;/sequence&gt;
+         *                         &lt;/restriction&gt;
+         *                       &lt;/complexContent&gt;
+         *                     &lt;/complexType&gt;
+         *                   &lt;/element&gt;
          *                   &lt;element name="ResultFile"&gt;
          *                     &lt;complexType&gt;
          *                       &lt;complexContent&gt;
@@ -13545,6 +13646,31 @@ public class Marina {
              *             &lt;/complexContent&gt;
              *           &lt;/complexType&gt;
              *         &lt;/element&gt;
+             *         &lt;element name="WindStations"&gt;
+             *           &lt;complexType&gt;
+             *             &lt;complexContent&gt;
+             *               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
+             *                 &lt;sequence&gt;
+             *                   &lt;element name="Station" maxOccurs="unbounded"&gt;
+             *                     &lt;complexType&gt;
+             *                       &lt;complexContent&gt;
+             *                         &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
+             *                           &lt;sequence&gt;
+             *                             &lt;element name="FileName" type="{http://www.w3.org/2001/XMLSchema}string"/&gt;
+             *                             &lt;element name="X" type="{http://www.w3.org/2001/XMLSchema}double"/&gt;
+             *                             &lt;element name="Y" type="{http://www.w3.org/2001/XMLSchema}double"/&gt;
+             *                           &lt;/sequence&gt;
+             *                         &lt;/restriction&gt;
+             *                       &lt;/complexContent&gt;
+             *                     &lt;/complexType&gt;
+             *                   &lt;/element&gt;
+             *                   &lt;element name="ShepardNeighbours" type="{http://www.w3.org/2001/XMLSchema}int" minOccurs="0"/&gt;
+             *                   &lt;element name="ShepardRadius" type="{http://www.w3.org/2001/XMLSchema}double" minOccurs="0"/&gt;
+             *                 &lt;/sequence&gt;
+             *               &lt;/restriction&gt;
+             *             &lt;/complexContent&gt;
+             *           &lt;/complexType&gt;
+             *         &lt;/element&gt;
              *         &lt;element name="ResultFile"&gt;
              *           &lt;complexType&gt;
              *             &lt;complexContent&gt;
@@ -13568,12 +13694,15 @@ public class Marina {
             @XmlAccessorType(XmlAccessType.FIELD)
             @XmlType(name = "", propOrder = {
                 "windTimeSeries",
+                "windStations",
                 "resultFile"
             })
             public static class DataBased {
 
                 @XmlElement(name = "WindTimeSeries")
                 protected Marina.Configuration.MeteorologicalModel2D.DataBased.WindTimeSeries windTimeSeries;
+                @XmlElement(name = "WindStations")
+                protected Marina.Configuration.MeteorologicalModel2D.DataBased.WindStations windStations;
                 @XmlElement(name = "ResultFile")
                 protected Marina.Configuration.MeteorologicalModel2D.DataBased.ResultFile resultFile;
 
@@ -13601,6 +13730,30 @@ public class Marina {
                     this.windTimeSeries = value;
                 }
 
+                /**
+                 * Ruft den Wert der windStations-Eigenschaft ab.
+                 * 
+                 * @return
+                 *     possible object is
+                 *     {@link Marina.Configuration.MeteorologicalModel2D.DataBased.WindStations }
+                 *     
+                 */
+                public Marina.Configuration.MeteorologicalModel2D.DataBased.WindStations getWindStations() {
+                    return windStations;
+                }
+
+                /**
+                 * Legt den Wert der windStations-Eigenschaft fest.
+                 * 
+                 * @param value
+                 *     allowed object is
+                 *     {@link Marina.Configuration.MeteorologicalModel2D.DataBased.WindStations }
+                 *     
+                 */
+                public void setWindStations(Marina.Configuration.MeteorologicalModel2D.DataBased.WindStations value) {
+                    this.windStations = value;
+                }
+
                 /**
                  * Ruft den Wert der resultFile-Eigenschaft ab.
                  * 
@@ -13764,6 +13917,222 @@ public class Marina {
 
                 }
 
+
+                /**
+                 * <p>Java-Klasse für anonymous complex type.
+                 * 
+                 * <p>Das folgende Schemafragment gibt den erwarteten Content an, der in dieser Klasse enthalten ist.
+                 * 
+                 * <pre>
+                 * &lt;complexType&gt;
+                 *   &lt;complexContent&gt;
+                 *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
+                 *       &lt;sequence&gt;
+                 *         &lt;element name="Station" maxOccurs="unbounded"&gt;
+                 *           &lt;complexType&gt;
+                 *             &lt;complexContent&gt;
+                 *               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
+                 *                 &lt;sequence&gt;
+                 *                   &lt;element name="FileName" type="{http://www.w3.org/2001/XMLSchema}string"/&gt;
+                 *                   &lt;element name="X" type="{http://www.w3.org/2001/XMLSchema}double"/&gt;
+                 *                   &lt;element name="Y" type="{http://www.w3.org/2001/XMLSchema}double"/&gt;
+                 *                 &lt;/sequence&gt;
+                 *               &lt;/restriction&gt;
+                 *             &lt;/complexContent&gt;
+                 *           &lt;/complexType&gt;
+                 *         &lt;/element&gt;
+                 *         &lt;element name="ShepardNeighbours" type="{http://www.w3.org/2001/XMLSchema}int" minOccurs="0"/&gt;
+                 *         &lt;element name="ShepardRadius" type="{http://www.w3.org/2001/XMLSchema}double" minOccurs="0"/&gt;
+                 *       &lt;/sequence&gt;
+                 *     &lt;/restriction&gt;
+                 *   &lt;/complexContent&gt;
+                 * &lt;/complexType&gt;
+                 * </pre>
+                 * 
+                 * 
+                 */
+                @XmlAccessorType(XmlAccessType.FIELD)
+                @XmlType(name = "", propOrder = {
+                    "station",
+                    "shepardNeighbours",
+                    "shepardRadius"
+                })
+                public static class WindStations {
+
+                    @XmlElement(name = "Station", required = true)
+                    protected List<Marina.Configuration.MeteorologicalModel2D.DataBased.WindStations.Station> station;
+                    @XmlElement(name = "ShepardNeighbours")
+                    protected Integer shepardNeighbours;
+                    @XmlElement(name = "ShepardRadius")
+                    protected Double shepardRadius;
+
+                    /**
+                     * Gets the value of the station property.
+                     * 
+                     * <p>
+                     * This accessor method returns a reference to the live list,
+                     * not a snapshot. Therefore any modification you make to the
+                     * returned list will be present inside the JAXB object.
+                     * This is why there is not a <CODE>set</CODE> method for the station property.
+                     * 
+                     * <p>
+                     * Objects of the following type(s) are allowed in the list
+                     * {@link Marina.Configuration.MeteorologicalModel2D.DataBased.WindStations.Station }
+                     * 
+                     * 
+                     */
+                    public List<Marina.Configuration.MeteorologicalModel2D.DataBased.WindStations.Station> getStation() {
+                        if (station == null) {
+                            station = new ArrayList<Marina.Configuration.MeteorologicalModel2D.DataBased.WindStations.Station>();
+                        }
+                        return this.station;
+                    }
+
+                    /**
+                     * Ruft den Wert der shepardNeighbours-Eigenschaft ab.
+                     * 
+                     * @return
+                     *     possible object is
+                     *     {@link Integer }
+                     *     
+                     */
+                    public Integer getShepardNeighbours() {
+                        return shepardNeighbours;
+                    }
+
+                    /**
+                     * Legt den Wert der shepardNeighbours-Eigenschaft fest.
+                     * 
+                     * @param value
+                     *     allowed object is
+                     *     {@link Integer }
+                     *     
+                     */
+                    public void setShepardNeighbours(Integer value) {
+                        this.shepardNeighbours = value;
+                    }
+
+                    /**
+                     * Ruft den Wert der shepardRadius-Eigenschaft ab.
+                     * 
+                     * @return
+                     *     possible object is
+                     *     {@link Double }
+                     *     
+                     */
+                    public Double getShepardRadius() {
+                        return shepardRadius;
+                    }
+
+                    /**
+                     * Legt den Wert der shepardRadius-Eigenschaft fest.
+                     * 
+                     * @param value
+                     *     allowed object is
+                     *     {@link Double }
+                     *     
+                     */
+                    public void setShepardRadius(Double value) {
+                        this.shepardRadius = value;
+                    }
+
+
+                    /**
+                     * <p>Java-Klasse für anonymous complex type.
+                     * 
+                     * <p>Das folgende Schemafragment gibt den erwarteten Content an, der in dieser Klasse enthalten ist.
+                     * 
+                     * <pre>
+                     * &lt;complexType&gt;
+                     *   &lt;complexContent&gt;
+                     *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
+                     *       &lt;sequence&gt;
+                     *         &lt;element name="FileName" type="{http://www.w3.org/2001/XMLSchema}string"/&gt;
+                     *         &lt;element name="X" type="{http://www.w3.org/2001/XMLSchema}double"/&gt;
+                     *         &lt;element name="Y" type="{http://www.w3.org/2001/XMLSchema}double"/&gt;
+                     *       &lt;/sequence&gt;
+                     *     &lt;/restriction&gt;
+                     *   &lt;/complexContent&gt;
+                     * &lt;/complexType&gt;
+                     * </pre>
+                     * 
+                     * 
+                     */
+                    @XmlAccessorType(XmlAccessType.FIELD)
+                    @XmlType(name = "", propOrder = {
+                        "fileName",
+                        "x",
+                        "y"
+                    })
+                    public static class Station {
+
+                        @XmlElement(name = "FileName", required = true)
+                        protected String fileName;
+                        @XmlElement(name = "X")
+                        protected double x;
+                        @XmlElement(name = "Y")
+                        protected double y;
+
+                        /**
+                         * Ruft den Wert der fileName-Eigenschaft ab.
+                         * 
+                         * @return
+                         *     possible object is
+                         *     {@link String }
+                         *     
+                         */
+                        public String getFileName() {
+                            return fileName;
+                        }
+
+                        /**
+                         * Legt den Wert der fileName-Eigenschaft fest.
+                         * 
+                         * @param value
+                         *     allowed object is
+                         *     {@link String }
+                         *     
+                         */
+                        public void setFileName(String value) {
+                            this.fileName = value;
+                        }
+
+                        /**
+                         * Ruft den Wert der x-Eigenschaft ab.
+                         * 
+                         */
+                        public double getX() {
+                            return x;
+                        }
+
+                        /**
+                         * Legt den Wert der x-Eigenschaft fest.
+                         * 
+                         */
+                        public void setX(double value) {
+                            this.x = value;
+                        }
+
+                        /**
+                         * Ruft den Wert der y-Eigenschaft ab.
+                         * 
+                         */
+                        public double getY() {
+                            return y;
+                        }
+
+                        /**
+                         * Legt den Wert der y-Eigenschaft fest.
+                         * 
+                         */
+                        public void setY(double value) {
+                            this.y = value;
+                        }
+
+                    }
+
+                }
+
             }
 
 
@@ -23196,6 +23565,8 @@ public class Marina {
      *                           &lt;sequence&gt;
      *                             &lt;element name="FileName" type="{http://www.w3.org/2001/XMLSchema}string"/&gt;
      *                             &lt;element name="FileType" type="{http://www.smileconsult.de/Marina}TMeshFileType"/&gt;
+     *                             &lt;element name="Renumbering" type="{http://www.w3.org/2001/XMLSchema}boolean" minOccurs="0"/&gt;
+     *                             &lt;element name="MeshCache" type="{http://www.w3.org/2001/XMLSchema}boolean" minOccurs="0"/&gt;
      *                           &lt;/sequence&gt;
      *                         &lt;/restriction&gt;
      *                       &lt;/complexContent&gt;
@@ -23221,6 +23592,28 @@ public class Marina {
      *             &lt;/complexContent&gt;
      *           &lt;/complexType&gt;
      *         &lt;/element&gt;
+     *         &lt;element name="SubCycling" minOccurs="0"&gt;
+     *           &lt;complexType&gt;
+     *             &lt;complexContent&gt;
+     *               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
+     *                 &lt;sequence&gt;
+     *                   &lt;element name="Model" maxOccurs="unbounded"&gt;
+     *                     &lt;complexType&gt;
+     *                       &lt;complexContent&gt;
+     *                         &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
+     *                           &lt;sequence&gt;
+     *                             &lt;element name="Name" type="{http://www.w3.org/2001/XMLSchema}string"/&gt;
+     *                             &lt;element name="Cycles" type="{http://www.w3.org/2001/XMLSchema}int"/&gt;
+     *                           &lt;/sequence&gt;
+     *                         &lt;/restriction&gt;
+     *                       &lt;/complexContent&gt;
+     *                     &lt;/complexType&gt;
+     *                   &lt;/element&gt;
+     *                 &lt;/sequence&gt;
+     *               &lt;/restriction&gt;
+     *             &lt;/complexContent&gt;
+     *           &lt;/complexType&gt;
+     *         &lt;/element&gt;
      *       &lt;/all&gt;
      *     &lt;/restriction&gt;
      *   &lt;/complexContent&gt;
@@ -23243,6 +23636,8 @@ public class Marina {
         protected Marina.ControlParameter.System system;
         @XmlElement(name = "SimulationTime", required = true)
         protected Marina.ControlParameter.SimulationTime simulationTime;
+        @XmlElement(name = "SubCycling")
+        protected Marina.ControlParameter.SubCycling subCycling;
 
         /**
          * Ruft den Wert der baseDir-Eigenschaft ab.
@@ -23340,6 +23735,30 @@ public class Marina {
             this.simulationTime = value;
         }
 
+        /**
+         * Ruft den Wert der subCycling-Eigenschaft ab.
+         * 
+         * @return
+         *     possible object is
+         *     {@link Marina.ControlParameter.SubCycling }
+         *     
+         */
+        public Marina.ControlParameter.SubCycling getSubCycling() {
+            return subCycling;
+        }
+
+        /**
+         * Legt den Wert der subCycling-Eigenschaft fest.
+         * 
+         * @param value
+         *     allowed object is
+         *     {@link Marina.ControlParameter.SubCycling }
+         *     
+         */
+        public void setSubCycling(Marina.ControlParameter.SubCycling value) {
+            this.subCycling = value;
+        }
+
 
         /**
          * <p>Java-Klasse für anonymous complex type.
@@ -23456,6 +23875,145 @@ public class Marina {
         }
 
 
+        /**
+         * <p>Java-Klasse für anonymous complex type.
+         * 
+         * <p>Das folgende Schemafragment gibt den erwarteten Content an, der in dieser Klasse enthalten ist.
+         * 
+         * <pre>
+         * &lt;complexType&gt;
+         *   &lt;complexContent&gt;
+         *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
+         *       &lt;sequence&gt;
+         *         &lt;element name="Model" maxOccurs="unbounded"&gt;
+         *           &lt;complexType&gt;
+         *             &lt;complexContent&gt;
+         *               &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
+         *                 &lt;sequence&gt;
+         *                   &lt;element name="Name" type="{http://www.w3.org/2001/XMLSchema}string"/&gt;
+         *                   &lt;element name="Cycles" type="{http://www.w3.org/2001/XMLSchema}int"/&gt;
+         *                 &lt;/sequence&gt;
+         *               &lt;/restriction&gt;
+         *             &lt;/complexContent&gt;
+         *           &lt;/complexType&gt;
+         *         &lt;/element&gt;
+         *       &lt;/sequence&gt;
+         *     &lt;/restriction&gt;
+         *   &lt;/complexContent&gt;
+         * &lt;/complexType&gt;
+         * </pre>
+         * 
+         * 
+         */
+        @XmlAccessorType(XmlAccessType.FIELD)
+        @XmlType(name = "", propOrder = {
+            "model"
+        })
+        public static class SubCycling {
+
+            @XmlElement(name = "Model", required = true)
+            protected List<Marina.ControlParameter.SubCycling.Model> model;
+
+            /**
+             * Gets the value of the model property.
+             * 
+             * <p>
+             * This accessor method returns a reference to the live list,
+             * not a snapshot. Therefore any modification you make to the
+             * returned list will be present inside the JAXB object.
+             * This is why there is not a <CODE>set</CODE> method for the model property.
+             * 
+             * <p>
+             * Objects of the following type(s) are allowed in the list
+             * {@link Marina.ControlParameter.SubCycling.Model }
+             * 
+             * 
+             */
+            public List<Marina.ControlParameter.SubCycling.Model> getModel() {
+                if (model == null) {
+                    model = new ArrayList<Marina.ControlParameter.SubCycling.Model>();
+                }
+                return this.model;
+            }
+
+
+            /**
+             * <p>Java-Klasse für anonymous complex type.
+             * 
+             * <p>Das folgende Schemafragment gibt den erwarteten Content an, der in dieser Klasse enthalten ist.
+             * 
+             * <pre>
+             * &lt;complexType&gt;
+             *   &lt;complexContent&gt;
+             *     &lt;restriction base="{http://www.w3.org/2001/XMLSchema}anyType"&gt;
+             *       &lt;sequence&gt;
+             *         &lt;element name="Name" type="{http://www.w3.org/2001/XMLSchema}string"/&gt;
+             *         &lt;element name="Cycles" type="{http://www.w3.org/2001/XMLSchema}int"/&gt;
+             *       &lt;/sequence&gt;
+             *     &lt;/restriction&gt;
+             *   &lt;/complexContent&gt;
+             * &lt;/complexType&gt;
+             * </pre>
+             * 
+             * 
+             */
+            @XmlAccessorType(XmlAccessType.FIELD)
+            @XmlType(name = "", propOrder = {
+                "name",
+                "cycles"
+            })
+            public static class Model {
+
+                @XmlElement(name = "Name", required = true)
+                protected String name;
+                @XmlElement(name = "Cycles")
+                protected int cycles;
+
+                /**
+                 * Ruft den Wert der name-Eigenschaft ab.
+                 * 
+                 * @return
+                 *     possible object is
+                 *     {@link String }
+                 *     
+                 */
+                public String getName() {
+                    return name;
+                }
+
+                /**
+                 * Legt den Wert der name-Eigenschaft fest.
+                 * 
+                 * @param value
+                 *     allowed object is
+                 *     {@link String }
+                 *     
+                 */
+                public void setName(String value) {
+                    this.name = value;
+                }
+
+                /**
+                 * Ruft den Wert der cycles-Eigenschaft ab.
+                 * 
+                 */
+                public int getCycles() {
+                    return cycles;
+                }
+
+                /**
+                 * Legt den Wert der cycles-Eigenschaft fest.
+                 * 
+                 */
+                public void setCycles(int value) {
+                    this.cycles = value;
+                }
+
+            }
+
+        }
+
+
         /**
          * <p>Java-Klasse für anonymous complex type.
          * 
@@ -23473,6 +24031,8 @@ public class Marina {
          *                 &lt;sequence&gt;
          *                   &lt;element name="FileName" type="{http://www.w3.org/2001/XMLSchema}string"/&gt;
          *                   &lt;element name="FileType" type="{http://www.smileconsult.de/Marina}TMeshFileType"/&gt;
+         *                   &lt;element name="Renumbering" type="{http://www.w3.org/2001/XMLSchema}boolean" minOccurs="0"/&gt;
+         *                   &lt;element name="MeshCache" type="{http://www.w3.org/2001/XMLSchema}boolean" minOccurs="0"/&gt;
          *                 &lt;/sequence&gt;
          *               &lt;/restriction&gt;
          *             &lt;/complexContent&gt;
@@ -23560,6 +24120,8 @@ public class Marina {
              *       &lt;sequence&gt;
              *         &lt;element name="FileName" type="{http://www.w3.org/2001/XMLSchema}string"/&gt;
              *         &lt;element name="FileType" type="{http://www.smileconsult.de/Marina}TMeshFileType"/&gt;
+             *         &lt;element name="Renumbering" type="{http://www.w3.org/2001/XMLSchema}boolean" minOccurs="0"/&gt;
+             *         &lt;element name="MeshCache" type="{http://www.w3.org/2001/XMLSchema}boolean" minOccurs="0"/&gt;
              *       &lt;/sequence&gt;
              *     &lt;/restriction&gt;
              *   &lt;/complexContent&gt;
@@ -23571,7 +24133,9 @@ public class Marina {
             @XmlAccessorType(XmlAccessType.FIELD)
             @XmlType(name = "", propOrder = {
                 "fileName",
-                "fileType"
+                "fileType",
+                "renumbering",
+                "meshCache"
             })
             public static class TriangleMesh {
 
@@ -23580,6 +24144,10 @@ public class Marina {
                 @XmlElement(name = "FileType", required = true)
                 @XmlSchemaType(name = "string")
                 protected TMeshFileType fileType;
+                @XmlElement(name = "Renumbering")
+                protected Boolean renumbering;
+                @XmlElement(name = "MeshCache")
+                protected Boolean meshCache;
 
                 /**
                  * Ruft den Wert der fileName-Eigenschaft ab.
@@ -23629,6 +24197,54 @@ public class Marina {
                     this.fileType = value;
                 }
 
+                /**
+                 * Ruft den Wert der renumbering-Eigenschaft ab.
+                 * 
+                 * @return
+                 *     possible object is
+                 *     {@link Boolean }
+                 *     
+                 */
+                public Boolean isRenumbering() {
+                    return renumbering;
+                }
+
+                /**
+                 * Legt den Wert der renumbering-Eigenschaft fest.
+                 * 
+                 * @param value
+                 *     allowed object is
+                 *     {@link Boolean }
+                 *     
+                 */
+                public void setRenumbering(Boolean value) {
+                    this.renumbering = value;
+                }
+
+                /**
+                 * Ruft den Wert der meshCache-Eigenschaft ab.
+                 * 
+                 * @return
+                 *     possible object is
+                 *     {@link Boolean }
+                 *     
+                 */
+                public Boolean isMeshCache() {
+                    return meshCache;
+                }
+
+                /**
+                 * Legt den Wert der meshCache-Eigenschaft fest.
+                 * 
+                 * @param value
+                 *     allowed object is
+                 *     {@link Boolean }
+                 *     
+                 */
+                public void setMeshCache(Boolean value) {
+                    this.meshCache = value;
+                }
+
             }
 
         }
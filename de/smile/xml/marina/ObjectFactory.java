@@ -1451,6 +1451,22 @@ public class ObjectFactory {
         return new Marina.ControlParameter.SimulationTime();
     }
 
+    /**
+     * Create an instance of {@link Marina.ControlParameter.SubCycling }
+     * 
+     */
+    public Marina.ControlParameter.SubCycling createMarinaControlParameterSubCycling() {
+        return new Marina.ControlParameter.SubCycling();
+    }
+
+    /**
+     * Create an instance of {@link Marina.ControlParameter.SubCycling.Model }
+     * 
+     */
+    public Marina.ControlParameter.SubCycling.Model createMarinaControlParameterSubCyclingModel() {
+        return new Marina.ControlParameter.SubCycling.Model();
+    }
+
     /**
      * Create an instance of {@link Marina.ControlParameter.System.TriangleMesh }
      * 